@@ -20,6 +20,7 @@ import java.util.List;
 import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
 
 import org.junit.Test;
 import org.mockito.Answers;
@@ -57,6 +58,51 @@ public class InstanceLockGroupTestCase extends AbstractMuleTestCase {
     lockUnlockThenDestroy(5);
   }
 
+  @Test
+  public void testFailedTryLockThenDestroy() throws Exception {
+    Lock lock = Mockito.mock(Lock.class);
+    Mockito.when(lock.tryLock()).thenReturn(false);
+    mockLockProvider = Mockito.mock(LockProvider.class);
+    Mockito.when(mockLockProvider.createLock("lockId")).thenReturn(lock);
+    InstanceLockGroup instanceLockGroup = new InstanceLockGroup(mockLockProvider);
+    assertThat(instanceLockGroup.tryLock("lockId"), is(false));
+    instanceLockGroup.lock("lockId");
+    Mockito.verify(mockLockProvider, VerificationModeFactory.times(2)).createLock("lockId");
+  }
+
+  @Test
+  public void testInterruptedLockThenDestroy() throws Exception {
+    Lock lock = Mockito.mock(Lock.class);
+    Mockito.doThrow(new InterruptedException()).when(lock).lockInterruptibly();
+    mockLockProvider = Mockito.mock(LockProvider.class);
+    Mockito.when(mockLockProvider.createLock("lockId")).thenReturn(lock);
+    InstanceLockGroup instanceLockGroup = new InstanceLockGroup(mockLockProvider);
+    try {
+      instanceLockGroup.lockInterruptibly("lockId");
+    } catch (InterruptedException e) {
+      // expected
+    }
+    instanceLockGroup.lock("lockId");
+    Mockito.verify(mockLockProvider, VerificationModeFactory.times(2)).createLock("lockId");
+  }
+
+  @Test
+  public void testHighConcurrencyManyKeys() throws Exception {
+    List<Thread> threads = new ArrayList<>(THREAD_COUNT);
+    for (int i = 0; i < THREAD_COUNT; i++) {
+      IncrementKeyValueThread incrementKeyValueThread = new IncrementKeyValueThread("key" + (i % 10), i % 2 == 0);
+      threads.add(incrementKeyValueThread);
+      incrementKeyValueThread.start();
+    }
+    threadStartLatch.release();
+    for (Thread thread : threads) {
+      thread.join();
+    }
+    for (int i = 0; i < 10; i++) {
+      assertThat(objectStore.retrieve("key" + i), is(THREAD_COUNT / 10 * ITERATIONS_PER_THREAD));
+    }
+  }
+
   private void lockUnlockThenDestroy(int lockTimes) {
     mockLockProvider = Mockito.mock(LockProvider.class, Answers.RETURNS_DEEP_STUBS.get());
     InstanceLockGroup instanceLockGroup = new InstanceLockGroup(mockLockProvider);
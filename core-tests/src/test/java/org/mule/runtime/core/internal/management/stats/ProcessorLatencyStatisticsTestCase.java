@@ -0,0 +1,247 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.management.stats;
+
+import static java.util.Collections.singletonMap;
+import static java.util.Optional.empty;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.startsWith;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.runtime.api.component.AbstractComponent.LOCATION_KEY;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE_ASYNC;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static reactor.core.publisher.Flux.just;
+
+import org.mule.runtime.api.component.AbstractComponent;
+import org.mule.runtime.api.exception.DefaultMuleException;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.ProcessorLatencyStatistics;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import org.junit.Test;
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+
+public class ProcessorLatencyStatisticsTestCase extends AbstractMuleContextTestCase {
+
+  private static final String PROCESSOR_LOCATION = "flow/processors/0";
+
+  @Test
+  public void percentiles() {
+    final ProcessorLatencyStatistics statistics = new ProcessorLatencyStatistics(PROCESSOR_LOCATION, "ns:comp");
+    statistics.setEnabled(true);
+    for (int i = 1; i <= 1000; ++i) {
+      statistics.recordLatency(i * 1000L);
+    }
+
+    assertThat(statistics.getInvocationCount(), is(1000L));
+    assertThat(statistics.getMaxLatency(), is(1000000L));
+    assertThat(statistics.getMeanLatency(), is(500500.0));
+    assertWithinPrecision(statistics.getLatencyAtPercentile(50), 500000);
+    assertWithinPrecision(statistics.getLatencyAtPercentile(90), 900000);
+    assertThat(statistics.getLatencyAtPercentile(100), is(1000000L));
+  }
+
+  @Test
+  public void export() {
+    final ProcessorLatencyStatistics statistics = new ProcessorLatencyStatistics(PROCESSOR_LOCATION, "ns:comp");
+    statistics.setEnabled(true);
+    statistics.recordLatency(3000);
+    statistics.recordLatency(3000);
+
+    assertThat(statistics.getLatencyDistribution().size(), is(1));
+    assertThat(statistics.exportLatencyDistribution(), startsWith("latencyMicros,count,percentile\n3,2,100.000\n"));
+  }
+
+  @Test
+  public void disabled() {
+    final ProcessorLatencyStatistics statistics = new ProcessorLatencyStatistics(PROCESSOR_LOCATION, "ns:comp");
+    statistics.recordLatency(1000);
+
+    assertThat(statistics.getInvocationCount(), is(0L));
+    assertThat(statistics.getLatencyAtPercentile(99), is(0L));
+  }
+
+  @Test
+  public void clear() {
+    final ProcessorLatencyStatistics statistics = new ProcessorLatencyStatistics(PROCESSOR_LOCATION, "ns:comp");
+    statistics.setEnabled(true);
+    statistics.recordLatency(1000);
+    statistics.clear();
+
+    assertThat(statistics.getInvocationCount(), is(0L));
+    assertThat(statistics.getMaxLatency(), is(0L));
+  }
+
+  @Test
+  public void notRecordedByChainWhenDisabled() throws MuleException {
+    muleContext.getStatistics().enableProcessorLatencyStatistics(false);
+    final MessageProcessorChain chain = createChain(new SleepingProcessor(10, CPU_LITE));
+    chain.process(testEvent());
+
+    assertThat(muleContext.getStatistics().getProcessorLatencyStatistics(PROCESSOR_LOCATION), is(nullValue()));
+  }
+
+  @Test
+  public void notRecordedByChainForAsyncProcessor() throws MuleException {
+    final MessageProcessorChain chain = createChain(new SleepingProcessor(10, CPU_LITE_ASYNC));
+    chain.process(testEvent());
+
+    assertThat(muleContext.getStatistics().getProcessorLatencyStatistics(PROCESSOR_LOCATION), is(nullValue()));
+  }
+
+  @Test
+  public void recordedByChain() throws MuleException {
+    final MessageProcessorChain chain = createChain(new SleepingProcessor(10, CPU_LITE));
+    chain.process(testEvent());
+    chain.process(testEvent());
+
+    final ProcessorLatencyStatistics statistics = muleContext.getStatistics().getProcessorLatencyStatistics(PROCESSOR_LOCATION);
+    assertThat(statistics, is(notNullValue()));
+    assertThat(statistics.getInvocationCount(), is(2L));
+    assertThat(statistics.getMaxLatency(), greaterThanOrEqualTo(MILLISECONDS.toNanos(10)));
+  }
+
+  @Test
+  public void recordedByChainForNotFusedProcessor() throws MuleException {
+    final MessageProcessorChain chain = createChain(new SleepingProcessor(10, BLOCKING));
+    chain.process(testEvent());
+    chain.process(testEvent());
+
+    final ProcessorLatencyStatistics statistics = muleContext.getStatistics().getProcessorLatencyStatistics(PROCESSOR_LOCATION);
+    assertThat(statistics.getInvocationCount(), is(2L));
+    assertThat(statistics.getMaxLatency(), greaterThanOrEqualTo(MILLISECONDS.toNanos(10)));
+  }
+
+  @Test
+  public void recordedByChainOnError() throws MuleException {
+    assertRecordedOnError(CPU_LITE);
+  }
+
+  @Test
+  public void recordedByChainOnErrorForNotFusedProcessor() throws MuleException {
+    assertRecordedOnError(BLOCKING);
+  }
+
+  @Test
+  public void recordedByChainWhenDropped() throws MuleException {
+    final MessageProcessorChain chain = createChain(new DroppingProcessor());
+    just(testEvent(), testEvent()).transform(chain).subscribe();
+
+    final ProcessorLatencyStatistics statistics = muleContext.getStatistics().getProcessorLatencyStatistics(PROCESSOR_LOCATION);
+    assertThat(statistics.getInvocationCount(), is(2L));
+  }
+
+  @Test
+  public void recordedByChainForEventsWithSameContext() throws MuleException {
+    final MessageProcessorChain chain = createChain(new SleepingProcessor(1, BLOCKING));
+    final CoreEvent event = testEvent();
+    just(event, event, event).transform(chain).subscribe();
+
+    final ProcessorLatencyStatistics statistics = muleContext.getStatistics().getProcessorLatencyStatistics(PROCESSOR_LOCATION);
+    assertThat(statistics.getInvocationCount(), is(3L));
+    assertThat(statistics.getMaxLatency(), greaterThanOrEqualTo(MILLISECONDS.toNanos(1)));
+  }
+
+  private void assertRecordedOnError(ProcessingType processingType) throws MuleException {
+    final MessageProcessorChain chain = createChain(new FailingProcessor(processingType));
+    try {
+      chain.process(testEvent());
+      fail("Expected the processor to fail");
+    } catch (MuleException e) {
+      // expected
+    }
+
+    final ProcessorLatencyStatistics statistics = muleContext.getStatistics().getProcessorLatencyStatistics(PROCESSOR_LOCATION);
+    assertThat(statistics.getInvocationCount(), is(1L));
+  }
+
+  private MessageProcessorChain createChain(AbstractComponent processor) throws MuleException {
+    processor.setAnnotations(singletonMap(LOCATION_KEY, from(PROCESSOR_LOCATION)));
+    final MessageProcessorChain chain = newChain(empty(), (Processor) processor);
+    initialiseIfNeeded(chain, muleContext);
+    return chain;
+  }
+
+  private void assertWithinPrecision(long actual, long expected) {
+    assertThat(actual, allOf(greaterThanOrEqualTo((long) (expected * 0.875)), lessThanOrEqualTo((long) (expected * 1.125))));
+  }
+
+  private static class SleepingProcessor extends AbstractComponent implements Processor {
+
+    private final long sleepMillis;
+    private final ProcessingType processingType;
+
+    private SleepingProcessor(long sleepMillis, ProcessingType processingType) {
+      this.sleepMillis = sleepMillis;
+      this.processingType = processingType;
+    }
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      try {
+        Thread.sleep(sleepMillis);
+      } catch (InterruptedException e) {
+        Thread.currentThread().interrupt();
+      }
+      return event;
+    }
+
+    @Override
+    public ProcessingType getProcessingType() {
+      return processingType;
+    }
+  }
+
+  private static class FailingProcessor extends AbstractComponent implements Processor {
+
+    private final ProcessingType processingType;
+
+    private FailingProcessor(ProcessingType processingType) {
+      this.processingType = processingType;
+    }
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      throw new DefaultMuleException("Processor failed");
+    }
+
+    @Override
+    public ProcessingType getProcessingType() {
+      return processingType;
+    }
+  }
+
+  private static class DroppingProcessor extends AbstractComponent implements Processor {
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      return null;
+    }
+
+    @Override
+    public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+      return Flux.from(publisher).filter(event -> false);
+    }
+  }
+}
@@ -9,16 +9,18 @@ package org.mule.runtime.core.internal.policy;
 import static java.lang.Thread.sleep;
 import static java.util.Arrays.asList;
 import static java.util.Collections.emptyList;
-import static java.util.Collections.singletonMap;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.Matchers.instanceOf;
 import static org.hamcrest.Matchers.is;
 import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.RETURNS_DEEP_STUBS;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.component.location.Location.builderFromStringRepresentation;
@@ -36,6 +38,7 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.functional.Either;
 import org.mule.runtime.api.lifecycle.Disposable;
 import org.mule.runtime.api.lifecycle.InitialisationException;
+import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.policy.OperationPolicyParametersTransformer;
@@ -49,15 +52,18 @@ import org.mule.runtime.core.internal.message.EventInternalContext;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.extension.api.runtime.operation.CompletableComponentExecutor.ExecutorCallback;
 import org.mule.runtime.policy.api.PolicyPointcutParameters;
+import org.mule.runtime.policy.api.SourcePolicyPointcutParametersFactory;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.tck.probe.JUnitLambdaProbe;
 import org.mule.tck.probe.PollingProber;
 
+import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.Function;
 
 import org.junit.After;
@@ -70,6 +76,7 @@ public class DefaultPolicyManagerTestCase extends AbstractMuleContextTestCase {
   private static final int GC_POLLING_TIMEOUT = 10000;
 
   private PolicyProvider policyProvider;
+  private SourcePolicyPointcutParametersFactory sourcePointcutFactory;
   private ArgumentCaptor<Runnable> policiesChangeCallbackCaptor;
   private DefaultPolicyManager policyManager;
 
@@ -81,7 +88,12 @@ public class DefaultPolicyManagerTestCase extends AbstractMuleContextTestCase {
   @Override
   protected Map<String, Object> getStartUpRegistryObjects() {
     policyProvider = mock(PolicyProvider.class, RETURNS_DEEP_STUBS);
-    return singletonMap("_policyProvider", policyProvider);
+    sourcePointcutFactory = mock(SourcePolicyPointcutParametersFactory.class);
+
+    final Map<String, Object> objects = new HashMap<>();
+    objects.put("_policyProvider", policyProvider);
+    objects.put("_sourcePointcutFactory", sourcePointcutFactory);
+    return objects;
   }
 
   @Before
@@ -415,12 +427,13 @@ public class DefaultPolicyManagerTestCase extends AbstractMuleContextTestCase {
 
     when(policyProvider.findSourceParameterizedPolicies(any())).thenAnswer(invocation -> {
       lookingForPoliciesLatch.countDown();
-      assertThat("Eviction should not possible while looking for policies",
-                 cacheEvictedLatch.await(3, SECONDS), is(false));
+      assertThat("Eviction should not wait for the lookup of policies",
+                 cacheEvictedLatch.await(3, SECONDS), is(true));
       return asList(policy);
     });
 
-    // While findSourceParameterizedPolicies is executed, policy is removed, therefore caches should be evicted
+    // While findSourceParameterizedPolicies is executed, policy is removed, therefore caches should be evicted without
+    // caching the result of the lookup in progress
     new Thread(() -> {
       try {
         lookingForPoliciesLatch.await();
@@ -442,6 +455,127 @@ public class DefaultPolicyManagerTestCase extends AbstractMuleContextTestCase {
     assertThat(policy2, instanceOf(NoSourcePolicy.class));
   }
 
+  @Test
+  public void sourceLocationBasedPolicyLookedUpOnce() {
+    final Policy policy = mockPolicy();
+    when(policyProvider.findSourceParameterizedPolicies(any())).thenReturn(asList(policy));
+    policiesChangeCallbackCaptor.getValue().run();
+
+    final SourcePolicy policy1 = policyManager.createSourcePolicyInstance(flow1Component, mockSourceEvent(), ePub -> ePub,
+                                                                          mock(MessageSourceResponseParametersProcessor.class));
+    final SourcePolicy policy2 = policyManager.createSourcePolicyInstance(flow1Component, mockSourceEvent(), ePub -> ePub,
+                                                                          mock(MessageSourceResponseParametersProcessor.class));
+
+    assertThat(policy1, instanceOf(CompositeSourcePolicy.class));
+    assertThat(policy1, sameInstance(policy2));
+    verify(policyProvider).findSourceParameterizedPolicies(any());
+  }
+
+  @Test
+  public void sourceParameterizedPolicyLookedUpForEachParams() {
+    when(sourcePointcutFactory.supportsSourceIdentifier(any())).thenReturn(true);
+
+    final Policy policy = mockPolicy();
+    when(policyProvider.findSourceParameterizedPolicies(any())).thenReturn(asList(policy));
+    policiesChangeCallbackCaptor.getValue().run();
+
+    final SourcePolicy policy1 = policyManager.createSourcePolicyInstance(flow1Component, mockSourceEvent(), ePub -> ePub,
+                                                                          mock(MessageSourceResponseParametersProcessor.class));
+    final SourcePolicy policy2 = policyManager.createSourcePolicyInstance(flow1Component, mockSourceEvent(), ePub -> ePub,
+                                                                          mock(MessageSourceResponseParametersProcessor.class));
+
+    assertThat(policy1, instanceOf(CompositeSourcePolicy.class));
+    assertThat(policy1, sameInstance(policy2));
+    verify(policyProvider, times(2)).findSourceParameterizedPolicies(any());
+  }
+
+  @Test
+  public void sourcePointcutParametersDeferredWithoutPolicies() {
+    when(policyProvider.isSourcePoliciesAvailable()).thenReturn(false);
+    when(policyProvider.isOperationPoliciesAvailable()).thenReturn(false);
+    policiesChangeCallbackCaptor.getValue().run();
+
+    final PolicyPointcutParameters policyParams = mock(PolicyPointcutParameters.class);
+    when(sourcePointcutFactory.supportsSourceIdentifier(any())).thenReturn(true);
+    when(sourcePointcutFactory.createPolicyPointcutParameters(any(Component.class), any(TypedValue.class)))
+        .thenReturn(policyParams);
+
+    final InternalEvent event = mock(InternalEvent.class);
+    assertThat(policyManager.addSourcePointcutParametersIntoEvent(flow1Component, mock(TypedValue.class), event),
+               is(nullValue()));
+    verify(sourcePointcutFactory, never()).createPolicyPointcutParameters(any(Component.class), any(TypedValue.class));
+
+    final ArgumentCaptor<SourcePolicyContext> ctxCaptor = ArgumentCaptor.forClass(SourcePolicyContext.class);
+    verify(event).setSourcePolicyContext(ctxCaptor.capture());
+    assertThat(ctxCaptor.getValue().getPointcutParameters(), sameInstance(policyParams));
+  }
+
+  @Test
+  public void sourcePointcutParametersCreatedWithPolicies() {
+    final PolicyPointcutParameters policyParams = mock(PolicyPointcutParameters.class);
+    when(sourcePointcutFactory.supportsSourceIdentifier(any())).thenReturn(true);
+    when(sourcePointcutFactory.createPolicyPointcutParameters(any(Component.class), any(TypedValue.class)))
+        .thenReturn(policyParams);
+    policiesChangeCallbackCaptor.getValue().run();
+
+    final InternalEvent event = mock(InternalEvent.class);
+    assertThat(policyManager.addSourcePointcutParametersIntoEvent(flow1Component, mock(TypedValue.class), event),
+               sameInstance(policyParams));
+  }
+
+  @Test
+  public void operationLocationBasedPolicyLookedUpOnceForSourceEvents() {
+    final Policy policy = mockPolicy();
+    when(policyProvider.findOperationParameterizedPolicies(any())).thenReturn(asList(policy));
+    policiesChangeCallbackCaptor.getValue().run();
+
+    final AtomicInteger sourceParamsCreated = new AtomicInteger();
+    final OperationPolicy policy1 = policyManager.createOperationPolicy(operation1Component,
+                                                                        mockSourceEvent(flow1Component, sourceParamsCreated),
+                                                                        mock(OperationParametersProcessor.class));
+    final OperationPolicy policy2 = policyManager.createOperationPolicy(operation1Component,
+                                                                        mockSourceEvent(flow1Component, sourceParamsCreated),
+                                                                        mock(OperationParametersProcessor.class));
+
+    assertThat(policy1, instanceOf(CompositeOperationPolicy.class));
+    assertThat(policy1, sameInstance(policy2));
+    verify(policyProvider).findOperationParameterizedPolicies(any());
+    // only the event that populated the cache needed its source parameters
+    assertThat(sourceParamsCreated.get(), is(1));
+  }
+
+  @Test
+  public void operationLocationBasedPolicyLookedUpForEachSource() {
+    final Policy policy = mockPolicy();
+    when(policyProvider.findOperationParameterizedPolicies(any())).thenReturn(asList(policy));
+    policiesChangeCallbackCaptor.getValue().run();
+
+    final AtomicInteger sourceParamsCreated = new AtomicInteger();
+    policyManager.createOperationPolicy(operation1Component, mockSourceEvent(flow1Component, sourceParamsCreated),
+                                        mock(OperationParametersProcessor.class));
+    policyManager.createOperationPolicy(operation1Component, mockSourceEvent(flow2Component, sourceParamsCreated),
+                                        mock(OperationParametersProcessor.class));
+
+    verify(policyProvider, times(2)).findOperationParameterizedPolicies(any());
+  }
+
+  @Test
+  public void operationPolicyForParameterizedSourceLookedUpForEachEvent() {
+    when(sourcePointcutFactory.supportsSourceIdentifier(any())).thenReturn(true);
+
+    final Policy policy = mockPolicy();
+    when(policyProvider.findOperationParameterizedPolicies(any())).thenReturn(asList(policy));
+    policiesChangeCallbackCaptor.getValue().run();
+
+    final AtomicInteger sourceParamsCreated = new AtomicInteger();
+    policyManager.createOperationPolicy(operation1Component, mockSourceEvent(flow1Component, sourceParamsCreated),
+                                        mock(OperationParametersProcessor.class));
+    policyManager.createOperationPolicy(operation1Component, mockSourceEvent(flow1Component, sourceParamsCreated),
+                                        mock(OperationParametersProcessor.class));
+
+    assertThat(sourceParamsCreated.get(), is(2));
+  }
+
   @Test
   @Issue("MULE-18929")
   public void cachesEvictedDoesntIncreaseActivePoliciesCount() throws InterruptedException {
@@ -471,6 +605,26 @@ public class DefaultPolicyManagerTestCase extends AbstractMuleContextTestCase {
     assertThat(policyManager.getActivePoliciesCount(), is(1));
   }
 
+  private InternalEvent mockSourceEvent(Component source, AtomicInteger sourceParamsCreated) {
+    final InternalEvent event = mock(InternalEvent.class, RETURNS_DEEP_STUBS);
+    final ComponentLocation sourceLocation = source.getLocation();
+    when(event.getContext().getOriginatingLocation()).thenReturn(sourceLocation);
+    final SourcePolicyContext ctx = new SourcePolicyContext(() -> {
+      sourceParamsCreated.incrementAndGet();
+      return new PolicyPointcutParameters(source);
+    });
+    when(event.getSourcePolicyContext()).thenReturn((EventInternalContext) ctx);
+    return event;
+  }
+
+  private InternalEvent mockSourceEvent() {
+    final InternalEvent event = mock(InternalEvent.class);
+    final SourcePolicyContext ctx = mock(SourcePolicyContext.class);
+    when(ctx.getPointcutParameters()).thenReturn(mock(PolicyPointcutParameters.class));
+    when(event.getSourcePolicyContext()).thenReturn((EventInternalContext) ctx);
+    return event;
+  }
+
   private Policy mockPolicy() {
     PolicyChain policyChain = mock(PolicyChain.class, RETURNS_DEEP_STUBS);
     when(policyChain.apply(any()))
@@ -0,0 +1,94 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.lessThan;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@Feature(PROCESSING_STRATEGIES)
+public class AdaptiveConcurrencyLimiterTestCase extends AbstractMuleTestCase {
+
+  private static final int INITIAL_LIMIT = 10;
+  private static final int MAX_LIMIT = 20;
+  private static final long BASE_LATENCY = 1000;
+
+  private final AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(INITIAL_LIMIT, MAX_LIMIT);
+  private long clock = 0;
+
+  @Test
+  public void rejectOverLimit() {
+    for (int i = 0; i < INITIAL_LIMIT; ++i) {
+      assertThat(limiter.tryAcquire(), is(true));
+    }
+
+    assertThat(limiter.tryAcquire(), is(false));
+    assertThat(limiter.getRejectionsCount(), is(1L));
+    assertThat(limiter.getInFlight(), is(INITIAL_LIMIT));
+  }
+
+  @Test
+  public void increaseWhileLatencyIsStable() {
+    for (int i = 0; i < 100; ++i) {
+      processFullWindow(BASE_LATENCY);
+    }
+
+    assertThat(limiter.getLimit(), is(MAX_LIMIT));
+  }
+
+  @Test
+  public void decreaseWhenLatencyGrows() {
+    processFullWindow(BASE_LATENCY);
+    final int stableLimit = limiter.getLimit();
+
+    processFullWindow(BASE_LATENCY * 10);
+    assertThat(limiter.getLimit(), lessThan(stableLimit));
+  }
+
+  @Test
+  public void decreaseOncePerWindow() {
+    processFullWindow(BASE_LATENCY);
+    final int stableLimit = limiter.getLimit();
+
+    // All the events of this window started before the first slow one completed, so the limit is decreased just once
+    processFullWindow(BASE_LATENCY * 10);
+    assertThat(limiter.getLimit(), is((int) (stableLimit * AdaptiveConcurrencyLimiter.BACKOFF_RATIO)));
+  }
+
+  @Test
+  public void neverUnderMinLimit() {
+    for (int i = 0; i < 100; ++i) {
+      processFullWindow(BASE_LATENCY * (i + 1) * 10);
+    }
+
+    assertThat(limiter.getLimit(), is(AdaptiveConcurrencyLimiter.MIN_LIMIT));
+    assertThat(limiter.tryAcquire(), is(true));
+  }
+
+  /**
+   * Starts as many events as the current limit allows at the same time, and completes them all with the given latency.
+   */
+  private void processFullWindow(long latency) {
+    final long start = clock;
+    int acquired = 0;
+    while (limiter.tryAcquire()) {
+      ++acquired;
+    }
+
+    for (int i = 0; i < acquired; ++i) {
+      limiter.release(start, start + latency);
+    }
+    clock = start + latency + 1;
+  }
+}
@@ -0,0 +1,115 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.api.construct.BackPressureReason.EVENTS_ACCUMULATED;
+import static org.mule.test.allure.AllureConstants.ProcessingStrategiesFeature.PROCESSING_STRATEGIES;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.processor.strategy.AbstractProcessingStrategy.ReactorSink;
+import org.mule.runtime.core.internal.processor.strategy.StreamEmitterProcessingStrategyFactory.StreamEmitterProcessingStrategy.LeastLoadedReactorSink;
+import org.mule.runtime.core.privileged.event.BaseEventContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiConsumer;
+import java.util.function.IntSupplier;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@Feature(PROCESSING_STRATEGIES)
+public class LeastLoadedReactorSinkTestCase extends AbstractMuleTestCase {
+
+  private static final int SINKS_COUNT = 3;
+
+  private final List<ReactorSink<CoreEvent>> sinks = new ArrayList<>();
+  private final int[] queueDepths = new int[SINKS_COUNT];
+  private final List<BiConsumer<CoreEvent, Throwable>> responseCallbacks = new ArrayList<>();
+
+  private LeastLoadedReactorSink<CoreEvent> leastLoaded;
+
+  @Before
+  public void before() {
+    List<IntSupplier> depths = new ArrayList<>();
+    for (int i = 0; i < SINKS_COUNT; ++i) {
+      final int sinkIndex = i;
+      sinks.add(mock(ReactorSink.class));
+      depths.add(() -> queueDepths[sinkIndex]);
+    }
+    leastLoaded = new LeastLoadedReactorSink<>(sinks, depths);
+  }
+
+  @Test
+  public void idleSinksInRoundRobin() {
+    for (int i = 0; i < SINKS_COUNT; ++i) {
+      CoreEvent event = createEvent();
+      leastLoaded.accept(event);
+      verify(sinks.get(i)).accept(event);
+      assertThat(leastLoaded.getInFlightCount(i), is(1));
+    }
+  }
+
+  @Test
+  public void busySinkAvoided() {
+    for (int i = 0; i < SINKS_COUNT; ++i) {
+      leastLoaded.accept(createEvent());
+    }
+
+    // The response for the event of the second sink is complete, so it is the only one without load
+    responseCallbacks.get(1).accept(null, null);
+    assertThat(leastLoaded.getInFlightCount(1), is(0));
+
+    CoreEvent event = createEvent();
+    leastLoaded.accept(event);
+    verify(sinks.get(1)).accept(event);
+  }
+
+  @Test
+  public void queuedEventsAvoided() {
+    queueDepths[0] = 2;
+
+    CoreEvent event = createEvent();
+    leastLoaded.accept(event);
+    verify(sinks.get(0), never()).accept(event);
+    verify(sinks.get(1)).accept(event);
+    assertThat(leastLoaded.getQueueDepth(0), is(2));
+  }
+
+  @Test
+  public void rejectedEmissionNotAccounted() {
+    when(sinks.get(0).emit(any())).thenReturn(EVENTS_ACCUMULATED);
+
+    assertThat(leastLoaded.emit(createEvent()), is(EVENTS_ACCUMULATED));
+    assertThat(leastLoaded.getInFlightCount(0), is(0));
+    assertThat(responseCallbacks.isEmpty(), is(true));
+
+    assertThat(leastLoaded.emit(createEvent()), is(nullValue()));
+    assertThat(leastLoaded.getInFlightCount(1), is(1));
+  }
+
+  private CoreEvent createEvent() {
+    BaseEventContext context = mock(BaseEventContext.class);
+    doAnswer(inv -> responseCallbacks.add(inv.getArgument(0))).when(context).onResponse(any());
+
+    CoreEvent event = mock(CoreEvent.class);
+    when(event.getContext()).thenReturn(context);
+    return event;
+  }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.registry;
+
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mule.runtime.api.metadata.DataType.BYTE_ARRAY;
+import static org.mule.runtime.api.metadata.DataType.INPUT_STREAM;
+import static org.mule.runtime.api.metadata.DataType.STRING;
+import static org.mule.runtime.api.metadata.MediaType.APPLICATION_JSON;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.transformer.Transformer;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Test;
+
+@SmallTest
+public class TransformerResolutionTableTestCase extends AbstractMuleTestCase {
+
+  private final TransformerResolutionTable table = new TransformerResolutionTable();
+
+  @Test
+  public void notResolved() {
+    assertThat(table.get(INPUT_STREAM, BYTE_ARRAY), nullValue());
+  }
+
+  @Test
+  public void resolved() {
+    final Transformer transformer = mock(Transformer.class);
+
+    assertThat(table.put(table.getGeneration(), INPUT_STREAM, BYTE_ARRAY, transformer), sameInstance(transformer));
+    assertThat(table.get(INPUT_STREAM, BYTE_ARRAY), sameInstance(transformer));
+    assertThat(table.get(INPUT_STREAM, STRING), nullValue());
+    assertThat(table.get(BYTE_ARRAY, INPUT_STREAM), nullValue());
+  }
+
+  @Test
+  public void resolvedForEqualDataType() {
+    final Transformer transformer = mock(Transformer.class);
+    table.put(table.getGeneration(), INPUT_STREAM, DataType.builder().type(String.class).mediaType(APPLICATION_JSON).build(),
+              transformer);
+
+    assertThat(table.get(DataType.fromType(INPUT_STREAM.getType()),
+                         DataType.builder().type(String.class).mediaType(APPLICATION_JSON).build()),
+               sameInstance(transformer));
+    assertThat(table.get(INPUT_STREAM, STRING), nullValue());
+  }
+
+  @Test
+  public void firstResolvedKept() {
+    final Transformer transformer1 = mock(Transformer.class);
+    final Transformer transformer2 = mock(Transformer.class);
+    final long generation = table.getGeneration();
+
+    table.put(generation, INPUT_STREAM, BYTE_ARRAY, transformer1);
+
+    assertThat(table.put(generation, INPUT_STREAM, BYTE_ARRAY, transformer2), sameInstance(transformer1));
+    assertThat(table.get(INPUT_STREAM, BYTE_ARRAY), sameInstance(transformer1));
+  }
+
+  @Test
+  public void clear() {
+    table.put(table.getGeneration(), INPUT_STREAM, BYTE_ARRAY, mock(Transformer.class));
+    table.clear();
+
+    assertThat(table.get(INPUT_STREAM, BYTE_ARRAY), nullValue());
+  }
+
+  @Test
+  public void resolvedBeforeClearNotKept() {
+    final Transformer transformer = mock(Transformer.class);
+    final long generation = table.getGeneration();
+    table.clear();
+
+    assertThat(table.put(generation, INPUT_STREAM, BYTE_ARRAY, transformer), sameInstance(transformer));
+    assertThat(table.get(INPUT_STREAM, BYTE_ARRAY), nullValue());
+  }
+
+  @Test
+  public void boundedResolutions() {
+    final TransformerResolutionTable boundedTable = new TransformerResolutionTable(1);
+    final Transformer transformer1 = mock(Transformer.class);
+    final Transformer transformer2 = mock(Transformer.class);
+
+    boundedTable.put(boundedTable.getGeneration(), INPUT_STREAM, BYTE_ARRAY, transformer1);
+
+    assertThat(boundedTable.put(boundedTable.getGeneration(), INPUT_STREAM, STRING, transformer2), sameInstance(transformer2));
+    assertThat(boundedTable.get(INPUT_STREAM, BYTE_ARRAY), sameInstance(transformer1));
+    assertThat(boundedTable.get(INPUT_STREAM, STRING), nullValue());
+  }
+
+  @Test
+  public void clearFreesResolutions() {
+    final TransformerResolutionTable boundedTable = new TransformerResolutionTable(1);
+    final Transformer transformer = mock(Transformer.class);
+
+    boundedTable.put(boundedTable.getGeneration(), INPUT_STREAM, BYTE_ARRAY, mock(Transformer.class));
+    boundedTable.clear();
+    boundedTable.put(boundedTable.getGeneration(), INPUT_STREAM, STRING, transformer);
+
+    assertThat(boundedTable.get(INPUT_STREAM, STRING), sameInstance(transformer));
+  }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.Arrays.asList;
+import static java.util.stream.Collectors.toList;
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.anyBoolean;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.core.api.el.ExpressionManagerSession;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class ChoiceDecisionTableTestCase extends AbstractMuleTestCase {
+
+  private static final String SELECTOR = "#[attributes.headers.type]";
+
+  private ExpressionManagerSession session;
+
+  @Before
+  public void before() {
+    session = mock(ExpressionManagerSession.class);
+  }
+
+  @Test
+  public void equalityRoutesCompiled() {
+    final List<ProcessorRoute> routes = routes("#[attributes.headers.type == 'A']",
+                                               "#[attributes.headers.type == \"B\"]",
+                                               "#['C' == attributes.headers.type]");
+    final ChoiceDecisionTable table = new ChoiceDecisionTable(routes);
+    assertThat(table.getCompiledRoutesCount(), is(3));
+
+    final List<ExecutableRoute> executableRoutes = executableRoutes(routes);
+    givenSelectorValue("C");
+
+    assertThat(table.select(session, executableRoutes), sameInstance(executableRoutes.get(2)));
+    verify(session, times(1)).evaluate(SELECTOR);
+    verify(session, never()).evaluateBoolean(anyString(), anyBoolean(), anyBoolean());
+  }
+
+  @Test
+  public void noMatchFallsToDefaultRoute() {
+    final List<ProcessorRoute> routes = routes("#[attributes.headers.type == 'A']", "#[attributes.headers.type == 'B']");
+    final ChoiceDecisionTable table = new ChoiceDecisionTable(routes);
+
+    final List<ExecutableRoute> executableRoutes = executableRoutes(routes);
+    givenSelectorValue("X");
+
+    assertThat(table.select(session, executableRoutes), sameInstance(executableRoutes.get(2)));
+  }
+
+  @Test
+  public void firstMatchingRouteWins() {
+    final List<ProcessorRoute> routes = routes("#[attributes.headers.type startsWith 'ab']",
+                                               "#[attributes.headers.type == 'abc']",
+                                               "#[attributes.headers.type == 'xyz']",
+                                               "#[startsWith(attributes.headers.type, 'x')]");
+    final ChoiceDecisionTable table = new ChoiceDecisionTable(routes);
+    assertThat(table.getCompiledRoutesCount(), is(4));
+
+    final List<ExecutableRoute> executableRoutes = executableRoutes(routes);
+    givenSelectorValue("abc");
+    assertThat(table.select(session, executableRoutes), sameInstance(executableRoutes.get(0)));
+
+    givenSelectorValue("xyz");
+    assertThat(table.select(session, executableRoutes), sameInstance(executableRoutes.get(2)));
+
+    givenSelectorValue("xa");
+    assertThat(table.select(session, executableRoutes), sameInstance(executableRoutes.get(3)));
+  }
+
+  @Test
+  public void nonStringSelectorEvaluatedSequentially() {
+    final String routeA = "#[attributes.headers.type == 'A']";
+    final String routeB = "#[attributes.headers.type == 'B']";
+    final List<ProcessorRoute> routes = routes(routeA, routeB);
+    final ChoiceDecisionTable table = new ChoiceDecisionTable(routes);
+
+    final List<ExecutableRoute> executableRoutes = executableRoutes(routes);
+    givenSelectorValue(null);
+    when(session.evaluateBoolean(eq(routeB), anyBoolean(), anyBoolean())).thenReturn(true);
+
+    assertThat(table.select(session, executableRoutes), sameInstance(executableRoutes.get(1)));
+    verify(session).evaluateBoolean(eq(routeA), anyBoolean(), anyBoolean());
+  }
+
+  @Test
+  public void complexExpressionsNotCompiled() {
+    final List<ProcessorRoute> routes = routes("#[attributes.headers.type == 'A' and payload.a == 'b']",
+                                               "#[attributes.headers.type == vars.type]",
+                                               "#[attributes.headers.other == 'A']",
+                                               "#[attributes.headers.type == 'A']",
+                                               "#[mel:payload == 'A']");
+    final ChoiceDecisionTable table = new ChoiceDecisionTable(routes);
+    assertThat(table.getCompiledRoutesCount(), is(0));
+
+    final List<ExecutableRoute> executableRoutes = executableRoutes(routes);
+    when(session.evaluateBoolean(eq("#[mel:payload == 'A']"), anyBoolean(), anyBoolean())).thenReturn(true);
+
+    assertThat(table.select(session, executableRoutes), sameInstance(executableRoutes.get(4)));
+    verify(session, never()).evaluate(anyString());
+  }
+
+  @Test
+  public void interpolatedLiteralsNotCompiled() {
+    final String interpolated = "#[attributes.headers.type == 'A$(vars.suffix)']";
+    final List<ProcessorRoute> routes = routes(interpolated,
+                                               "#[attributes.headers.type startsWith \"$(vars.prefix)\"]",
+                                               "#[attributes.headers['$(vars.header)'] == 'A']");
+    final ChoiceDecisionTable table = new ChoiceDecisionTable(routes);
+    assertThat(table.getCompiledRoutesCount(), is(0));
+
+    final List<ExecutableRoute> executableRoutes = executableRoutes(routes);
+    when(session.evaluateBoolean(eq(interpolated), anyBoolean(), anyBoolean())).thenReturn(true);
+
+    assertThat(table.select(session, executableRoutes), sameInstance(executableRoutes.get(0)));
+    verify(session, never()).evaluate(anyString());
+  }
+
+  private void givenSelectorValue(Object value) {
+    doReturn(TypedValue.of(value)).when(session).evaluate(SELECTOR);
+  }
+
+  private List<ProcessorRoute> routes(String... expressions) {
+    final List<ProcessorRoute> routes = new ArrayList<>();
+    for (String expression : asList(expressions)) {
+      routes.add(new ProcessorExpressionRoute(expression, event -> event));
+    }
+    routes.add(new ProcessorRoute(event -> event));
+    return routes;
+  }
+
+  private List<ExecutableRoute> executableRoutes(List<ProcessorRoute> routes) {
+    return routes.stream().map(ProcessorRoute::toExecutableRoute).collect(toList());
+  }
+}
@@ -11,6 +11,7 @@ import static java.util.Optional.empty;
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.hamcrest.Matchers.hasEntry;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
@@ -124,6 +125,20 @@ public class ChoiceRouterTestCase extends AbstractReactiveProcessorTestCase {
     assertThat((Map<String, Long>) routerStatistics.getRouted(), hasEntry(containsString(processor.toString()), is((long) 2)));
   }
 
+  @Test
+  public void routingEvaluationTimeWithStatistics() throws Exception {
+    choiceRouter.addRoute(payloadZapExpression(), newChain(empty(), new TestMessageProcessor("bar")));
+    RouterStatistics routerStatistics = new RouterStatistics(TYPE_OUTBOUND);
+    routerStatistics.setEnabled(true);
+    choiceRouter.setRouterStatistics(routerStatistics);
+    initialise();
+
+    process(choiceRouter, zapEvent());
+    process(choiceRouter, fooEvent());
+    assertThat(routerStatistics.getRoutingEvaluations(), is(2L));
+    assertThat(routerStatistics.getMaxRoutingEvaluationTime(), greaterThan(0L));
+  }
+
   @Test
   public void failingExpression() throws Exception {
     MessageProcessorChain mp = newChain(empty(), new TestMessageProcessor("bar"));
@@ -49,7 +49,7 @@ public class IdempotentMessageValidatorMule6079TestCase extends AbstractMuleCont
   /*
    * This test admits two execution paths, note that the implementation of objectStore can lock on the await call of the latch, to
    * avoid this a countDown call was added to contains method, since there is a trace that locks otherwise. See implementation of
-   * IdempotentMessageValidator.isNewMessage to understand the trace.
+   * IdempotentMessageValidator.storeIfNew to understand the trace.
    */
   @Test
   public void testRaceConditionOnAcceptAndProcess() throws Exception {
@@ -111,9 +111,9 @@ public class IdempotentMessageValidatorMule6079TestCase extends AbstractMuleCont
     protected boolean doContains(String key) throws ObjectStoreException {
       boolean containsKey;
       synchronized (this) {
-        // avoiding deadlock with the latch (locks if the element was already added to map, see definition of
-        // IdempotentMessageValidator.isNewMessage definition, if the element is added, it wont enter the
-        // objectStore.store method, and will lock.
+        // avoiding deadlock with the latch. IdempotentMessageValidator.storeIfNew only calls objectStore.store, which checks
+        // here whether the element was already added to map and, if so, fails with ObjectAlreadyExistsException without
+        // entering doStore, so the thread that added it would lock waiting for the latch.
         containsKey = map.containsKey(key);
         if (containsKey) {
           barrier.countDown();
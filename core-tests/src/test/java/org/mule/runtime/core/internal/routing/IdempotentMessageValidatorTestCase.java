@@ -11,7 +11,11 @@ import static org.hamcrest.Matchers.notNullValue;
 import static org.hamcrest.Matchers.sameInstance;
 import static org.junit.Assert.assertThat;
 import static org.junit.rules.ExpectedException.none;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.api.message.Message.of;
@@ -214,6 +218,20 @@ public class IdempotentMessageValidatorTestCase extends AbstractMuleContextTestC
     assertThat(processedEvent, is(notNullValue()));
   }
 
+  @Test
+  public void singleStoreAccessPerMessage() throws Exception {
+    final InMemoryObjectStore<String> store = spy(new InMemoryObjectStore<>());
+    idempotent.setObjectStore(store);
+    idempotent.initialise();
+
+    final BaseEventContext context = mock(BaseEventContext.class);
+    when(context.getCorrelationId()).thenReturn("1");
+    idempotent.process(CoreEvent.builder(context).message(of("OK")).build());
+
+    verify(store).store("1", "1");
+    verify(store, never()).contains(anyString());
+  }
+
   @Test
   public void multipleObjectStoreConfigurationShouldRaiseException() throws Exception {
     idempotent.setPrivateObjectStore(new InMemoryObjectStore<>());
@@ -44,6 +44,8 @@ import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.api.scheduler.Scheduler;
 import org.mule.runtime.api.streaming.CursorProvider;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
 import org.mule.runtime.core.api.construct.Flow;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
@@ -271,6 +273,51 @@ public class ParallelForEachTestCase extends AbstractMuleContextTestCase {
                              contextPropagationChecker);
   }
 
+  @Test
+  @Description("When a batch size is configured, a RoutingPair is created for each batch of parts.")
+  public void batchRoutingPairs() throws Exception {
+    CoreEvent event = getEventBuilder().message(Message.of(asList("bar", "zip", "foo"))).build();
+
+    MessageProcessorChain nested = mock(MessageProcessorChain.class);
+    muleContext.getInjector().inject(router);
+    router.setMessageProcessors(singletonList(nested));
+    router.setBatchSize(2);
+    router.setAnnotations(getAppleFlowComponentLocationAnnotations());
+    router.initialise();
+
+    List<RoutingPair> routingPairs = from(router.getRoutingPairs(event)).collectList().block();
+    assertThat(routingPairs, hasSize(2));
+    assertThat(routingPairs.get(0).getEvent().getMessage().getPayload().getValue(), equalTo(asList("bar", "zip")));
+    assertThat(routingPairs.get(1).getEvent().getMessage().getPayload().getValue(), equalTo(singletonList("foo")));
+  }
+
+  @Test
+  @Description("When results are streamed, the router result is a repeatable iterator of the route results.")
+  public void streamResults() throws Exception {
+    CoreEvent original = createListEvent();
+
+    MessageProcessorChain nested = newChain(empty(), event -> event);
+    nested.setMuleContext(muleContext);
+    router.setMessageProcessors(singletonList(nested));
+    router.setStreamResults(true);
+
+    muleContext.getInjector().inject(router);
+    router.setAnnotations(getAppleFlowComponentLocationAnnotations());
+    router.initialise();
+
+    Event result = router.process(original);
+
+    assertThat(result.getMessage().getPayload().getValue(), instanceOf(CursorIteratorProvider.class));
+    CursorIteratorProvider provider = (CursorIteratorProvider) result.getMessage().getPayload().getValue();
+    for (int i = 0; i < 2; ++i) {
+      List<Object> resultPayloads = new ArrayList<>();
+      CursorIterator<Message> cursor = provider.openCursor();
+      cursor.forEachRemaining(message -> resultPayloads.add(message.getPayload().getValue()));
+      cursor.close();
+      assertThat(resultPayloads, equalTo(asList("bar", "zip")));
+    }
+  }
+
   private CoreEvent createListEvent() throws MuleException {
     List<String> arrayList = new ArrayList<>();
     arrayList.add("bar");
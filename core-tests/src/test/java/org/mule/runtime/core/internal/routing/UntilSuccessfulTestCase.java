@@ -45,6 +45,7 @@ import org.mule.runtime.core.api.transaction.Transaction;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
+import org.mule.runtime.core.internal.util.timer.RetryBackoff;
 import org.mule.runtime.core.privileged.processor.InternalProcessor;
 import org.mule.tck.junit4.AbstractMuleContextTestCase;
 import org.mule.tck.processor.ContextPropagationChecker;
@@ -385,8 +386,9 @@ public class UntilSuccessfulTestCase extends AbstractMuleContextTestCase {
     });
 
     final UntilSuccessfulRouter router = new UntilSuccessfulRouter(flow, emitter.flux(), e -> e, ps,
-                                                                   muleContext.getExpressionManager(), null, null,
-                                                                   "1", MILLIS_BETWEEN_RETRIES);
+                                                                   muleContext.getExpressionManager(), null, null, null,
+                                                                   "1", MILLIS_BETWEEN_RETRIES,
+                                                                   new RetryBackoff(1, Long.MAX_VALUE, 0));
     // Assert that the inner flux was registered in the ps.
     verify(ps).configureInternalPublisher(any());
 
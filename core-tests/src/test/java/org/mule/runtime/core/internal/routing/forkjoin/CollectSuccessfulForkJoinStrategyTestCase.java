@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.util.Arrays.asList;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.exception.Errors.ComponentIdentifiers.Handleable.TIMEOUT;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.api.rx.Exceptions.rxExceptionToMuleException;
+import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.FORK_JOIN_STRATEGIES;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.publisher.Mono.from;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
+
+import org.mule.runtime.api.exception.DefaultMuleException;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.message.ErrorType;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.internal.routing.forkjoin.AbstractForkJoinStrategyTestCase.SleepingProcessor;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import reactor.core.publisher.Flux;
+
+@Feature(FORK_JOIN_STRATEGIES)
+public class CollectSuccessfulForkJoinStrategyTestCase extends AbstractMuleContextTestCase {
+
+  private static final long SLOW_ROUTE_SLEEP = 2000;
+
+  private ProcessingStrategy processingStrategy;
+  private Scheduler scheduler;
+  private ErrorType timeoutErrorType;
+
+  @Before
+  public void setup() {
+    scheduler = muleContext.getSchedulerService().ioScheduler();
+    processingStrategy = mock(ProcessingStrategy.class);
+    when(processingStrategy.onPipeline(any(ReactiveProcessor.class)))
+        .thenAnswer(invocation -> (ReactiveProcessor) publisher -> Flux.from(publisher)
+            .publishOn(fromExecutorService(scheduler)).transform(invocation.getArgument(0)));
+    timeoutErrorType = muleContext.getErrorTypeRepository().getErrorType(TIMEOUT).get();
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.stop();
+  }
+
+  @Test
+  @Description("The result is emitted with the first successful route, without waiting for the slower ones.")
+  public void firstSuccessful() throws Throwable {
+    Message fastResult = of(2);
+
+    CoreEvent result = invokeStrategyBlocking(new FirstSuccessfulForkJoinStrategyFactory(1),
+                                              asList(createRoutingPair(of(1), SLOW_ROUTE_SLEEP),
+                                                     createRoutingPair(fastResult, 0),
+                                                     createRoutingPair(of(3), SLOW_ROUTE_SLEEP)));
+
+    assertThat(result.getMessage().getPayload().getValue(), equalTo(asList(fastResult)));
+  }
+
+  @Test
+  @Description("Failed routes are not counted as successful, and a composite error is thrown if not enough routes succeed.")
+  public void firstSuccessfulNotEnough() throws Throwable {
+    assertCompositeRoutingException(new FirstSuccessfulForkJoinStrategyFactory(2),
+                                    asList(createRoutingPair(of(1), 0), createFailingRoutingPair()));
+  }
+
+  @Test
+  @Description("The results of the routes completed by the deadline are collected if there are enough of them.")
+  public void quorum() throws Throwable {
+    Message result1 = of(1);
+    Message result2 = of(2);
+
+    CoreEvent result = invokeStrategyBlocking(new QuorumForkJoinStrategyFactory(2, 500),
+                                              asList(createRoutingPair(result1, 0),
+                                                     createRoutingPair(of(3), SLOW_ROUTE_SLEEP),
+                                                     createRoutingPair(result2, 0)));
+
+    assertThat((List<Message>) result.getMessage().getPayload().getValue(), containsInAnyOrder(result1, result2));
+  }
+
+  @Test
+  @Description("A composite error is thrown if not enough routes complete successfully by the deadline.")
+  public void quorumNotReached() throws Throwable {
+    assertCompositeRoutingException(new QuorumForkJoinStrategyFactory(2, 200),
+                                    asList(createRoutingPair(of(1), 0), createRoutingPair(of(2), SLOW_ROUTE_SLEEP)));
+  }
+
+  private void assertCompositeRoutingException(AbstractForkJoinStrategyFactory factory, List<RoutingPair> routingPairs)
+      throws Throwable {
+    try {
+      invokeStrategyBlocking(factory, routingPairs);
+      fail("Expected a CompositeRoutingException");
+    } catch (CompositeRoutingException e) {
+      // expected
+    }
+  }
+
+  private CoreEvent invokeStrategyBlocking(AbstractForkJoinStrategyFactory factory, List<RoutingPair> routingPairs)
+      throws Throwable {
+    ForkJoinStrategy strategy =
+        factory.createForkJoinStrategy(processingStrategy, MAX_VALUE, true, MAX_VALUE, scheduler, timeoutErrorType);
+    try {
+      return from(strategy.forkJoin(testEvent(), fromIterable(routingPairs))).block();
+    } catch (Throwable throwable) {
+      throw rxExceptionToMuleException(throwable);
+    }
+  }
+
+  private RoutingPair createRoutingPair(Message result, long sleep) throws MuleException {
+    return of(testEvent(), createChain(new SleepingProcessor(result, sleep)));
+  }
+
+  private RoutingPair createFailingRoutingPair() throws MuleException {
+    return of(testEvent(), createChain(event -> {
+      throw new DefaultMuleException("Route failure");
+    }));
+  }
+
+  private MessageProcessorChain createChain(Processor processor) throws MuleException {
+    MessageProcessorChain chain = newChain(Optional.empty(), processor);
+    initialiseIfNeeded(chain, muleContext);
+    return chain;
+  }
+}
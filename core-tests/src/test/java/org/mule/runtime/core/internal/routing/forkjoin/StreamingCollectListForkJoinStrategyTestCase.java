@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.IntStream.range;
+import static org.hamcrest.CoreMatchers.equalTo;
+import static org.hamcrest.CoreMatchers.instanceOf;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.api.message.Message.of;
+import static org.mule.runtime.core.api.exception.Errors.ComponentIdentifiers.Handleable.TIMEOUT;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
+import static org.mule.runtime.core.privileged.processor.MessageProcessors.newChain;
+import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_OBJECT_STREAMING_MAX_BUFFER_SIZE;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.FORK_JOIN_STRATEGIES;
+import static org.mule.test.allure.AllureConstants.ForkJoinStrategiesFeature.ForkJoinStrategiesStory.COLLECT_LIST;
+import static reactor.core.publisher.Flux.fromIterable;
+import static reactor.core.publisher.Mono.from;
+
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.api.streaming.DefaultStreamingManager;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamProvider;
+import org.mule.runtime.core.api.util.IOUtils;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair;
+import org.mule.runtime.core.internal.streaming.bytes.SimpleByteBufferManager;
+import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
+import org.mule.tck.junit4.AbstractMuleContextTestCase;
+
+import java.io.ByteArrayInputStream;
+import java.util.List;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@Feature(FORK_JOIN_STRATEGIES)
+@Story(COLLECT_LIST)
+public class StreamingCollectListForkJoinStrategyTestCase extends AbstractMuleContextTestCase {
+
+  private static final int ROUTES = DEFAULT_OBJECT_STREAMING_MAX_BUFFER_SIZE * 2 + 1;
+
+  private DefaultStreamingManager streamingManager;
+  private Scheduler scheduler;
+  private ForkJoinStrategy strategy;
+
+  @Before
+  public void setup() throws MuleException {
+    streamingManager = new DefaultStreamingManager();
+    initialiseIfNeeded(streamingManager, muleContext);
+
+    ProcessingStrategy processingStrategy = mock(ProcessingStrategy.class);
+    when(processingStrategy.onPipeline(any(ReactiveProcessor.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    scheduler = muleContext.getSchedulerService().ioScheduler();
+
+    strategy = new StreamingCollectListForkJoinStrategyFactory(streamingManager, muleContext.getObjectSerializer(),
+                                                               DEFAULT_OBJECT_STREAMING_MAX_BUFFER_SIZE)
+                                                                   .createForkJoinStrategy(processingStrategy, 1, true, MAX_VALUE,
+                                                                                           scheduler,
+                                                                                           muleContext.getErrorTypeRepository()
+                                                                                               .getErrorType(TIMEOUT).get());
+  }
+
+  @After
+  public void tearDown() {
+    scheduler.stop();
+    disposeIfNeeded(streamingManager, null);
+  }
+
+  @Test
+  @Description("Results which are not serializable, such as streams, are kept in memory while the rest go to the buffer file.")
+  public void moreStreamResultsThanFitInMemory() throws Exception {
+    final List<RoutingPair> routingPairs = range(0, ROUTES).mapToObj(i -> {
+      try {
+        return RoutingPair.of(testEvent(), createChain(event -> CoreEvent.builder(event).message(routeResult(i)).build()));
+      } catch (MuleException e) {
+        throw new RuntimeException(e);
+      }
+    }).collect(toList());
+
+    CoreEvent result = from(strategy.forkJoin(testEvent(), fromIterable(routingPairs))).block();
+
+    assertThat(result.getMessage().getPayload().getValue(), instanceOf(CursorIteratorProvider.class));
+    CursorIteratorProvider resultsProvider = (CursorIteratorProvider) result.getMessage().getPayload().getValue();
+
+    // Read twice, so the spilled results are read back from the buffer file
+    for (int read = 0; read < 2; ++read) {
+      try (CursorIterator<Message> results = resultsProvider.openCursor()) {
+        for (int i = 0; i < ROUTES; ++i) {
+          assertThat(results.hasNext(), is(true));
+          assertThat(payloadAsString(results.next()), equalTo("result" + i));
+        }
+        assertThat(results.hasNext(), is(false));
+      }
+    }
+  }
+
+  private Message routeResult(int route) {
+    final String value = "result" + route;
+    if (route % 2 == 0) {
+      return of(value);
+    }
+    return of(new InMemoryCursorStreamProvider(new ByteArrayInputStream(value.getBytes(UTF_8)),
+                                               InMemoryCursorStreamConfig.getDefault(),
+                                               new SimpleByteBufferManager()));
+  }
+
+  private String payloadAsString(Message message) {
+    final Object payload = message.getPayload().getValue();
+    if (payload instanceof CursorStreamProvider) {
+      return IOUtils.toString(((CursorStreamProvider) payload).openCursor());
+    }
+    return (String) payload;
+  }
+
+  private MessageProcessorChain createChain(Processor processor) throws MuleException {
+    MessageProcessorChain chain = newChain(Optional.empty(), processor);
+    initialiseIfNeeded(chain, muleContext);
+    return chain;
+  }
+}
@@ -9,12 +9,14 @@ package org.mule.runtime.core.internal.streaming;
 import static java.util.Optional.empty;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.nullValue;
 import static org.hamcrest.CoreMatchers.sameInstance;
 import static org.hamcrest.Matchers.hasSize;
 import static org.junit.Assert.assertThat;
 import static org.mockito.ArgumentCaptor.forClass;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -131,4 +133,19 @@ public class CursorManagerTestCase extends AbstractMuleTestCase {
     assertThat(captured, hasSize(2));
     assertThat(captured.get(0), is(sameInstance(captured.get(1))));
   }
+
+  @Test
+  public void releaseResourcesOnEventCompletion() {
+    CursorStreamProvider provider = mock(CursorStreamProvider.class);
+    WeakReference<ManagedCursorProvider>[] trackedReference = new WeakReference[1];
+    when(ghostBuster.track(any())).thenAnswer(inv -> trackedReference[0] = new WeakReference<>(inv.getArgument(0)));
+
+    CursorProvider managed = cursorManager.manage(provider, ctx);
+    verify(provider, never()).releaseResources();
+
+    ctx.success();
+    verify(provider).releaseResources();
+    assertThat(trackedReference[0].get(), is(nullValue()));
+    verify(ghostBuster).track((ManagedCursorProvider) managed);
+  }
 }
@@ -68,6 +68,7 @@ public class StreamingGhostBusterTestCase extends AbstractMuleContextTestCase {
       gc();
       assertThat(reference.get(), is(nullValue()));
       verify(provider).releaseResources();
+      assertThat(ghostBuster.getReclaimedCount(), is(1L));
       return true;
     });
   }
@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.apache.commons.io.FileUtils.readFileToString;
+import static org.apache.commons.io.FileUtils.writeStringToFile;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.api.util.DataUnit.KB;
+import static org.mule.runtime.core.internal.streaming.bytes.FileStoreStreamBuffer.MAPPED_REGION_SIZE;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.util.IOUtils;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.InputStream;
+import java.io.OutputStream;
+
+import io.qameta.allure.Feature;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+@Feature(STREAMING)
+public class FileStoreCursorStreamProviderTestCase extends AbstractByteStreamingTestCase {
+
+  private static final int IN_MEMORY_SIZE = KB.toBytes(16);
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  private PoolingByteBufferManager bufferManager;
+  private FileStoreCursorStreamProvider streamProvider;
+
+  public FileStoreCursorStreamProviderTestCase() {
+    super(IN_MEMORY_SIZE + MAPPED_REGION_SIZE + KB.toBytes(100));
+  }
+
+  @Before
+  public void before() {
+    bufferManager = new PoolingByteBufferManager();
+  }
+
+  @After
+  public void after() {
+    if (streamProvider != null) {
+      streamProvider.close();
+    }
+    bufferManager.dispose();
+  }
+
+  @Test
+  public void readSpilledData() throws Exception {
+    streamProvider = createStreamProvider(new ByteArrayInputStream(data.getBytes()));
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertEquals(toString(cursor), data);
+    }
+  }
+
+  @Test
+  public void seekAcrossMemoryMappedAndTailRegions() throws Exception {
+    streamProvider = createStreamProvider(new ByteArrayInputStream(data.getBytes()));
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertEquals(toString(cursor), data);
+
+      int[] positions = {0, IN_MEMORY_SIZE - 10, IN_MEMORY_SIZE + 10, IN_MEMORY_SIZE + MAPPED_REGION_SIZE - 10,
+          data.length() - 10};
+      for (int position : positions) {
+        cursor.seek(position);
+        byte[] read = new byte[20];
+        int length = cursor.read(read);
+        assertThat(toString(read, 0, length), is(data.substring(position, position + length)));
+      }
+    }
+  }
+
+  @Test
+  public void spillFromFileInputStream() throws Exception {
+    File source = temporaryFolder.newFile();
+    writeStringToFile(source, data);
+
+    streamProvider = createStreamProvider(new FileInputStream(source));
+    try (CursorStream cursor = streamProvider.openCursor()) {
+      assertEquals(toString(cursor), data);
+    }
+  }
+
+  @Test
+  public void transferToFile() throws Exception {
+    streamProvider = createStreamProvider(new ByteArrayInputStream(data.getBytes()));
+    File target = temporaryFolder.newFile();
+
+    try (CursorStream cursor = streamProvider.openCursor(); OutputStream out = new FileOutputStream(target)) {
+      byte[] head = new byte[10];
+      cursor.read(head);
+
+      assertThat(IOUtils.copyLarge(cursor, out), is((long) data.length() - head.length));
+      assertThat(cursor.getPosition(), is((long) data.length()));
+      assertThat(cursor.read(), is(-1));
+    }
+
+    assertEquals(readFileToString(target), data.substring(10));
+  }
+
+  private FileStoreCursorStreamProvider createStreamProvider(InputStream dataStream) {
+    FileStoreCursorStreamConfig config = new FileStoreCursorStreamConfig(new DataSize(IN_MEMORY_SIZE, BYTE));
+    return new FileStoreCursorStreamProvider(dataStream, config, bufferManager, from("log"), false);
+  }
+}
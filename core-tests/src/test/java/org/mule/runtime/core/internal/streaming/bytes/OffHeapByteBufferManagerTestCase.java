@@ -0,0 +1,152 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.System.clearProperty;
+import static java.lang.System.setProperty;
+import static org.apache.commons.lang3.RandomStringUtils.randomAlphanumeric;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mule.runtime.api.util.MuleSystemProperties.MULE_STREAMING_MAX_MEMORY;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.core.internal.streaming.bytes.OffHeapByteBufferManager.SLAB_SIZE;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamProvider;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+import org.mule.runtime.core.internal.streaming.MemoryManager;
+import org.mule.tck.size.SmallTest;
+
+import java.io.ByteArrayInputStream;
+
+import io.qameta.allure.Feature;
+import org.apache.commons.io.IOUtils;
+import org.junit.Test;
+
+@SmallTest
+@Feature(STREAMING)
+public class OffHeapByteBufferManagerTestCase extends MemoryBoundByteBufferManagerContractTestCase {
+
+  @Override
+  protected MemoryBoundByteBufferManager createDefaultBoundBuffer() {
+    return new OffHeapByteBufferManager();
+  }
+
+  @Override
+  protected MemoryBoundByteBufferManager createBuffer(MemoryManager memoryManager, int capacity) {
+    return new OffHeapByteBufferManager(memoryManager);
+  }
+
+  @Test
+  public void buffersAreDirect() {
+    OffHeapByteBufferManager bufferManager = new OffHeapByteBufferManager();
+    try {
+      ManagedByteBufferWrapper pooled = bufferManager.allocateManaged(100);
+      ManagedByteBufferWrapper unpooled = bufferManager.allocateManaged(SLAB_SIZE + 1);
+      assertThat(pooled.getDelegate().isDirect(), is(true));
+      assertThat(unpooled.getDelegate().isDirect(), is(true));
+      assertThat(unpooled.getDelegate().capacity(), is(SLAB_SIZE + 1));
+      pooled.release();
+      unpooled.release();
+    } finally {
+      bufferManager.dispose();
+    }
+  }
+
+  @Test
+  public void releasedBlockIsReused() {
+    OffHeapByteBufferManager bufferManager = new OffHeapByteBufferManager();
+    try {
+      ManagedByteBufferWrapper buffer = bufferManager.allocateManaged(2000);
+      buffer.getDelegate().put((byte) 42);
+      buffer.release();
+
+      ManagedByteBufferWrapper reused = bufferManager.allocateManaged(1500);
+      assertThat(reused.getDelegate().capacity(), is(1500));
+      assertThat(reused.getDelegate().position(), is(0));
+      assertThat(reused.getDelegate().get(0), is((byte) 42));
+      reused.release();
+    } finally {
+      bufferManager.dispose();
+    }
+  }
+
+  @Test
+  public void wholeBlockCountsAgainstMemoryCap() {
+    setProperty(MULE_STREAMING_MAX_MEMORY, "2048");
+    OffHeapByteBufferManager bufferManager;
+    try {
+      bufferManager = new OffHeapByteBufferManager();
+    } finally {
+      clearProperty(MULE_STREAMING_MAX_MEMORY);
+    }
+
+    try {
+      // backed by a 2048 bytes block
+      ManagedByteBufferWrapper buffer = bufferManager.allocateManaged(1025);
+      try {
+        bufferManager.allocateManaged(1);
+        fail("MaxStreamingMemoryExceededException was expected");
+      } catch (MaxStreamingMemoryExceededException e) {
+        // the cap is already taken by the block of the first buffer
+      }
+
+      buffer.release();
+      bufferManager.allocateManaged(2048).release();
+    } finally {
+      bufferManager.dispose();
+    }
+  }
+
+  @Test
+  public void blocksOfSameSlabDoNotOverlap() {
+    OffHeapByteBufferManager bufferManager = new OffHeapByteBufferManager();
+    try {
+      ManagedByteBufferWrapper first = bufferManager.allocateManaged(1024);
+      ManagedByteBufferWrapper second = bufferManager.allocateManaged(1024);
+      for (int i = 0; i < 1024; i++) {
+        first.getDelegate().put(i, (byte) 1);
+        second.getDelegate().put(i, (byte) 2);
+      }
+      for (int i = 0; i < 1024; i++) {
+        assertThat(first.getDelegate().get(i), is((byte) 1));
+      }
+      first.release();
+      second.release();
+    } finally {
+      bufferManager.dispose();
+    }
+  }
+
+  @Test
+  public void cursorOverDirectBuffers() throws Exception {
+    final String data = randomAlphanumeric(SLAB_SIZE * 2);
+    OffHeapByteBufferManager bufferManager = new OffHeapByteBufferManager();
+    InMemoryCursorStreamConfig config = new InMemoryCursorStreamConfig(new DataSize(64 * 1024, BYTE),
+                                                                       new DataSize(64 * 1024, BYTE),
+                                                                       new DataSize(SLAB_SIZE * 4, BYTE));
+    InMemoryCursorStreamProvider provider =
+        new InMemoryCursorStreamProvider(new ByteArrayInputStream(data.getBytes()), config, bufferManager, from("log"), false);
+    try {
+      try (CursorStream cursor = provider.openCursor()) {
+        assertThat(IOUtils.toString(cursor), is(data));
+      }
+      try (CursorStream cursor = provider.openCursor()) {
+        cursor.seek(SLAB_SIZE);
+        assertThat(IOUtils.toString(cursor), is(data.substring(SLAB_SIZE)));
+      }
+    } finally {
+      provider.close();
+      bufferManager.dispose();
+    }
+  }
+}
@@ -0,0 +1,104 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+import static org.mule.runtime.api.util.DataUnit.KB;
+import static org.mule.runtime.core.internal.streaming.bytes.PayloadSizeStatistics.MIN_SAMPLES;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import io.qameta.allure.Feature;
+import org.junit.Test;
+
+@SmallTest
+@Feature(STREAMING)
+public class PayloadSizeStatisticsTestCase extends AbstractMuleTestCase {
+
+  private final InMemoryCursorStreamConfig configured = config(KB.toBytes(256), KB.toBytes(256), KB.toBytes(4096));
+  private final PayloadSizeStatistics statistics = new PayloadSizeStatistics();
+
+  @Test
+  public void configuredSizesUntilEnoughSamples() {
+    for (int i = 0; i < MIN_SAMPLES - 1; i++) {
+      statistics.record(KB.toBytes(2), configured, configured);
+    }
+    assertThat(statistics.recommend(configured), is(sameInstance(configured)));
+    assertThat(statistics.getRecommendedInitialBufferSize(), is(-1));
+  }
+
+  @Test
+  public void smallPayloadsShrinkInitialSize() {
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      statistics.record(1500, configured, configured);
+    }
+
+    InMemoryCursorStreamConfig adapted = statistics.recommend(configured);
+    assertThat(adapted.getInitialBufferSize().toBytes(), is(KB.toBytes(2)));
+    assertThat(adapted.getMaxBufferSize(), is(sameInstance(configured.getMaxBufferSize())));
+  }
+
+  @Test
+  public void bigPayloadsNeedFewerExpansions() {
+    for (int i = 0; i < MIN_SAMPLES * 4; i++) {
+      long size = i % 4 == 0 ? KB.toBytes(3000) : KB.toBytes(4);
+      statistics.record(size, statistics.recommend(configured), configured);
+    }
+
+    InMemoryCursorStreamConfig adapted = statistics.recommend(configured);
+    assertThat(PayloadSizeStatistics.expansionsFor(KB.toBytes(3000), adapted), is(1L));
+    assertThat(statistics.getExpansionsCount(), lessThan(statistics.getExpansionsWithConfiguredSizesCount()));
+  }
+
+  @Test
+  public void adaptedSizesRespectMaxBufferSize() {
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      statistics.record(KB.toBytes(8192), configured, configured);
+    }
+
+    InMemoryCursorStreamConfig adapted = statistics.recommend(configured);
+    int max = configured.getMaxBufferSize().toBytes();
+    assertThat(adapted.getInitialBufferSize().toBytes() + adapted.getBufferSizeIncrement().toBytes(),
+               is(lessThanOrEqualTo(max)));
+  }
+
+  @Test
+  public void nonExpandableBufferIsNotAdapted() {
+    InMemoryCursorStreamConfig fixed = config(KB.toBytes(256), 0, KB.toBytes(256));
+    for (int i = 0; i < MIN_SAMPLES; i++) {
+      statistics.record(100, fixed, fixed);
+    }
+    assertThat(statistics.recommend(fixed), is(sameInstance(fixed)));
+  }
+
+  @Test
+  public void percentiles() {
+    for (int i = 0; i < 90; i++) {
+      statistics.record(1000, configured, configured);
+    }
+    for (int i = 0; i < 10; i++) {
+      statistics.record(100000, configured, configured);
+    }
+
+    assertThat(statistics.getPercentile(0.5), is(1024L));
+    assertThat(statistics.getPercentile(0.95), is(131072L));
+    assertThat(statistics.getSamplesCount(), is(100L));
+  }
+
+  private static InMemoryCursorStreamConfig config(int initial, int increment, int max) {
+    return new InMemoryCursorStreamConfig(new DataSize(initial, BYTE), new DataSize(increment, BYTE), new DataSize(max, BYTE));
+  }
+}
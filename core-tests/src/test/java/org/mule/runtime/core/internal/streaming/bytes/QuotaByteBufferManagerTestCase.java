@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.streaming.StreamingQuotaManager.MAX_COMPONENT_STREAMING_MEMORY_PROPERTY;
+import static org.mule.runtime.core.internal.streaming.StreamingQuotaManager.MAX_FLOW_STREAMING_MEMORY_PROPERTY;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+import org.mule.runtime.core.internal.streaming.AtomicStreamingStatistics;
+import org.mule.runtime.core.internal.streaming.FlowStreamingStatistics;
+import org.mule.runtime.core.internal.streaming.StreamingQuotaManager;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.junit4.rule.SystemProperty;
+import org.mule.tck.size.SmallTest;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+
+import io.qameta.allure.Feature;
+
+@SmallTest
+@Feature(STREAMING)
+public class QuotaByteBufferManagerTestCase extends AbstractMuleTestCase {
+
+  private static final int FLOW_LIMIT = 1000;
+  private static final int COMPONENT_LIMIT = 600;
+
+  @Rule
+  public SystemProperty maxFlowMemory = new SystemProperty(MAX_FLOW_STREAMING_MEMORY_PROPERTY, String.valueOf(FLOW_LIMIT));
+
+  @Rule
+  public SystemProperty maxComponentMemory =
+      new SystemProperty(MAX_COMPONENT_STREAMING_MEMORY_PROPERTY, String.valueOf(COMPONENT_LIMIT));
+
+  private StreamingQuotaManager quotaManager;
+  private QuotaByteBufferManager bufferManager;
+
+  @Before
+  public void before() {
+    quotaManager = new StreamingQuotaManager(new AtomicStreamingStatistics());
+    bufferManager = new QuotaByteBufferManager(new SimpleByteBufferManager(), quotaManager);
+  }
+
+  @Test
+  public void componentQuotaExceeded() {
+    ComponentLocation location = location("noisyFlow", "noisyFlow/processors/0");
+    ByteBufferManager scoped = bufferManager.forLocation(location);
+
+    scoped.allocateManaged(COMPONENT_LIMIT);
+    assertThrottled(scoped, 1);
+
+    FlowStreamingStatistics statistics = quotaManager.statisticsFor(location);
+    assertThat(statistics.getThrottledAllocationsCount(), is(1L));
+    assertThat(statistics.getBufferedBytes(), is((long) COMPONENT_LIMIT));
+  }
+
+  @Test
+  public void flowQuotaSharedByItsComponents() {
+    ByteBufferManager first = bufferManager.forLocation(location("noisyFlow", "noisyFlow/processors/0"));
+    ByteBufferManager second = bufferManager.forLocation(location("noisyFlow", "noisyFlow/processors/1"));
+
+    first.allocateManaged(COMPONENT_LIMIT);
+    assertThrottled(second, FLOW_LIMIT - COMPONENT_LIMIT + 1);
+    second.allocateManaged(FLOW_LIMIT - COMPONENT_LIMIT);
+  }
+
+  @Test
+  public void noisyFlowDoesNotStarveOthers() {
+    ByteBufferManager noisy = bufferManager.forLocation(location("noisyFlow", "noisyFlow/processors/0"));
+    ByteBufferManager quiet = bufferManager.forLocation(location("quietFlow", "quietFlow/processors/0"));
+
+    noisy.allocateManaged(COMPONENT_LIMIT);
+    assertThrottled(noisy, 1);
+
+    quiet.allocateManaged(COMPONENT_LIMIT);
+    assertThat(quotaManager.getFlowStatistics().get("quietFlow").getThrottledAllocationsCount(), is(0L));
+  }
+
+  @Test
+  public void releaseGivesQuotaBack() {
+    ComponentLocation location = location("flow", "flow/processors/0");
+    ByteBufferManager scoped = bufferManager.forLocation(location);
+
+    ManagedByteBufferWrapper buffer = scoped.allocateManaged(COMPONENT_LIMIT);
+    buffer.release();
+    scoped.allocateManaged(COMPONENT_LIMIT).release();
+
+    FlowStreamingStatistics statistics = quotaManager.statisticsFor(location);
+    assertThat(statistics.getBufferedBytes(), is(0L));
+    assertThat(statistics.getPeakBufferedBytes(), is((long) COMPONENT_LIMIT));
+    assertThat(statistics.getThrottledAllocationsCount(), is(0L));
+  }
+
+  private void assertThrottled(ByteBufferManager bufferManager, int capacity) {
+    try {
+      bufferManager.allocateManaged(capacity);
+      fail("Allocation should have been rejected");
+    } catch (MaxStreamingMemoryExceededException e) {
+      // expected
+    }
+  }
+
+  private ComponentLocation location(String flowName, String path) {
+    ComponentLocation location = mock(ComponentLocation.class);
+    when(location.getRootContainerName()).thenReturn(flowName);
+    when(location.getLocation()).thenReturn(path);
+    return location;
+  }
+}
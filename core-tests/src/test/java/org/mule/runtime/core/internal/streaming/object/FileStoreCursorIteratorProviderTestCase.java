@@ -0,0 +1,127 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.Math.toIntExact;
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.mule.runtime.dsl.api.component.config.DefaultComponentLocation.from;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.STREAMING;
+import static org.mule.test.allure.AllureConstants.StreamingFeature.StreamingStory.OBJECT_STREAMING;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.util.func.CheckedConsumer;
+import org.mule.runtime.core.internal.serialization.JavaObjectSerializer;
+import org.mule.tck.size.SmallTest;
+
+import java.util.List;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import io.qameta.allure.Description;
+import io.qameta.allure.Feature;
+import io.qameta.allure.Story;
+
+@SmallTest
+@Feature(STREAMING)
+@Story(OBJECT_STREAMING)
+public class FileStoreCursorIteratorProviderTestCase extends AbstractObjectStreamingTestCase {
+
+  private static final int DATA_SIZE = 1000;
+  private static final int IN_MEMORY_INSTANCES = 200;
+
+  private CursorIteratorProvider streamProvider;
+
+  public FileStoreCursorIteratorProviderTestCase() {
+    super(DATA_SIZE);
+  }
+
+  @Before
+  public void before() {
+    streamProvider = createStreamProvider(data);
+  }
+
+  @After
+  public void after() {
+    streamProvider.close();
+  }
+
+  private CursorIteratorProvider createStreamProvider(List<Object> data) {
+    return new FileStoreCursorIteratorProvider(toStreamingIterator(data), new FileStoreCursorIteratorConfig(IN_MEMORY_INSTANCES),
+                                               new JavaObjectSerializer(), from("log"), false);
+  }
+
+  @Test
+  @Description("Fully consume a stream which doesn't fit in memory")
+  public void readFullyWithInSingleCursor() throws Exception {
+    withCursor(cursor -> checkEquals(data, cursor));
+  }
+
+  @Test
+  @Description("Consume the stream, then go back to the spilled items and consume them again")
+  public void rewindToSpilledItems() throws Exception {
+    withCursor(cursor -> {
+      checkEquals(data, cursor);
+
+      seekAndAssert(cursor, 0, DATA_SIZE);
+      seekAndAssert(cursor, 150, 100);
+    });
+  }
+
+  @Test
+  @Description("Two open cursors alternate reading from opposite ends of the stream, forcing buckets to be read back from disk")
+  public void twoOpenCursorsReadingOppositeEndsOfTheStream() throws Exception {
+    withCursor(cursor1 -> withCursor(cursor2 -> {
+      cursor2.seek(DATA_SIZE - 1);
+      assertThat(cursor2.next(), is(data.get(DATA_SIZE - 1)));
+
+      for (int i = 0; i < DATA_SIZE / 2; i++) {
+        assertThat(cursor1.next(), is(data.get(i)));
+        cursor2.seek(DATA_SIZE - 1 - i);
+        assertThat(cursor2.next(), is(data.get(DATA_SIZE - 1 - i)));
+      }
+    }));
+  }
+
+  @Test
+  @Description("Direct access to the last items of the stream and then back to the first ones")
+  public void getLastThenFirstItems() throws Exception {
+    withCursor(cursor -> {
+      seekAndAssert(cursor, DATA_SIZE - 2, 2);
+      assertThat(cursor.hasNext(), is(false));
+      seekAndAssert(cursor, 0, 2);
+    });
+  }
+
+  @Test(expected = MuleRuntimeException.class)
+  @Description("Items which are not serializable cannot be buffered to disk")
+  public void nonSerializableItems() throws Exception {
+    for (int i = 0; i < data.size(); i++) {
+      data.set(i, new Object());
+    }
+    streamProvider.close();
+    streamProvider = createStreamProvider(data);
+
+    withCursor(cursor -> read(cursor, data.size()));
+  }
+
+  private void seekAndAssert(CursorIterator<Object> cursor, long position, int size) {
+    cursor.seek(position);
+    List<Object> read = read(cursor, size);
+    checkEquals(read, data.subList(toIntExact(position), toIntExact(position + size)));
+  }
+
+  private void withCursor(CheckedConsumer<CursorIterator> consumer) throws Exception {
+    try (CursorIterator cursor = streamProvider.openCursor()) {
+      consumer.accept(cursor);
+    }
+  }
+}
@@ -6,9 +6,12 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.CoreMatchers.equalTo;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.greaterThan;
 import static org.junit.Assert.assertThat;
 import org.mule.runtime.core.internal.util.journal.queue.LocalQueueTxJournalEntry;
 import org.mule.runtime.core.internal.util.journal.queue.LocalTxQueueTransactionJournal;
@@ -16,7 +19,11 @@ import org.mule.tck.junit4.AbstractMuleContextTestCase;
 
 import java.io.File;
 import java.io.Serializable;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 
 import org.apache.commons.lang3.RandomStringUtils;
 import org.junit.Rule;
@@ -51,11 +58,84 @@ public class TransactionJournalFileTestCase extends AbstractMuleContextTestCase
     assertThat(entry.getValue(), equalTo(payload));
   }
 
+  @Test
+  public void groupCommitWritesEntriesOnSync() throws Exception {
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal(0L);
+    long operation = journal.logOperation(new LocalQueueTxJournalEntry(1, (byte) 6, "queue", "Hello World!"));
+    assertThat(journalFile().length(), is(0L));
+    assertThat(journal.fileLength(), greaterThan(0L));
+
+    journal.sync(operation);
+    assertThat(journalFile().length(), is(journal.fileLength()));
+    journal.close();
+
+    journal = openJournal(0L);
+    assertThat(journal.getLogEntries(1).size(), is(1));
+    journal.close();
+  }
+
+  @Test
+  public void groupCommitConcurrentTransactions() throws Exception {
+    final int threads = 8;
+    final int transactionsPerThread = 50;
+    final TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal(100L);
+    ExecutorService executor = newFixedThreadPool(threads);
+    try {
+      List<Future<?>> futures = new ArrayList<>();
+      for (int t = 0; t < threads; t++) {
+        final int thread = t;
+        futures.add(executor.submit(() -> {
+          for (int i = 0; i < transactionsPerThread; i++) {
+            int txId = thread * transactionsPerThread + i;
+            journal.sync(journal.logOperation(new LocalQueueTxJournalEntry(txId, (byte) 6, "queue", txId)));
+          }
+        }));
+      }
+      for (Future<?> future : futures) {
+        future.get(10, SECONDS);
+      }
+    } finally {
+      executor.shutdownNow();
+    }
+    journal.close();
+
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> reopened = openJournal(100L);
+    assertThat(reopened.getAllLogEntries().size(), is(threads * transactionsPerThread));
+    for (int txId = 0; txId < threads * transactionsPerThread; txId++) {
+      assertThat(reopened.getLogEntries(txId).iterator().next().getValue(), equalTo((Serializable) txId));
+    }
+    reopened.close();
+  }
+
+  @Test
+  public void groupCommitClearTruncatesFile() throws Exception {
+    TransactionJournalFile<Integer, LocalQueueTxJournalEntry> journal = openJournal(0L);
+    journal.sync(journal.logOperation(new LocalQueueTxJournalEntry(1, (byte) 6, "queue", "Hello World!")));
+    assertThat(journalFile().length(), greaterThan(0L));
+
+    journal.clear();
+    assertThat(journal.fileLength(), is(0L));
+    journal.sync(journal.logOperation(new LocalQueueTxJournalEntry(2, (byte) 6, "queue", "Hello World!")));
+    journal.close();
+
+    journal = openJournal(0L);
+    assertThat(journal.containsTx(1), is(false));
+    assertThat(journal.getLogEntries(2).size(), is(1));
+    journal.close();
+  }
+
   private TransactionJournalFile<Integer, LocalQueueTxJournalEntry> openJournal() {
-    File journalFile = new File(temporaryFolder.getRoot(), "journal");
+    return openJournal(null);
+  }
+
+  private TransactionJournalFile<Integer, LocalQueueTxJournalEntry> openJournal(Long groupCommitWindowNanos) {
     JournalEntrySerializer serializer = LocalTxQueueTransactionJournal.createLocalTxQueueJournalEntrySerializer(muleContext);
 
-    return new TransactionJournalFile(journalFile, serializer, journalEntry -> false, KB_500);
+    return new TransactionJournalFile(journalFile(), serializer, journalEntry -> false, KB_500, groupCommitWindowNanos);
+  }
+
+  private File journalFile() {
+    return new File(temporaryFolder.getRoot(), "journal");
   }
 
 }
@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.hamcrest.core.Is.is;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.NoSuchElementException;
+
+import org.junit.Test;
+
+@SmallTest
+public class LongRingBufferTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void growsWhenWrapped() {
+    final LongRingBuffer buffer = new LongRingBuffer(4);
+    buffer.addLast(2);
+    buffer.addLast(3);
+    buffer.addFirst(1);
+    buffer.addFirst(0);
+    buffer.addLast(4);
+    buffer.addLast(5);
+
+    assertThat(buffer.size(), is(6));
+    for (long i = 0; i < 6; i++) {
+      assertThat(buffer.get((int) i), is(i));
+    }
+    for (long i = 0; i < 6; i++) {
+      assertThat(buffer.removeFirst(), is(i));
+    }
+    assertThat(buffer.isEmpty(), is(true));
+  }
+
+  @Test
+  public void removeValue() {
+    final LongRingBuffer buffer = new LongRingBuffer();
+    for (long i = 0; i < 5; i++) {
+      buffer.addLast(i);
+    }
+
+    assertThat(buffer.remove(2), is(true));
+    assertThat(buffer.remove(7), is(false));
+    assertThat(buffer.size(), is(4));
+    assertThat(buffer.get(2), is(3L));
+  }
+
+  @Test(expected = NoSuchElementException.class)
+  public void removeFirstWhenEmpty() {
+    new LongRingBuffer().removeFirst();
+  }
+}
@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static org.hamcrest.Matchers.lessThan;
+import static org.hamcrest.core.Is.is;
+import static org.hamcrest.core.IsNull.nullValue;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.util.Arrays;
+
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class SegmentedMappedFileQueueStoreTestCase extends AbstractMuleTestCase {
+
+  private static final int SEGMENT_SIZE = 64;
+  private static final String DATA_FILE = "datafile";
+
+  @Rule
+  public TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+  @Test
+  public void fifoOrder() throws Exception {
+    final SegmentedMappedFileQueueStore queueStore = createQueueStore();
+    for (byte i = 0; i < 20; i++) {
+      queueStore.addLast(new byte[] {i});
+    }
+
+    assertThat(queueStore.getSize(), is(20));
+    for (byte i = 0; i < 20; i++) {
+      assertThat(queueStore.removeFirst()[0], is(i));
+    }
+    assertThat(queueStore.isEmpty(), is(true));
+    assertThat(queueStore.removeFirst(), is(nullValue()));
+  }
+
+  @Test
+  public void addFirst() throws Exception {
+    final SegmentedMappedFileQueueStore queueStore = createQueueStore();
+    queueStore.addLast(new byte[] {1});
+    queueStore.addFirst(new byte[] {0});
+
+    assertThat(queueStore.getFirst()[0], is((byte) 0));
+    assertThat(queueStore.removeFirst()[0], is((byte) 0));
+    assertThat(queueStore.removeFirst()[0], is((byte) 1));
+  }
+
+  @Test
+  public void consumedSegmentsAreReclaimed() throws Exception {
+    final SegmentedMappedFileQueueStore queueStore = createQueueStore();
+    for (int i = 0; i < 50; i++) {
+      queueStore.addLast(new byte[10]);
+    }
+    final long fullLength = queueStore.getLength();
+    final int fullSegments = countSegmentFiles();
+
+    for (int i = 0; i < 40; i++) {
+      queueStore.removeFirst();
+    }
+
+    assertThat(queueStore.getLength(), lessThan(fullLength));
+    assertThat(countSegmentFiles(), lessThan(fullSegments));
+  }
+
+  @Test
+  public void recoversPendingEntries() throws Exception {
+    SegmentedMappedFileQueueStore queueStore = createQueueStore();
+    for (byte i = 0; i < 20; i++) {
+      queueStore.addLast(new byte[] {i});
+    }
+    for (int i = 0; i < 5; i++) {
+      queueStore.removeFirst();
+    }
+    queueStore.close();
+
+    queueStore = createQueueStore();
+    assertThat(queueStore.getSize(), is(15));
+    assertThat(queueStore.removeFirst()[0], is((byte) 5));
+  }
+
+  @Test
+  public void recoversEntriesAddedFirst() throws Exception {
+    SegmentedMappedFileQueueStore queueStore = createQueueStore();
+    for (byte i = 1; i <= 10; i++) {
+      queueStore.addLast(new byte[] {i});
+    }
+    // a rolled back removal, written after the tail entries
+    final byte[] removed = queueStore.removeFirst();
+    queueStore.addFirst(removed);
+    queueStore.addFirst(new byte[] {0});
+    queueStore.addLast(new byte[] {11});
+    queueStore.close();
+
+    queueStore = createQueueStore();
+    assertThat(queueStore.getSize(), is(12));
+    for (byte i = 0; i <= 11; i++) {
+      assertThat(queueStore.removeFirst()[0], is(i));
+    }
+  }
+
+  @Test
+  public void removeAndContains() throws Exception {
+    final SegmentedMappedFileQueueStore queueStore = createQueueStore();
+    for (byte i = 0; i < 10; i++) {
+      queueStore.addLast(new byte[] {i});
+    }
+
+    final RawDataSelector selector = data -> Arrays.equals(data, new byte[] {7});
+    assertThat(queueStore.contains(selector), is(true));
+    assertThat(queueStore.remove(selector), is(true));
+    assertThat(queueStore.contains(selector), is(false));
+    assertThat(queueStore.getSize(), is(9));
+    assertThat(queueStore.allElements().size(), is(9));
+  }
+
+  @Test
+  public void importsRandomAccessFileEntries() throws Exception {
+    final RandomAccessFileQueueStore legacyStore =
+        new RandomAccessFileQueueStore(new QueueFileProvider(temporaryFolder.getRoot(), DATA_FILE));
+    for (byte i = 0; i < 5; i++) {
+      legacyStore.addLast(new byte[] {i});
+    }
+    legacyStore.removeFirst();
+    legacyStore.close();
+
+    final SegmentedMappedFileQueueStore queueStore = createQueueStore();
+    assertThat(queueStore.getSize(), is(4));
+    assertThat(queueStore.removeFirst()[0], is((byte) 1));
+  }
+
+  private int countSegmentFiles() {
+    return temporaryFolder.getRoot().listFiles((dir, name) -> name.startsWith(DATA_FILE + ".")).length;
+  }
+
+  private SegmentedMappedFileQueueStore createQueueStore() {
+    return new SegmentedMappedFileQueueStore(new QueueFileProvider(temporaryFolder.getRoot(), DATA_FILE), SEGMENT_SIZE, false);
+  }
+}
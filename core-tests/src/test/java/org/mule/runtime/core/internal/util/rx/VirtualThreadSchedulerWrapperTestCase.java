@@ -0,0 +1,167 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.rx;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.hamcrest.Matchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mule.runtime.core.internal.util.rx.VirtualThreadSchedulerWrapper.isVirtualThreadsSupported;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+import java.util.concurrent.RejectedExecutionException;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class VirtualThreadSchedulerWrapperTestCase extends AbstractMuleTestCase {
+
+  private static final int RECEIVE_TIMEOUT = 5000;
+  private static final int MAX_CONCURRENCY = 2;
+
+  private Scheduler delegate;
+  private VirtualThreadSchedulerWrapper scheduler;
+
+  private CountDownLatch release;
+
+  @Before
+  public void before() {
+    delegate = mock(Scheduler.class);
+    // the permits logic doesn't depend on the tasks running on virtual threads, so it's tested with a plain executor
+    scheduler = new VirtualThreadSchedulerWrapper(delegate, newCachedThreadPool(), MAX_CONCURRENCY);
+    release = new CountDownLatch(1);
+  }
+
+  @After
+  public void after() {
+    release.countDown();
+    scheduler.stop();
+  }
+
+  @Test
+  public void rejectWhenMaxConcurrencyReached() throws InterruptedException {
+    final CountDownLatch finished = new CountDownLatch(MAX_CONCURRENCY);
+
+    for (int i = 0; i < MAX_CONCURRENCY; ++i) {
+      scheduler.execute(() -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        } finally {
+          finished.countDown();
+        }
+      });
+    }
+
+    try {
+      scheduler.execute(() -> {
+      });
+      fail("Task should have been rejected");
+    } catch (RejectedExecutionException e) {
+      // expected
+    }
+
+    release.countDown();
+    assertThat(finished.await(RECEIVE_TIMEOUT, MILLISECONDS), is(true));
+
+    // permits are released once the tasks finish
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      final CountDownLatch accepted = new CountDownLatch(1);
+      try {
+        scheduler.execute(accepted::countDown);
+      } catch (RejectedExecutionException e) {
+        return false;
+      }
+      return accepted.await(RECEIVE_TIMEOUT, MILLISECONDS);
+    }));
+  }
+
+  @Test
+  public void invokeAllWithinMaxConcurrency() throws Exception {
+    List<Future<Integer>> results = scheduler.invokeAll(asList(() -> 1, () -> 2));
+
+    assertThat(results.get(0).get(), is(1));
+    assertThat(results.get(1).get(), is(2));
+  }
+
+  @Test
+  public void invokeAllRejectedWhenMaxConcurrencyReached() throws InterruptedException {
+    final Callable<Integer> blocked = () -> {
+      release.await();
+      return 1;
+    };
+
+    try {
+      scheduler.invokeAll(asList(blocked, blocked, blocked));
+      fail("Tasks should have been rejected");
+    } catch (RejectedExecutionException e) {
+      // expected
+    }
+  }
+
+  @Test
+  public void invokeAnyRejectedWhenMaxConcurrencyReached() throws Exception {
+    final Callable<Integer> task = () -> 1;
+    for (int i = 0; i < MAX_CONCURRENCY; ++i) {
+      scheduler.execute(() -> {
+        try {
+          release.await();
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      });
+    }
+
+    try {
+      scheduler.invokeAny(asList(task));
+      fail("Task should have been rejected");
+    } catch (RejectedExecutionException e) {
+      // expected
+    }
+
+    release.countDown();
+    new PollingProber(RECEIVE_TIMEOUT, 50).check(new JUnitLambdaProbe(() -> {
+      try {
+        return scheduler.invokeAny(asList(task)) == 1;
+      } catch (RejectedExecutionException e) {
+        return false;
+      }
+    }));
+  }
+
+  @Test
+  public void virtualThreads() throws Exception {
+    assumeTrue(isVirtualThreadsSupported());
+    final VirtualThreadSchedulerWrapper virtualThreadsScheduler = new VirtualThreadSchedulerWrapper(delegate, MAX_CONCURRENCY);
+    try {
+      assertThat(virtualThreadsScheduler.submit(() -> 1).get(RECEIVE_TIMEOUT, MILLISECONDS), is(1));
+    } finally {
+      virtualThreadsScheduler.stop();
+    }
+  }
+
+  @Test
+  public void stopDelegate() {
+    scheduler.stop();
+    verify(delegate).stop();
+  }
+}
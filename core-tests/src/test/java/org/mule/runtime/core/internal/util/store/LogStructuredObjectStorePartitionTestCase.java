@@ -0,0 +1,157 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.util.store;
+
+import static org.hamcrest.CoreMatchers.is;
+import static org.junit.Assert.assertThat;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import static org.mockito.Mockito.when;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.INDEX_SNAPSHOT_FILE;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.SEGMENT_FILE_EXTENSION;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.isLogStructuredPartition;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.mule.tck.SerializationTestUtils.addJavaSerializerToMockMuleContext;
+import static org.mule.tck.util.MuleContextUtils.mockMuleContext;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.size.SmallTest;
+
+import java.io.File;
+
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+@SmallTest
+public class LogStructuredObjectStorePartitionTestCase extends AbstractMuleTestCase {
+
+  private static final long SMALL_SEGMENT_SIZE = 1024;
+
+  @Rule
+  public TemporaryFolder objectStoreFolder = new TemporaryFolder();
+
+  private MuleContext muleContext = mockMuleContext();
+
+  private LogStructuredObjectStorePartition<String> partition;
+
+  @Before
+  public void setUp() throws Exception {
+    when(muleContext.getExecutionClassLoader()).thenReturn(getClass().getClassLoader());
+    addJavaSerializerToMockMuleContext(muleContext);
+    partition = new LogStructuredObjectStorePartition<>(muleContext, "test", objectStoreFolder.getRoot(), SMALL_SEGMENT_SIZE);
+    partition.open();
+  }
+
+  @Test
+  public void storeRetrieveAndRemove() throws ObjectStoreException {
+    partition.store("key", "value");
+
+    assertThat(partition.contains("key"), is(true));
+    assertThat(partition.retrieve("key"), is("value"));
+    assertThat(partition.remove("key"), is("value"));
+    assertThat(partition.contains("key"), is(false));
+    assertThat(isLogStructuredPartition(objectStoreFolder.getRoot()), is(true));
+  }
+
+  @Test(expected = ObjectAlreadyExistsException.class)
+  public void storeExistingKey() throws ObjectStoreException {
+    partition.store("key", "value");
+    partition.store("key", "other");
+  }
+
+  @Test
+  public void indicatesUnexistentKeyOnRetrieveError() throws ObjectStoreException {
+    try {
+      partition.retrieve("nonExistentKey");
+      fail("Supposed to thrown an exception as key is not valid");
+    } catch (ObjectDoesNotExistException e) {
+      assertTrue(e.getMessage().contains("nonExistentKey"));
+    }
+  }
+
+  @Test
+  public void reopenFromSnapshot() throws Exception {
+    storeEntries(100);
+    partition.remove("key0");
+
+    assertThat(new File(objectStoreFolder.getRoot(), INDEX_SNAPSHOT_FILE).exists(), is(true));
+    assertReopened(99, "key99");
+  }
+
+  @Test
+  public void reopenWithoutSnapshot() throws Exception {
+    storeEntries(100);
+    partition.remove("key0");
+
+    new File(objectStoreFolder.getRoot(), INDEX_SNAPSHOT_FILE).delete();
+    assertReopened(99, "key99");
+  }
+
+  @Test
+  public void expireMaxEntries() throws Exception {
+    storeEntries(10);
+    partition.expire(UNBOUNDED, 4);
+
+    assertThat(partition.allKeys().size(), is(4));
+    assertThat(partition.contains("key5"), is(false));
+    assertThat(partition.contains("key9"), is(true));
+  }
+
+  @Test
+  public void compactionReclaimsSegments() throws Exception {
+    storeEntries(200);
+    int segmentsBefore = countSegments();
+    for (int i = 0; i < 190; i++) {
+      partition.remove("key" + i);
+    }
+    partition.compact();
+
+    assertThat(countSegments() < segmentsBefore, is(true));
+    assertThat(partition.allKeys().size(), is(10));
+    assertThat(partition.retrieve("key199"), is("value199"));
+    assertReopened(10, "key199");
+  }
+
+  @Test
+  public void clear() throws Exception {
+    storeEntries(10);
+    partition.clear();
+
+    assertThat(partition.allKeys().size(), is(0));
+    assertThat(new File(objectStoreFolder.getRoot(), "partition-descriptor").exists(), is(true));
+    partition.store("key", "value");
+    assertThat(partition.retrieve("key"), is("value"));
+  }
+
+  private void storeEntries(int count) throws ObjectStoreException {
+    for (int i = 0; i < count; i++) {
+      partition.store("key" + i, "value" + i);
+    }
+  }
+
+  private int countSegments() {
+    return objectStoreFolder.getRoot().listFiles(file -> file.getName().endsWith(SEGMENT_FILE_EXTENSION)).length;
+  }
+
+  private void assertReopened(int expectedEntries, String lastKey) throws Exception {
+    LogStructuredObjectStorePartition<String> reopened =
+        new LogStructuredObjectStorePartition<>(muleContext, objectStoreFolder.getRoot());
+    reopened.open();
+
+    assertThat(reopened.getPartitionName(), is("test"));
+    assertThat(reopened.allKeys().size(), is(expectedEntries));
+    assertThat(reopened.contains("key0"), is(false));
+    assertThat(reopened.retrieve(lastKey), is(lastKey.replace("key", "value")));
+  }
+}
@@ -0,0 +1,142 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.timer;
+
+import static java.lang.System.nanoTime;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.SimpleUnitTestSupportScheduler;
+import org.mule.tck.junit4.AbstractMuleTestCase;
+import org.mule.tck.probe.JUnitLambdaProbe;
+import org.mule.tck.probe.PollingProber;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor.AbortPolicy;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+public class HashedWheelTimerTestCase extends AbstractMuleTestCase {
+
+  private static final long TICK_MILLIS = 10;
+  private static final int TICKS_PER_WHEEL = 8;
+  private static final long RECEIVE_TIMEOUT = 5000;
+
+  private SimpleUnitTestSupportScheduler scheduler;
+  private HashedWheelTimer timer;
+
+  @Before
+  public void before() {
+    scheduler = new SimpleUnitTestSupportScheduler(2, Thread::new, new AbortPolicy());
+    timer = new HashedWheelTimer(scheduler, TICK_MILLIS, MILLISECONDS, TICKS_PER_WHEEL);
+  }
+
+  @After
+  public void after() {
+    timer.stop();
+    scheduler.shutdownNow();
+  }
+
+  @Test
+  public void runAfterDelay() throws InterruptedException {
+    assertDelayHonoured(50);
+  }
+
+  @Test
+  public void runAfterDelayLongerThanWheel() throws InterruptedException {
+    assertDelayHonoured(TICK_MILLIS * TICKS_PER_WHEEL * 3 + 5);
+  }
+
+  @Test
+  public void cancelledNotRun() throws InterruptedException {
+    final AtomicBoolean run = new AtomicBoolean();
+    final HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> run.set(true), 20, MILLISECONDS);
+    assertThat(timeout.cancel(), is(true));
+    assertThat(timer.getActiveTimeouts(), is(0));
+
+    final CountDownLatch latch = new CountDownLatch(1);
+    timer.newTimeout(latch::countDown, 50, MILLISECONDS);
+    assertThat(latch.await(RECEIVE_TIMEOUT, MILLISECONDS), is(true));
+    assertThat(run.get(), is(false));
+    assertThat(timeout.isCancelled(), is(true));
+  }
+
+  @Test
+  public void cancelAfterRunFails() throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final HashedWheelTimer.Timeout timeout = timer.newTimeout(latch::countDown, 0, MILLISECONDS);
+    assertThat(latch.await(RECEIVE_TIMEOUT, MILLISECONDS), is(true));
+
+    assertThat(timeout.cancel(), is(false));
+    assertThat(timeout.isExpired(), is(true));
+  }
+
+  @Test
+  public void tickOnlyWhileTasksWaiting() throws InterruptedException {
+    assertThat(timer.isTicking(), is(false));
+
+    assertDelayHonoured(20);
+    new PollingProber(RECEIVE_TIMEOUT, TICK_MILLIS).check(new JUnitLambdaProbe(() -> !timer.isTicking()));
+
+    final HashedWheelTimer.Timeout timeout = timer.newTimeout(() -> {
+    }, RECEIVE_TIMEOUT, MILLISECONDS);
+    assertThat(timer.isTicking(), is(true));
+    timeout.cancel();
+    new PollingProber(RECEIVE_TIMEOUT, TICK_MILLIS).check(new JUnitLambdaProbe(() -> !timer.isTicking()));
+
+    assertDelayHonoured(20);
+  }
+
+  @Test
+  public void failingTaskRunInTimerThreadDoesNotStopTimer() throws InterruptedException {
+    timer.stop();
+    scheduler.shutdownNow();
+    scheduler = new SimpleUnitTestSupportScheduler(2, Thread::new, new AbortPolicy()) {
+
+      @Override
+      public void execute(Runnable command) {
+        // always busy, so expired tasks are run in the timer thread
+        throw new RejectedExecutionException();
+      }
+    };
+    timer = new HashedWheelTimer(scheduler, TICK_MILLIS, MILLISECONDS, TICKS_PER_WHEEL);
+
+    final CountDownLatch failed = new CountDownLatch(1);
+    timer.newTimeout(() -> {
+      failed.countDown();
+      throw new IllegalStateException("Expected");
+    }, 0, MILLISECONDS);
+    assertThat(failed.await(RECEIVE_TIMEOUT, MILLISECONDS), is(true));
+
+    assertDelayHonoured(50);
+  }
+
+  private void assertDelayHonoured(long delayMillis) throws InterruptedException {
+    final CountDownLatch latch = new CountDownLatch(1);
+    final long start = nanoTime();
+    final long[] elapsed = new long[1];
+
+    timer.newTimeout(() -> {
+      elapsed[0] = nanoTime() - start;
+      latch.countDown();
+    }, delayMillis, MILLISECONDS);
+
+    assertThat(timer.getActiveTimeouts(), is(1));
+    assertThat(latch.await(RECEIVE_TIMEOUT, MILLISECONDS), is(true));
+    assertThat(NANOSECONDS.toMillis(elapsed[0]), greaterThanOrEqualTo(delayMillis));
+    assertThat(NANOSECONDS.toMillis(elapsed[0]), lessThanOrEqualTo(RECEIVE_TIMEOUT));
+    assertThat(timer.getActiveTimeouts(), is(0));
+  }
+}
@@ -0,0 +1,61 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.timer;
+
+import static org.hamcrest.Matchers.allOf;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.is;
+import static org.hamcrest.Matchers.lessThanOrEqualTo;
+import static org.junit.Assert.assertThat;
+
+import org.mule.tck.junit4.AbstractMuleTestCase;
+
+import org.junit.Test;
+
+public class RetryBackoffTestCase extends AbstractMuleTestCase {
+
+  @Test
+  public void constant() {
+    final RetryBackoff backoff = new RetryBackoff(1, Long.MAX_VALUE, 0);
+    assertThat(backoff.getDelay(100, 1), is(100L));
+    assertThat(backoff.getDelay(100, 5), is(100L));
+  }
+
+  @Test
+  public void exponential() {
+    final RetryBackoff backoff = new RetryBackoff(2, Long.MAX_VALUE, 0);
+    assertThat(backoff.getDelay(100, 1), is(100L));
+    assertThat(backoff.getDelay(100, 2), is(200L));
+    assertThat(backoff.getDelay(100, 4), is(800L));
+  }
+
+  @Test
+  public void capped() {
+    final RetryBackoff backoff = new RetryBackoff(2, 500, 0);
+    assertThat(backoff.getDelay(100, 3), is(400L));
+    assertThat(backoff.getDelay(100, 4), is(500L));
+    assertThat(backoff.getDelay(100, 60), is(500L));
+  }
+
+  @Test
+  public void jitter() {
+    final RetryBackoff backoff = new RetryBackoff(1, Long.MAX_VALUE, 0.5);
+    for (int i = 0; i < 100; ++i) {
+      assertThat(backoff.getDelay(100, 1), allOf(greaterThanOrEqualTo(50L), lessThanOrEqualTo(100L)));
+    }
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void multiplierLessThanOne() {
+    new RetryBackoff(0.5, Long.MAX_VALUE, 0);
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void jitterGreaterThanOne() {
+    new RetryBackoff(1, Long.MAX_VALUE, 1.5);
+  }
+}
@@ -7,9 +7,12 @@
 
 package org.mule.runtime.core.privileged.processor.chain;
 
+import static java.lang.Thread.currentThread;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.Collections.singletonMap;
+import static java.util.Collections.synchronizedList;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.Optional.empty;
 import static java.util.stream.Collectors.toList;
 import static org.apache.commons.lang3.RandomStringUtils.randomNumeric;
@@ -26,6 +29,7 @@ import static org.junit.Assert.assertNull;
 import static org.junit.Assert.assertSame;
 import static org.junit.Assert.assertThat;
 import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 import static org.junit.rules.ExpectedException.none;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.spy;
@@ -51,6 +55,7 @@ import static org.mule.tck.junit4.AbstractReactiveProcessorTestCase.Mode.BLOCKIN
 import static org.mule.tck.junit4.AbstractReactiveProcessorTestCase.Mode.NON_BLOCKING;
 import static org.slf4j.LoggerFactory.getLogger;
 import static reactor.core.publisher.Flux.from;
+import static reactor.core.scheduler.Schedulers.fromExecutorService;
 
 import org.mule.runtime.api.component.AbstractComponent;
 import org.mule.runtime.api.component.location.ComponentLocation;
@@ -58,6 +63,7 @@ import org.mule.runtime.api.exception.MuleException;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.lifecycle.Lifecycle;
+import org.mule.runtime.api.lifecycle.LifecycleException;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.notification.MessageProcessorNotification;
 import org.mule.runtime.api.notification.MessageProcessorNotificationListener;
@@ -65,11 +71,14 @@ import org.mule.runtime.api.scheduler.SchedulerService;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.core.api.config.MuleConfiguration;
 import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.construct.FlowConstruct;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.exception.FlowExceptionHandler;
 import org.mule.runtime.core.api.exception.NullExceptionHandler;
 import org.mule.runtime.core.api.processor.Processor;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.Sink;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategyFactory;
 import org.mule.runtime.core.api.util.ObjectUtils;
@@ -91,11 +100,14 @@ import org.mule.runtime.core.privileged.processor.chain.DefaultMessageProcessorC
 import org.mule.tck.junit4.AbstractReactiveProcessorTestCase;
 import org.mule.tck.size.SmallTest;
 
+import java.net.URL;
+import java.net.URLClassLoader;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.After;
@@ -818,6 +830,171 @@ public class DefaultMessageProcessorChainTestCase extends AbstractReactiveProces
     }
   }
 
+  @Test
+  public void fusedProcessorsErrorInTheMiddle() throws Exception {
+    final FuseableAppendingMP first = new FuseableAppendingMP("1", "flow/processors/0");
+    final FuseableFailingMP failing = new FuseableFailingMP(illegalStateException, "flow/processors/1");
+    final FuseableAppendingMP last = new FuseableAppendingMP("2", "flow/processors/2");
+    final MessageProcessorChain chain = new DefaultMessageProcessorChainBuilder().chain(first, failing, last).build();
+    initialiseIfNeeded(chain, muleContext);
+    startIfNeeded(chain);
+
+    try {
+      process(chain, getTestEventUsingFlow("0"), false);
+      fail("Expected the chain to fail");
+    } catch (MessagingException e) {
+      assertThat(e.getCause(), is(illegalStateException));
+      assertThat(e.getFailingComponent(), is(failing));
+      assertThat(e.getFailingComponent().getLocation().getLocation(), equalTo("flow/processors/1"));
+      assertThat(e.getEvent().getMessage().getPayload().getValue(), equalTo("01"));
+    } finally {
+      stopIfNeeded(chain);
+      disposeIfNeeded(chain, LOGGER);
+    }
+
+    assertThat(first.invoked, is(true));
+    assertThat(last.invoked, is(false));
+  }
+
+  @Test
+  public void fusedProcessorsNotifications() throws Exception {
+    List<MessageProcessorNotification> notificationList = new ArrayList<>();
+    setupMessageProcessorNotificationListener(notificationList);
+    final List<Processor> processors = asList(new FuseableAppendingMP("1", "flow/processors/0"),
+                                              new FuseableAppendingMP("2", "flow/processors/1"),
+                                              new FuseableAppendingMP("3", "flow/processors/2"));
+    DefaultMessageProcessorChainBuilder builder = new DefaultMessageProcessorChainBuilder();
+    builder.chain(processors);
+
+    assertThat(process(builder.build(), getTestEventUsingFlow("0")).getMessage().getPayload().getValue(), equalTo("0123"));
+    assertThat(notificationList, hasSize(6));
+    for (int i = 0; i < processors.size(); ++i) {
+      MessageProcessorNotification preNotification = notificationList.get(i * 2);
+      MessageProcessorNotification postNotification = notificationList.get(i * 2 + 1);
+      assertThat(preNotification.getAction().getActionId(), equalTo(MESSAGE_PROCESSOR_PRE_INVOKE));
+      assertThat(preNotification.getComponent(), is(processors.get(i)));
+      assertThat(postNotification.getAction().getActionId(), equalTo(MESSAGE_PROCESSOR_POST_INVOKE));
+      assertThat(postNotification.getComponent(), is(processors.get(i)));
+      assertThat(postNotification.getException(), is(nullValue()));
+    }
+  }
+
+  @Test
+  public void notificationsNotFiredOnProcessingStrategyThread() throws Exception {
+    final ExecutorService processorExecutor = newSingleThreadExecutor(r -> new Thread(r, "processorThread"));
+    final ProcessingStrategy hoppingProcessingStrategy = new ProcessingStrategy() {
+
+      @Override
+      public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor pipeline) {
+        throw new UnsupportedOperationException();
+      }
+
+      @Override
+      public ReactiveProcessor onProcessor(ReactiveProcessor processor) {
+        return publisher -> from(publisher).publishOn(fromExecutorService(processorExecutor)).transform(processor);
+      }
+    };
+
+    final List<Thread> preNotificationThreads = synchronizedList(new ArrayList<>());
+    muleContext.getNotificationManager().addInterfaceToType(MessageProcessorNotificationListener.class,
+                                                            MessageProcessorNotification.class);
+    muleContext.getNotificationManager().addListener((MessageProcessorNotificationListener) notification -> {
+      if (notification.getAction().getActionId() == MESSAGE_PROCESSOR_PRE_INVOKE) {
+        preNotificationThreads.add(currentThread());
+      }
+    });
+
+    final List<Thread> processorThreads = synchronizedList(new ArrayList<>());
+    final Processor processor = new FuseableAppendingMP("1", "flow/processors/0") {
+
+      @Override
+      public CoreEvent process(CoreEvent event) throws MuleException {
+        processorThreads.add(currentThread());
+        return super.process(event);
+      }
+    };
+
+    try {
+      final MessageProcessorChain chain = newChain(Optional.of(hoppingProcessingStrategy), processor, processor);
+      assertThat(process(chain, getTestEventUsingFlow("0")).getMessage().getPayload().getValue(), equalTo("011"));
+    } finally {
+      processorExecutor.shutdownNow();
+    }
+
+    assertThat(processorThreads, hasSize(2));
+    assertThat(preNotificationThreads, hasSize(2));
+    for (Thread processorThread : processorThreads) {
+      assertThat(processorThread.getName(), equalTo("processorThread"));
+    }
+    for (Thread preNotificationThread : preNotificationThreads) {
+      assertThat(preNotificationThread.getName(), not(equalTo("processorThread")));
+    }
+  }
+
+  @Test
+  public void fusedProcessorsNotExecutedWhenStopped() throws Exception {
+    final FuseableAppendingMP first = new FuseableAppendingMP("1", "flow/processors/0");
+    final FuseableAppendingMP second = new FuseableAppendingMP("2", "flow/processors/1");
+    final MessageProcessorChain chain = new DefaultMessageProcessorChainBuilder().chain(first, second).build();
+    initialiseIfNeeded(chain, muleContext);
+    startIfNeeded(chain);
+    stopIfNeeded(chain);
+
+    try {
+      process(chain, getTestEventUsingFlow("0"), false);
+      fail("Expected the stopped chain to reject the event");
+    } catch (MessagingException e) {
+      assertThat(e.getCause(), instanceOf(LifecycleException.class));
+    } finally {
+      disposeIfNeeded(chain, LOGGER);
+    }
+
+    assertThat(first.invoked, is(false));
+    assertThat(second.invoked, is(false));
+  }
+
+  @Test
+  public void fusedProcessorsThreadContextClassLoader() throws Exception {
+    final ClassLoader originalClassLoader = currentThread().getContextClassLoader();
+    final ClassLoader regionClassLoader = new URLClassLoader(new URL[0], originalClassLoader);
+
+    // Each processor leaks a different TCCL, which must not be seen by the next one
+    final FuseableAppendingMP first = new ClassLoaderLeakingMP("1", "flow/processors/0");
+    final FuseableAppendingMP second = new ClassLoaderLeakingMP("2", "flow/processors/1");
+    final FuseableAppendingMP third = new ClassLoaderLeakingMP("3", "flow/processors/2");
+    final MessageProcessorChain chain = new DefaultMessageProcessorChainBuilder().chain(first, second, third).build();
+    initialiseIfNeeded(chain, muleContext);
+    startIfNeeded(chain);
+
+    Processor caller = new Processor() {
+
+      @Override
+      public CoreEvent process(CoreEvent event) throws MuleException {
+        return processToApply(event, this);
+      }
+
+      @Override
+      public Publisher<CoreEvent> apply(Publisher<CoreEvent> p) {
+        return Flux.from(p)
+            .transform(chain)
+            .subscriberContext(ctx -> ctx.put("mule.context.tccl", regionClassLoader)
+                .put("mule.context.tccl_original", originalClassLoader));
+      }
+    };
+
+    try {
+      assertThat(process(caller, getTestEventUsingFlow("0")).getMessage().getPayload().getValue(), equalTo("0123"));
+    } finally {
+      currentThread().setContextClassLoader(originalClassLoader);
+      stopIfNeeded(chain);
+      disposeIfNeeded(chain, LOGGER);
+    }
+
+    assertThat(first.processingClassLoader, is(regionClassLoader));
+    assertThat(second.processingClassLoader, is(regionClassLoader));
+    assertThat(third.processingClassLoader, is(regionClassLoader));
+  }
+
   @Test
   public void subscriptionContextPropagation() throws Exception {
     final ProcessingStrategy processingStrategy = processingStrategyFactory.create(muleContext, "");
@@ -1149,6 +1326,57 @@ public class DefaultMessageProcessorChainTestCase extends AbstractReactiveProces
     }
   }
 
+  /**
+   * A processor that relies on the default {@link Processor#apply(Publisher)}, so it is executed in a fused operator.
+   */
+  static class FuseableAppendingMP extends AbstractComponent implements Processor {
+
+    private final String appendString;
+    boolean invoked;
+    ClassLoader processingClassLoader;
+
+    FuseableAppendingMP(String appendString, String location) {
+      this.appendString = appendString;
+      setAnnotations(singletonMap(LOCATION_KEY, from(location)));
+    }
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      invoked = true;
+      processingClassLoader = currentThread().getContextClassLoader();
+      return CoreEvent.builder(event).message(of(event.getMessage().getPayload().getValue() + appendString)).build();
+    }
+  }
+
+  static class ClassLoaderLeakingMP extends FuseableAppendingMP {
+
+    ClassLoaderLeakingMP(String appendString, String location) {
+      super(appendString, location);
+    }
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      final CoreEvent result = super.process(event);
+      currentThread().setContextClassLoader(new URLClassLoader(new URL[0], null));
+      return result;
+    }
+  }
+
+  static class FuseableFailingMP extends AbstractComponent implements Processor {
+
+    private final RuntimeException exception;
+
+    FuseableFailingMP(RuntimeException exception, String location) {
+      this.exception = exception;
+      setAnnotations(singletonMap(LOCATION_KEY, from(location)));
+    }
+
+    @Override
+    public CoreEvent process(CoreEvent event) throws MuleException {
+      throw exception;
+    }
+  }
+
   protected CoreEvent getTestEventUsingFlow(Object data) throws MuleException {
     return CoreEvent.builder(create(flow, TEST_CONNECTOR_LOCATION)).message(of(data)).build();
   }
@@ -12,6 +12,7 @@ import static java.lang.System.currentTimeMillis;
 import static java.lang.System.getProperty;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_DISABLE_PAYLOAD_STATISTICS;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_ENABLE_STATISTICS;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 
 import java.util.Collection;
 import java.util.HashMap;
@@ -28,13 +29,24 @@ import org.mule.runtime.core.internal.management.stats.ApplicationStatistics;
 @NoExtend
 public class AllStatistics {
 
+  /**
+   * System property to disable the {@link ProcessorLatencyStatistics}, which are otherwise recorded regardless of
+   * {@link #isEnabled()}.
+   *
+   * @since 4.4
+   */
+  public static final String MULE_DISABLE_PROCESSOR_LATENCY_STATISTICS =
+      SYSTEM_PROPERTY_PREFIX + "disableProcessorLatencyStatistics";
+
   private boolean isStatisticsEnabled = getBoolean(MULE_ENABLE_STATISTICS);
   private boolean payloadStatisticsDisabled = valueOf((getProperty(MULE_DISABLE_PAYLOAD_STATISTICS, "true")));
+  private boolean processorLatencyStatisticsEnabled = !getBoolean(MULE_DISABLE_PROCESSOR_LATENCY_STATISTICS);
 
   private long startTime;
   private final ApplicationStatistics appStats;
   private final Map<String, FlowConstructStatistics> flowConstructStats = new HashMap<>();
   private final Map<String, PayloadStatistics> payloadStatistics = new ConcurrentHashMap<>();
+  private final Map<String, ProcessorLatencyStatistics> processorLatencyStatistics = new ConcurrentHashMap<>();
 
   /**
    *
@@ -50,6 +62,9 @@ public class AllStatistics {
     for (FlowConstructStatistics statistics : getServiceStatistics()) {
       statistics.clear();
     }
+    for (ProcessorLatencyStatistics statistics : processorLatencyStatistics.values()) {
+      statistics.clear();
+    }
     startTime = currentTimeMillis();
   }
 
@@ -150,4 +165,57 @@ public class AllStatistics {
   public boolean isPayloadStatisticsEnabled() {
     return isEnabled() && !payloadStatisticsDisabled;
   }
+
+  /**
+   * Enables or disables recording the latency of each processor. Processors are only measured if these statistics were enabled
+   * when the flow they belong to was started, so enabling them afterwards has no effect on flows already started.
+   *
+   * @param enabled whether the latency of each processor is recorded
+   * @since 4.4
+   */
+  public void enableProcessorLatencyStatistics(boolean enabled) {
+    processorLatencyStatisticsEnabled = enabled;
+    for (ProcessorLatencyStatistics statistics : processorLatencyStatistics.values()) {
+      statistics.setEnabled(enabled);
+    }
+  }
+
+  /**
+   * @return whether the latency of each processor is recorded
+   * @since 4.4
+   */
+  public boolean isProcessorLatencyStatisticsEnabled() {
+    return processorLatencyStatisticsEnabled;
+  }
+
+  /**
+   * @return the available latency statistics for all processors.
+   * @since 4.4
+   */
+  public Collection<ProcessorLatencyStatistics> getProcessorLatencyStatistics() {
+    return processorLatencyStatistics.values();
+  }
+
+  /**
+   * @param component the processor to get the latency statistics for.
+   * @return the latency statistics for the provided {@code component}.
+   * @since 4.4
+   */
+  public ProcessorLatencyStatistics computeProcessorLatencyStatisticsIfAbsent(Component component) {
+    return processorLatencyStatistics.computeIfAbsent(component.getLocation().getLocation(), loc -> {
+      final String identifier = component.getIdentifier() != null ? component.getIdentifier().toString() : null;
+      final ProcessorLatencyStatistics statistics = new ProcessorLatencyStatistics(loc, identifier);
+      statistics.setEnabled(isProcessorLatencyStatisticsEnabled());
+      return statistics;
+    });
+  }
+
+  /**
+   * @param componentLocation the location of the processor to get the latency statistics for.
+   * @return the latency statistics for the processor with the provided {@code componentLocation}.
+   * @since 4.4
+   */
+  public ProcessorLatencyStatistics getProcessorLatencyStatistics(String componentLocation) {
+    return processorLatencyStatistics.get(componentLocation);
+  }
 }
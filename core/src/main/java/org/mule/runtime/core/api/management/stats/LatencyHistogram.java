@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.ceil;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+import java.io.Serializable;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free histogram of latencies with a fixed relative precision, in the fashion of HdrHistogram, where the
+ * {@link ProcessorLatencyStatistics} are kept.
+ * <p>
+ * Values are counted in buckets whose width grows with the magnitude of the values: each power of two is split into
+ * {@value #SUB_BUCKETS} linear sub-buckets, so the error of any value read from the histogram is below 1/{@value #SUB_BUCKETS}
+ * of that value. The whole range of {@code long} values is covered with a small fixed amount of buckets, and recording a value is
+ * a couple of bit operations and an atomic increment, so this can be always recorded without a noticeable overhead.
+ * <p>
+ * The values read while values are being recorded are not a consistent snapshot, but are accurate enough for monitoring.
+ *
+ * @since 4.4
+ */
+final class LatencyHistogram implements Serializable {
+
+  private static final long serialVersionUID = 6107325829212482174L;
+
+  private static final int SUB_BUCKET_BITS = 3;
+  private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+  private static final int BUCKETS = (Long.SIZE - SUB_BUCKET_BITS + 1) * SUB_BUCKETS;
+
+  private final AtomicLongArray counts = new AtomicLongArray(BUCKETS);
+  private final LongAdder totalCount = new LongAdder();
+  private final LongAdder totalValue = new LongAdder();
+  private final AtomicLong maxValue = new AtomicLong();
+
+  /**
+   * Records a value.
+   *
+   * @param value the value to record. Negative values are recorded as 0.
+   */
+  void record(long value) {
+    value = max(0, value);
+
+    counts.incrementAndGet(bucketIndex(value));
+    totalCount.increment();
+    totalValue.add(value);
+
+    long currentMax = maxValue.get();
+    while (value > currentMax && !maxValue.compareAndSet(currentMax, value)) {
+      currentMax = maxValue.get();
+    }
+  }
+
+  /**
+   * @return the amount of recorded values.
+   */
+  long getCount() {
+    return totalCount.sum();
+  }
+
+  /**
+   * @return the highest recorded value.
+   */
+  long getMax() {
+    return maxValue.get();
+  }
+
+  /**
+   * @return the mean of the recorded values, or 0 if no value was recorded.
+   */
+  double getMean() {
+    final long count = totalCount.sum();
+    return count == 0 ? 0 : (double) totalValue.sum() / count;
+  }
+
+  /**
+   * @param percentile the percentile to get, between 0 and 100
+   * @return the value below which the given percentage of the recorded values fall, or 0 if no value was recorded.
+   */
+  long getValueAtPercentile(double percentile) {
+    long remaining = 0;
+    for (int i = 0; i < BUCKETS; ++i) {
+      remaining += counts.get(i);
+    }
+    if (remaining == 0) {
+      return 0;
+    }
+
+    final long target = max(1, (long) ceil(remaining * min(100, max(0, percentile)) / 100));
+    long accumulated = 0;
+    for (int i = 0; i < BUCKETS; ++i) {
+      accumulated += counts.get(i);
+      if (accumulated >= target) {
+        return min(bucketUpperBound(i), getMax());
+      }
+    }
+    return getMax();
+  }
+
+  /**
+   * @return the amount of values recorded in each bucket, keyed by the highest value of the bucket, only for the non empty
+   *         buckets.
+   */
+  SortedMap<Long, Long> getDistribution() {
+    final SortedMap<Long, Long> distribution = new TreeMap<>();
+    for (int i = 0; i < BUCKETS; ++i) {
+      final long count = counts.get(i);
+      if (count > 0) {
+        distribution.put(bucketUpperBound(i), count);
+      }
+    }
+    return distribution;
+  }
+
+  /**
+   * Discards all the recorded values.
+   */
+  void reset() {
+    for (int i = 0; i < BUCKETS; ++i) {
+      counts.set(i, 0);
+    }
+    totalCount.reset();
+    totalValue.reset();
+    maxValue.set(0);
+  }
+
+  static int bucketIndex(long value) {
+    if (value < SUB_BUCKETS) {
+      return (int) value;
+    }
+    // the position of the highest bit set, at least SUB_BUCKET_BITS
+    final int magnitude = Long.SIZE - 1 - numberOfLeadingZeros(value);
+    final int shift = magnitude - SUB_BUCKET_BITS;
+    return ((shift + 1) << SUB_BUCKET_BITS) + (int) ((value >>> shift) & (SUB_BUCKETS - 1));
+  }
+
+  static long bucketUpperBound(int index) {
+    if (index < SUB_BUCKETS) {
+      return index;
+    }
+    final int shift = (index >> SUB_BUCKET_BITS) - 1;
+    final long lowerBound = ((long) (SUB_BUCKETS | (index & (SUB_BUCKETS - 1)))) << shift;
+    final long upperBound = lowerBound + (1L << shift) - 1;
+    // the last buckets would overflow
+    return upperBound < lowerBound ? Long.MAX_VALUE : upperBound;
+  }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.management.stats;
+
+import static java.lang.String.format;
+import static java.util.Locale.ROOT;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+import org.mule.api.annotation.NoExtend;
+
+import java.util.Map.Entry;
+import java.util.SortedMap;
+
+/**
+ * Contains the distribution of the time taken by a processor to process each event, from the moment the event is handed to it
+ * in its execution thread until it emits its result, fails or drops the event. The time spent waiting in the processing strategy
+ * of the flow is not included. Processors that complete asynchronously, such as non-blocking operations, are not measured (see
+ * {@link org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType#CPU_LITE_ASYNC}).
+ * <p>
+ * These statistics are recorded unless {@link AllStatistics#isProcessorLatencyStatisticsEnabled() disabled}. The latencies are
+ * kept in a histogram with a relative precision of about 12%, so that they can be recorded without a noticeable overhead. All
+ * the latencies are in nanoseconds.
+ *
+ * @since 4.4
+ */
+@NoExtend
+public class ProcessorLatencyStatistics implements Statistics {
+
+  private static final long serialVersionUID = -3497816357150935374L;
+
+  protected boolean enabled = false;
+
+  private final String componentLocation;
+  private final String componentIdentifier;
+
+  private final LatencyHistogram histogram = new LatencyHistogram();
+
+  public ProcessorLatencyStatistics(String componentLocation, String componentIdentifier) {
+    this.componentLocation = componentLocation;
+    this.componentIdentifier = componentIdentifier;
+  }
+
+  /**
+   * @return the location of the processor these statistics are for.
+   */
+  public String getComponentLocation() {
+    return componentLocation;
+  }
+
+  /**
+   * @return the identifier of the processor these statistics are for.
+   */
+  public String getComponentIdentifier() {
+    return componentIdentifier;
+  }
+
+  /**
+   * Records the time taken for processing an event, if these statistics are enabled.
+   *
+   * @param nanos the elapsed time, in nanoseconds
+   */
+  public void recordLatency(long nanos) {
+    if (enabled) {
+      histogram.record(nanos);
+    }
+  }
+
+  /**
+   * @return the amount of events whose latency was recorded.
+   */
+  public long getInvocationCount() {
+    return histogram.getCount();
+  }
+
+  /**
+   * @return the mean latency.
+   */
+  public double getMeanLatency() {
+    return histogram.getMean();
+  }
+
+  /**
+   * @return the highest latency.
+   */
+  public long getMaxLatency() {
+    return histogram.getMax();
+  }
+
+  /**
+   * @param percentile the percentile to get, between 0 and 100
+   * @return the latency below which the given percentage of the events were processed.
+   */
+  public long getLatencyAtPercentile(double percentile) {
+    return histogram.getValueAtPercentile(percentile);
+  }
+
+  /**
+   * @return the amount of events for each range of latencies, keyed by the highest latency of the range. Only the ranges with
+   *         events are present.
+   */
+  public SortedMap<Long, Long> getLatencyDistribution() {
+    return histogram.getDistribution();
+  }
+
+  /**
+   * @return the latency distribution in CSV format, with a header and one line per range: the highest latency of the range in
+   *         microseconds, the amount of events in the range and the accumulated percentage of events.
+   */
+  public String exportLatencyDistribution() {
+    final SortedMap<Long, Long> distribution = getLatencyDistribution();
+    final long total = distribution.values().stream().mapToLong(Long::longValue).sum();
+
+    final StringBuilder builder = new StringBuilder("latencyMicros,count,percentile\n");
+    long accumulated = 0;
+    for (Entry<Long, Long> range : distribution.entrySet()) {
+      accumulated += range.getValue();
+      builder.append(NANOSECONDS.toMicros(range.getKey())).append(',')
+          .append(range.getValue()).append(',')
+          .append(format(ROOT, "%.3f", accumulated * 100.0 / total)).append('\n');
+    }
+    return builder.toString();
+  }
+
+  /**
+   * Discards all the recorded latencies.
+   */
+  public void clear() {
+    histogram.reset();
+  }
+
+  @Override
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Enables or disables the recording of latencies.
+   *
+   * @param enabled whether latencies are recorded
+   */
+  public void setEnabled(boolean enabled) {
+    this.enabled = enabled;
+  }
+
+  @Override
+  public String toString() {
+    return format("%s [location=%s, count=%d, p50=%dns, p99=%dns, max=%dns]", getClass().getSimpleName(), componentLocation,
+                  getInvocationCount(), getLatencyAtPercentile(50), getLatencyAtPercentile(99), getMaxLatency());
+  }
+}
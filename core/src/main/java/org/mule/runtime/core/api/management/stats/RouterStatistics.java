@@ -38,12 +38,18 @@ public class RouterStatistics implements Statistics {
   private long totalReceived;
   private Map routed;
   private int type;
+  private long routingEvaluations;
+  private long totalRoutingEvaluationTime;
+  private long maxRoutingEvaluationTime;
 
   public synchronized void clear() {
     notRouted = 0;
     totalRouted = 0;
     totalReceived = 0;
     caughtInCatchAll = 0;
+    routingEvaluations = 0;
+    totalRoutingEvaluationTime = 0;
+    maxRoutingEvaluationTime = 0;
     routed.clear();
   }
 
@@ -127,6 +133,52 @@ public class RouterStatistics implements Statistics {
     caughtInCatchAll++;
   }
 
+  /**
+   * Records the time spent deciding where to route a message.
+   *
+   * @param nanos the elapsed time, in nanoseconds
+   * @since 4.4
+   */
+  public synchronized void addRoutingEvaluationTime(long nanos) {
+    routingEvaluations++;
+    totalRoutingEvaluationTime += nanos;
+    if (nanos > maxRoutingEvaluationTime) {
+      maxRoutingEvaluationTime = nanos;
+    }
+  }
+
+  /**
+   * @return the number of routing decisions whose time was recorded.
+   * @since 4.4
+   */
+  public final long getRoutingEvaluations() {
+    return routingEvaluations;
+  }
+
+  /**
+   * @return the total time spent deciding where to route messages, in nanoseconds.
+   * @since 4.4
+   */
+  public final long getTotalRoutingEvaluationTime() {
+    return totalRoutingEvaluationTime;
+  }
+
+  /**
+   * @return the average time spent deciding where to route a message, in nanoseconds.
+   * @since 4.4
+   */
+  public final synchronized long getAverageRoutingEvaluationTime() {
+    return routingEvaluations == 0 ? 0 : totalRoutingEvaluationTime / routingEvaluations;
+  }
+
+  /**
+   * @return the maximum time spent deciding where to route a message, in nanoseconds.
+   * @since 4.4
+   */
+  public final long getMaxRoutingEvaluationTime() {
+    return maxRoutingEvaluationTime;
+  }
+
   /**
    * @return Returns the notRouted.
    */
@@ -9,6 +9,7 @@ package org.mule.runtime.core.api.streaming;
 import static java.lang.Boolean.parseBoolean;
 import static java.lang.String.format;
 import static java.lang.System.getProperty;
+import static java.util.Collections.unmodifiableMap;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_ENABLE_STREAMING_STATISTICS;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
@@ -41,7 +42,9 @@ import org.mule.runtime.core.internal.streaming.CursorManager;
 import org.mule.runtime.core.internal.streaming.MutableStreamingStatistics;
 import org.mule.runtime.core.internal.streaming.NullStreamingStatistics;
 import org.mule.runtime.core.internal.streaming.StreamingGhostBuster;
+import org.mule.runtime.core.internal.streaming.StreamingQuotaManager;
 import org.mule.runtime.core.internal.streaming.bytes.DefaultByteStreamingManager;
+import org.mule.runtime.core.internal.streaming.bytes.QuotaByteBufferManager;
 import org.mule.runtime.core.internal.streaming.bytes.factory.PoolingByteBufferManagerFactory;
 import org.mule.runtime.core.internal.streaming.object.DefaultObjectStreamingManager;
 import org.mule.runtime.core.internal.streaming.object.factory.NullCursorIteratorProviderFactory;
@@ -50,6 +53,7 @@ import org.mule.runtime.core.privileged.event.BaseEventContext;
 
 import java.io.Closeable;
 import java.io.InputStream;
+import java.util.Map;
 
 import javax.inject.Inject;
 
@@ -68,6 +72,7 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
   private ObjectStreamingManager objectStreamingManager;
   private CursorManager cursorManager;
   private MutableStreamingStatistics statistics;
+  private StreamingQuotaManager quotaManager;
   private boolean initialised = false;
 
   @Inject
@@ -86,8 +91,9 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
   public void initialise() throws InitialisationException {
     if (!initialised) {
       statistics = createStatistics();
+      quotaManager = new StreamingQuotaManager(statistics);
 
-      cursorManager = new CursorManager(statistics, ghostBuster);
+      cursorManager = new CursorManager(statistics, ghostBuster, quotaManager);
       bufferManager = createByteBufferManager();
       byteStreamingManager = createByteStreamingManager();
       objectStreamingManager = createObjectStreamingManager();
@@ -121,7 +127,9 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
   }
 
   protected ByteStreamingManager createByteStreamingManager() {
-    return new DefaultByteStreamingManager(bufferManager, this);
+    ByteBufferManager byteStreamingBufferManager =
+        quotaManager.isEnabled() ? new QuotaByteBufferManager(bufferManager, quotaManager) : bufferManager;
+    return new DefaultByteStreamingManager(byteStreamingBufferManager, this);
   }
 
   protected ObjectStreamingManager createObjectStreamingManager() {
@@ -234,6 +242,15 @@ public class DefaultStreamingManager implements StreamingManager, Initialisable,
     return statistics;
   }
 
+  /**
+   * @return the streaming statistics of each flow, by flow name. Empty unless streaming statistics are enabled or any flow or
+   *         component streaming memory limit is set
+   * @since 4.4.0
+   */
+  public Map<String, StreamingBufferStatistics> getFlowStreamingStatistics() {
+    return unmodifiableMap(quotaManager.getFlowStatistics());
+  }
+
   protected ByteBufferManager getBufferManager() {
     return bufferManager;
   }
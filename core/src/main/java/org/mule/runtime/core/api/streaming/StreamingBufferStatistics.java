@@ -0,0 +1,38 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.streaming;
+
+import org.mule.api.annotation.NoImplement;
+
+/**
+ * {@link StreamingStatistics} which also track the memory held in streaming buffers
+ *
+ * @since 4.4.0
+ */
+@NoImplement
+public interface StreamingBufferStatistics extends StreamingStatistics {
+
+  /**
+   * @return the amount of bytes currently held in streaming buffers
+   */
+  long getBufferedBytes();
+
+  /**
+   * @return the max amount of bytes that were held in streaming buffers at the same time
+   */
+  long getPeakBufferedBytes();
+
+  /**
+   * @return how many streams were spilled to disk
+   */
+  long getSpillsCount();
+
+  /**
+   * @return how many buffers were not allocated because they would have exceeded the flow or component quota
+   */
+  long getThrottledAllocationsCount();
+}
@@ -8,6 +8,7 @@ package org.mule.runtime.core.api.streaming.bytes;
 
 import org.mule.api.annotation.NoImplement;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.api.util.DataSize;
 
 /**
  * Manages components in charge of streaming bytes so that the runtime can keep track of them,
@@ -26,6 +27,15 @@ public interface ByteStreamingManager {
    */
   CursorStreamProviderFactory getInMemoryCursorProviderFactory(InMemoryCursorStreamConfig config);
 
+  /**
+   * Creates a {@link CursorStreamProviderFactory} which buffers in memory up to the given size, and in a temporary file beyond it
+   *
+   * @param maxInMemorySize the maximum amount of data to be held in memory by each produced {@link CursorStreamProvider}
+   * @return a new {@link CursorStreamProviderFactory}
+   * @since 4.4.0
+   */
+  CursorStreamProviderFactory getFileStoreCursorProviderFactory(DataSize maxInMemorySize);
+
   /**
    * Creates a null object implementation of {@link CursorStreamProviderFactory}
    *
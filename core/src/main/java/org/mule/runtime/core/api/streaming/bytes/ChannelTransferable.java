@@ -0,0 +1,34 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.api.streaming.bytes;
+
+import org.mule.api.annotation.NoImplement;
+
+import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
+
+/**
+ * A stream which is able to write its remaining content straight into a {@link WritableByteChannel}, avoiding the copy
+ * through an intermediate heap array that reading it as an {@link java.io.InputStream} requires. When the content is backed
+ * by a file, this allows the OS to do the transfer through {@link java.nio.channels.FileChannel#transferTo(long, long,
+ * WritableByteChannel)}.
+ *
+ * @since 4.4.0
+ */
+@NoImplement
+public interface ChannelTransferable {
+
+  /**
+   * Writes all the content from the current position of this stream into the given {@code target}. The position of the stream
+   * is moved to the end of the data.
+   *
+   * @param target the channel to write the content to
+   * @return the amount of bytes transferred
+   * @throws IOException if the content could not be read or written
+   */
+  long transferTo(WritableByteChannel target) throws IOException;
+}
@@ -21,6 +21,7 @@ import org.mule.runtime.core.api.streaming.StreamingManager;
 import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
 import org.mule.runtime.core.api.streaming.bytes.CursorStreamProviderFactory;
 import org.mule.runtime.core.internal.streaming.CursorManager;
+import org.mule.runtime.core.internal.streaming.bytes.QuotaByteBufferManager;
 
 import java.io.InputStream;
 
@@ -97,6 +98,19 @@ public abstract class AbstractCursorStreamProviderFactory extends AbstractCompon
     return bufferManager;
   }
 
+  /**
+   * @param originatingLocation the location of the component which creates the stream
+   * @return the {@link ByteBufferManager} that <b>MUST</b> to be used to allocate the byte buffers of a stream created by the
+   *         component at the given {@code originatingLocation}
+   * @since 4.4.0
+   */
+  protected ByteBufferManager getBufferManager(ComponentLocation originatingLocation) {
+    if (bufferManager instanceof QuotaByteBufferManager) {
+      return ((QuotaByteBufferManager) bufferManager).forLocation(originatingLocation);
+    }
+    return getBufferManager();
+  }
+
   /**
    * Implementations should use this method to actually create the output value
    *
@@ -17,10 +17,12 @@ import org.mule.runtime.core.api.message.ds.InputStreamDataSource;
 import org.mule.runtime.core.api.message.ds.StringDataSource;
 import org.mule.runtime.core.api.util.func.CheckedConsumer;
 import org.mule.runtime.core.api.util.func.CheckedFunction;
+import org.mule.runtime.core.api.streaming.bytes.ChannelTransferable;
 
 import java.io.Closeable;
 import java.io.File;
 import java.io.FileInputStream;
+import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
@@ -267,9 +269,16 @@ public class IOUtils {
   }
 
   /**
-   * Copies the data read from the {@link InputStream} into the {@link OutputStream} using a buffer of size {@code bufferSize}
+   * Copies the data read from the {@link InputStream} into the {@link OutputStream} using a buffer of size {@code bufferSize}.
+   * <p>
+   * If the {@code input} is able to transfer its content to a channel and the {@code output} writes to a file, the data is
+   * transferred through the channel instead, without copying it through the buffer.
    */
   public static long copyLarge(InputStream input, OutputStream output, int bufferSize) throws IOException {
+    if (input instanceof ChannelTransferable && output instanceof FileOutputStream) {
+      return ((ChannelTransferable) input).transferTo(((FileOutputStream) output).getChannel());
+    }
+
     byte[] buffer = new byte[bufferSize];
     long count = 0;
     int n = 0;
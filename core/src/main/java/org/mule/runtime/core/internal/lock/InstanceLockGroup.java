@@ -6,77 +6,51 @@
  */
 package org.mule.runtime.core.internal.lock;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.TimeUnit;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.concurrent.locks.Lock;
 
 /**
  * {@link LockGroup} implementation for holding references to created locks inside a mule instance.
+ * <p>
+ * Each lock is kept while there are threads holding it or waiting for it. The amount of those threads is updated atomically
+ * with the registration of the lock through the {@link ConcurrentMap#compute(Object, java.util.function.BiFunction)} family of
+ * methods, so operations on different lock ids don't contend with each other.
  */
 public class InstanceLockGroup implements LockGroup {
 
-  private Map<String, LockEntry> locks;
-  private Object lockAccessMonitor = new Object();
-  private LockProvider lockProvider;
+  private final ConcurrentMap<String, LockEntry> locks = new ConcurrentHashMap<>();
+  private final LockProvider lockProvider;
 
   public InstanceLockGroup(LockProvider lockProvider) {
     this.lockProvider = lockProvider;
-    this.locks = new HashMap<>();
   }
 
   @Override
   public void lock(String lockId) {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
-      }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
-    }
-    lockEntry.getLock().lock();
+    acquireEntry(lockId).getLock().lock();
   }
 
   @Override
   public void unlock(String key) {
-    synchronized (lockAccessMonitor) {
-      LockEntry lockEntry = locks.get(key);
-      if (lockEntry != null) {
-        lockEntry.decrementLockCount();
-        if (!lockEntry.hasPendingLocks()) {
-          locks.remove(key);
-        }
-        lockEntry.getLock().unlock();
-      }
-      lockAccessMonitor.notifyAll();
+    final LockEntry lockEntry = locks.get(key);
+    if (lockEntry != null) {
+      lockEntry.getLock().unlock();
+      releaseEntry(key, lockEntry);
     }
   }
 
   @Override
   public boolean tryLock(String lockId, long timeout, TimeUnit timeUnit) throws InterruptedException {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
-      }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
-    }
-    boolean lockAcquired = lockEntry.getLock().tryLock(timeout, timeUnit);
-    if (!lockAcquired) {
-      synchronized (lockAccessMonitor) {
-        lockEntry.decrementLockCount();
-        if (!lockEntry.hasPendingLocks()) {
-          locks.remove(lockId);
-        }
+    final LockEntry lockEntry = acquireEntry(lockId);
+    boolean lockAcquired = false;
+    try {
+      lockAcquired = lockEntry.getLock().tryLock(timeout, timeUnit);
+    } finally {
+      if (!lockAcquired) {
+        releaseEntry(lockId, lockEntry);
       }
     }
     return lockAcquired;
@@ -84,24 +58,13 @@ public class InstanceLockGroup implements LockGroup {
 
   @Override
   public boolean tryLock(String lockId) {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
-      }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
-    }
-    boolean lockAcquired = lockEntry.getLock().tryLock();
-    if (!lockAcquired) {
-      synchronized (lockAccessMonitor) {
-        lockEntry.decrementLockCount();
-        if (!lockEntry.hasPendingLocks()) {
-          locks.remove(lockId);
-        }
+    final LockEntry lockEntry = acquireEntry(lockId);
+    boolean lockAcquired = false;
+    try {
+      lockAcquired = lockEntry.getLock().tryLock();
+    } finally {
+      if (!lockAcquired) {
+        releaseEntry(lockId, lockEntry);
       }
     }
     return lockAcquired;
@@ -109,18 +72,43 @@ public class InstanceLockGroup implements LockGroup {
 
   @Override
   public void lockInterruptibly(String lockId) throws InterruptedException {
-    LockEntry lockEntry;
-    synchronized (lockAccessMonitor) {
-      if (locks.containsKey(lockId)) {
-        lockEntry = locks.get(lockId);
-      } else {
-        lockEntry = new LockEntry(lockProvider.createLock(lockId));
-        locks.put(lockId, lockEntry);
+    final LockEntry lockEntry = acquireEntry(lockId);
+    boolean lockAcquired = false;
+    try {
+      lockEntry.getLock().lockInterruptibly();
+      lockAcquired = true;
+    } finally {
+      if (!lockAcquired) {
+        releaseEntry(lockId, lockEntry);
       }
-      lockEntry.incrementLockCount();
-      lockAccessMonitor.notifyAll();
     }
-    lockEntry.getLock().lockInterruptibly();
+  }
+
+  /**
+   * Gets the entry for the given lock id, creating it if there is none, and counts one more thread using it.
+   */
+  private LockEntry acquireEntry(String lockId) {
+    return locks.compute(lockId, (id, lockEntry) -> {
+      if (lockEntry == null) {
+        lockEntry = new LockEntry(lockProvider.createLock(id));
+      }
+      lockEntry.incrementLockCount();
+      return lockEntry;
+    });
+  }
+
+  /**
+   * Counts one less thread using the given entry, removing it if no other thread is using it.
+   */
+  private void releaseEntry(String lockId, LockEntry lockEntry) {
+    locks.computeIfPresent(lockId, (id, currentEntry) -> {
+      if (currentEntry != lockEntry) {
+        // The group was disposed and the lock id is being used again
+        return currentEntry;
+      }
+      currentEntry.decrementLockCount();
+      return currentEntry.hasPendingLocks() ? currentEntry : null;
+    });
   }
 
   public static class LockEntry {
@@ -151,8 +139,6 @@ public class InstanceLockGroup implements LockGroup {
 
   @Override
   public void dispose() {
-    synchronized (lockAccessMonitor) {
-      locks.clear();
-    }
+    locks.clear();
   }
 }
@@ -8,6 +8,7 @@ package org.mule.runtime.core.internal.policy;
 
 import static java.lang.System.getProperty;
 import static java.lang.Thread.currentThread;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.mule.runtime.api.notification.FlowConstructNotification.FLOW_CONSTRUCT_STOPPED;
 import static org.mule.runtime.api.util.MuleSystemProperties.MULE_LIFECYCLE_FAIL_ON_FIRST_DISPOSE_ERROR;
@@ -48,16 +49,15 @@ import org.mule.runtime.policy.api.SourcePolicyPointcutParametersFactory;
 import java.lang.ref.ReferenceQueue;
 import java.lang.ref.WeakReference;
 import java.util.Collection;
-import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.TimeUnit;
-import java.util.concurrent.atomic.AtomicBoolean;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
 
 import javax.inject.Inject;
 
@@ -113,15 +113,10 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
 
   private CompositePolicyFactory compositePolicyFactory = new CompositePolicyFactory();
 
-  private final AtomicBoolean isSourcePoliciesAvailable = new AtomicBoolean(false);
-  private final AtomicBoolean isOperationPoliciesAvailable = new AtomicBoolean(false);
-
   // This set holds the references that are needed to do the dispose after the referenced policy is no longer used.
   private final ReferenceQueue<DeferredDisposable> stalePoliciesQueue = new ReferenceQueue<>();
 
-  private final Set<DeferredDisposableWeakReference> activePolicies = new HashSet<>();
-
-  private final ReentrantReadWriteLock cacheInvalidateLock = new ReentrantReadWriteLock();
+  private final Set<DeferredDisposableWeakReference> activePolicies = newKeySet();
 
   private volatile boolean stopped = true;
   private Future<?> taskHandle;
@@ -129,30 +124,12 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
   private SchedulerService schedulerService;
   private Scheduler scheduler;
 
-  private final Cache<String, SourcePolicy> noPolicySourceInstances =
-      Caffeine.newBuilder()
-          .build();
-
-  // These next caches contain the Composite Policies for a given sequence of policies to be applied.
+  private int outerCachesExpireTime = 60;
+  private TimeUnit outerCachesExpireTimeUnit = SECONDS;
 
-  private final Cache<Pair<String, List<Policy>>, SourcePolicy> sourcePolicyInnerCache =
-      Caffeine.newBuilder()
-          .build();
-  private final Cache<List<Policy>, OperationPolicy> operationPolicyInnerCache =
-      Caffeine.newBuilder()
-          .build();
-
-  // These next caches cache the actual composite policies for a given parameters. Since many parameters combinations may result
-  // in a same set of policies to be applied, many entries of this cache may reference the same composite policy instance.
-
-  private Cache<Pair<String, PolicyPointcutParameters>, SourcePolicy> sourcePolicyOuterCache =
-      Caffeine.newBuilder()
-          .expireAfterAccess(60, SECONDS)
-          .build();
-  private Cache<Pair<ComponentIdentifier, PolicyPointcutParameters>, OperationPolicy> operationPolicyOuterCache =
-      Caffeine.newBuilder()
-          .expireAfterAccess(60, SECONDS)
-          .build();
+  // Every change in the deployed policies replaces the whole snapshot, so a lookup never needs to synchronize with it.
+  private volatile PoliciesSnapshot policies = new PoliciesSnapshot(0, false, false, outerCachesExpireTime,
+                                                                    outerCachesExpireTimeUnit);
 
   private PolicyProvider policyProvider;
   private OperationPolicyProcessorFactory operationPolicyProcessorFactory;
@@ -164,62 +141,85 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
   public SourcePolicy createSourcePolicyInstance(Component source, CoreEvent sourceEvent,
                                                  ReactiveProcessor flowExecutionProcessor,
                                                  MessageSourceResponseParametersProcessor messageSourceResponseParametersProcessor) {
-    final ComponentIdentifier sourceIdentifier = source.getLocation().getComponentIdentifier().getIdentifier();
+    final PoliciesSnapshot policies = this.policies;
 
-    if (!isSourcePoliciesAvailable.get()) {
-      final SourcePolicy policy = noPolicySourceInstances.getIfPresent(source.getRootContainerLocation().getGlobalName());
+    if (!policies.sourcePoliciesAvailable) {
+      final SourcePolicy policy =
+          policies.noPolicySourceInstances.getIfPresent(source.getRootContainerLocation().getGlobalName());
 
       if (policy != null) {
         return policy;
       }
 
-      return noPolicySourceInstances.get(source.getLocation().getRootContainerName(),
-                                         k -> new NoSourcePolicy(flowExecutionProcessor));
+      return policies.noPolicySourceInstances.get(source.getLocation().getRootContainerName(),
+                                                  k -> new NoSourcePolicy(flowExecutionProcessor));
+    }
+
+    final String rootContainerName = source.getLocation().getRootContainerName();
+    final SourcePolicy locationPolicy = policies.locationSourcePolicies.get(rootContainerName);
+    if (locationPolicy != null) {
+      return locationPolicy;
     }
 
     final SourcePolicyContext ctx = SourcePolicyContext.from(sourceEvent);
     final PolicyPointcutParameters sourcePointcutParameters = ctx.getPointcutParameters();
 
-    final Pair<String, PolicyPointcutParameters> policyKey =
-        new Pair<>(source.getLocation().getRootContainerName(), sourcePointcutParameters);
+    if (policyPointcutParametersManager.isLocationBasedSource(source)) {
+      // The policies for this source are the same for any event, so there is no need to key them by the parameters.
+      return policies.locationSourcePolicies
+          .computeIfAbsent(rootContainerName,
+                           k -> lookupSourcePolicy(policies, source, sourcePointcutParameters, flowExecutionProcessor));
+    }
 
-    final SourcePolicy policy = sourcePolicyOuterCache.getIfPresent(policyKey);
+    final Pair<String, PolicyPointcutParameters> policyKey = new Pair<>(rootContainerName, sourcePointcutParameters);
+
+    final SourcePolicy policy = policies.sourcePolicyOuterCache.getIfPresent(policyKey);
     if (policy != null) {
       return policy;
     }
 
-    // Although cache is being written in the locked section, read Lock is being used since the intention is to avoid cache being
-    // invalidated while being populated and not to avoid multiple threads populating it at the same time.
-    cacheInvalidateLock.readLock().lock();
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Source policy - populating outer cache for {}", policyKey);
+    }
 
-    try {
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug("Source policy - populating outer cache for {}", policyKey);
-      }
+    return policies.sourcePolicyOuterCache
+        .get(policyKey, outerKey -> lookupSourcePolicy(policies, source, sourcePointcutParameters, flowExecutionProcessor));
+  }
 
-      SourcePolicy sourcePolicy = sourcePolicyOuterCache.get(policyKey, outerKey -> sourcePolicyInnerCache
-          .get(new Pair<>(source.getLocation().getRootContainerName(),
-                          policyProvider.findSourceParameterizedPolicies(sourcePointcutParameters)),
-               innerKey -> innerKey.getSecond().isEmpty()
-                   ? new NoSourcePolicy(flowExecutionProcessor)
-                   : compositePolicyFactory.createSourcePolicy(innerKey.getSecond(), flowExecutionProcessor,
-                                                               lookupSourceParametersTransformer(sourceIdentifier),
-                                                               sourcePolicyProcessorFactory,
-                                                               exception -> new MessagingExceptionResolver(source)
-                                                                   .resolve(exception, errorTypeLocator,
-                                                                            exceptionContextProviders))));
-
-      activePolicies.add(new DeferredDisposableWeakReference((DeferredDisposable) sourcePolicy, stalePoliciesQueue));
-
-      return sourcePolicy;
-    } finally {
-      cacheInvalidateLock.readLock().unlock();
-    }
+  private SourcePolicy lookupSourcePolicy(PoliciesSnapshot policies, Component source,
+                                          PolicyPointcutParameters sourcePointcutParameters,
+                                          ReactiveProcessor flowExecutionProcessor) {
+    final ComponentIdentifier sourceIdentifier = source.getLocation().getComponentIdentifier().getIdentifier();
+
+    SourcePolicy sourcePolicy = policies.sourcePolicyInnerCache
+        .get(new Pair<>(source.getLocation().getRootContainerName(),
+                        policyProvider.findSourceParameterizedPolicies(sourcePointcutParameters)),
+             innerKey -> innerKey.getSecond().isEmpty()
+                 ? new NoSourcePolicy(flowExecutionProcessor)
+                 : compositePolicyFactory.createSourcePolicy(innerKey.getSecond(), flowExecutionProcessor,
+                                                             lookupSourceParametersTransformer(sourceIdentifier),
+                                                             sourcePolicyProcessorFactory,
+                                                             exception -> new MessagingExceptionResolver(source)
+                                                                 .resolve(exception, errorTypeLocator,
+                                                                          exceptionContextProviders)));
+
+    activePolicies.add(new DeferredDisposableWeakReference((DeferredDisposable) sourcePolicy, stalePoliciesQueue));
+
+    return sourcePolicy;
   }
 
   @Override
   public PolicyPointcutParameters addSourcePointcutParametersIntoEvent(Component source, TypedValue<?> attributes,
                                                                        InternalEvent event) {
+    final PoliciesSnapshot policies = this.policies;
+
+    if (!policies.sourcePoliciesAvailable && !policies.operationPoliciesAvailable) {
+      // Only needed if policies are deployed while this event is being processed
+      event.setSourcePolicyContext(new SourcePolicyContext(() -> policyPointcutParametersManager
+          .createSourcePointcutParameters(source, attributes)));
+      return null;
+    }
+
     final PolicyPointcutParameters sourcePolicyParams =
         policyPointcutParametersManager.createSourcePointcutParameters(source, attributes);
     event.setSourcePolicyContext(new SourcePolicyContext(sourcePolicyParams));
@@ -229,10 +229,34 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
   @Override
   public OperationPolicy createOperationPolicy(Component operation, CoreEvent event,
                                                OperationParametersProcessor operationParameters) {
-    if (!isOperationPoliciesAvailable.get()) {
+    final PoliciesSnapshot policies = this.policies;
+
+    if (!policies.operationPoliciesAvailable) {
       return NO_POLICY_OPERATION;
     }
 
+    if (policyPointcutParametersManager.isLocationBasedOperation(operation, event)) {
+      final String location = operation.getLocation().getLocation();
+      final String sourceLocation = event.getContext().getOriginatingLocation().getLocation();
+
+      Map<String, OperationPolicy> sourceLocationPolicies = policies.locationOperationPolicies.get(location);
+      if (sourceLocationPolicies == null) {
+        sourceLocationPolicies = policies.locationOperationPolicies.computeIfAbsent(location, k -> new ConcurrentHashMap<>());
+      }
+      final OperationPolicy locationPolicy = sourceLocationPolicies.get(sourceLocation);
+      if (locationPolicy != null) {
+        return locationPolicy;
+      }
+
+      // The policies for this operation are the same for any event from the same source, so there is no need to key them by the
+      // parameters.
+      final PolicyPointcutParameters operationPointcutParameters =
+          policyPointcutParametersManager.createOperationPointcutParameters(operation, event,
+                                                                            operationParameters.getOperationParameters());
+      return sourceLocationPolicies
+          .computeIfAbsent(sourceLocation, k -> lookupOperationPolicy(policies, operation, operationPointcutParameters));
+    }
+
     PolicyPointcutParameters operationPointcutParameters =
         policyPointcutParametersManager.createOperationPointcutParameters(operation, event,
                                                                           operationParameters.getOperationParameters());
@@ -241,43 +265,42 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
     final Pair<ComponentIdentifier, PolicyPointcutParameters> policyKey =
         new Pair<>(operationIdentifier, operationPointcutParameters);
 
-    final OperationPolicy policy = operationPolicyOuterCache.getIfPresent(policyKey);
+    final OperationPolicy policy = policies.operationPolicyOuterCache.getIfPresent(policyKey);
     if (policy != null) {
       return policy;
     }
 
-    // Although cache is being written in the locked section, read Lock is being used since the intention is to avoid cache being
-    // invalidated while being populated and not to avoid multiple threads populating it at the same time.
-    cacheInvalidateLock.readLock().lock();
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Operation policy - populating outer cache for {}", policyKey);
+    }
 
-    try {
-      if (LOGGER.isDebugEnabled()) {
-        LOGGER.debug("Operation policy - populating outer cache for {}", policyKey);
-      }
+    return policies.operationPolicyOuterCache
+        .get(policyKey, outerKey -> lookupOperationPolicy(policies, operation, outerKey.getSecond()));
+  }
 
-      OperationPolicy operationPolicy =
-          operationPolicyOuterCache.get(policyKey, outerKey -> operationPolicyInnerCache
-              .get(policyProvider.findOperationParameterizedPolicies(outerKey.getSecond()),
-                   innerKey -> innerKey.isEmpty()
-                       ? NO_POLICY_OPERATION
-                       : compositePolicyFactory.createOperationPolicy(operation, innerKey,
-                                                                      lookupOperationParametersTransformer(outerKey.getFirst()),
-                                                                      operationPolicyProcessorFactory,
-                                                                      muleContext.getConfiguration().getShutdownTimeout(),
-                                                                      muleContext.getSchedulerService()
-                                                                          .ioScheduler(muleContext.getSchedulerBaseConfig()
-                                                                              .withMaxConcurrentTasks(1)
-                                                                              .withName(operation.getLocation().getLocation()
-                                                                                  + ".policy.flux.")))));
-
-      if (operationPolicy instanceof DeferredDisposable) {
-        activePolicies.add(new DeferredDisposableWeakReference((DeferredDisposable) operationPolicy, stalePoliciesQueue));
-      }
+  private OperationPolicy lookupOperationPolicy(PoliciesSnapshot policies, Component operation,
+                                                PolicyPointcutParameters operationPointcutParameters) {
+    final ComponentIdentifier operationIdentifier = operation.getLocation().getComponentIdentifier().getIdentifier();
 
-      return operationPolicy;
-    } finally {
-      cacheInvalidateLock.readLock().unlock();
+    OperationPolicy operationPolicy = policies.operationPolicyInnerCache
+        .get(policyProvider.findOperationParameterizedPolicies(operationPointcutParameters),
+             innerKey -> innerKey.isEmpty()
+                 ? NO_POLICY_OPERATION
+                 : compositePolicyFactory.createOperationPolicy(operation, innerKey,
+                                                                lookupOperationParametersTransformer(operationIdentifier),
+                                                                operationPolicyProcessorFactory,
+                                                                muleContext.getConfiguration().getShutdownTimeout(),
+                                                                muleContext.getSchedulerService()
+                                                                    .ioScheduler(muleContext.getSchedulerBaseConfig()
+                                                                        .withMaxConcurrentTasks(1)
+                                                                        .withName(operation.getLocation().getLocation()
+                                                                            + ".policy.flux."))));
+
+    if (operationPolicy instanceof DeferredDisposable) {
+      activePolicies.add(new DeferredDisposableWeakReference((DeferredDisposable) operationPolicy, stalePoliciesQueue));
     }
+
+    return operationPolicy;
   }
 
   private Optional<OperationPolicyParametersTransformer> lookupOperationParametersTransformer(ComponentIdentifier componentIdentifier) {
@@ -304,14 +327,10 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
     policyProvider = registry.lookupByType(PolicyProvider.class).orElse(new NullPolicyProvider());
 
     if (muleContext.getArtifactType().equals(APP)) {
-      policyProvider.onPoliciesChanged(() -> {
-        evictCaches();
-        isSourcePoliciesAvailable.set(policyProvider.isSourcePoliciesAvailable());
-        isOperationPoliciesAvailable.set(policyProvider.isOperationPoliciesAvailable());
-      });
-
-      isSourcePoliciesAvailable.set(policyProvider.isSourcePoliciesAvailable());
-      isOperationPoliciesAvailable.set(policyProvider.isOperationPoliciesAvailable());
+      policyProvider.onPoliciesChanged(() -> updatePolicies(policyProvider.isSourcePoliciesAvailable(),
+                                                            policyProvider.isOperationPoliciesAvailable()));
+
+      updatePolicies(policyProvider.isSourcePoliciesAvailable(), policyProvider.isOperationPoliciesAvailable());
     }
 
     policyPointcutParametersManager =
@@ -338,18 +357,23 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
   }
 
   private void invalidateDisposedFlowFromCaches(String flowName) {
+    final PoliciesSnapshot policies = this.policies;
+
     // Invalidate from "no policy cache"
-    noPolicySourceInstances.invalidate(flowName);
+    policies.noPolicySourceInstances.invalidate(flowName);
+
+    // Invalidate from location based "with policy cache"
+    policies.locationSourcePolicies.remove(flowName);
 
     // Invalidate from inner "with policy cache"
-    sourcePolicyInnerCache.asMap().keySet().stream()
+    policies.sourcePolicyInnerCache.asMap().keySet().stream()
         .filter(pair -> pair.getFirst().equals(flowName))
-        .forEach(matchingPair -> sourcePolicyInnerCache.invalidate(matchingPair));
+        .forEach(matchingPair -> policies.sourcePolicyInnerCache.invalidate(matchingPair));
 
     // Invalidate from outer "with policy cache"
-    sourcePolicyOuterCache.asMap().keySet().stream()
+    policies.sourcePolicyOuterCache.asMap().keySet().stream()
         .filter(pair -> pair.getFirst().equals(flowName))
-        .forEach(matchingPair -> sourcePolicyOuterCache.invalidate(matchingPair));
+        .forEach(matchingPair -> policies.sourcePolicyOuterCache.invalidate(matchingPair));
   }
 
   @Override
@@ -388,22 +412,24 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
       }
     }
 
-    evictCaches();
+    policies.invalidateAll();
     scheduler.stop();
 
     activePolicies.clear();
   }
 
   private void disposePolicies() {
-    noPolicySourceInstances.asMap().values().forEach(policy -> {
+    final PoliciesSnapshot policies = this.policies;
+
+    policies.noPolicySourceInstances.asMap().values().forEach(policy -> {
       clearActive(policy);
       disposeIfNeeded(policy, LOGGER);
     });
-    sourcePolicyInnerCache.asMap().values().forEach(policy -> {
+    policies.sourcePolicyInnerCache.asMap().values().forEach(policy -> {
       clearActive(policy);
       disposeIfNeeded(policy, LOGGER);
     });
-    operationPolicyInnerCache.asMap().values().forEach(policy -> {
+    policies.operationPolicyInnerCache.asMap().values().forEach(policy -> {
       clearActive(policy);
       disposeIfNeeded(policy, LOGGER);
     });
@@ -417,19 +443,18 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
     }
   }
 
-  private void evictCaches() {
-    cacheInvalidateLock.writeLock().lock();
-
-    try {
-      noPolicySourceInstances.invalidateAll();
-
-      sourcePolicyInnerCache.invalidateAll();
-      operationPolicyInnerCache.invalidateAll();
-
-      sourcePolicyOuterCache.invalidateAll();
-      operationPolicyOuterCache.invalidateAll();
-    } finally {
-      cacheInvalidateLock.writeLock().unlock();
+  /**
+   * Replaces the policies snapshot with an empty one for the currently deployed policies. Lookups that are in progress complete
+   * against the previous snapshot, and the policies they create are disposed of once they are no longer used.
+   */
+  private synchronized void updatePolicies(boolean sourcePoliciesAvailable, boolean operationPoliciesAvailable) {
+    final PoliciesSnapshot previous = policies;
+    policies = new PoliciesSnapshot(previous.version + 1, sourcePoliciesAvailable, operationPoliciesAvailable,
+                                    outerCachesExpireTime, outerCachesExpireTimeUnit);
+
+    if (LOGGER.isDebugEnabled()) {
+      LOGGER.debug("Using policies snapshot version {} (source policies: {}, operation policies: {})",
+                   policies.version, sourcePoliciesAvailable, operationPoliciesAvailable);
     }
   }
 
@@ -466,18 +491,72 @@ public class DefaultPolicyManager implements PolicyManager, Lifecycle {
 
   // Testing purposes
   void setOuterCachesExpireTime(int timeout, TimeUnit timeUnit) {
-    sourcePolicyOuterCache = Caffeine.newBuilder()
-        .expireAfterAccess(timeout, timeUnit)
-        .build();
-    operationPolicyOuterCache = Caffeine.newBuilder()
-        .expireAfterAccess(timeout, timeUnit)
-        .build();
+    outerCachesExpireTime = timeout;
+    outerCachesExpireTimeUnit = timeUnit;
+    updatePolicies(policies.sourcePoliciesAvailable, policies.operationPoliciesAvailable);
   }
 
   int getActivePoliciesCount() {
     return activePolicies.size();
   }
 
+  /**
+   * The caches of the policies to apply for a given version of the deployed policies.
+   */
+  private static final class PoliciesSnapshot {
+
+    private final long version;
+    private final boolean sourcePoliciesAvailable;
+    private final boolean operationPoliciesAvailable;
+
+    private final Cache<String, SourcePolicy> noPolicySourceInstances = Caffeine.newBuilder().build();
+
+    // These next maps contain the policies for the components whose pointcut parameters only depend on their location (and on the
+    // location of the source of the event, for operations), so they don't need to be keyed by the parameters.
+
+    private final Map<String, SourcePolicy> locationSourcePolicies = new ConcurrentHashMap<>();
+    private final Map<String, Map<String, OperationPolicy>> locationOperationPolicies = new ConcurrentHashMap<>();
+
+    // These next caches contain the Composite Policies for a given sequence of policies to be applied.
+
+    private final Cache<Pair<String, List<Policy>>, SourcePolicy> sourcePolicyInnerCache = Caffeine.newBuilder().build();
+    private final Cache<List<Policy>, OperationPolicy> operationPolicyInnerCache = Caffeine.newBuilder().build();
+
+    // These next caches cache the actual composite policies for a given parameters. Since many parameters combinations may
+    // result in a same set of policies to be applied, many entries of this cache may reference the same composite policy
+    // instance.
+
+    private final Cache<Pair<String, PolicyPointcutParameters>, SourcePolicy> sourcePolicyOuterCache;
+    private final Cache<Pair<ComponentIdentifier, PolicyPointcutParameters>, OperationPolicy> operationPolicyOuterCache;
+
+    private PoliciesSnapshot(long version, boolean sourcePoliciesAvailable, boolean operationPoliciesAvailable,
+                             int outerCachesExpireTime, TimeUnit outerCachesExpireTimeUnit) {
+      this.version = version;
+      this.sourcePoliciesAvailable = sourcePoliciesAvailable;
+      this.operationPoliciesAvailable = operationPoliciesAvailable;
+
+      sourcePolicyOuterCache = Caffeine.newBuilder()
+          .expireAfterAccess(outerCachesExpireTime, outerCachesExpireTimeUnit)
+          .build();
+      operationPolicyOuterCache = Caffeine.newBuilder()
+          .expireAfterAccess(outerCachesExpireTime, outerCachesExpireTimeUnit)
+          .build();
+    }
+
+    private void invalidateAll() {
+      noPolicySourceInstances.invalidateAll();
+
+      locationSourcePolicies.clear();
+      locationOperationPolicies.clear();
+
+      sourcePolicyInnerCache.invalidateAll();
+      operationPolicyInnerCache.invalidateAll();
+
+      sourcePolicyOuterCache.invalidateAll();
+      operationPolicyOuterCache.invalidateAll();
+    }
+  }
+
   private static final class DeferredDisposableWeakReference extends WeakReference<DeferredDisposable> implements Disposable {
 
     private final Disposable deferredDispose;
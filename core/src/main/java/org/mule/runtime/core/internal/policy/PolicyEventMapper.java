@@ -17,6 +17,7 @@ import org.mule.runtime.core.api.policy.SourcePolicyParametersTransformer;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.message.InternalEvent;
 import org.mule.runtime.core.privileged.event.PrivilegedEvent;
+import org.mule.runtime.policy.api.PolicyPointcutParameters;
 
 import java.util.Map;
 import java.util.Optional;
@@ -302,7 +303,7 @@ public class PolicyEventMapper {
   private void storeVariablesInContext(CoreEvent event, Map<String, TypedValue<?>> variables) {
     SourcePolicyContext ctx = SourcePolicyContext.from(event);
     if (ctx == null) {
-      ctx = new SourcePolicyContext(null);
+      ctx = new SourcePolicyContext((PolicyPointcutParameters) null);
       ((InternalEvent) event).setSourcePolicyContext(ctx);
     }
     ctx.addVariables(policyId, variables);
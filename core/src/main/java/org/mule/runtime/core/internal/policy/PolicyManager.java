@@ -41,8 +41,11 @@ public interface PolicyManager {
   /**
    * Creates and generates the {@link PolicyPointcutParameters} for the given {@code source} and {@code attributes}, and adds it
    * as an internal parameter of the event to be built with {@code eventBuilder}.
+   * <p>
+   * If there are no policies to apply, implementations may defer the creation of the parameters until they are requested from
+   * the context of the event.
    *
-   * @return the created source parameters.
+   * @return the created source parameters, or {@code null} if their creation was deferred.
    */
   PolicyPointcutParameters addSourcePointcutParametersIntoEvent(Component source, TypedValue<?> attributes,
                                                                 InternalEvent event);
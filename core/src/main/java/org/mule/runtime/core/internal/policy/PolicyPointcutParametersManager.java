@@ -12,6 +12,7 @@ import static org.mule.runtime.core.internal.policy.SourcePolicyContext.from;
 
 import org.mule.runtime.api.component.Component;
 import org.mule.runtime.api.component.ComponentIdentifier;
+import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.metadata.TypedValue;
 import org.mule.runtime.core.api.event.CoreEvent;
@@ -98,6 +99,58 @@ public class PolicyPointcutParametersManager {
     }
   }
 
+  /**
+   * Determines whether the {@link PolicyPointcutParameters} for a source only depend on its location, because no
+   * {@link SourcePolicyPointcutParametersFactory} adds parameters for it. In that case, the policies to apply are always the same
+   * for every event generated by that source.
+   *
+   * @param source the source component to which policies will be applied
+   * @return {@code true} if the parameters for the given source only contain the source itself.
+   *
+   * @since 4.4
+   */
+  public boolean isLocationBasedSource(Component source) {
+    return isLocationBasedSource(source.getLocation().getComponentIdentifier().getIdentifier());
+  }
+
+  private boolean isLocationBasedSource(ComponentIdentifier sourceIdentifier) {
+    for (SourcePolicyPointcutParametersFactory factory : sourcePointcutFactories) {
+      if (factory.supportsSourceIdentifier(sourceIdentifier)) {
+        return false;
+      }
+    }
+    return true;
+  }
+
+  /**
+   * Determines whether the {@link PolicyPointcutParameters} for an operation only depend on its location and on the location of
+   * the source that triggered the event, because no {@link OperationPolicyPointcutParametersFactory} adds parameters for the
+   * operation and no {@link SourcePolicyPointcutParametersFactory} adds parameters for that source. In that case, the policies to
+   * apply are the same for every event triggered by that source.
+   * <p>
+   * This is decided from the factories alone, so the {@link SourcePolicyContext} of the event is not accessed and its pointcut
+   * parameters are not created if they were deferred.
+   *
+   * @param operation the operation component to which policies will be applied
+   * @param event     the event which will execute the operation policies
+   * @return {@code true} if the parameters for the given operation and event only contain the operation and the source that
+   *         triggered the event.
+   *
+   * @since 4.4
+   */
+  public boolean isLocationBasedOperation(Component operation, CoreEvent event) {
+    ComponentIdentifier operationIdentifier = operation.getLocation().getComponentIdentifier().getIdentifier();
+
+    for (OperationPolicyPointcutParametersFactory factory : operationPointcutFactories) {
+      if (factory.supportsOperationIdentifier(operationIdentifier)) {
+        return false;
+      }
+    }
+
+    ComponentLocation sourceLocation = event.getContext() != null ? event.getContext().getOriginatingLocation() : null;
+    return sourceLocation != null && isLocationBasedSource(sourceLocation.getComponentIdentifier().getIdentifier());
+  }
+
   private void throwMoreThanOneFactoryFoundException(ComponentIdentifier sourceIdentifier, Class factoryClass) {
     throw new MuleRuntimeException(createStaticMessage(format(
                                                               "More than one %s for component %s was found. There should be only one.",
@@ -11,6 +11,7 @@ import static java.util.Optional.empty;
 import org.mule.runtime.api.component.execution.CompletableCallback;
 import org.mule.runtime.api.functional.Either;
 import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.util.LazyValue;
 import org.mule.runtime.api.util.collection.SmallMap;
 import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.policy.SourcePolicyParametersTransformer;
@@ -20,6 +21,7 @@ import org.mule.runtime.policy.api.PolicyPointcutParameters;
 
 import java.util.Map;
 import java.util.Optional;
+import java.util.function.Supplier;
 
 /**
  * Holds all the context information for a source policy to function
@@ -39,6 +41,7 @@ public class SourcePolicyContext implements EventInternalContext<SourcePolicyCon
   }
 
   private final PolicyPointcutParameters pointcutParameters;
+  private final LazyValue<PolicyPointcutParameters> lazyPointcutParameters;
 
   private CoreEvent originalEvent;
   private MessageSourceResponseParametersProcessor responseParametersProcessor;
@@ -50,6 +53,19 @@ public class SourcePolicyContext implements EventInternalContext<SourcePolicyCon
 
   public SourcePolicyContext(PolicyPointcutParameters pointcutParameters) {
     this.pointcutParameters = pointcutParameters;
+    this.lazyPointcutParameters = null;
+  }
+
+  /**
+   * Creates a context whose pointcut parameters are only created if they are needed to find the policies to apply.
+   *
+   * @param pointcutParametersFactory creates the pointcut parameters the first time they are requested
+   *
+   * @since 4.4
+   */
+  public SourcePolicyContext(Supplier<PolicyPointcutParameters> pointcutParametersFactory) {
+    this.pointcutParameters = null;
+    this.lazyPointcutParameters = new LazyValue<>(pointcutParametersFactory::get);
   }
 
   public void configure(MessageSourceResponseParametersProcessor responseParametersProcessor,
@@ -64,7 +80,7 @@ public class SourcePolicyContext implements EventInternalContext<SourcePolicyCon
   }
 
   public PolicyPointcutParameters getPointcutParameters() {
-    return pointcutParameters;
+    return lazyPointcutParameters != null ? lazyPointcutParameters.get() : pointcutParameters;
   }
 
   public CoreEvent getOriginalEvent() {
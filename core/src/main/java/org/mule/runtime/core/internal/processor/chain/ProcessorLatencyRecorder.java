@@ -0,0 +1,242 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.chain;
+
+import static java.lang.System.nanoTime;
+import static java.lang.Thread.currentThread;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE_ASYNC;
+import static reactor.core.publisher.Flux.from;
+import static reactor.core.publisher.Operators.lift;
+
+import org.mule.runtime.api.component.Component;
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.management.stats.AllStatistics;
+import org.mule.runtime.core.api.management.stats.ProcessorLatencyStatistics;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+
+import java.util.function.Function;
+
+import org.reactivestreams.Publisher;
+import org.reactivestreams.Subscription;
+
+import reactor.core.CoreSubscriber;
+import reactor.util.context.Context;
+
+/**
+ * Records the latency of a processor into its {@link ProcessorLatencyStatistics}.
+ * <p>
+ * For processors that are invoked directly the latency is measured around the invocation, see {@link #startTime()} and
+ * {@link #record(long)}. Otherwise, the processor is {@link #measure(ReactiveProcessor) wrapped} with operators that keep the
+ * start time of the event being processed in the state of each subscription, so nothing is kept once the processor is done with
+ * an event, even if it was dropped or failed.
+ *
+ * @since 4.4
+ */
+public final class ProcessorLatencyRecorder {
+
+  private final ProcessorLatencyStatistics statistics;
+
+  /**
+   * @param muleContext the context of the application the processor belongs to
+   * @param processor   the processor to record the latency for
+   * @return a recorder for the given processor, or {@code null} if the {@link ProcessorLatencyStatistics} are not enabled or its
+   *         latency can't be recorded because it has no location or completes asynchronously.
+   */
+  public static ProcessorLatencyRecorder create(MuleContext muleContext, Object processor) {
+    if (!(processor instanceof Component) || muleContext == null) {
+      return null;
+    }
+    // The result of these can't be matched with the event that originated it without keeping state for each event
+    if (processor instanceof ReactiveProcessor && ((ReactiveProcessor) processor).getProcessingType() == CPU_LITE_ASYNC) {
+      return null;
+    }
+    final ComponentLocation location = ((Component) processor).getLocation();
+    if (location == null || location.getLocation() == null) {
+      return null;
+    }
+
+    final AllStatistics allStatistics = muleContext.getStatistics();
+    if (allStatistics == null || !allStatistics.isProcessorLatencyStatisticsEnabled()) {
+      return null;
+    }
+    final ProcessorLatencyStatistics statistics = allStatistics.computeProcessorLatencyStatisticsIfAbsent((Component) processor);
+    return statistics != null ? new ProcessorLatencyRecorder(statistics) : null;
+  }
+
+  private ProcessorLatencyRecorder(ProcessorLatencyStatistics statistics) {
+    this.statistics = statistics;
+  }
+
+  /**
+   * @return the current time to pass to {@link #record(long)}, or {@code 0} if the latency is not being recorded.
+   */
+  public long startTime() {
+    return statistics.isEnabled() ? nanoTime() : 0;
+  }
+
+  /**
+   * Records the time elapsed since the given start time.
+   *
+   * @param startTime the value returned by {@link #startTime()}
+   */
+  public void record(long startTime) {
+    if (startTime != 0) {
+      statistics.recordLatency(nanoTime() - startTime);
+    }
+  }
+
+  /**
+   * Wraps the given processor so that its latency is recorded, from the moment each event is handed to it until it emits the
+   * result for that event in the same thread, fails or drops the event.
+   * <p>
+   * Processors declared as {@link ReactiveProcessor.ProcessingType#CPU_LITE_ASYNC} are not measured at all (see
+   * {@link #create(MuleContext, Object)}). Should any other processor still hand an event off to be completed asynchronously,
+   * only the time taken for handing it off is recorded.
+   *
+   * @param processor the processor to record the latency for
+   * @return the wrapped processor
+   */
+  public ReactiveProcessor measure(ReactiveProcessor processor) {
+    // Unique for each wrapped processor, so that nested wrapped processors don't get each other's measurement
+    final Object measurementKey = new Object();
+
+    return stream -> from(stream)
+        .transform(startMeasurements(measurementKey))
+        .transform(processor)
+        .transform(endMeasurements(measurementKey));
+  }
+
+  private Function<? super Publisher<CoreEvent>, ? extends Publisher<CoreEvent>> startMeasurements(Object measurementKey) {
+    return lift((scannable, subscriber) -> new StartingSubscriber(subscriber, measurementKey));
+  }
+
+  private Function<? super Publisher<CoreEvent>, ? extends Publisher<CoreEvent>> endMeasurements(Object measurementKey) {
+    return lift((scannable, subscriber) -> new EndingSubscriber(subscriber, measurementKey));
+  }
+
+  /**
+   * The measurement of the event being processed in a subscription. Events are handed to the processor serially within a
+   * subscription, so there is a single measurement in progress at a time.
+   */
+  private final class Measurement {
+
+    private volatile Thread thread;
+    private long startTime;
+    private long endTime;
+
+    private void start() {
+      startTime = nanoTime();
+      endTime = 0;
+      thread = currentThread();
+    }
+
+    private void end() {
+      // A result emitted asynchronously may not be for the event being measured
+      if (thread == currentThread() && endTime == 0) {
+        endTime = nanoTime();
+      }
+    }
+
+    private void finish() {
+      thread = null;
+      statistics.recordLatency((endTime != 0 ? endTime : nanoTime()) - startTime);
+    }
+  }
+
+  /**
+   * Subscribes to the processor, starting a measurement for each event handed to it and finishing it once the processor is done
+   * with the event.
+   */
+  private final class StartingSubscriber implements CoreSubscriber<CoreEvent> {
+
+    private final CoreSubscriber<? super CoreEvent> subscriber;
+    private final Measurement measurement;
+
+    private StartingSubscriber(CoreSubscriber<? super CoreEvent> subscriber, Object measurementKey) {
+      this.subscriber = subscriber;
+      this.measurement = subscriber.currentContext().getOrDefault(measurementKey, null);
+    }
+
+    @Override
+    public void onNext(CoreEvent event) {
+      if (measurement == null || !statistics.isEnabled()) {
+        subscriber.onNext(event);
+        return;
+      }
+
+      measurement.start();
+      try {
+        subscriber.onNext(event);
+      } finally {
+        measurement.finish();
+      }
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      subscriber.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      subscriber.onComplete();
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      subscriber.onSubscribe(s);
+    }
+
+    @Override
+    public Context currentContext() {
+      return subscriber.currentContext();
+    }
+  }
+
+  /**
+   * Subscribes to the results of the processor, ending the measurement in progress when its result is emitted.
+   */
+  private final class EndingSubscriber implements CoreSubscriber<CoreEvent> {
+
+    private final CoreSubscriber<? super CoreEvent> subscriber;
+    private final Measurement measurement = new Measurement();
+    private final Context context;
+
+    private EndingSubscriber(CoreSubscriber<? super CoreEvent> subscriber, Object measurementKey) {
+      this.subscriber = subscriber;
+      this.context = subscriber.currentContext().put(measurementKey, measurement);
+    }
+
+    @Override
+    public void onNext(CoreEvent result) {
+      measurement.end();
+      subscriber.onNext(result);
+    }
+
+    @Override
+    public void onError(Throwable throwable) {
+      subscriber.onError(throwable);
+    }
+
+    @Override
+    public void onComplete() {
+      subscriber.onComplete();
+    }
+
+    @Override
+    public void onSubscribe(Subscription s) {
+      subscriber.onSubscribe(s);
+    }
+
+    @Override
+    public Context currentContext() {
+      return context;
+    }
+  }
+}
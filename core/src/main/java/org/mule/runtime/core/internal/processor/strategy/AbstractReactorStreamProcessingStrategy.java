@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.processor.strategy;
 
+import static java.lang.System.nanoTime;
+import static java.util.Optional.ofNullable;
 import static org.mule.runtime.core.api.construct.BackPressureReason.MAX_CONCURRENCY_EXCEEDED;
 import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE_ASYNC;
 import static org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.DEFAULT_BUFFER_SIZE;
@@ -23,6 +25,7 @@ import org.mule.runtime.core.internal.construct.FromFlowRejectedExecutionExcepti
 import org.mule.runtime.core.internal.processor.strategy.AbstractStreamProcessingStrategyFactory.AbstractStreamProcessingStrategy;
 import org.mule.runtime.core.privileged.event.BaseEventContext;
 
+import java.util.Optional;
 import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ScheduledExecutorService;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -37,6 +40,7 @@ abstract class AbstractReactorStreamProcessingStrategy extends AbstractStreamPro
   private final BiConsumer<CoreEvent, Throwable> inFlightDecrementCallback = (e, t) -> inFlightEvents.decrementAndGet();
 
   private Scheduler cpuLightScheduler;
+  private AdaptiveConcurrencyLimiter concurrencyLimiter;
 
   AbstractReactorStreamProcessingStrategy(int subscribers,
                                           Supplier<Scheduler> cpuLightSchedulerSupplier,
@@ -87,7 +91,14 @@ abstract class AbstractReactorStreamProcessingStrategy extends AbstractStreamPro
    * @return true if the event can be accepted for processing
    */
   protected BackPressureReason checkCapacity(CoreEvent event) {
-    if (maxConcurrencyEagerCheck) {
+    if (concurrencyLimiter != null) {
+      if (!concurrencyLimiter.tryAcquire()) {
+        return MAX_CONCURRENCY_EXCEEDED;
+      }
+
+      final long startTimestamp = nanoTime();
+      ((BaseEventContext) event.getContext()).onResponse((e, t) -> concurrencyLimiter.release(startTimestamp));
+    } else if (maxConcurrencyEagerCheck) {
       if (inFlightEvents.incrementAndGet() > maxConcurrency) {
         inFlightEvents.decrementAndGet();
         return MAX_CONCURRENCY_EXCEEDED;
@@ -101,6 +112,22 @@ abstract class AbstractReactorStreamProcessingStrategy extends AbstractStreamPro
     return null;
   }
 
+  /**
+   * Sets a limiter to use instead of the static {@code maxConcurrency} for deciding whether the flow may accept more events.
+   *
+   * @param concurrencyLimiter the limiter to use.
+   */
+  void setConcurrencyLimiter(AdaptiveConcurrencyLimiter concurrencyLimiter) {
+    this.concurrencyLimiter = concurrencyLimiter;
+  }
+
+  /**
+   * @return the limiter in use for the concurrency of the flow, if any.
+   */
+  public Optional<AdaptiveConcurrencyLimiter> getConcurrencyLimiter() {
+    return ofNullable(concurrencyLimiter);
+  }
+
   protected int getParallelism() {
     return parallelism;
   }
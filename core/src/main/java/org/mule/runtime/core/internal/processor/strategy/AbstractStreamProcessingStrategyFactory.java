@@ -6,10 +6,12 @@
  */
 package org.mule.runtime.core.internal.processor.strategy;
 
+import static java.lang.Boolean.getBoolean;
 import static java.lang.Integer.MAX_VALUE;
 import static java.lang.Integer.getInteger;
 import static java.lang.Integer.max;
 import static java.lang.Long.max;
+import static java.lang.Math.min;
 import static java.lang.Runtime.getRuntime;
 import static java.lang.String.format;
 import static java.lang.System.currentTimeMillis;
@@ -54,8 +56,13 @@ public abstract class AbstractStreamProcessingStrategyFactory extends AbstractPr
   // required to achieve absolute minimum latency for the scenarios where this is important.
   protected static final int DEFAULT_SUBSCRIBER_COUNT =
       getInteger(SYSTEM_PROPERTY_PREFIX + "DEFAULT_SUBSCRIBER_COUNT", max(1, (CORES / 2)));
+  protected static final boolean DEFAULT_LEAST_LOADED_SINK_DISPATCH =
+      getBoolean(SYSTEM_PROPERTY_PREFIX + "LEAST_LOADED_SINK_DISPATCH");
+  protected static final boolean DEFAULT_ADAPTIVE_CONCURRENCY = getBoolean(SYSTEM_PROPERTY_PREFIX + "ADAPTIVE_CONCURRENCY");
   private int bufferSize = DEFAULT_BUFFER_SIZE;
   private int subscriberCount = DEFAULT_SUBSCRIBER_COUNT;
+  private boolean leastLoadedSinkDispatch = DEFAULT_LEAST_LOADED_SINK_DISPATCH;
+  private boolean adaptiveConcurrency = DEFAULT_ADAPTIVE_CONCURRENCY;
 
   /**
    * Configure the size of the ring-buffer size used to buffer and de-multiplexes events from multiple source threads. This value
@@ -82,6 +89,55 @@ public abstract class AbstractStreamProcessingStrategyFactory extends AbstractPr
     this.subscriberCount = subscriberCount;
   }
 
+  /**
+   * Configure how events are dispatched to the sinks of the processing strategy.
+   * <p>
+   * By default events are dispatched to the sinks in round-robin. When enabled, each event is dispatched to the sink with less
+   * events queued or being processed, so that a sink whose subscriber is held back by a slow event stops receiving work while
+   * the others are idle.
+   *
+   * @param leastLoadedSinkDispatch whether to dispatch events to the least loaded sink.
+   */
+  public void setLeastLoadedSinkDispatch(boolean leastLoadedSinkDispatch) {
+    this.leastLoadedSinkDispatch = leastLoadedSinkDispatch;
+  }
+
+  protected boolean isLeastLoadedSinkDispatch() {
+    return leastLoadedSinkDispatch;
+  }
+
+  /**
+   * Configure whether the concurrency of the flow is adjusted from the observed latency of its events.
+   * <p>
+   * When enabled, the processing strategy rejects events once the adjusted limit is reached, before its schedulers are
+   * saturated. The limit is never greater than {@link #getMaxConcurrency()}.
+   *
+   * @param adaptiveConcurrency whether to adjust the concurrency from the observed latency.
+   * @see AdaptiveConcurrencyLimiter
+   */
+  public void setAdaptiveConcurrency(boolean adaptiveConcurrency) {
+    this.adaptiveConcurrency = adaptiveConcurrency;
+  }
+
+  protected boolean isAdaptiveConcurrency() {
+    return adaptiveConcurrency;
+  }
+
+  /**
+   * Sets an {@link AdaptiveConcurrencyLimiter} to the given processing strategy if {@link #isAdaptiveConcurrency() adaptive
+   * concurrency} is enabled.
+   *
+   * @param processingStrategy the processing strategy to configure
+   * @return the given processing strategy
+   */
+  protected <T extends AbstractReactorStreamProcessingStrategy> T configureConcurrencyLimiter(T processingStrategy) {
+    if (adaptiveConcurrency) {
+      processingStrategy.setConcurrencyLimiter(new AdaptiveConcurrencyLimiter(min(CORES * 2, getMaxConcurrency()),
+                                                                              getMaxConcurrency()));
+    }
+    return processingStrategy;
+  }
+
   protected int getBufferSize() {
     return bufferSize;
   }
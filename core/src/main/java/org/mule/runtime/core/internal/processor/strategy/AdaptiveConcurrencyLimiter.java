@@ -0,0 +1,144 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static java.lang.Long.MAX_VALUE;
+import static java.lang.Long.MIN_VALUE;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static java.lang.System.nanoTime;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+
+/**
+ * Limits the amount of events a flow processes concurrently, adjusting the limit from the observed latency with an AIMD
+ * (additive increase, multiplicative decrease) algorithm.
+ * <p>
+ * The lowest latency observed is taken as the latency of the flow without load. While the latency of the completed events
+ * stays within a tolerance of that value and the flow is using at least half of its limit, the limit is increased by one for
+ * each limit-worth of completed events. When an event takes longer than that, the limit is decreased by a factor, at most once
+ * for each window of events started after the previous decrease.
+ * <p>
+ * The limit never goes beyond the configured {@code maxConcurrency} of the flow.
+ *
+ * @since 4.4
+ */
+public class AdaptiveConcurrencyLimiter {
+
+  private static final Logger LOGGER = getLogger(AdaptiveConcurrencyLimiter.class);
+
+  static final int MIN_LIMIT = 1;
+  static final double BACKOFF_RATIO = 0.9;
+  static final double LATENCY_TOLERANCE = 2.0;
+  // The minimum latency is sampled again periodically, so that it follows changes in what the flow does
+  static final int MIN_LATENCY_RESET_SAMPLES = 1000;
+
+  private final int maxLimit;
+  private final AtomicInteger inFlight = new AtomicInteger();
+  private final AtomicLong rejectionsCount = new AtomicLong();
+
+  private volatile int limit;
+
+  // guarded by this
+  private double estimatedLimit;
+  private long minLatency = MAX_VALUE;
+  private int samples;
+  private long lastDecreaseTimestamp = MIN_VALUE;
+
+  /**
+   * Creates a new limiter
+   *
+   * @param initialLimit the limit to start with
+   * @param maxLimit     the limit will never be greater than this value
+   */
+  public AdaptiveConcurrencyLimiter(int initialLimit, int maxLimit) {
+    checkArgument(maxLimit >= MIN_LIMIT, "maxLimit must be at least " + MIN_LIMIT);
+    this.maxLimit = maxLimit;
+    this.estimatedLimit = max(MIN_LIMIT, min(initialLimit, maxLimit));
+    this.limit = (int) estimatedLimit;
+  }
+
+  /**
+   * Tries to acquire a permit for processing an event. If acquired, {@link #release(long)} has to be called once the
+   * processing of the event is complete.
+   *
+   * @return whether the permit was acquired.
+   */
+  public boolean tryAcquire() {
+    if (inFlight.incrementAndGet() > limit) {
+      inFlight.decrementAndGet();
+      rejectionsCount.incrementAndGet();
+      return false;
+    }
+    return true;
+  }
+
+  /**
+   * Releases a permit previously acquired with {@link #tryAcquire()}, updating the limit with the latency of the event.
+   *
+   * @param startTimestamp the value of {@link System#nanoTime()} when the permit was acquired.
+   */
+  public void release(long startTimestamp) {
+    release(startTimestamp, nanoTime());
+  }
+
+  void release(long startTimestamp, long endTimestamp) {
+    onSample(startTimestamp, endTimestamp - startTimestamp, inFlight.getAndDecrement());
+  }
+
+  private synchronized void onSample(long startTimestamp, long latency, int inFlightOnCompletion) {
+    if (++samples >= MIN_LATENCY_RESET_SAMPLES) {
+      samples = 0;
+      minLatency = latency;
+    } else {
+      minLatency = min(minLatency, latency);
+    }
+
+    final int previousLimit = limit;
+    if (latency > minLatency * LATENCY_TOLERANCE) {
+      // Only decrease for events that started after the previous decrease, since those didn't see its effect yet
+      if (startTimestamp > lastDecreaseTimestamp) {
+        estimatedLimit = max(MIN_LIMIT, estimatedLimit * BACKOFF_RATIO);
+        lastDecreaseTimestamp = startTimestamp + latency;
+      }
+    } else if (inFlightOnCompletion * 2 >= estimatedLimit) {
+      estimatedLimit = min(maxLimit, estimatedLimit + 1 / estimatedLimit);
+    }
+
+    limit = (int) estimatedLimit;
+    if (LOGGER.isDebugEnabled() && limit != previousLimit) {
+      LOGGER.debug("Concurrency limit changed from {} to {} (latency: {}ns, min latency: {}ns)", previousLimit, limit, latency,
+                   minLatency);
+    }
+  }
+
+  /**
+   * @return the current concurrency limit.
+   */
+  public int getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return the amount of events being processed.
+   */
+  public int getInFlight() {
+    return inFlight.get();
+  }
+
+  /**
+   * @return the amount of events rejected because the limit was reached.
+   */
+  public long getRejectionsCount() {
+    return rejectionsCount.get();
+  }
+}
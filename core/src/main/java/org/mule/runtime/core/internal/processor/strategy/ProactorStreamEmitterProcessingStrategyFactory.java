@@ -49,15 +49,16 @@ public class ProactorStreamEmitterProcessingStrategyFactory extends AbstractStre
 
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
+    return configureConcurrencyLimiter(createProcessingStrategy(muleContext, schedulersNamePrefix));
+  }
+
+  private ProactorStreamEmitterProcessingStrategy createProcessingStrategy(MuleContext muleContext, String schedulersNamePrefix) {
     Supplier<Scheduler> cpuLightSchedulerSupplier = getCpuLightSchedulerSupplier(muleContext, schedulersNamePrefix);
     return new ProactorStreamEmitterProcessingStrategy(getBufferSize(),
                                                        getSubscriberCount(),
                                                        cpuLightSchedulerSupplier,
                                                        cpuLightSchedulerSupplier,
-                                                       () -> muleContext.getSchedulerService()
-                                                           .ioScheduler(muleContext.getSchedulerBaseConfig()
-                                                               .withName(
-                                                                         schedulersNamePrefix + "." + BLOCKING.name())),
+                                                       getBlockingSchedulerSupplier(muleContext, schedulersNamePrefix),
                                                        () -> muleContext.getSchedulerService()
                                                            .cpuIntensiveScheduler(muleContext.getSchedulerBaseConfig()
                                                                .withName(schedulersNamePrefix + "."
@@ -65,9 +66,19 @@ public class ProactorStreamEmitterProcessingStrategyFactory extends AbstractStre
                                                        resolveParallelism(),
                                                        getMaxConcurrency(),
                                                        isMaxConcurrencyEagerCheck(),
+                                                       isLeastLoadedSinkDispatch(),
                                                        () -> muleContext.getConfiguration().getShutdownTimeout());
   }
 
+  /**
+   * @return the supplier of the scheduler on which {@link ReactiveProcessor.ProcessingType#BLOCKING} and
+   *         {@link ReactiveProcessor.ProcessingType#IO_RW} processors are executed.
+   */
+  protected Supplier<Scheduler> getBlockingSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
+    return () -> muleContext.getSchedulerService()
+        .ioScheduler(muleContext.getSchedulerBaseConfig().withName(schedulersNamePrefix + "." + BLOCKING.name()));
+  }
+
   @Override
   public Class<? extends ProcessingStrategy> getProcessingStrategyType() {
     return ProactorStreamEmitterProcessingStrategy.class;
@@ -93,8 +104,23 @@ public class ProactorStreamEmitterProcessingStrategyFactory extends AbstractStre
                                                    int maxConcurrency,
                                                    boolean maxConcurrencyEagerCheck,
                                                    Supplier<Long> shutdownTimeoutSupplier) {
+      this(bufferSize, subscriberCount, flowDispatchSchedulerSupplier, cpuLightSchedulerSupplier, blockingSchedulerSupplier,
+           cpuIntensiveSchedulerSupplier, parallelism, maxConcurrency, maxConcurrencyEagerCheck, false, shutdownTimeoutSupplier);
+    }
+
+    public ProactorStreamEmitterProcessingStrategy(int bufferSize,
+                                                   int subscriberCount,
+                                                   Supplier<Scheduler> flowDispatchSchedulerSupplier,
+                                                   Supplier<Scheduler> cpuLightSchedulerSupplier,
+                                                   Supplier<Scheduler> blockingSchedulerSupplier,
+                                                   Supplier<Scheduler> cpuIntensiveSchedulerSupplier,
+                                                   int parallelism,
+                                                   int maxConcurrency,
+                                                   boolean maxConcurrencyEagerCheck,
+                                                   boolean leastLoadedSinkDispatch,
+                                                   Supplier<Long> shutdownTimeoutSupplier) {
       super(bufferSize, subscriberCount, flowDispatchSchedulerSupplier, cpuLightSchedulerSupplier, parallelism, maxConcurrency,
-            maxConcurrencyEagerCheck, shutdownTimeoutSupplier);
+            maxConcurrencyEagerCheck, leastLoadedSinkDispatch, shutdownTimeoutSupplier);
       this.blockingSchedulerSupplier = blockingSchedulerSupplier;
       this.cpuIntensiveSchedulerSupplier = cpuIntensiveSchedulerSupplier;
     }
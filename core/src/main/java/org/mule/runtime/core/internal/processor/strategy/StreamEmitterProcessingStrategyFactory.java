@@ -48,6 +48,7 @@ import java.util.concurrent.atomic.AtomicLong;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
+import java.util.function.IntSupplier;
 import java.util.function.IntUnaryOperator;
 import java.util.function.LongUnaryOperator;
 import java.util.function.Supplier;
@@ -66,6 +67,10 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
 
   @Override
   public ProcessingStrategy create(MuleContext muleContext, String schedulersNamePrefix) {
+    return configureConcurrencyLimiter(createProcessingStrategy(muleContext, schedulersNamePrefix));
+  }
+
+  private StreamEmitterProcessingStrategy createProcessingStrategy(MuleContext muleContext, String schedulersNamePrefix) {
     return new StreamEmitterProcessingStrategy(getBufferSize(),
                                                getSubscriberCount(),
                                                getFlowDispatchSchedulerSupplier(muleContext, schedulersNamePrefix),
@@ -75,6 +80,7 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
                                                resolveParallelism(),
                                                getMaxConcurrency(),
                                                isMaxConcurrencyEagerCheck(),
+                                               isLeastLoadedSinkDispatch(),
                                                () -> muleContext.getConfiguration().getShutdownTimeout());
   }
 
@@ -120,6 +126,7 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
             : MIN_VALUE;
 
     private final int sinksCount;
+    private final boolean leastLoadedSinkDispatch;
     private final Supplier<Long> shutdownTimeoutSupplier;
 
     // This counter keeps track of how many sinks are created for fluxes that use this processing strategy.
@@ -134,10 +141,24 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
                                            int maxConcurrency,
                                            boolean maxConcurrencyEagerCheck,
                                            Supplier<Long> shutdownTimeoutSupplier) {
+      this(bufferSize, subscribers, flowDispatchSchedulerSupplier, cpuLightSchedulerSupplier, parallelism, maxConcurrency,
+           maxConcurrencyEagerCheck, false, shutdownTimeoutSupplier);
+    }
+
+    public StreamEmitterProcessingStrategy(int bufferSize,
+                                           int subscribers,
+                                           Supplier<Scheduler> flowDispatchSchedulerSupplier,
+                                           Supplier<Scheduler> cpuLightSchedulerSupplier,
+                                           int parallelism,
+                                           int maxConcurrency,
+                                           boolean maxConcurrencyEagerCheck,
+                                           boolean leastLoadedSinkDispatch,
+                                           Supplier<Long> shutdownTimeoutSupplier) {
       super(subscribers, cpuLightSchedulerSupplier, parallelism, maxConcurrency, maxConcurrencyEagerCheck);
       this.bufferSize = bufferSize;
       this.flowDispatchSchedulerLazy = new LazyValue<>(flowDispatchSchedulerSupplier);
       this.sinksCount = getSinksCount();
+      this.leastLoadedSinkDispatch = leastLoadedSinkDispatch;
       this.shutdownTimeoutSupplier = shutdownTimeoutSupplier;
     }
 
@@ -223,6 +244,7 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
     @Override
     public Sink createSink(FlowConstruct flowConstruct, ReactiveProcessor function) {
       List<ReactorSink<CoreEvent>> sinks = new ArrayList<>();
+      List<IntSupplier> queueDepths = new ArrayList<>();
       final int bufferQueueSize = getBufferQueueSize();
 
       for (int i = 0; i < sinksCount; i++) {
@@ -246,10 +268,13 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
                                      },
                                      onEventConsumer, bufferQueueSize);
         sinks.add(sink);
+        queueDepths.add(processor::getPending);
       }
 
       activeSinksCount.addAndGet(sinksCount);
-      return new RoundRobinReactorSink<>(sinks);
+      return leastLoadedSinkDispatch
+          ? new LeastLoadedReactorSink<>(sinks, queueDepths)
+          : new RoundRobinReactorSink<>(sinks);
     }
 
     @Override
@@ -403,5 +428,121 @@ public class StreamEmitterProcessingStrategyFactory extends AbstractStreamProces
         return (E) event;
       }
     }
+
+    /**
+     * Dispatches each event to the sink with the lowest load, instead of strictly in round-robin.
+     * <p>
+     * The load of a sink is the count of events dispatched to it whose response is not complete yet, plus the events waiting
+     * in its queue to be picked up by its subscriber. Queued events are counted twice, so that a sink whose subscriber is held
+     * back by a slow event is avoided even if its in-flight count is similar to the others'. Ties are resolved in round-robin.
+     */
+    static class LeastLoadedReactorSink<E> implements AbstractProcessingStrategy.ReactorSink<E> {
+
+      private final List<AbstractProcessingStrategy.ReactorSink<E>> fluxSinks;
+      private final List<IntSupplier> queueDepths;
+      private final AtomicInteger[] inFlight;
+      // Saving decrement callbacks to avoid creating the lambda every time
+      private final List<BiConsumer<CoreEvent, Throwable>> inFlightDecrement;
+      private final AtomicInteger index = new AtomicInteger(0);
+      private final IntUnaryOperator update;
+
+      public LeastLoadedReactorSink(List<AbstractProcessingStrategy.ReactorSink<E>> sinks, List<IntSupplier> queueDepths) {
+        this.fluxSinks = sinks;
+        this.queueDepths = queueDepths;
+        this.inFlight = new AtomicInteger[sinks.size()];
+        this.inFlightDecrement = new ArrayList<>(sinks.size());
+        for (int i = 0; i < sinks.size(); ++i) {
+          final AtomicInteger sinkInFlight = new AtomicInteger();
+          inFlight[i] = sinkInFlight;
+          inFlightDecrement.add((e, t) -> sinkInFlight.decrementAndGet());
+        }
+        this.update = value -> (value + 1) % fluxSinks.size();
+      }
+
+      @Override
+      public void prepareDispose() {
+        fluxSinks.stream().forEach(sink -> sink.prepareDispose());
+      }
+
+      @Override
+      public void dispose() {
+        fluxSinks.stream().forEach(sink -> sink.prepareDispose());
+        fluxSinks.stream().forEach(sink -> sink.dispose());
+      }
+
+      @Override
+      public void accept(CoreEvent event) {
+        final int selected = selectSink();
+        inFlight[selected].incrementAndGet();
+        ((BaseEventContext) event.getContext()).onResponse(inFlightDecrement.get(selected));
+        fluxSinks.get(selected).accept(event);
+      }
+
+      @Override
+      public BackPressureReason emit(CoreEvent event) {
+        final int selected = selectSink();
+        // Account for the event before emitting it so that concurrent dispatches see the increased load
+        inFlight[selected].incrementAndGet();
+        final BackPressureReason reason = fluxSinks.get(selected).emit(event);
+        if (reason == null) {
+          ((BaseEventContext) event.getContext()).onResponse(inFlightDecrement.get(selected));
+        } else {
+          inFlight[selected].decrementAndGet();
+        }
+        return reason;
+      }
+
+      private int selectSink() {
+        final int sinksCount = fluxSinks.size();
+        final int start = index.getAndUpdate(update);
+
+        int selected = start;
+        int minLoad = Integer.MAX_VALUE;
+        for (int i = 0; i < sinksCount; ++i) {
+          int candidate = start + i;
+          if (candidate >= sinksCount) {
+            candidate -= sinksCount;
+          }
+
+          final int load = inFlight[candidate].get() + queueDepths.get(candidate).getAsInt();
+          if (load < minLoad) {
+            minLoad = load;
+            selected = candidate;
+            if (load == 0) {
+              break;
+            }
+          }
+        }
+        return selected;
+      }
+
+      /**
+       * @return the amount of sinks events are dispatched to.
+       */
+      public int getSinksCount() {
+        return fluxSinks.size();
+      }
+
+      /**
+       * @param sinkIndex the index of the sink to get the metric for.
+       * @return the amount of events waiting in the queue of the sink to be picked up by its subscriber.
+       */
+      public int getQueueDepth(int sinkIndex) {
+        return queueDepths.get(sinkIndex).getAsInt();
+      }
+
+      /**
+       * @param sinkIndex the index of the sink to get the metric for.
+       * @return the amount of events dispatched to the sink whose response is not complete yet.
+       */
+      public int getInFlightCount(int sinkIndex) {
+        return inFlight[sinkIndex].get();
+      }
+
+      @Override
+      public E intoSink(CoreEvent event) {
+        return (E) event;
+      }
+    }
   }
 }
@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.processor.strategy;
+
+import static org.mule.runtime.core.internal.util.rx.VirtualThreadSchedulerWrapper.isVirtualThreadsSupported;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+import org.mule.runtime.api.scheduler.SchedulerService;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.internal.util.rx.VirtualThreadSchedulerWrapper;
+
+import java.util.function.Supplier;
+
+import org.slf4j.Logger;
+
+/**
+ * Creates a processing strategy with same behavior as {@link TransactionAwareProactorStreamEmitterProcessingStrategyFactory},
+ * apart from the fact that {@link ReactiveProcessor.ProcessingType#BLOCKING} and {@link ReactiveProcessor.ProcessingType#IO_RW}
+ * processors are executed on a virtual thread per in-flight event, instead of on the {@link SchedulerService#ioScheduler()}.
+ * {@link ReactiveProcessor.ProcessingType#CPU_LITE} processors keep being executed on the
+ * {@link SchedulerService#cpuLightScheduler()}.
+ * <p/>
+ * The amount of events being processed at the same time by blocking processors is bound by {@link #getMaxConcurrency()}.
+ * <p/>
+ * Virtual threads are only available when running on Java 21 or newer. On older JVMs, this strategy behaves just as
+ * {@link TransactionAwareProactorStreamEmitterProcessingStrategyFactory}.
+ *
+ * @since 4.4
+ */
+public class VirtualThreadProcessingStrategyFactory extends TransactionAwareProactorStreamEmitterProcessingStrategyFactory {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadProcessingStrategyFactory.class);
+
+  @Override
+  protected Supplier<Scheduler> getBlockingSchedulerSupplier(MuleContext muleContext, String schedulersNamePrefix) {
+    final Supplier<Scheduler> ioSchedulerSupplier = super.getBlockingSchedulerSupplier(muleContext, schedulersNamePrefix);
+
+    if (!isVirtualThreadsSupported()) {
+      LOGGER.warn("Virtual threads are not supported by the running JVM. Blocking processors of '{}' will be executed on the "
+          + "IO scheduler.", schedulersNamePrefix);
+      return ioSchedulerSupplier;
+    }
+
+    return () -> new VirtualThreadSchedulerWrapper(ioSchedulerSupplier.get(), getMaxConcurrency());
+  }
+}
@@ -58,7 +58,7 @@ public class MuleRegistryHelper implements MuleRegistry {
   /**
    * We cache transformer searches so that we only search once
    */
-  protected Map<String, Transformer> exactTransformerCache = new ConcurrentHashMap<>(8);
+  private final TransformerResolutionTable exactTransformerCache = new TransformerResolutionTable();
   protected Map<String, List<Transformer>> transformerListCache = new ConcurrentHashMap<>(8);
 
   private final MuleContext muleContext;
@@ -134,29 +134,26 @@ public class MuleRegistryHelper implements MuleRegistry {
    */
   @Override
   public Transformer lookupTransformer(DataType source, DataType result) throws TransformerException {
-    //To maintain the previous behaviour, we don't want to consider the result mimeType when resolving a transformer
-    //and only find transformers with a targetType the same as or a super class of the expected one.
-    //The same could be done for the source but since if the source expected by the transformer is more generic that
-    //the provided, it will be found.
-    result = builder(result).mediaType(ANY).charset((Charset) null).build();
-
-    final String dataTypePairHash = getDataTypeSourceResultPairHash(source, result);
-    Transformer cachedTransformer = exactTransformerCache.get(dataTypePairHash);
+    // The resolved transformers are kept for the types as requested, so that looking one up doesn't need to normalize the result.
+    // The table is bounded, so the media type parameters of the types can't make it grow indefinitely.
+    Transformer cachedTransformer = exactTransformerCache.get(source, result);
     if (cachedTransformer != null) {
       return cachedTransformer;
     }
 
-    Transformer trans = resolveTransformer(source, result);
+    final long generation = exactTransformerCache.getGeneration();
+
+    //To maintain the previous behaviour, we don't want to consider the result mimeType when resolving a transformer
+    //and only find transformers with a targetType the same as or a super class of the expected one.
+    //The same could be done for the source but since if the source expected by the transformer is more generic that
+    //the provided, it will be found.
+    final DataType resolutionResult = builder(result).mediaType(ANY).charset((Charset) null).build();
+    Transformer trans = resolveTransformer(source, resolutionResult);
 
     if (trans != null) {
-      Transformer concurrentlyAddedTransformer = exactTransformerCache.putIfAbsent(dataTypePairHash, trans);
-      if (concurrentlyAddedTransformer != null) {
-        return concurrentlyAddedTransformer;
-      } else {
-        return trans;
-      }
+      return exactTransformerCache.put(generation, source, result, trans);
     } else {
-      throw new TransformerException(noTransformerFoundForMessage(source, result));
+      throw new TransformerException(noTransformerFoundForMessage(source, resolutionResult));
     }
   }
 
@@ -269,9 +266,6 @@ public class MuleRegistryHelper implements MuleRegistry {
         transformerResolversReadLock.unlock();
       }
 
-      transformerListCache.clear();
-      exactTransformerCache.clear();
-
       Lock transformersWriteLock = transformersLock.writeLock();
       transformersWriteLock.lock();
       try {
@@ -283,6 +277,10 @@ public class MuleRegistryHelper implements MuleRegistry {
       } finally {
         transformersWriteLock.unlock();
       }
+
+      // Cleared once the transformers are updated, so that nothing resolved with the previous ones is kept
+      transformerListCache.clear();
+      exactTransformerCache.clear();
     }
   }
 
@@ -0,0 +1,114 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.registry;
+
+import static java.util.Collections.emptyMap;
+import static java.util.Collections.unmodifiableMap;
+
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.core.api.transformer.Transformer;
+
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Immutable table with the {@link Transformer} resolved for each pair of source and result {@link DataType}s.
+ * <p>
+ * Looking up a transformer is just two hash lookups on the {@link DataType}s themselves, without building a key or taking any
+ * lock. Resolved transformers are added by replacing the whole table with a copy that includes them, which is cheap since only a
+ * few pairs of types are ever resolved by an application and each one is resolved only once.
+ * <p>
+ * The {@link DataType}s may carry media type parameters that vary for each message (like a multipart boundary), so the table
+ * stops growing once it holds {@link #DEFAULT_MAX_RESOLUTIONS} pairs. Transformers resolved after that are still returned, just
+ * not kept.
+ * <p>
+ * The table has to be {@link #clear() cleared} whenever the available transformers change. A transformer resolved before the
+ * table was cleared is not added to it, so that a resolution based on the previous transformers is never kept.
+ *
+ * @since 4.4
+ */
+final class TransformerResolutionTable {
+
+  static final int DEFAULT_MAX_RESOLUTIONS = 1024;
+
+  private final int maxResolutions;
+
+  private volatile Map<DataType, Map<DataType, Transformer>> transformers = emptyMap();
+  private volatile long generation = 0;
+  private int resolutions = 0;
+
+  TransformerResolutionTable() {
+    this(DEFAULT_MAX_RESOLUTIONS);
+  }
+
+  /**
+   * @param maxResolutions the maximum amount of pairs of types to keep the resolved transformer for
+   */
+  TransformerResolutionTable(int maxResolutions) {
+    this.maxResolutions = maxResolutions;
+  }
+
+  /**
+   * @param source the source type of the transformation
+   * @param result the result type of the transformation
+   * @return the transformer resolved for the given types, or {@code null} if it was not resolved yet.
+   */
+  Transformer get(DataType source, DataType result) {
+    final Map<DataType, Transformer> bySource = transformers.get(source);
+    return bySource != null ? bySource.get(result) : null;
+  }
+
+  /**
+   * @return the current generation of this table, to pass to {@link #put(long, DataType, DataType, Transformer)} once the
+   *         transformer is resolved.
+   */
+  long getGeneration() {
+    return generation;
+  }
+
+  /**
+   * Adds a resolved transformer to this table, unless it was cleared since the resolution started or it is full.
+   *
+   * @param generation  the generation of this table when the resolution started
+   * @param source      the source type of the transformation
+   * @param result      the result type of the transformation
+   * @param transformer the resolved transformer
+   * @return the transformer for the given types, which may have been added concurrently.
+   */
+  synchronized Transformer put(long generation, DataType source, DataType result, Transformer transformer) {
+    if (generation != this.generation) {
+      return transformer;
+    }
+
+    final Transformer current = get(source, result);
+    if (current != null) {
+      return current;
+    }
+    if (resolutions >= maxResolutions) {
+      return transformer;
+    }
+    ++resolutions;
+
+    final Map<DataType, Transformer> bySource = new HashMap<>(transformers.getOrDefault(source, emptyMap()));
+    bySource.put(result, transformer);
+
+    final Map<DataType, Map<DataType, Transformer>> copy = new HashMap<>(transformers);
+    copy.put(source, unmodifiableMap(bySource));
+    transformers = unmodifiableMap(copy);
+
+    return transformer;
+  }
+
+  /**
+   * Discards all the resolved transformers.
+   */
+  synchronized void clear() {
+    ++generation;
+    resolutions = 0;
+    transformers = emptyMap();
+  }
+}
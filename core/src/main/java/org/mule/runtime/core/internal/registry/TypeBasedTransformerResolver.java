@@ -33,8 +33,6 @@ import java.util.Arrays;
 import java.util.Collections;
 import java.util.LinkedList;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Will discover transformers based on type information only. It looks for transformers that support the source and result types
@@ -53,7 +51,7 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
 
   private MuleContext muleContext;
 
-  protected Map<String, Transformer> exactTransformerCache = new ConcurrentHashMap/* <String, Transformer> */(8);
+  private final TransformerResolutionTable exactTransformerCache = new TransformerResolutionTable();
 
   protected TransformerResolver graphTransformerResolver = new GraphTransformerResolver();
 
@@ -78,11 +76,13 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
   }
 
   public Transformer resolve(DataType source, DataType result) throws ResolverException {
-    Transformer transformer = exactTransformerCache.get(source.toString() + result.toString());
+    Transformer transformer = exactTransformerCache.get(source, result);
     if (transformer != null) {
       return transformer;
     }
 
+    final long generation = exactTransformerCache.getGeneration();
+
     MuleRegistry registry = ((MuleContextWithRegistry) muleContext).getRegistry();
     List<Transformer> trans = registry.lookupTransformers(source, result);
 
@@ -122,7 +122,7 @@ public class TypeBasedTransformerResolver implements TransformerResolver, MuleCo
     }
 
     if (transformer != null) {
-      exactTransformerCache.put(source.toString() + result.toString(), transformer);
+      transformer = exactTransformerCache.put(generation, source, result, transformer);
     }
     return transformer;
   }
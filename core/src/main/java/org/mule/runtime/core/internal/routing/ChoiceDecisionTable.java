@@ -0,0 +1,260 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.routing;
+
+import static java.util.regex.Pattern.DOTALL;
+import static java.util.regex.Pattern.compile;
+
+import org.mule.runtime.api.el.ExpressionExecutionException;
+import org.mule.runtime.core.api.el.ExpressionManagerSession;
+import org.mule.runtime.core.api.expression.ExpressionRuntimeException;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Decides which of the routes of a {@link ChoiceRouter} has to be executed for an event.
+ * <p>
+ * Consecutive routes whose expressions compare the same selector expression against a string literal, either for equality (
+ * {@code attributes.headers.type == 'X'}) or by prefix ({@code attributes.requestPath startsWith '/api'}), are compiled into a
+ * single lookup: the selector is evaluated only once and the route is found by hashing its value, instead of evaluating the
+ * expression of each route in order. Any other route is evaluated on its own, as before.
+ * <p>
+ * The lookup is only used when the selector evaluates to a {@link String}. For any other value, or if the selector cannot be
+ * evaluated, the expressions of the compiled routes are evaluated in order, so the outcome is the same as without the table.
+ *
+ * @since 4.4
+ */
+final class ChoiceDecisionTable {
+
+  // '$' is left out of string literals, since DataWeave interpolates the '$(...)' expressions they contain
+  private static final String PATH = "[a-zA-Z_][a-zA-Z0-9_]*"
+      + "(?:\\.[a-zA-Z_][a-zA-Z0-9_]*|\\[(?:'[^'\\\\$]*'|\"[^\"\\\\$]*\")\\])*";
+  private static final String LITERAL = "(?:'([^'\\\\$]*)'|\"([^\"\\\\$]*)\")";
+
+  private static final Pattern WRAPPED_EXPRESSION = compile("^\\s*#\\[(.*)\\]\\s*$", DOTALL);
+  private static final Pattern EQUALS = compile("^\\s*(" + PATH + ")\\s*==\\s*" + LITERAL + "\\s*$");
+  private static final Pattern EQUALS_REVERSED = compile("^\\s*" + LITERAL + "\\s*==\\s*(" + PATH + ")\\s*$");
+  private static final Pattern STARTS_WITH = compile("^\\s*(" + PATH + ")\\s+startsWith\\s+" + LITERAL + "\\s*$");
+  private static final Pattern STARTS_WITH_CALL =
+      compile("^\\s*startsWith\\s*\\(\\s*(" + PATH + ")\\s*,\\s*" + LITERAL + "\\s*\\)\\s*$");
+
+  private final List<Segment> segments;
+
+  /**
+   * Compiles the expressions of the given routes.
+   *
+   * @param routes the routes of the router, in the order they have to be considered
+   */
+  ChoiceDecisionTable(List<ProcessorRoute> routes) {
+    this.segments = compileSegments(routes);
+  }
+
+  /**
+   * @param session the session to evaluate the expressions of the routes with
+   * @param routes  the executable routes, in the same order as the routes this table was compiled from
+   * @return the first route that accepts the event the session was opened for, or {@code null} if none does.
+   */
+  ExecutableRoute select(ExpressionManagerSession session, List<ExecutableRoute> routes) {
+    for (Segment segment : segments) {
+      final int selected = segment.select(session, routes);
+      if (selected >= 0) {
+        return routes.get(selected);
+      }
+    }
+    return null;
+  }
+
+  /**
+   * @return the amount of routes whose expression is resolved through a lookup.
+   */
+  int getCompiledRoutesCount() {
+    int count = 0;
+    for (Segment segment : segments) {
+      if (segment instanceof LookupSegment) {
+        count += ((LookupSegment) segment).routeIndexes.size();
+      }
+    }
+    return count;
+  }
+
+  private static List<Segment> compileSegments(List<ProcessorRoute> routes) {
+    final List<Segment> segments = new ArrayList<>();
+    LookupSegment current = null;
+
+    for (int i = 0; i < routes.size(); ++i) {
+      final Condition condition = parse(routes.get(i));
+      if (condition != null && current != null && current.selector.equals(condition.selector)) {
+        current.add(i, condition);
+      } else {
+        if (current != null) {
+          segments.add(current.compact());
+        }
+        if (condition != null) {
+          current = new LookupSegment(condition.selector);
+          current.add(i, condition);
+        } else {
+          current = null;
+          segments.add(new SequentialSegment(i));
+        }
+      }
+    }
+    if (current != null) {
+      segments.add(current.compact());
+    }
+    return segments;
+  }
+
+  private static Condition parse(ProcessorRoute route) {
+    if (!(route instanceof ProcessorExpressionRoute)) {
+      return null;
+    }
+
+    String expression = ((ProcessorExpressionRoute) route).getExpression();
+    boolean wrapped = false;
+    final Matcher wrappedMatcher = WRAPPED_EXPRESSION.matcher(expression);
+    if (wrappedMatcher.matches()) {
+      expression = wrappedMatcher.group(1);
+      wrapped = true;
+    } else if (expression.contains("#[")) {
+      // Template or expression with a language prefix
+      return null;
+    }
+
+    Matcher matcher;
+    if ((matcher = EQUALS.matcher(expression)).matches() || (matcher = STARTS_WITH.matcher(expression)).matches()
+        || (matcher = STARTS_WITH_CALL.matcher(expression)).matches()) {
+      return new Condition(selector(matcher.group(1), wrapped), literal(matcher, 2), matcher.pattern() == EQUALS);
+    } else if ((matcher = EQUALS_REVERSED.matcher(expression)).matches()) {
+      return new Condition(selector(matcher.group(3), wrapped), literal(matcher, 1), true);
+    }
+    return null;
+  }
+
+  private static String selector(String path, boolean wrapped) {
+    return wrapped ? "#[" + path + "]" : path;
+  }
+
+  private static String literal(Matcher matcher, int group) {
+    return matcher.group(group) != null ? matcher.group(group) : matcher.group(group + 1);
+  }
+
+  private static final class Condition {
+
+    private final String selector;
+    private final String literal;
+    private final boolean equality;
+
+    private Condition(String selector, String literal, boolean equality) {
+      this.selector = selector;
+      this.literal = literal;
+      this.equality = equality;
+    }
+  }
+
+  private interface Segment {
+
+    /**
+     * @return the index of the selected route, or {@code -1} if no route in this segment accepts the event.
+     */
+    int select(ExpressionManagerSession session, List<ExecutableRoute> routes);
+  }
+
+  /**
+   * A route that could not be compiled, so its expression is evaluated.
+   */
+  private static final class SequentialSegment implements Segment {
+
+    private final int routeIndex;
+
+    private SequentialSegment(int routeIndex) {
+      this.routeIndex = routeIndex;
+    }
+
+    @Override
+    public int select(ExpressionManagerSession session, List<ExecutableRoute> routes) {
+      return routes.get(routeIndex).shouldExecute(session) ? routeIndex : -1;
+    }
+  }
+
+  /**
+   * Consecutive routes that compare the same selector against literals.
+   */
+  private static final class LookupSegment implements Segment {
+
+    private final String selector;
+    private final List<Integer> routeIndexes = new ArrayList<>();
+    private final Map<String, Integer> equalities = new HashMap<>();
+    private final List<String> prefixes = new ArrayList<>();
+    private final List<Integer> prefixRouteIndexes = new ArrayList<>();
+
+    private LookupSegment(String selector) {
+      this.selector = selector;
+    }
+
+    private void add(int routeIndex, Condition condition) {
+      routeIndexes.add(routeIndex);
+      if (condition.equality) {
+        // Only the first route for a given value can ever be selected
+        equalities.putIfAbsent(condition.literal, routeIndex);
+      } else {
+        prefixes.add(condition.literal);
+        prefixRouteIndexes.add(routeIndex);
+      }
+    }
+
+    /**
+     * @return this segment, or a {@link SequentialSegment} if it has a single route, since there is nothing to gain from
+     *         evaluating the selector instead of the expression.
+     */
+    private Segment compact() {
+      return routeIndexes.size() == 1 ? new SequentialSegment(routeIndexes.get(0)) : this;
+    }
+
+    @Override
+    public int select(ExpressionManagerSession session, List<ExecutableRoute> routes) {
+      final Object value;
+      try {
+        value = session.evaluate(selector).getValue();
+      } catch (ExpressionExecutionException | ExpressionRuntimeException e) {
+        return selectSequentially(session, routes);
+      }
+
+      if (!(value instanceof String)) {
+        return selectSequentially(session, routes);
+      }
+
+      final String key = (String) value;
+      final Integer equalityIndex = equalities.get(key);
+      int selected = equalityIndex != null ? equalityIndex : -1;
+      for (int i = 0; i < prefixes.size(); ++i) {
+        final int prefixIndex = prefixRouteIndexes.get(i);
+        if (selected >= 0 && prefixIndex > selected) {
+          break;
+        }
+        if (key.startsWith(prefixes.get(i))) {
+          selected = prefixIndex;
+          break;
+        }
+      }
+      return selected;
+    }
+
+    private int selectSequentially(ExpressionManagerSession session, List<ExecutableRoute> routes) {
+      for (int routeIndex : routeIndexes) {
+        if (routes.get(routeIndex).shouldExecute(session)) {
+          return routeIndex;
+        }
+      }
+      return -1;
+    }
+  }
+}
@@ -7,6 +7,7 @@
 package org.mule.runtime.core.internal.routing;
 
 import static java.lang.String.format;
+import static java.lang.System.nanoTime;
 import static org.mule.runtime.api.el.BindingContextUtils.NULL_BINDING_CONTEXT;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.management.stats.RouterStatistics.TYPE_OUTBOUND;
@@ -42,6 +43,10 @@ import reactor.core.publisher.Flux;
  * <p>
  * If a default route has been configured and no match has been found, the default route will be used. Otherwise it continues the
  * execution through the next MP in the chain.
+ * <p>
+ * Routes that compare the same expression against string literals are resolved through a {@link ChoiceDecisionTable}, so
+ * that expression is evaluated once per event regardless of the number of routes. When statistics are enabled, the time spent
+ * deciding the route is recorded in the {@link RouterStatistics} of this router.
  */
 public class ChoiceRouter extends AbstractComponent implements Router, RouterStatisticsRecorder, Lifecycle, MuleContextAware {
 
@@ -52,6 +57,7 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
   private RouterStatistics routerStatistics;
   private MuleContext muleContext;
   private ExpressionManager expressionManager;
+  private ChoiceDecisionTable decisionTable;
 
   public ChoiceRouter() {
     routerStatistics = new RouterStatistics(TYPE_OUTBOUND);
@@ -73,6 +79,7 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
       defaultProcessor = event -> event;
     }
     routes.add(new ProcessorRoute(defaultProcessor));
+    decisionTable = new ChoiceDecisionTable(routes);
 
     for (ProcessorRoute route : routes) {
       initialiseIfNeeded(route, muleContext);
@@ -156,9 +163,16 @@ public class ChoiceRouter extends AbstractComponent implements Router, RouterSta
      */
     @Override
     protected void route(CoreEvent event) {
+      final boolean statisticsEnabled = getRouterStatistics() != null && getRouterStatistics().isEnabled();
+      final long startTime = statisticsEnabled ? nanoTime() : 0;
+
       ExecutableRoute selectedRoute;
       try (ExpressionManagerSession session = expressionManager.openSession(getLocation(), event, NULL_BINDING_CONTEXT)) {
-        selectedRoute = getRoutes().stream().filter(route -> route.shouldExecute(session)).findFirst().get();
+        selectedRoute = decisionTable.select(session, getRoutes());
+      }
+
+      if (statisticsEnabled) {
+        getRouterStatistics().addRoutingEvaluationTime(nanoTime() - startTime);
       }
       selectedRoute.execute(event);
       updateStatistics(selectedRoute.getProcessor());
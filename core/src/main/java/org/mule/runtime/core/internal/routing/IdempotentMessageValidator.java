@@ -164,22 +164,7 @@ public class IdempotentMessageValidator extends AbstractComponent
       String id = getIdForEvent(session);
       String value = getValueForEvent(session);
 
-      if (event != null && isNewMessage(event, id)) {
-        try {
-          store.store(id, value);
-          return true;
-        } catch (ObjectAlreadyExistsException ex) {
-          return false;
-        } catch (ObjectStoreNotAvailableException e) {
-          LOGGER.error("ObjectStore not available: " + e.getMessage());
-          return false;
-        } catch (ObjectStoreException e) {
-          LOGGER.warn("ObjectStore exception: " + e.getMessage());
-          return false;
-        }
-      } else {
-        return false;
-      }
+      return event != null && storeIfNew(event, id, value);
     } catch (ExpressionRuntimeException e) {
       throw e;
     } catch (Exception e) {
@@ -197,14 +182,35 @@ public class IdempotentMessageValidator extends AbstractComponent
     }
   }
 
-  protected boolean isNewMessage(CoreEvent event, String id) {
+  /**
+   * Stores the given id, unless it was already stored. This checks whether the message is new with a single access to the store,
+   * relying on {@link ObjectStore#store(String, java.io.Serializable)} failing with {@link ObjectAlreadyExistsException} for an
+   * id that was already stored, instead of asking whether it {@link ObjectStore#contains(String) contains} the id before storing
+   * it.
+   * <p>
+   * Whether concurrent messages with the same id are told apart atomically depends on the store. Implementations based on
+   * {@code TemplateObjectStore} check whether the key exists before storing it, so for a duplicate to be detected when both
+   * messages race past that check, their {@code doStore} has to fail for existing keys under the same lock it stores with.
+   *
+   * @return whether the message is new
+   */
+  protected boolean storeIfNew(CoreEvent event, String id, String value) {
     try {
       if (store == null) {
         synchronized (this) {
           initialise();
         }
       }
-      return !store.contains(id);
+      store.store(id, value);
+      return true;
+    } catch (ObjectAlreadyExistsException ex) {
+      return false;
+    } catch (ObjectStoreNotAvailableException e) {
+      LOGGER.error("ObjectStore not available: " + e.getMessage());
+      return false;
+    } catch (ObjectStoreException e) {
+      LOGGER.warn("ObjectStore exception: " + e.getMessage());
+      return false;
     } catch (MuleException e) {
       LOGGER.error("Exception attempting to determine idempotency of incoming message for " + getLocation().getRootContainerName()
           + " from the connector "
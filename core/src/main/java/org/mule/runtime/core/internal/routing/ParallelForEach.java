@@ -9,12 +9,15 @@ package org.mule.runtime.core.internal.routing;
 
 import static java.util.Collections.singletonList;
 import static java.util.Optional.of;
+import static org.mule.runtime.api.metadata.DataType.fromObject;
 import static org.mule.runtime.core.api.processor.strategy.AsyncProcessingStrategyFactory.DEFAULT_MAX_CONCURRENCY;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateTypedValueForStreaming;
 import static org.mule.runtime.core.internal.routing.ExpressionSplittingStrategy.DEFAULT_SPLIT_EXPRESSION;
 import static org.mule.runtime.core.internal.routing.ForkJoinStrategy.RoutingPair.of;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.buildNewChainWithListOfProcessors;
+import static org.mule.runtime.extension.api.ExtensionConstants.DEFAULT_OBJECT_STREAMING_MAX_BUFFER_SIZE;
 import static reactor.core.publisher.Flux.fromIterable;
+
 import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.api.message.Message;
 import org.mule.runtime.api.metadata.TypedValue;
@@ -22,8 +25,13 @@ import org.mule.runtime.core.api.event.CoreEvent;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.streaming.StreamingManager;
 import org.mule.runtime.core.internal.routing.forkjoin.CollectListForkJoinStrategyFactory;
+import org.mule.runtime.core.internal.routing.forkjoin.StreamingCollectListForkJoinStrategyFactory;
+import org.mule.runtime.core.internal.routing.outbound.IteratorMessageSequence;
+import org.mule.runtime.core.internal.routing.outbound.PartitionedMessageSequence;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Iterator;
 import java.util.List;
 
@@ -40,6 +48,10 @@ import javax.inject.Inject;
  * For advanced use cases, a custom {@link ForkJoinStrategyFactory} can be applied to customize the logic used to aggregate the
  * route responses back into one single Event.
  * <p>
+ * For big collections, the parts may be grouped in batches of {@code batchSize} elements, so each route processes a
+ * {@link List} of parts instead of a single one. Also, the results may be streamed into a repeatable iterator that keeps in
+ * memory only a bounded amount of them instead of being collected into a {@link List}.
+ * <p>
  * <b>EIP Reference:</b> <a href="http://www.eaipatterns.com/BroadcastAggregate.html"<a/>
  * </p>
  *
@@ -51,6 +63,8 @@ public class ParallelForEach extends AbstractForkJoinRouter {
   protected StreamingManager streamingManager;
 
   private String collectionExpression = DEFAULT_SPLIT_EXPRESSION;
+  private int batchSize = 1;
+  private boolean streamResults = false;
   private SplittingStrategy<CoreEvent, Iterator<TypedValue<?>>> splittingStrategy;
 
   private List<Processor> messageProcessors;
@@ -66,14 +80,30 @@ public class ParallelForEach extends AbstractForkJoinRouter {
 
   @Override
   protected Publisher<ForkJoinStrategy.RoutingPair> getRoutingPairs(CoreEvent event) {
+    if (batchSize > 1) {
+      return fromIterable(() -> new PartitionedMessageSequence<TypedValue<?>>(new IteratorMessageSequence(splittingStrategy
+          .split(event)), batchSize))
+              .map(batch -> createPartEvent(event, toBatchValue(batch, event)))
+              .map(partEvent -> of(partEvent, nestedChain));
+    }
+
     return fromIterable(() -> splittingStrategy.split(event))
-        .map(partTypedValue -> {
-          TypedValue managedValue = updateTypedValueForStreaming(partTypedValue, event, streamingManager);
-          return CoreEvent.builder(event).message(Message.builder().payload(managedValue).build()).build();
-        })
+        .map(partTypedValue -> createPartEvent(event, updateTypedValueForStreaming(partTypedValue, event, streamingManager)))
         .map(partEvent -> of(partEvent, nestedChain));
   }
 
+  private TypedValue toBatchValue(Collection<TypedValue<?>> batch, CoreEvent event) {
+    List<Object> batchValues = new ArrayList<>(batch.size());
+    for (TypedValue<?> partTypedValue : batch) {
+      batchValues.add(updateTypedValueForStreaming(partTypedValue, event, streamingManager).getValue());
+    }
+    return new TypedValue<>(batchValues, fromObject(batchValues));
+  }
+
+  private CoreEvent createPartEvent(CoreEvent event, TypedValue partValue) {
+    return CoreEvent.builder(event).message(Message.builder().payload(partValue).build()).build();
+  }
+
   @Override
   protected List<MessageProcessorChain> getOwnedObjects() {
     return singletonList(nestedChain);
@@ -95,6 +125,10 @@ public class ParallelForEach extends AbstractForkJoinRouter {
 
   @Override
   protected ForkJoinStrategyFactory getDefaultForkJoinStrategyFactory() {
+    if (streamResults) {
+      return new StreamingCollectListForkJoinStrategyFactory(streamingManager, muleContext.getObjectSerializer(),
+                                                             DEFAULT_OBJECT_STREAMING_MAX_BUFFER_SIZE);
+    }
     return new CollectListForkJoinStrategyFactory(false);
   }
 
@@ -106,4 +140,23 @@ public class ParallelForEach extends AbstractForkJoinRouter {
   public void setCollectionExpression(String collectionExpression) {
     this.collectionExpression = collectionExpression;
   }
+
+  /**
+   * Set the amount of parts to be processed together by each route. When greater than 1, the payload of each route is a
+   * {@link List} with up to {@code batchSize} parts.
+   *
+   * @param batchSize
+   */
+  public void setBatchSize(int batchSize) {
+    this.batchSize = batchSize;
+  }
+
+  /**
+   * Set whether the results are to be streamed into a repeatable iterator instead of collected into a {@link List}.
+   *
+   * @param streamResults
+   */
+  public void setStreamResults(boolean streamResults) {
+    this.streamResults = streamResults;
+  }
 }
@@ -7,6 +7,7 @@
 package org.mule.runtime.core.internal.routing;
 
 import static java.util.Collections.singletonList;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.buildNewChainWithListOfProcessors;
 import static org.mule.runtime.core.privileged.processor.MessageProcessors.createDefaultProcessingStrategyFactory;
@@ -25,6 +26,8 @@ import org.mule.runtime.core.api.processor.AbstractMuleObjectOwner;
 import org.mule.runtime.core.api.processor.Processor;
 import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
 import org.mule.runtime.core.internal.routing.UntilSuccessfulRouter.RetryContextInitializationException;
+import org.mule.runtime.core.internal.util.timer.HashedWheelTimer;
+import org.mule.runtime.core.internal.util.timer.RetryBackoff;
 import org.mule.runtime.core.privileged.processor.Scope;
 import org.mule.runtime.core.privileged.processor.chain.MessageProcessorChain;
 
@@ -44,6 +47,8 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
 
   private static final String DEFAULT_MILLIS_BETWEEN_RETRIES = "60000";
   private static final String DEFAULT_RETRIES = "5";
+  private static final long DELAY_TIMER_TICK_MILLIS = 10;
+  private static final int DELAY_TIMER_TICKS_PER_WHEEL = 512;
 
   @Inject
   private SchedulerService schedulerService;
@@ -58,7 +63,12 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   private String millisBetweenRetries = DEFAULT_MILLIS_BETWEEN_RETRIES;
   private MessageProcessorChain nestedChain;
   private Predicate<CoreEvent> shouldRetry;
+  private double backoffMultiplier = 1;
+  private long maxMillisBetweenRetries = Long.MAX_VALUE;
+  private double jitter = 0;
+  private RetryBackoff retryBackoff;
   private Scheduler timer;
+  private HashedWheelTimer delayTimer;
   private List<Processor> processors;
   private ProcessingStrategy processingStrategy;
 
@@ -73,7 +83,9 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
 
     super.initialise();
 
+    retryBackoff = new RetryBackoff(backoffMultiplier, maxMillisBetweenRetries, jitter);
     timer = schedulerService.cpuLightScheduler();
+    delayTimer = new HashedWheelTimer(timer, DELAY_TIMER_TICK_MILLIS, MILLISECONDS, DELAY_TIMER_TICKS_PER_WHEEL);
     shouldRetry = event -> event.getError().isPresent();
 
     final Optional<ProcessingStrategy> processingStrategyFromRootContainer =
@@ -86,6 +98,7 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Override
   public void dispose() {
     super.dispose();
+    delayTimer.stop();
     timer.stop();
   }
 
@@ -109,7 +122,7 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
   @Override
   public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
     return new UntilSuccessfulRouter(this, publisher, nestedChain, processingStrategy, expressionManager, shouldRetry, timer,
-                                     maxRetries, millisBetweenRetries)
+                                     delayTimer, maxRetries, millisBetweenRetries, retryBackoff)
                                          .getDownstreamPublisher();
   }
 
@@ -143,6 +156,28 @@ public class UntilSuccessful extends AbstractMuleObjectOwner implements Scope {
     this.millisBetweenRetries = millisBetweenRetries;
   }
 
+  /**
+   * @param backoffMultiplier the factor to multiply the time between retries by after each retry. Default value is 1, so the
+   *                          time between retries is constant.
+   */
+  public void setBackoffMultiplier(double backoffMultiplier) {
+    this.backoffMultiplier = backoffMultiplier;
+  }
+
+  /**
+   * @param maxMillisBetweenRetries the maximum number of milliseconds between retries when a {@code backoffMultiplier} is set.
+   */
+  public void setMaxMillisBetweenRetries(long maxMillisBetweenRetries) {
+    this.maxMillisBetweenRetries = maxMillisBetweenRetries;
+  }
+
+  /**
+   * @param jitter the fraction, between 0 and 1, of the time between retries to randomly subtract from it. Default value is 0.
+   */
+  public void setJitter(double jitter) {
+    this.jitter = jitter;
+  }
+
   /**
    * Configure the nested {@link Processor}'s that error handling and transactional behaviour should be applied to.
    *
@@ -36,6 +36,8 @@ import org.mule.runtime.core.internal.event.EventInternalContextResolver;
 import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
 import org.mule.runtime.core.internal.util.rx.ConditionalExecutorServiceDecorator;
+import org.mule.runtime.core.internal.util.timer.HashedWheelTimer;
+import org.mule.runtime.core.internal.util.timer.RetryBackoff;
 
 import java.util.HashMap;
 import java.util.Map;
@@ -73,6 +75,8 @@ class UntilSuccessfulRouter {
   private final Component owner;
   private final Predicate<CoreEvent> shouldRetry;
   private final ConditionalExecutorServiceDecorator delayScheduler;
+  private final HashedWheelTimer delayTimer;
+  private final RetryBackoff retryBackoff;
 
   private final Flux<CoreEvent> upstreamFlux;
   private final Flux<CoreEvent> innerFlux;
@@ -96,11 +100,13 @@ class UntilSuccessfulRouter {
 
   UntilSuccessfulRouter(Component owner, Publisher<CoreEvent> publisher, Processor nestedChain,
                         ProcessingStrategy processingStrategy, ExtendedExpressionManager expressionManager,
-                        Predicate<CoreEvent> shouldRetry, Scheduler delayScheduler,
-                        String maxRetries, String millisBetweenRetries) {
+                        Predicate<CoreEvent> shouldRetry, Scheduler delayScheduler, HashedWheelTimer delayTimer,
+                        String maxRetries, String millisBetweenRetries, RetryBackoff retryBackoff) {
     this.owner = owner;
     this.shouldRetry = shouldRetry;
     this.delayScheduler = new ConditionalExecutorServiceDecorator(delayScheduler, s -> isTransactionActive());
+    this.delayTimer = delayTimer;
+    this.retryBackoff = retryBackoff;
     this.retryContextResolver = new EventInternalContextResolver<>(RETRY_CTX_INTERNAL_PARAM_KEY,
                                                                    HashMap::new);
 
@@ -184,8 +190,14 @@ class UntilSuccessfulRouter {
                      ctx.maxRetries != RETRY_COUNT_FOREVER ? ctx.maxRetries : "unlimited");
 
         // Schedule retry with delay
-        UntilSuccessfulRouter.this.delayScheduler.schedule(() -> innerRecorder.next(eventWithCurrentContext(ctx.event, ctx)),
-                                                           ctx.delayInMillis, MILLISECONDS);
+        final Runnable retry = () -> innerRecorder.next(eventWithCurrentContext(ctx.event, ctx));
+        final long delay = retryBackoff.getDelay(ctx.delayInMillis, ctx.getAttemptNumber());
+        if (isTransactionActive()) {
+          // The retry has to happen in the thread that owns the transaction
+          delayScheduler.schedule(retry, delay, MILLISECONDS);
+        } else {
+          delayTimer.newTimeout(retry, delay, MILLISECONDS);
+        }
       } else { // Retries exhausted
         // Current context already pooped. No need to re-insert it
         LOGGER.error("Retry attempts exhausted. Failing...");
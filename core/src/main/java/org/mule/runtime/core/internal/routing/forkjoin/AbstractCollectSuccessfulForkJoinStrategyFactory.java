@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.util.stream.Collectors.toList;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static reactor.core.Exceptions.propagate;
+import static reactor.core.publisher.Mono.defer;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Predicate;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * Base {@link ForkJoinStrategy} for strategies that don't need every route to complete successfully:
+ * <ul>
+ * <li>Receives the result of each route as soon as it completes, regardless of the order of the routes.
+ * <li>Stops waiting for the routes when the implementation decides so, cancelling the ones still pending.
+ * <li>Collects the results of the successful routes into a result {@link CoreEvent} with a {@link List} of
+ * {@link org.mule.runtime.api.message.Message} in the payload, in the order the routes completed.
+ * <li>Propagates a composite exception with all the received results if less than {@code minSuccessful} routes were successful.
+ * </ul>
+ *
+ * @since 4.4
+ */
+public abstract class AbstractCollectSuccessfulForkJoinStrategyFactory extends CollectListForkJoinStrategyFactory {
+
+  private final int minSuccessful;
+
+  /**
+   * Creates a new instance
+   *
+   * @param minSuccessful  the minimum amount of routes that need to be successful. Must be greater than zero
+   * @param mergeVariables whether the variables of the successful routes are merged into the result
+   */
+  public AbstractCollectSuccessfulForkJoinStrategyFactory(int minSuccessful, boolean mergeVariables) {
+    super(mergeVariables);
+    checkArgument(minSuccessful > 0, "minSuccessful must be greater than zero");
+    this.minSuccessful = minSuccessful;
+  }
+
+  @Override
+  protected boolean isPreserveRoutesOrder() {
+    return false;
+  }
+
+  @Override
+  protected Publisher<CoreEvent> collectResults(CoreEvent original, Flux<CoreEvent> results, Scheduler timeoutScheduler) {
+    return defer(() -> {
+      final List<CoreEvent> received = new ArrayList<>();
+      final Predicate<CoreEvent> successful =
+          event -> !event.getError().map(err -> !isOriginalError(err, original.getError())).orElse(false);
+
+      return limitResults(results.doOnNext(received::add), successful, timeoutScheduler)
+          .filter(successful)
+          .collectList()
+          .map(successfulResults -> {
+            if (successfulResults.size() < minSuccessful) {
+              final List<CoreEvent> receivedResults = received.stream()
+                  .map(event -> removeOriginalError(event, original.getError())).collect(toList());
+              throw propagate(createCompositeRoutingException(receivedResults));
+            }
+
+            final CoreEvent.Builder resultBuilder = builder(original);
+            mergeVariables(original, resultBuilder).accept(successfulResults);
+            return createResultEvent(original, resultBuilder).apply(successfulResults);
+          });
+    });
+  }
+
+  /**
+   * Template method that defines until when the results of the routes are received. Once the returned {@link Flux} completes,
+   * the routes still pending are cancelled.
+   *
+   * @param results          the results of each route, as soon as each one completes
+   * @param successful       tells whether a result is from a successful route
+   * @param timeoutScheduler the scheduler to use for any timed operation on the results
+   * @return the results to consider for building the result event
+   */
+  protected abstract Flux<CoreEvent> limitResults(Flux<CoreEvent> results, Predicate<CoreEvent> successful,
+                                                  Scheduler timeoutScheduler);
+
+  protected int getMinSuccessful() {
+    return minSuccessful;
+  }
+}
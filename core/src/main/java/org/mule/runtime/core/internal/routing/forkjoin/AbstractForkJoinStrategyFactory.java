@@ -54,6 +54,7 @@ import java.util.function.Function;
 
 import org.reactivestreams.Publisher;
 
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.core.scheduler.Schedulers;
 
@@ -87,36 +88,66 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
     reactor.core.scheduler.Scheduler reactorTimeoutScheduler = Schedulers.fromExecutorService(timeoutScheduler);
     return (original, routingPairs) -> {
       final AtomicInteger count = new AtomicInteger();
-      final CoreEvent.Builder resultBuilder = builder(original);
-      return from(routingPairs)
-          .map(addSequence(count))
-          .flatMapSequential(processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeout, reactorTimeoutScheduler,
-                                              timeoutErrorType),
-                             maxConcurrency)
-          .reduce(new Pair<List<CoreEvent>, Boolean>(new ArrayList<>(), false), (pair, event) -> {
-            // Accumulates events and check if there is a (new) error within those events
-            pair.getFirst().add(event);
-            boolean hasNewError = event.getError().map(err -> !isOriginalError(err, original.getError())).orElse(false);
-            return new Pair(pair.getFirst(), pair.getSecond() || hasNewError);
-          })
-          .doOnNext(p -> {
-            Pair<List<CoreEvent>, Boolean> pair = (Pair<List<CoreEvent>, Boolean>) p;
-            if (pair.getSecond()) {
-              throw propagate(createCompositeRoutingException(pair.getFirst().stream()
-                  .map(event -> removeOriginalError(event, original.getError())).collect(toList())));
-            }
-          })
-          .map(pair -> ((Pair<List<CoreEvent>, Boolean>) pair).getFirst())
-          .doOnNext(mergeVariables(original, resultBuilder))
-          .map(createResultEvent(original, resultBuilder));
+      final Function<RoutingPair, Publisher<? extends CoreEvent>> routePairProcessor =
+          processRoutePair(processingStrategy, maxConcurrency, delayErrors, timeout, reactorTimeoutScheduler, timeoutErrorType);
+      final Flux<RoutingPair> sequencedPairs = from(routingPairs).map(addSequence(count));
+      return collectResults(original,
+                            isPreserveRoutesOrder()
+                                ? sequencedPairs.flatMapSequential(routePairProcessor, maxConcurrency)
+                                : sequencedPairs.flatMap(routePairProcessor, maxConcurrency),
+                            reactorTimeoutScheduler);
     };
   }
 
-  private boolean isOriginalError(Error newError, Optional<Error> originalError) {
+  /**
+   * Template method that defines whether the results of the routes are to be received by
+   * {@link #collectResults(CoreEvent, Flux, reactor.core.scheduler.Scheduler)} in the same order as the routing pairs, or as
+   * soon as each route completes.
+   *
+   * @return {@code true} if the order of the routes is to be preserved, {@code true} by default.
+   */
+  protected boolean isPreserveRoutesOrder() {
+    return true;
+  }
+
+  /**
+   * Aggregates the results of the routes into the result {@link CoreEvent}. The default implementation accumulates all the
+   * results, propagating a {@link CompositeRoutingException} if any route failed, and then creates the result with
+   * {@link #createResultEvent(CoreEvent, CoreEvent.Builder)}.
+   *
+   * @param original the original event
+   * @param results the results of each route, in the same order as the routing pairs unless
+   *        {@link #isPreserveRoutesOrder()} is overridden
+   * @param timeoutScheduler the scheduler to use for any timed operation on the results
+   * @return a publisher of the result event
+   */
+  protected Publisher<CoreEvent> collectResults(CoreEvent original, Flux<CoreEvent> results,
+                                                reactor.core.scheduler.Scheduler timeoutScheduler) {
+    final CoreEvent.Builder resultBuilder = builder(original);
+    return results
+        .reduce(new Pair<List<CoreEvent>, Boolean>(new ArrayList<>(), false), (pair, event) -> {
+          // Accumulates events and check if there is a (new) error within those events
+          pair.getFirst().add(event);
+          boolean hasNewError = event.getError().map(err -> !isOriginalError(err, original.getError())).orElse(false);
+          return new Pair(pair.getFirst(), pair.getSecond() || hasNewError);
+        })
+        .doOnNext(p -> {
+          Pair<List<CoreEvent>, Boolean> pair = (Pair<List<CoreEvent>, Boolean>) p;
+          if (pair.getSecond()) {
+            throw propagate(createCompositeRoutingException(pair.getFirst().stream()
+                .map(event -> removeOriginalError(event, original.getError())).collect(toList())));
+          }
+        })
+        .map(pair -> ((Pair<List<CoreEvent>, Boolean>) pair).getFirst())
+        .doOnNext(mergeVariables(original, resultBuilder))
+        .map(createResultEvent(original, resultBuilder));
+  }
+
+  protected boolean isOriginalError(Error newError, Optional<Error> originalError) {
     return originalError.map(error -> error.equals(newError)).orElse(false);
   }
 
-  private CoreEvent removeOriginalError(CoreEvent event, Optional<Error> originalError) {
+  protected CoreEvent removeOriginalError(CoreEvent event, Optional<Error> originalError) {
     return event.getError().map(err -> isOriginalError(err, originalError) ? CoreEvent.builder(event).error(null).build() : event)
         .orElse(event);
   }
@@ -196,7 +227,7 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
         + pair.getEvent().getGroupCorrelation().get().getSequence() + "'";
   }
 
-  private CompositeRoutingException createCompositeRoutingException(List<CoreEvent> results) {
+  protected CompositeRoutingException createCompositeRoutingException(List<CoreEvent> results) {
     Map<String, Message> successMap = new LinkedHashMap<>();
     Map<String, Error> errorMap = new LinkedHashMap<>();
 
@@ -211,7 +242,7 @@ public abstract class AbstractForkJoinStrategyFactory implements ForkJoinStrateg
     return new CompositeRoutingException(new RoutingResult(successMap, errorMap));
   }
 
-  private Consumer<List<CoreEvent>> mergeVariables(CoreEvent original, CoreEvent.Builder result) {
+  protected Consumer<List<CoreEvent>> mergeVariables(CoreEvent original, CoreEvent.Builder result) {
     return list -> {
       if (!mergeVariables) {
         return;
@@ -0,0 +1,45 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Predicate;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * {@link ForkJoinStrategy} that emits a result event as soon as {@code count} routes complete successfully, cancelling the
+ * routes still pending. The payload of the result event is a {@link java.util.List} with the messages of those {@code count}
+ * routes, in the order they completed.
+ * <p>
+ * This is useful for fanning out the same request to redundant backends, so the result is available as soon as the fastest
+ * ones respond. If less than {@code count} routes complete successfully, a composite exception is propagated.
+ *
+ * @since 4.4
+ */
+public class FirstSuccessfulForkJoinStrategyFactory extends AbstractCollectSuccessfulForkJoinStrategyFactory {
+
+  /**
+   * Creates a new instance
+   *
+   * @param count the amount of successful routes to wait for. Must be greater than zero
+   */
+  public FirstSuccessfulForkJoinStrategyFactory(int count) {
+    super(count, true);
+  }
+
+  @Override
+  protected Flux<CoreEvent> limitResults(Flux<CoreEvent> results, Predicate<CoreEvent> successful, Scheduler timeoutScheduler) {
+    final AtomicInteger successfulCount = new AtomicInteger();
+    return results.takeUntil(event -> successful.test(event) && successfulCount.incrementAndGet() >= getMinSuccessful());
+  }
+}
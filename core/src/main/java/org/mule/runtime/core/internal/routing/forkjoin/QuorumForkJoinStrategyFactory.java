@@ -0,0 +1,52 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static java.time.Duration.ofMillis;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+
+import java.util.function.Predicate;
+
+import reactor.core.publisher.Flux;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * {@link ForkJoinStrategy} that waits for the routes to complete up to a {@code deadline}, cancelling the routes still pending
+ * at that point. If at least {@code quorum} routes completed successfully by then, a result event is emitted with a
+ * {@link java.util.List} of the messages of the successful routes, in the order they completed. Otherwise, a composite
+ * exception is propagated.
+ * <p>
+ * Unlike the timeout of the router, which applies to each route and fails the whole execution, the deadline bounds the time
+ * waited for all the routes without failing if enough of them were successful.
+ *
+ * @since 4.4
+ */
+public class QuorumForkJoinStrategyFactory extends AbstractCollectSuccessfulForkJoinStrategyFactory {
+
+  private final long deadline;
+
+  /**
+   * Creates a new instance
+   *
+   * @param quorum   the minimum amount of routes that need to complete successfully. Must be greater than zero
+   * @param deadline the maximum time in milliseconds to wait for the routes to complete. Must be greater than zero
+   */
+  public QuorumForkJoinStrategyFactory(int quorum, long deadline) {
+    super(quorum, true);
+    checkArgument(deadline > 0, "deadline must be greater than zero");
+    this.deadline = deadline;
+  }
+
+  @Override
+  protected Flux<CoreEvent> limitResults(Flux<CoreEvent> results, Predicate<CoreEvent> successful, Scheduler timeoutScheduler) {
+    return results.take(ofMillis(deadline), timeoutScheduler);
+  }
+}
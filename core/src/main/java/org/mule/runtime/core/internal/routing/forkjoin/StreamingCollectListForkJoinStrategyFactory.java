@@ -0,0 +1,291 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.routing.forkjoin;
+
+import static org.mule.runtime.core.api.event.CoreEvent.builder;
+import static org.mule.runtime.core.api.util.StreamingUtils.closeQuietly;
+import static reactor.core.Exceptions.propagate;
+import static reactor.core.publisher.Mono.defer;
+import static reactor.core.publisher.Mono.fromCallable;
+
+import org.mule.runtime.api.message.Error;
+import org.mule.runtime.api.message.Message;
+import org.mule.runtime.api.metadata.DataType;
+import org.mule.runtime.api.metadata.TypedValue;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+import org.mule.runtime.api.streaming.object.CursorIteratorProvider;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.streaming.StreamingManager;
+import org.mule.runtime.core.internal.routing.ForkJoinStrategy;
+import org.mule.runtime.core.internal.streaming.object.FileStoreCursorIteratorConfig;
+import org.mule.runtime.core.internal.streaming.object.FileStoreCursorIteratorProvider;
+import org.mule.runtime.core.privileged.routing.CompositeRoutingException;
+import org.mule.runtime.core.privileged.routing.RoutingResult;
+
+import java.io.IOException;
+import java.io.Serializable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.reactivestreams.Publisher;
+
+import reactor.core.publisher.Flux;
+
+/**
+ * {@link ForkJoinStrategy} that behaves like {@link CollectListForkJoinStrategyFactory}, but instead of accumulating the result
+ * of every route in memory until all of them complete, writes each result {@link Message} into a buffer as soon as it is
+ * available. Up to {@code maxInMemoryResults} are kept in memory, the rest are kept in a temporary file.
+ * <p>
+ * The payload of the result {@link CoreEvent} is a {@link CursorIteratorProvider} over the result messages, managed by the
+ * {@link StreamingManager} so the buffer is released when the event completes. The messages that don't fit in memory are
+ * serialized with the runtime's {@link ObjectSerializer}, except for those with a payload or attributes that are not
+ * {@link Serializable}, such as streams, which are always kept in memory.
+ * <p>
+ * Variables set within the routes are not merged into the result event.
+ *
+ * @since 4.4
+ */
+public class StreamingCollectListForkJoinStrategyFactory extends CollectListForkJoinStrategyFactory {
+
+  private static final DataType RESULT_DATA_TYPE =
+      DataType.builder().streamType(CursorIteratorProvider.class).itemType(Message.class).build();
+
+  private final StreamingManager streamingManager;
+  private final ObjectSerializer serializer;
+  private final FileStoreCursorIteratorConfig bufferConfig;
+
+  /**
+   * Creates a new instance
+   *
+   * @param streamingManager   the manager to register the result iterator with
+   * @param serializer         the serializer used to write the results which don't fit in memory
+   * @param maxInMemoryResults the maximum amount of results to keep in memory. Must be greater than zero
+   */
+  public StreamingCollectListForkJoinStrategyFactory(StreamingManager streamingManager, ObjectSerializer serializer,
+                                                     int maxInMemoryResults) {
+    super(false);
+    this.streamingManager = streamingManager;
+    this.serializer = serializer;
+    this.bufferConfig = new FileStoreCursorIteratorConfig(maxInMemoryResults);
+  }
+
+  @Override
+  protected Publisher<CoreEvent> collectResults(CoreEvent original, Flux<CoreEvent> results,
+                                                reactor.core.scheduler.Scheduler timeoutScheduler) {
+    return defer(() -> {
+      final ResultsCollector collector = new ResultsCollector(original);
+      return results
+          .doOnNext(collector::add)
+          .then(fromCallable(collector::complete))
+          .doOnError(e -> collector.discard())
+          .doOnCancel(collector::discard);
+    });
+  }
+
+  @Override
+  public DataType getResultDataType() {
+    return RESULT_DATA_TYPE;
+  }
+
+  private static boolean isSerializable(Message message) {
+    return isSerializable(message.getPayload()) && isSerializable(message.getAttributes());
+  }
+
+  private static boolean isSerializable(TypedValue<?> typedValue) {
+    return typedValue.getValue() == null || typedValue.getValue() instanceof Serializable;
+  }
+
+  /**
+   * Writes the results of the routes into a {@link FileStoreCursorIteratorProvider}. The results are handed to the buffer
+   * through a queue, which is drained by a cursor that advances as each result is added, so at most one result is held outside
+   * of the buffer at any time.
+   * <p>
+   * Results that can't be serialized are kept in memory, and a {@link RetainedResult} referencing them is written into the
+   * buffer in their place.
+   * <p>
+   * Routes results are received sequentially, so no synchronization is needed.
+   */
+  private final class ResultsCollector {
+
+    private final CoreEvent original;
+    private final Deque<Object> pending = new ArrayDeque<>(1);
+    private final List<Message> retained = new ArrayList<>();
+    private final CursorIteratorProvider provider;
+    private final CursorIterator writer;
+
+    private final Map<Integer, Error> errors = new LinkedHashMap<>();
+    private int resultsCount;
+
+    private ResultsCollector(CoreEvent original) {
+      this.original = original;
+      this.provider = new ResultsCursorIteratorProvider(new Iterator<Object>() {
+
+        @Override
+        public boolean hasNext() {
+          return !pending.isEmpty();
+        }
+
+        @Override
+        public Object next() {
+          return pending.poll();
+        }
+      }, retained);
+      this.writer = provider.openCursor();
+    }
+
+    private void add(CoreEvent result) {
+      final int sequence = resultsCount++;
+      if (result.getError().isPresent() && !isOriginalError(result.getError().get(), original.getError())) {
+        errors.put(sequence, result.getError().get());
+      } else {
+        final Message message = result.getMessage();
+        if (isSerializable(message)) {
+          pending.add(message);
+        } else {
+          pending.add(new RetainedResult(retained.size()));
+          retained.add(message);
+        }
+        writer.next();
+      }
+    }
+
+    private CoreEvent complete() {
+      closeQuietly(writer);
+      if (!errors.isEmpty()) {
+        // The buffer is discarded once the error is propagated
+        throw propagate(createCompositeRoutingException());
+      }
+
+      final CursorIteratorProvider managedProvider =
+          (CursorIteratorProvider) streamingManager.manage(provider, original);
+      return builder(original).message(Message.builder().payload(new TypedValue<>(managedProvider, RESULT_DATA_TYPE)).build())
+          .build();
+    }
+
+    private CompositeRoutingException createCompositeRoutingException() {
+      final Map<String, Message> successMap = new LinkedHashMap<>();
+      final Map<String, Error> errorMap = new LinkedHashMap<>();
+
+      // The successful results are read back from the buffer to build the same routing result as the non streaming strategy
+      final CursorIterator<Message> reader = provider.openCursor();
+      try {
+        for (int sequence = 0; sequence < resultsCount; ++sequence) {
+          if (errors.containsKey(sequence)) {
+            errorMap.put(Integer.toString(sequence), errors.get(sequence));
+          } else {
+            successMap.put(Integer.toString(sequence), reader.next());
+          }
+        }
+      } finally {
+        closeQuietly(reader);
+      }
+      return new CompositeRoutingException(new RoutingResult(successMap, errorMap));
+    }
+
+    private void discard() {
+      closeQuietly(writer);
+      provider.close();
+      provider.releaseResources();
+    }
+  }
+
+  /**
+   * {@link FileStoreCursorIteratorProvider} whose cursors replace each {@link RetainedResult} with the result it references.
+   */
+  private final class ResultsCursorIteratorProvider extends FileStoreCursorIteratorProvider {
+
+    private final List<Message> retained;
+
+    private ResultsCursorIteratorProvider(Iterator<Object> stream, List<Message> retained) {
+      super(stream, bufferConfig, serializer, null, false);
+      this.retained = retained;
+    }
+
+    @Override
+    protected CursorIterator doOpenCursor() {
+      return new ResultsCursorIterator(super.doOpenCursor(), retained);
+    }
+  }
+
+  private static final class ResultsCursorIterator implements CursorIterator<Message> {
+
+    private final CursorIterator<Object> delegate;
+    private final List<Message> retained;
+
+    private ResultsCursorIterator(CursorIterator<Object> delegate, List<Message> retained) {
+      this.delegate = delegate;
+      this.retained = retained;
+    }
+
+    @Override
+    public boolean hasNext() {
+      return delegate.hasNext();
+    }
+
+    @Override
+    public Message next() {
+      final Object item = delegate.next();
+      return item instanceof RetainedResult ? retained.get(((RetainedResult) item).index) : (Message) item;
+    }
+
+    @Override
+    public long getPosition() {
+      return delegate.getPosition();
+    }
+
+    @Override
+    public void seek(long position) throws IOException {
+      delegate.seek(position);
+    }
+
+    @Override
+    public void release() {
+      delegate.release();
+    }
+
+    @Override
+    public boolean isReleased() {
+      return delegate.isReleased();
+    }
+
+    @Override
+    public CursorIteratorProvider getProvider() {
+      return (CursorIteratorProvider) delegate.getProvider();
+    }
+
+    @Override
+    public int getSize() {
+      return delegate.getSize();
+    }
+
+    @Override
+    public void close() throws IOException {
+      delegate.close();
+    }
+  }
+
+  /**
+   * Placeholder written into the buffer for a result that is kept in memory.
+   */
+  private static final class RetainedResult implements Serializable {
+
+    private static final long serialVersionUID = -3290364787734416384L;
+
+    private final int index;
+
+    private RetainedResult(int index) {
+      this.index = index;
+    }
+  }
+}
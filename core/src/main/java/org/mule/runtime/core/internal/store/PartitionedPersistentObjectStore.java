@@ -6,6 +6,8 @@
  */
 package org.mule.runtime.core.internal.store;
 
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition.isLogStructuredPartition;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.api.exception.MuleRuntimeException;
@@ -18,15 +20,17 @@ import org.mule.runtime.core.api.config.i18n.CoreMessages;
 import org.mule.runtime.core.api.context.MuleContextAware;
 import org.mule.runtime.core.api.util.FileUtils;
 import org.mule.runtime.core.api.util.UUID;
+import org.mule.runtime.core.internal.util.store.LogStructuredObjectStorePartition;
 import org.mule.runtime.core.internal.util.store.PersistentObjectStorePartition;
 
 import java.io.File;
 import java.io.Serializable;
 import java.util.ArrayList;
 import java.util.Arrays;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.slf4j.Logger;
 
@@ -38,8 +42,9 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
 
   protected MuleContext muleContext;
   private File storeDirectory;
-  private Map<String, PersistentObjectStorePartition> partitionsByName = new HashMap<>();
-  private boolean initialized = false;
+  private Map<String, PersistentObjectStorePartition> partitionsByName = new ConcurrentHashMap<>();
+  private final Set<String> logStructuredPartitionNames = newKeySet();
+  private volatile boolean initialized = false;
 
   public PartitionedPersistentObjectStore() {
     super();
@@ -71,19 +76,37 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   }
 
   @Override
-  public synchronized void open(String partitionName) throws ObjectStoreException {
-    open();
-    if (!partitionsByName.containsKey(partitionName)) {
-      createPartition(partitionName);
+  public void open(String partitionName) throws ObjectStoreException {
+    // Opening an already open partition doesn't need to wait for other partitions being created
+    if (initialized && partitionsByName.containsKey(partitionName)) {
+      return;
+    }
+
+    synchronized (this) {
+      open();
+      if (!partitionsByName.containsKey(partitionName)) {
+        createPartition(partitionName);
+      }
     }
   }
 
   @Override
   public void close(String partitionName) throws ObjectStoreException {}
 
+  /**
+   * Makes the partition with the given name be backed by a {@link LogStructuredObjectStorePartition} when it is created. Has no
+   * effect on partitions that were already created or restored from disk.
+   *
+   * @param partitionName the name of the partition
+   */
+  public void useLogStructuredPartition(String partitionName) {
+    logStructuredPartitionNames.add(partitionName);
+  }
+
   private void createPartition(String partitionName) throws ObjectStoreException {
-    PersistentObjectStorePartition persistentObjectStorePartition =
-        new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory(partitionName));
+    PersistentObjectStorePartition persistentObjectStorePartition = logStructuredPartitionNames.contains(partitionName)
+        ? new LogStructuredObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory(partitionName))
+        : new PersistentObjectStorePartition(muleContext, partitionName, getNewPartitionDirectory(partitionName));
     persistentObjectStorePartition.open();
     partitionsByName.putIfAbsent(partitionName, persistentObjectStorePartition);
   }
@@ -138,10 +161,11 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
   }
 
   protected PersistentObjectStorePartition<T> getPartitionObjectStore(String partitionName) throws ObjectStoreException {
-    if (!partitionsByName.containsKey(partitionName)) {
+    PersistentObjectStorePartition<T> partition = partitionsByName.get(partitionName);
+    if (partition == null) {
       throw new ObjectStoreException(CoreMessages.createStaticMessage("No partition named: " + partitionName));
     }
-    return partitionsByName.get(partitionName);
+    return partition;
   }
 
   @Override
@@ -191,8 +215,9 @@ public class PartitionedPersistentObjectStore<T extends Serializable> extends Ab
     }
     for (File partitionDirectory : directories) {
       try {
-        PersistentObjectStorePartition persistentObjectStorePartition =
-            new PersistentObjectStorePartition(muleContext, partitionDirectory);
+        PersistentObjectStorePartition persistentObjectStorePartition = isLogStructuredPartition(partitionDirectory)
+            ? new LogStructuredObjectStorePartition(muleContext, partitionDirectory)
+            : new PersistentObjectStorePartition(muleContext, partitionDirectory);
         persistentObjectStorePartition.open();
         partitionsByName.putIfAbsent(persistentObjectStorePartition.getPartitionName(), persistentObjectStorePartition);
       } catch (Exception e) {
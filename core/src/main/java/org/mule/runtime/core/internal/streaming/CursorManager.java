@@ -11,6 +11,7 @@ import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
 import static org.mule.runtime.api.util.MuleSystemProperties.STREAMING_VERBOSE_PROPERTY;
 import static org.mule.runtime.core.internal.streaming.CursorUtils.unwrap;
 
+import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 import org.mule.runtime.api.streaming.Cursor;
 import org.mule.runtime.api.streaming.CursorProvider;
@@ -33,6 +34,7 @@ public class CursorManager {
 
   private final MutableStreamingStatistics statistics;
   private final StreamingGhostBuster ghostBuster;
+  private final StreamingQuotaManager quotaManager;
 
   /**
    * Creates a new instance
@@ -40,8 +42,22 @@ public class CursorManager {
    * @param statistics statistics which values should be kept updated
    */
   public CursorManager(MutableStreamingStatistics statistics, StreamingGhostBuster ghostBuster) {
+    this(statistics, ghostBuster, null);
+  }
+
+  /**
+   * Creates a new instance
+   *
+   * @param statistics   statistics which values should be kept updated
+   * @param ghostBuster  the {@link StreamingGhostBuster} which detects leaked providers
+   * @param quotaManager the {@link StreamingQuotaManager} which provides the statistics of each flow. May be {@code null}
+   * @since 4.4.0
+   */
+  public CursorManager(MutableStreamingStatistics statistics, StreamingGhostBuster ghostBuster,
+                       StreamingQuotaManager quotaManager) {
     this.statistics = statistics instanceof NullStreamingStatistics ? null : statistics;
     this.ghostBuster = ghostBuster;
+    this.quotaManager = quotaManager != null && quotaManager.isEnabled() ? quotaManager : null;
   }
 
   /**
@@ -55,12 +71,17 @@ public class CursorManager {
   public CursorProvider manage(final CursorProvider provider, DefaultEventContext ownerContext) {
     CursorProvider innerDelegate = unwrap(provider);
     IdentifiableCursorProvider identifiable = IdentifiableCursorProviderDecorator.of(provider);
+    MutableStreamingStatistics providerStatistics = quotaManager != null
+        ? quotaManager.statisticsFor((ComponentLocation) identifiable.getOriginatingLocation().orElse(null))
+        : statistics;
 
     ManagedCursorProvider managedProvider;
     if (innerDelegate instanceof CursorStreamProvider) {
-      managedProvider = new ManagedCursorStreamProvider((IdentifiableCursorProvider<CursorStream>) identifiable, statistics);
+      managedProvider =
+          new ManagedCursorStreamProvider((IdentifiableCursorProvider<CursorStream>) identifiable, providerStatistics);
     } else if (innerDelegate instanceof CursorIteratorProvider) {
-      managedProvider = new ManagedCursorIteratorProvider((IdentifiableCursorProvider<CursorIterator>) identifiable, statistics);
+      managedProvider =
+          new ManagedCursorIteratorProvider((IdentifiableCursorProvider<CursorIterator>) identifiable, providerStatistics);
     } else {
       throw new MuleRuntimeException(createStaticMessage("Unknown cursor provider type: " + innerDelegate.getClass().getName()));
     }
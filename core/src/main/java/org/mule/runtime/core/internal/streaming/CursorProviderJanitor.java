@@ -46,6 +46,13 @@ public class CursorProviderJanitor {
     this.statistics = statistics;
   }
 
+  /**
+   * @return whether the resources of the underlying {@link CursorProvider} were already released
+   */
+  public boolean isReleased() {
+    return released.get();
+  }
+
   /**
    * Closes the underlying {@link CursorProvider}
    */
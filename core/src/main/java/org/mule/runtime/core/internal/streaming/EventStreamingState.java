@@ -22,6 +22,10 @@ import org.slf4j.Logger;
 
 /**
  * Tracks the active streaming resources owned by a particular event.
+ * <p>
+ * Providers are only weakly referenced, so that the ones which are dereferenced long before the event completes (e.g: in each
+ * iteration of a &lt;foreach&gt;) can be reclaimed by the {@link StreamingGhostBuster}. The resources of the providers which
+ * are still alive are released when the event completes.
  *
  * @since 4.3.0
  */
@@ -82,6 +86,7 @@ public class EventStreamingState {
     providers.asMap().forEach((hash, weakReference) -> {
       ManagedCursorProvider provider = weakReference.get();
       if (provider != null) {
+        // released on purpose, so the ghost buster doesn't need to reclaim it
         weakReference.clear();
         provider.releaseResources();
       }
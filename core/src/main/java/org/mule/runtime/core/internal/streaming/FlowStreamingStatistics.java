@@ -0,0 +1,122 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import org.mule.runtime.core.api.streaming.StreamingBufferStatistics;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Streaming statistics of one flow. Changes to the open providers and cursors are also applied to the application wide
+ * statistics given in the constructor.
+ *
+ * @since 4.4.0
+ */
+public class FlowStreamingStatistics extends AtomicStreamingStatistics implements StreamingBufferStatistics {
+
+  private final MutableStreamingStatistics parent;
+  private final AtomicLong bufferedBytes = new AtomicLong(0);
+  private final AtomicLong peakBufferedBytes = new AtomicLong(0);
+  private final AtomicLong spills = new AtomicLong(0);
+  private final AtomicLong throttledAllocations = new AtomicLong(0);
+
+  /**
+   * Creates a new instance
+   *
+   * @param parent the application wide statistics. May be {@code null}
+   */
+  public FlowStreamingStatistics(MutableStreamingStatistics parent) {
+    this.parent = parent;
+  }
+
+  @Override
+  public int incrementOpenProviders() {
+    if (parent != null) {
+      parent.incrementOpenProviders();
+    }
+    return super.incrementOpenProviders();
+  }
+
+  @Override
+  public int decrementOpenProviders() {
+    if (parent != null) {
+      parent.decrementOpenProviders();
+    }
+    return super.decrementOpenProviders();
+  }
+
+  @Override
+  public int incrementOpenCursors() {
+    if (parent != null) {
+      parent.incrementOpenCursors();
+    }
+    return super.incrementOpenCursors();
+  }
+
+  @Override
+  public int decrementOpenCursors() {
+    if (parent != null) {
+      parent.decrementOpenCursors();
+    }
+    return super.decrementOpenCursors();
+  }
+
+  @Override
+  public int decrementOpenCursors(int howMany) {
+    if (parent != null) {
+      parent.decrementOpenCursors(howMany);
+    }
+    return super.decrementOpenCursors(howMany);
+  }
+
+  /**
+   * Updates the amount of bytes currently held in streaming buffers
+   *
+   * @param delta the amount of bytes allocated, or released if negative
+   */
+  public void addBufferedBytes(long delta) {
+    long current = bufferedBytes.addAndGet(delta);
+    long peak = peakBufferedBytes.get();
+    while (current > peak && !peakBufferedBytes.compareAndSet(peak, current)) {
+      peak = peakBufferedBytes.get();
+    }
+  }
+
+  /**
+   * Registers that a stream didn't fit in memory and was spilled to disk
+   */
+  public void incrementSpills() {
+    spills.incrementAndGet();
+  }
+
+  /**
+   * Registers that a buffer was not allocated because it would have exceeded the flow or component quota
+   */
+  public void incrementThrottledAllocations() {
+    throttledAllocations.incrementAndGet();
+  }
+
+  @Override
+  public long getBufferedBytes() {
+    return bufferedBytes.get();
+  }
+
+  @Override
+  public long getPeakBufferedBytes() {
+    return peakBufferedBytes.get();
+  }
+
+  @Override
+  public long getSpillsCount() {
+    return spills.get();
+  }
+
+  @Override
+  public long getThrottledAllocationsCount() {
+    return throttledAllocations.get();
+  }
+}
@@ -6,12 +6,10 @@
  */
 package org.mule.runtime.core.internal.streaming;
 
-import static java.lang.System.identityHashCode;
 import static java.lang.Thread.currentThread;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.slf4j.LoggerFactory.getLogger;
 import static org.mule.runtime.core.internal.streaming.CursorManager.STREAMING_VERBOSE;
-import static org.mule.runtime.core.internal.streaming.CursorUtils.unwrap;
 
 import org.mule.runtime.api.component.location.ComponentLocation;
 import org.mule.runtime.api.exception.MuleException;
@@ -27,24 +25,25 @@ import java.lang.ref.WeakReference;
 import java.util.Optional;
 import java.util.concurrent.Future;
 import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicLong;
 
 import javax.inject.Inject;
 
-import org.mule.runtime.api.streaming.CursorProvider;
 import org.slf4j.Logger;
 
 /**
  * Tracks instances of {@link ManagedCursorProvider} through the {@link #track(ManagedCursorProvider)} method.
- * This class uses a {@link ReferenceQueue} so that when each of those instances are garbage collected, we can make sure
- * that {@link ManagedCursorProvider#releaseResources()} is invoked.
+ * This class uses a {@link ReferenceQueue} so that when each of those instances are garbage collected without their resources
+ * having been released, we can make sure that {@link ManagedCursorProvider#releaseResources()} is invoked.
  * <p>
  * This is useful in cases of long running flows in which cursor providers are open and dereferenced long before the flow ends
  * (e.g: an &lt;until-successful&gt; which reads a file many times or a &lt;foreach&gt; that executes many queries which result
  * are never used outside of the scope).
  * <p>
- * Notice that this <b>DOES NOT</b> replace the cleanup and tracking job that is performed in {@link CursorManager}. That
- * still remains the main cleanup mechanism as we cannot rely on garbage collection for releasing streaming resources. This is
- * only a mitigation for cases like described above.
+ * Owners which release the resources on purpose (see {@link EventStreamingState#dispose()}) are expected to
+ * {@link WeakReference#clear() clear} the reference returned by {@link #track(ManagedCursorProvider)}, so that only the
+ * providers which were not released reach the {@link ReferenceQueue}. When {@link CursorManager#STREAMING_VERBOSE} is enabled,
+ * the location and allocation stack trace of each of them is reported.
  *
  * @since 4.2.0
  */
@@ -54,6 +53,7 @@ public class StreamingGhostBuster implements Lifecycle {
   private static final Logger LOGGER = getLogger(StreamingGhostBuster.class);
 
   private final ReferenceQueue<ManagedCursorProvider> referenceQueue = new ReferenceQueue<>();
+  private final AtomicLong reclaimedCount = new AtomicLong(0);
   private volatile boolean stopped = false;
   private Future taskHandle;
 
@@ -95,12 +95,19 @@ public class StreamingGhostBuster implements Lifecycle {
    * Tracks the given {@code cursorProvider}
    *
    * @param cursorProvider a {@link ManagedCursorProvider}
-   * @return a {@link WeakReference} wrapping the {@code cursorProvider}
+   * @return a {@link WeakReference} wrapping the {@code cursorProvider}, to be cleared once its resources are released
    */
   public WeakReference<ManagedCursorProvider> track(ManagedCursorProvider cursorProvider) {
     return new StreamingWeakReference(cursorProvider, referenceQueue);
   }
 
+  /**
+   * @return how many providers were garbage collected without having been released since this instance was created
+   */
+  public long getReclaimedCount() {
+    return reclaimedCount.get();
+  }
+
   private void bustGhosts() {
     while (!stopped && !currentThread().isInterrupted()) {
       try {
@@ -119,11 +126,14 @@ public class StreamingGhostBuster implements Lifecycle {
 
   private void bust(StreamingWeakReference ghost) {
     try {
+      if (ghost.janitor.isReleased()) {
+        return;
+      }
+
+      reclaimedCount.incrementAndGet();
       if (STREAMING_VERBOSE) {
-        CursorProvider innerDelegate = unwrap(ghost.janitor.provider);
-        Optional<ComponentLocation> originatingLocation = ghost.janitor.provider.getOriginatingLocation();
-        LOGGER.info("StreamingGhostBuster disposing ghost: {}, provider: {} created by {}", ghost.id,
-                    identityHashCode(innerDelegate), originatingLocation.map(ComponentLocation::getLocation).orElse("unknown"));
+        LOGGER.info("StreamingGhostBuster disposing ghost: {}, created by {}", ghost.id, ghost.originatingLocation,
+                    ghost.allocationTrace);
       }
       ghost.dispose();
     } catch (Exception e) {
@@ -150,12 +160,17 @@ public class StreamingGhostBuster implements Lifecycle {
 
     private final int id;
     private final CursorProviderJanitor janitor;
+    private final String originatingLocation;
+    private final Throwable allocationTrace;
     private boolean clear = false;
 
     public StreamingWeakReference(ManagedCursorProvider referent, ReferenceQueue<ManagedCursorProvider> referenceQueue) {
       super(referent, referenceQueue);
       this.janitor = referent.getJanitor();
       this.id = referent.getId();
+      Optional<ComponentLocation> location = referent.getOriginatingLocation();
+      this.originatingLocation = location.map(ComponentLocation::getLocation).orElse("unknown");
+      this.allocationTrace = STREAMING_VERBOSE ? new Throwable("CursorProvider allocation site") : null;
     }
 
     public void dispose() {
@@ -0,0 +1,100 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static java.lang.String.format;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+
+import org.mule.runtime.core.internal.streaming.bytes.MaxStreamingMemoryExceededException;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Caps the streaming memory used by one scope (a flow or a component), which in turn is accounted against its parent scope's
+ * quota, if any.
+ * <p>
+ * A limit lower or equal to zero means that the scope is only accounted, but never limited.
+ *
+ * @since 4.4.0
+ */
+public final class StreamingQuota {
+
+  private final String name;
+  private final long limit;
+  private final StreamingQuota parent;
+  private final AtomicLong used = new AtomicLong(0);
+
+  /**
+   * Creates a new instance
+   *
+   * @param name   the name of the limited scope, used for reporting
+   * @param limit  the max amount of bytes the scope can use
+   * @param parent the quota of the enclosing scope. May be {@code null}
+   */
+  public StreamingQuota(String name, long limit, StreamingQuota parent) {
+    this.name = name;
+    this.limit = limit;
+    this.parent = parent;
+  }
+
+  /**
+   * Accounts {@code bytes} against this quota and its parents.
+   *
+   * @param bytes the amount of bytes to reserve
+   * @throws MaxStreamingMemoryExceededException if this quota or any of its parents is exceeded. Nothing remains reserved
+   *                                             in that case
+   */
+  public void reserve(long bytes) {
+    if (used.addAndGet(bytes) > limit && limit > 0) {
+      used.addAndGet(-bytes);
+      throw new MaxStreamingMemoryExceededException(createStaticMessage(format("Streaming memory limit of %d bytes for '%s' "
+          + "was exceeded", limit, name)));
+    }
+
+    if (parent != null) {
+      try {
+        parent.reserve(bytes);
+      } catch (MaxStreamingMemoryExceededException e) {
+        used.addAndGet(-bytes);
+        throw e;
+      }
+    }
+  }
+
+  /**
+   * Gives back {@code bytes} previously accounted through {@link #reserve(long)}.
+   *
+   * @param bytes the amount of bytes to give back
+   */
+  public void release(long bytes) {
+    used.addAndGet(-bytes);
+    if (parent != null) {
+      parent.release(bytes);
+    }
+  }
+
+  /**
+   * @return the name of the limited scope
+   */
+  public String getName() {
+    return name;
+  }
+
+  /**
+   * @return the max amount of bytes the scope can use. Lower or equal to zero if unlimited
+   */
+  public long getLimit() {
+    return limit;
+  }
+
+  /**
+   * @return the amount of bytes currently used by the scope
+   */
+  public long getUsed() {
+    return used.get();
+  }
+}
@@ -0,0 +1,118 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming;
+
+import static java.lang.String.format;
+import static java.lang.System.getProperty;
+import static java.util.Collections.unmodifiableMap;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Keeps the streaming {@link StreamingQuota quotas} and {@link FlowStreamingStatistics statistics} of each flow and component.
+ * <p>
+ * Quotas are hierarchical: the memory buffered by a component counts against its own quota
+ * ({@link #MAX_COMPONENT_STREAMING_MEMORY_PROPERTY}) and against the one of its flow
+ * ({@link #MAX_FLOW_STREAMING_MEMORY_PROPERTY}), while the application wide cap keeps being enforced by the byte buffer
+ * manager. This way, a single flow which buffers too
+ * much data gets its allocations rejected before exhausting the memory available to the rest of the application.
+ * <p>
+ * Accounting per flow only takes place if any of those limits is set, or if streaming statistics are enabled.
+ *
+ * @since 4.4.0
+ */
+public class StreamingQuotaManager {
+
+  /**
+   * The max amount of bytes that the streams of a single flow can buffer in memory at the same time
+   */
+  public static final String MAX_FLOW_STREAMING_MEMORY_PROPERTY = "mule.streaming.maxFlowMemory";
+
+  /**
+   * The max amount of bytes that the streams of a single component can buffer in memory at the same time
+   */
+  public static final String MAX_COMPONENT_STREAMING_MEMORY_PROPERTY = "mule.streaming.maxComponentMemory";
+
+  private static final String UNKNOWN_LOCATION = "<unknown>";
+
+  private final MutableStreamingStatistics applicationStatistics;
+  private final long maxFlowMemory;
+  private final long maxComponentMemory;
+  private final boolean enabled;
+
+  private final Map<String, FlowStreamingStatistics> flowStatistics = new ConcurrentHashMap<>();
+  private final Map<String, StreamingQuota> flowQuotas = new ConcurrentHashMap<>();
+  private final Map<String, StreamingQuota> componentQuotas = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance
+   *
+   * @param applicationStatistics the application wide statistics, or {@code null} if statistics are disabled
+   */
+  public StreamingQuotaManager(MutableStreamingStatistics applicationStatistics) {
+    this.applicationStatistics = applicationStatistics instanceof NullStreamingStatistics ? null : applicationStatistics;
+    maxFlowMemory = readLimit(MAX_FLOW_STREAMING_MEMORY_PROPERTY);
+    maxComponentMemory = readLimit(MAX_COMPONENT_STREAMING_MEMORY_PROPERTY);
+    enabled = maxFlowMemory > 0 || maxComponentMemory > 0 || this.applicationStatistics != null;
+  }
+
+  /**
+   * @return whether streaming resources are accounted per flow
+   */
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * @param location the location of the component which created a stream. May be {@code null}
+   * @return the statistics of the flow containing the component
+   */
+  public FlowStreamingStatistics statisticsFor(ComponentLocation location) {
+    return flowStatistics.computeIfAbsent(flowName(location), k -> new FlowStreamingStatistics(applicationStatistics));
+  }
+
+  /**
+   * @param location the location of the component which created a stream. May be {@code null}
+   * @return the quota of the component, whose parent is the quota of its flow
+   */
+  public StreamingQuota quotaFor(ComponentLocation location) {
+    String componentName = location != null ? location.getLocation() : UNKNOWN_LOCATION;
+    return componentQuotas.computeIfAbsent(componentName, k -> {
+      String flowName = flowName(location);
+      StreamingQuota flowQuota = flowQuotas.computeIfAbsent(flowName, f -> new StreamingQuota(f, maxFlowMemory, null));
+      return new StreamingQuota(componentName, maxComponentMemory, flowQuota);
+    });
+  }
+
+  /**
+   * @return the streaming statistics of each flow, by flow name
+   */
+  public Map<String, FlowStreamingStatistics> getFlowStatistics() {
+    return unmodifiableMap(flowStatistics);
+  }
+
+  private String flowName(ComponentLocation location) {
+    return location != null ? location.getRootContainerName() : UNKNOWN_LOCATION;
+  }
+
+  private long readLimit(String property) {
+    String value = getProperty(property);
+    if (value == null) {
+      return 0;
+    }
+
+    try {
+      return Long.valueOf(value);
+    } catch (Exception e) {
+      throw new IllegalArgumentException(format("Invalid value for system property '%s'. A memory size (in bytes) was "
+          + "expected, got '%s' instead", property, value));
+    }
+  }
+}
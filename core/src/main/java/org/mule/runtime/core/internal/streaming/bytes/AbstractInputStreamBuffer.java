@@ -6,9 +6,11 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static java.lang.Math.min;
 import static java.lang.Thread.currentThread;
 import static java.lang.Thread.interrupted;
 import static org.mule.runtime.api.util.Preconditions.checkState;
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DEFAULT_BUFFER_BUCKET_SIZE;
 import static org.slf4j.LoggerFactory.getLogger;
 
 import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
@@ -36,6 +38,8 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
 
   protected boolean streamFullyConsumed = false;
 
+  private ByteBuffer transferBuffer;
+
   /**
    * Creates a new instance
    *
@@ -96,11 +100,15 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
   protected abstract ByteBuffer doGet(long position, int length);
 
   protected int consumeStream(ByteBuffer buffer) throws IOException {
+    if (!buffer.hasArray()) {
+      return consumeStreamIntoDirectBuffer(buffer);
+    }
+
     final byte[] dest = buffer.array();
 
     int totalRead = 0;
     int remaining = buffer.remaining();
-    int offset = buffer.position();
+    int offset = buffer.arrayOffset() + buffer.position();
 
     while (remaining > 0) {
       try {
@@ -144,7 +152,36 @@ public abstract class AbstractInputStreamBuffer extends AbstractStreamingBuffer
     }
 
     if (totalRead > 0) {
-      buffer.position(offset);
+      buffer.position(offset - buffer.arrayOffset());
+    }
+
+    return totalRead;
+  }
+
+  /**
+   * Direct buffers have no backing array for the stream to read into, so the data goes through an intermediate heap array of
+   * at most {@link ByteStreamingConstants#DEFAULT_BUFFER_BUCKET_SIZE} bytes, reused for the whole life of this buffer.
+   */
+  private int consumeStreamIntoDirectBuffer(ByteBuffer buffer) throws IOException {
+    if (transferBuffer == null) {
+      transferBuffer = ByteBuffer.allocate(DEFAULT_BUFFER_BUCKET_SIZE);
+    }
+
+    int totalRead = 0;
+    while (buffer.hasRemaining()) {
+      transferBuffer.clear();
+      transferBuffer.limit(min(buffer.remaining(), transferBuffer.capacity()));
+      int read = consumeStream(transferBuffer);
+      if (read == -1) {
+        return totalRead == 0 ? -1 : totalRead;
+      }
+
+      transferBuffer.flip();
+      buffer.put(transferBuffer);
+      totalRead += read;
+      if (read == 0 || stream.available() < 1) {
+        break;
+      }
     }
 
     return totalRead;
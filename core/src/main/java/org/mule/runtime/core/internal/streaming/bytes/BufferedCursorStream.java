@@ -10,9 +10,11 @@ import static java.lang.Math.toIntExact;
 import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DEFAULT_BUFFER_BUCKET_SIZE;
 import org.mule.runtime.api.streaming.bytes.CursorStream;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.streaming.bytes.ChannelTransferable;
 
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * A {@link CursorStream} which pulls its data from an {@link InputStreamBuffer}.
@@ -23,7 +25,7 @@ import java.nio.ByteBuffer;
  * @see InputStreamBuffer
  * @since 4.0
  */
-public final class BufferedCursorStream extends AbstractCursorStream {
+public final class BufferedCursorStream extends AbstractCursorStream implements ChannelTransferable {
 
   private static final int LOCAL_BUFFER_SIZE = DEFAULT_BUFFER_BUCKET_SIZE;
   private static final ByteBuffer NULL_BUFFER = ByteBuffer.allocate(0);
@@ -117,6 +119,25 @@ public final class BufferedCursorStream extends AbstractCursorStream {
     }
   }
 
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Writes whatever is left in the local buffer and lets the {@link InputStreamBuffer} transfer the rest.
+   */
+  @Override
+  public long transferTo(WritableByteChannel target) throws IOException {
+    assertNotDisposed();
+
+    long transferred = 0;
+    while (localBuffer.hasRemaining()) {
+      transferred += target.write(localBuffer);
+    }
+    transferred += streamBuffer.transferTo(position + transferred, target);
+    seek(position + transferred);
+
+    return transferred;
+  }
+
   private int assureDataInLocalBuffer(int len) {
     if (len <= localBuffer.remaining()) {
       return toIntExact(len);
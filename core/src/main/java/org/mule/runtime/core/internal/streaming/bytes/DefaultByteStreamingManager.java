@@ -6,23 +6,48 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static java.lang.Boolean.getBoolean;
+import static java.util.Collections.unmodifiableMap;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.util.DataSize;
 import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
 import org.mule.runtime.core.api.streaming.bytes.factory.InMemoryCursorStreamProviderFactory;
+import org.mule.runtime.core.internal.streaming.bytes.factory.AdaptiveInMemoryCursorStreamProviderFactory;
+import org.mule.runtime.core.internal.streaming.bytes.factory.FileStoreCursorStreamProviderFactory;
 import org.mule.runtime.core.internal.streaming.bytes.factory.NullCursorStreamProviderFactory;
 import org.mule.runtime.core.api.streaming.StreamingManager;
 import org.mule.runtime.core.api.streaming.bytes.ByteStreamingManager;
 import org.mule.runtime.core.api.streaming.bytes.CursorStreamProviderFactory;
 import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
 
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * Default implementation of {@link ByteStreamingManager}
+ * <p>
+ * When {@link #ADAPTIVE_BUFFER_SIZING_PROPERTY} is set, in memory providers get buffer sizes adapted to the payloads previously
+ * produced by the same component. The {@link PayloadSizeStatistics} of each component are available through
+ * {@link #getPayloadSizeStatistics()}.
  *
  * @since 4.0
  */
 public class DefaultByteStreamingManager implements ByteStreamingManager {
 
+  /**
+   * Enables adapting the in memory buffer sizes to the payloads of each component
+   *
+   * @since 4.4.0
+   */
+  public static final String ADAPTIVE_BUFFER_SIZING_PROPERTY = "mule.streaming.adaptiveBufferSizing";
+
+  private static final String UNKNOWN_LOCATION = "<unknown>";
+
   private final ByteBufferManager bufferManager;
   protected final StreamingManager streamingManager;
+  private final boolean adaptiveBufferSizing = getBoolean(ADAPTIVE_BUFFER_SIZING_PROPERTY);
+  private final Map<String, PayloadSizeStatistics> payloadSizeStatistics = new ConcurrentHashMap<>();
 
   public DefaultByteStreamingManager(ByteBufferManager bufferManager, StreamingManager streamingManager) {
     this.bufferManager = bufferManager;
@@ -34,9 +59,22 @@ public class DefaultByteStreamingManager implements ByteStreamingManager {
    */
   @Override
   public CursorStreamProviderFactory getInMemoryCursorProviderFactory(InMemoryCursorStreamConfig config) {
+    if (adaptiveBufferSizing) {
+      return new AdaptiveInMemoryCursorStreamProviderFactory(bufferManager, config, streamingManager,
+                                                             this::statisticsFor);
+    }
     return new InMemoryCursorStreamProviderFactory(bufferManager, config, streamingManager);
   }
 
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public CursorStreamProviderFactory getFileStoreCursorProviderFactory(DataSize maxInMemorySize) {
+    return new FileStoreCursorStreamProviderFactory(bufferManager, new FileStoreCursorStreamConfig(maxInMemorySize),
+                                                    streamingManager);
+  }
+
   /**
    * {@inheritDoc}
    */
@@ -56,4 +94,17 @@ public class DefaultByteStreamingManager implements ByteStreamingManager {
   protected ByteBufferManager getBufferManager() {
     return bufferManager;
   }
+
+  /**
+   * @return the {@link PayloadSizeStatistics} of each component, by location. Empty unless adaptive buffer sizing is enabled
+   * @since 4.4.0
+   */
+  public Map<String, PayloadSizeStatistics> getPayloadSizeStatistics() {
+    return unmodifiableMap(payloadSizeStatistics);
+  }
+
+  private PayloadSizeStatistics statisticsFor(ComponentLocation location) {
+    String key = location != null ? location.getLocation() : UNKNOWN_LOCATION;
+    return payloadSizeStatistics.computeIfAbsent(key, k -> new PayloadSizeStatistics());
+  }
 }
@@ -0,0 +1,295 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Math.min;
+import static java.lang.Math.toIntExact;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+
+/**
+ * An implementation of {@link AbstractInputStreamBuffer} which keeps up to
+ * {@link FileStoreCursorStreamConfig#getMaxInMemorySize()} bytes in memory and spills the rest of the stream into a temporary
+ * file.
+ * <p>
+ * The spilled data is written and read back through a {@link FileChannel}. Regions of {@link #MAPPED_REGION_SIZE} bytes which
+ * are completely written are memory mapped, so that cursors read them without copying. {@link #transferTo(long,
+ * WritableByteChannel)} uses {@link FileChannel#transferTo(long, long, WritableByteChannel)}, so the OS can move the spilled
+ * data into the target channel without going through the heap at all. The mapped regions are released by the GC once no
+ * cursor references them anymore.
+ * <p>
+ * When the buffered stream is a {@link FileInputStream}, its content is spilled through
+ * {@link FileChannel#transferFrom(java.nio.channels.ReadableByteChannel, long, long)} as well.
+ *
+ * @since 4.4.0
+ */
+public class FileStoreStreamBuffer extends AbstractInputStreamBuffer {
+
+  private static final Logger LOGGER = getLogger(FileStoreStreamBuffer.class);
+
+  /**
+   * The size of the regions of the buffer file which are memory mapped
+   */
+  static final int MAPPED_REGION_SIZE = 8 * 1024 * 1024;
+
+  private static final int SPILL_CHUNK_SIZE = 64 * 1024;
+  private static final int FILE_SPILL_CHUNK_SIZE = 1024 * 1024;
+
+  private final int maxInMemorySize;
+  private ManagedByteBufferWrapper managedMemoryBuffer;
+  private final ByteBuffer memoryBuffer;
+
+  private File bufferFile;
+  private FileChannel fileChannel;
+  private ByteBuffer spillBuffer;
+  private long fileTip = 0;
+  private final Map<Integer, MappedByteBuffer> mappedRegions = new ConcurrentHashMap<>();
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream        the stream to be buffered
+   * @param config        this buffer's configuration
+   * @param bufferManager the {@link ByteBufferManager} that will be used to allocate the in memory buffer
+   */
+  public FileStoreStreamBuffer(InputStream stream, FileStoreCursorStreamConfig config, ByteBufferManager bufferManager) {
+    super(stream, bufferManager);
+    maxInMemorySize = config.getMaxInMemorySize().toBytes();
+    managedMemoryBuffer = bufferManager.allocateManaged(maxInMemorySize);
+    memoryBuffer = managedMemoryBuffer.getDelegate();
+  }
+
+  @Override
+  protected ByteBuffer doGet(long position, int length) {
+    try {
+      readLock.lock();
+      try {
+        ByteBuffer presentRead = getFromCurrentData(position, length);
+        if (presentRead != null) {
+          return presentRead;
+        }
+      } finally {
+        readLock.unlock();
+      }
+
+      writeLock.lock();
+      try {
+        ByteBuffer read = getFromCurrentData(position, length);
+        while (read == null && !streamFullyConsumed) {
+          consumeForwardData();
+          read = getFromCurrentData(position, length);
+        }
+        return read;
+      } finally {
+        writeLock.unlock();
+      }
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read stream"), e);
+    }
+  }
+
+  private ByteBuffer getFromCurrentData(long position, int length) throws IOException {
+    final int memoryTip = memoryBuffer.position();
+    if (position < memoryTip) {
+      return view(memoryBuffer, toIntExact(position), toIntExact(min(memoryTip, position + length)));
+    }
+
+    final long filePosition = position - maxInMemorySize;
+    if (memoryTip == maxInMemorySize && filePosition < fileTip) {
+      return readFromFile(filePosition, toIntExact(min(length, fileTip - filePosition)));
+    }
+
+    return null;
+  }
+
+  private ByteBuffer readFromFile(long filePosition, int length) throws IOException {
+    final int region = toIntExact(filePosition / MAPPED_REGION_SIZE);
+    final long regionStart = (long) region * MAPPED_REGION_SIZE;
+    final int offset = toIntExact(filePosition - regionStart);
+
+    // the last region can only be mapped once it won't grow anymore
+    if (regionStart + MAPPED_REGION_SIZE <= fileTip || streamFullyConsumed) {
+      MappedByteBuffer mapped = mappedRegions.get(region);
+      if (mapped == null) {
+        mapped = fileChannel.map(READ_ONLY, regionStart, min(MAPPED_REGION_SIZE, fileTip - regionStart));
+        MappedByteBuffer previous = mappedRegions.putIfAbsent(region, mapped);
+        if (previous != null) {
+          mapped = previous;
+        }
+      }
+      return view(mapped, offset, min(mapped.capacity(), offset + length));
+    }
+
+    ByteBuffer data = ByteBuffer.allocate(length);
+    while (data.hasRemaining() && fileChannel.read(data, filePosition + data.position()) > 0) {
+      // keep reading
+    }
+    data.flip();
+    return data;
+  }
+
+  private ByteBuffer view(ByteBuffer buffer, int from, int to) {
+    ByteBuffer view = buffer.duplicate();
+    view.limit(to).position(from);
+    return view.slice();
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Fills the in memory buffer first. Once it's full, the data is spilled into the buffer file.
+   */
+  @Override
+  public int consumeForwardData() throws IOException {
+    if (memoryBuffer.hasRemaining()) {
+      return consumeStream(memoryBuffer);
+    }
+
+    if (fileChannel == null) {
+      bufferFile = createBufferFile("stream");
+      fileChannel = new RandomAccessFile(bufferFile, "rw").getChannel();
+      QuotaByteBufferManager.onSpill(bufferManager);
+    }
+
+    final int read = stream instanceof FileInputStream ? spillFromFile((FileInputStream) stream) : spill();
+    if (read > 0) {
+      fileTip += read;
+    }
+    return read;
+  }
+
+  private int spillFromFile(FileInputStream fileStream) throws IOException {
+    long transferred = fileChannel.transferFrom(fileStream.getChannel(), fileTip, FILE_SPILL_CHUNK_SIZE);
+    if (transferred == 0) {
+      streamFullyConsumed = true;
+      return -1;
+    }
+    return toIntExact(transferred);
+  }
+
+  private int spill() throws IOException {
+    if (spillBuffer == null) {
+      spillBuffer = ByteBuffer.allocate(SPILL_CHUNK_SIZE);
+    }
+    spillBuffer.clear();
+
+    final int read = consumeStream(spillBuffer);
+    if (read > 0) {
+      spillBuffer.flip();
+      long writePosition = fileTip;
+      while (spillBuffer.hasRemaining()) {
+        writePosition += fileChannel.write(spillBuffer, writePosition);
+      }
+    }
+    return read;
+  }
+
+  /**
+   * {@inheritDoc}
+   * <p>
+   * Consumes the rest of the stream, then writes the in memory part and lets the OS transfer the spilled part straight from
+   * the buffer file.
+   */
+  @Override
+  public long transferTo(long position, WritableByteChannel target) throws IOException {
+    checkNotClosed();
+
+    writeLock.lock();
+    try {
+      while (!streamFullyConsumed) {
+        consumeForwardData();
+      }
+    } finally {
+      writeLock.unlock();
+    }
+
+    readLock.lock();
+    try {
+      long transferred = 0;
+      final int memoryTip = memoryBuffer.position();
+      if (position < memoryTip) {
+        ByteBuffer memoryData = view(memoryBuffer, toIntExact(position), memoryTip);
+        while (memoryData.hasRemaining()) {
+          transferred += target.write(memoryData);
+        }
+      }
+
+      if (fileChannel != null) {
+        long filePosition = position + transferred - maxInMemorySize;
+        while (filePosition < fileTip) {
+          long fileTransferred = fileChannel.transferTo(filePosition, fileTip - filePosition, target);
+          if (fileTransferred <= 0) {
+            break;
+          }
+          filePosition += fileTransferred;
+          transferred += fileTransferred;
+        }
+      }
+
+      return transferred;
+    } finally {
+      readLock.unlock();
+    }
+  }
+
+  @Override
+  public void doClose() {
+    managedMemoryBuffer.release();
+    managedMemoryBuffer = null;
+    // The buffer may be closed while cursors still hold views of the mapped regions (i.e.: when the event completes), so the
+    // mappings are not unmapped explicitly but left for the GC to release once no view references them anymore
+    mappedRegions.clear();
+
+    if (fileChannel != null) {
+      try {
+        fileChannel.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close buffer file channel", e);
+      }
+      deleteQuietly(bufferFile);
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected ByteBuffer copy(long position, int length) {
+    try {
+      ByteBuffer data = getFromCurrentData(position, length);
+      if (data == null) {
+        return null;
+      }
+      ByteBuffer copy = ByteBuffer.allocate(data.remaining());
+      copy.put(data).flip();
+      return copy;
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read buffer file"), e);
+    }
+  }
+}
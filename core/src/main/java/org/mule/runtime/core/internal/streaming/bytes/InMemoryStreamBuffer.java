@@ -204,7 +204,13 @@ public class InMemoryStreamBuffer extends AbstractInputStreamBuffer {
 
   private ByteBuffer softCopy(long position, int length) {
     final int offset = toIntExact(position);
-    return wrap(actingBuffer.array(), offset, min(length, actingBuffer.limit() - offset)).slice();
+    length = min(length, actingBuffer.limit() - offset);
+    if (!actingBuffer.hasArray()) {
+      ByteBuffer view = actingBuffer.duplicate();
+      view.limit(offset + length).position(offset);
+      return view.slice();
+    }
+    return wrap(actingBuffer.array(), actingBuffer.arrayOffset() + offset, length).slice();
   }
 
   protected ByteBuffer hardCopy(long position, int length) {
@@ -212,7 +218,13 @@ public class InMemoryStreamBuffer extends AbstractInputStreamBuffer {
     length = min(length, actingBuffer.limit() - offset);
 
     byte[] b = new byte[length];
-    arraycopy(actingBuffer.array(), offset, b, 0, length);
+    if (actingBuffer.hasArray()) {
+      arraycopy(actingBuffer.array(), actingBuffer.arrayOffset() + offset, b, 0, length);
+    } else {
+      ByteBuffer view = actingBuffer.duplicate();
+      view.limit(offset + length).position(offset);
+      view.get(b);
+    }
     return wrap(b);
   }
 
@@ -6,7 +6,11 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static org.mule.runtime.core.internal.streaming.bytes.ByteStreamingConstants.DEFAULT_BUFFER_BUCKET_SIZE;
+
+import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.channels.WritableByteChannel;
 
 /**
  * A buffer which provides concurrent random access to the entirety
@@ -35,6 +39,29 @@ public interface InputStreamBuffer {
    */
   ByteBuffer get(long position, int length);
 
+  /**
+   * Writes all the data from the given {@code position} up to the end of the stream into the given {@code target}.
+   * <p>
+   * Implementations backed by a file should override this method to transfer that part of the data through
+   * {@link java.nio.channels.FileChannel#transferTo(long, long, WritableByteChannel)}.
+   *
+   * @param position the stream position from which the data should be transferred
+   * @param target   the channel to write the data to
+   * @return the amount of bytes transferred
+   * @throws IOException if the data could not be written
+   * @since 4.4.0
+   */
+  default long transferTo(long position, WritableByteChannel target) throws IOException {
+    long transferred = 0;
+    ByteBuffer data;
+    while ((data = get(position + transferred, DEFAULT_BUFFER_BUCKET_SIZE)) != null && data.hasRemaining()) {
+      while (data.hasRemaining()) {
+        transferred += target.write(data);
+      }
+    }
+    return transferred;
+  }
+
   /**
    * Releases all the resources held by this buffer
    */
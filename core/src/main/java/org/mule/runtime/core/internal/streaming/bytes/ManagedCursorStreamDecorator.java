@@ -6,13 +6,18 @@
  */
 package org.mule.runtime.core.internal.streaming.bytes;
 
+import static java.nio.channels.Channels.newOutputStream;
+import static org.mule.runtime.core.api.util.IOUtils.copyLarge;
+
 import org.mule.runtime.api.streaming.CursorProvider;
 import org.mule.runtime.api.streaming.bytes.CursorStream;
 import org.mule.runtime.api.streaming.bytes.CursorStreamProvider;
+import org.mule.runtime.core.api.streaming.bytes.ChannelTransferable;
 import org.mule.runtime.core.internal.streaming.CursorProviderJanitor;
 import org.mule.runtime.core.internal.streaming.StreamingGhostBuster;
 
 import java.io.IOException;
+import java.nio.channels.WritableByteChannel;
 import java.util.concurrent.atomic.AtomicBoolean;
 
 /**
@@ -20,7 +25,7 @@ import java.util.concurrent.atomic.AtomicBoolean;
  *
  * @since 4.1.6
  */
-class ManagedCursorStreamDecorator extends CursorStream {
+class ManagedCursorStreamDecorator extends CursorStream implements ChannelTransferable {
 
   private ManagedCursorStreamProvider managedCursorProvider;
   private CursorStreamProvider exposedProvider;
@@ -125,4 +130,12 @@ class ManagedCursorStreamDecorator extends CursorStream {
   public boolean markSupported() {
     return delegate.markSupported();
   }
+
+  @Override
+  public long transferTo(WritableByteChannel target) throws IOException {
+    if (delegate instanceof ChannelTransferable) {
+      return ((ChannelTransferable) delegate).transferTo(target);
+    }
+    return copyLarge(delegate, newOutputStream(target));
+  }
 }
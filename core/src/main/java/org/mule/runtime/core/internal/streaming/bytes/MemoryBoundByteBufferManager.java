@@ -31,7 +31,7 @@ import java.util.concurrent.atomic.AtomicLong;
  * default to 70% of the total heap.
  * <p>
  * Implementations of this class <b>MUST</b> always implement their allocation logic through the {@link #allocateIfFits(int)}
- * method.
+ * method, or account for the memory they obtain elsewhere through {@link #reserveIfFits(int)}.
  * <p>
  * If the memory cap is exceeded, a {@link MaxStreamingMemoryExceededException} is thrown.
  *
@@ -68,8 +68,21 @@ public abstract class MemoryBoundByteBufferManager implements ByteBufferManager
    * @throws MaxStreamingMemoryExceededException if the memory cap is exceeded by this operation
    */
   protected final ByteBuffer allocateIfFits(int capacity) {
+    reserveIfFits(capacity);
+    return ByteBuffer.allocate(capacity);
+  }
+
+  /**
+   * Accounts {@code capacity} bytes against the memory cap without allocating any buffer, for implementations which obtain
+   * their memory elsewhere. The reserved bytes must be given back through {@link #unreserve(int)}.
+   *
+   * @param capacity the amount of bytes to reserve
+   * @throws MaxStreamingMemoryExceededException if the memory cap is exceeded by this operation
+   * @since 4.4.0
+   */
+  protected final void reserveIfFits(int capacity) {
     if (streamingMemory.addAndGet(capacity) <= maxStreamingMemory) {
-      return ByteBuffer.allocate(capacity);
+      return;
     }
 
     streamingMemory.addAndGet(-capacity);
@@ -78,6 +91,16 @@ public abstract class MemoryBoundByteBufferManager implements ByteBufferManager
                                                                              maxStreamingMemory)));
   }
 
+  /**
+   * Gives back {@code capacity} bytes previously accounted through {@link #reserveIfFits(int)}.
+   *
+   * @param capacity the amount of bytes to give back
+   * @since 4.4.0
+   */
+  protected final void unreserve(int capacity) {
+    streamingMemory.addAndGet(-capacity);
+  }
+
   /**
    * Tries to allocate the {@link ByteBuffer} by delegating to {@link #allocateIfFits(int)}. If the memory cap is exceeded
    * a {@link MaxStreamingMemoryExceededException} is thrown.
@@ -109,7 +132,7 @@ public abstract class MemoryBoundByteBufferManager implements ByteBufferManager
    * @param byteBuffer a {@link ByteBuffer}
    */
   protected void doDeallocate(ByteBuffer byteBuffer) {
-    streamingMemory.addAndGet(-byteBuffer.capacity());
+    unreserve(byteBuffer.capacity());
   }
 
   private long calculateMaxStreamingMemory(MemoryManager memoryManager) {
@@ -0,0 +1,222 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Integer.numberOfLeadingZeros;
+import static java.lang.Thread.currentThread;
+import static java.nio.ByteBuffer.allocateDirect;
+
+import org.mule.runtime.api.lifecycle.Disposable;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+import org.mule.runtime.core.internal.streaming.DefaultMemoryManager;
+import org.mule.runtime.core.internal.streaming.MemoryManager;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * {@link MemoryBoundByteBufferManager} implementation which provides direct {@link ByteBuffer buffers}, so that the content of
+ * repeatable streams is kept off the heap.
+ * <p>
+ * Direct memory is obtained in slabs of {@link #SLAB_SIZE} bytes which are split in blocks of a power of two size. Each thread
+ * keeps a small cache of released blocks per size, backed by a shared free list, so that allocations on the hot path don't
+ * contend with other threads. Requests larger than a slab get a dedicated direct buffer which is not pooled.
+ * <p>
+ * The whole block backing each buffer handed out, rather than just its requested capacity, counts against the same streaming
+ * memory cap as the heap implementations, which is expected to be aligned with the JVM's {@code -XX:MaxDirectMemorySize} (which
+ * defaults to the max heap size). Like in {@link PoolingByteBufferManager}, released blocks are kept for reuse and never given
+ * back to the JVM until this manager is disposed.
+ * <p>
+ * The deprecated {@link #allocate(int)} method still provides heap buffers, since its callers may rely on
+ * {@link ByteBuffer#array()}.
+ *
+ * @since 4.4.0
+ */
+public class OffHeapByteBufferManager extends MemoryBoundByteBufferManager implements Disposable {
+
+  /**
+   * The size of the direct memory chunks from which pooled buffers are taken
+   */
+  static final int SLAB_SIZE = 1024 * 1024;
+
+  private static final int MIN_BLOCK_SHIFT = 10;
+  private static final int MAX_BLOCK_SHIFT = 20;
+  private static final int THREAD_CACHE_BYTES_PER_SIZE = 256 * 1024;
+
+  private final Queue<ByteBuffer>[] freeBlocks;
+  private final Map<Thread, ThreadCache> threadCaches = new ConcurrentHashMap<>();
+  private final ThreadLocal<ThreadCache> threadCache = ThreadLocal.withInitial(this::newThreadCache);
+  private volatile boolean disposed = false;
+
+  public OffHeapByteBufferManager() {
+    this(new DefaultMemoryManager());
+  }
+
+  public OffHeapByteBufferManager(MemoryManager memoryManager) {
+    super(memoryManager);
+    freeBlocks = new Queue[MAX_BLOCK_SHIFT - MIN_BLOCK_SHIFT + 1];
+    for (int i = 0; i < freeBlocks.length; i++) {
+      freeBlocks[i] = new ConcurrentLinkedQueue<>();
+    }
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public ManagedByteBufferWrapper allocateManaged(int capacity) {
+    final int sizeClass = sizeClassOf(capacity);
+    final int reserved = sizeClass < 0 ? capacity : blockSizeOf(sizeClass);
+    reserveIfFits(reserved);
+
+    final ByteBuffer block;
+    try {
+      block = sizeClass < 0 ? allocateDirect(capacity) : takeBlock(sizeClass);
+    } catch (OutOfMemoryError e) {
+      // direct memory exhausted before reaching the streaming memory cap
+      unreserve(reserved);
+      throw e;
+    }
+
+    ByteBuffer buffer = block.duplicate();
+    buffer.limit(capacity);
+    return new ManagedByteBufferWrapper(buffer.slice(), managed -> {
+      unreserve(reserved);
+      if (sizeClass >= 0) {
+        releaseBlock(sizeClass, block);
+      }
+    });
+  }
+
+  /**
+   * @return the index of the pooled size that can hold {@code capacity} bytes, or {@code -1} if such buffer is not pooled
+   */
+  private static int sizeClassOf(int capacity) {
+    if (capacity <= 1 << MIN_BLOCK_SHIFT) {
+      return 0;
+    } else if (capacity > 1 << MAX_BLOCK_SHIFT) {
+      return -1;
+    }
+    return 32 - numberOfLeadingZeros(capacity - 1) - MIN_BLOCK_SHIFT;
+  }
+
+  private static int blockSizeOf(int sizeClass) {
+    return 1 << (sizeClass + MIN_BLOCK_SHIFT);
+  }
+
+  private ByteBuffer takeBlock(int sizeClass) {
+    ByteBuffer block = threadCache.get().poll(sizeClass);
+    if (block == null) {
+      block = freeBlocks[sizeClass].poll();
+    }
+    if (block == null) {
+      reclaimDeadThreadCaches();
+      block = freeBlocks[sizeClass].poll();
+    }
+    if (block == null) {
+      block = carveSlab(sizeClass);
+    }
+    return block;
+  }
+
+  private void releaseBlock(int sizeClass, ByteBuffer block) {
+    if (disposed) {
+      return;
+    }
+    block.clear();
+    if (!threadCache.get().offer(sizeClass, block)) {
+      freeBlocks[sizeClass].offer(block);
+    }
+  }
+
+  /**
+   * Allocates a new slab and splits it in blocks of the given size class. One of them is returned and the rest are made
+   * available in the shared free list.
+   */
+  private ByteBuffer carveSlab(int sizeClass) {
+    final int blockSize = blockSizeOf(sizeClass);
+    final ByteBuffer slab = allocateDirect(SLAB_SIZE);
+
+    ByteBuffer first = null;
+    for (int offset = 0; offset + blockSize <= SLAB_SIZE; offset += blockSize) {
+      slab.limit(offset + blockSize).position(offset);
+      ByteBuffer block = slab.slice();
+      if (first == null) {
+        first = block;
+      } else {
+        freeBlocks[sizeClass].offer(block);
+      }
+    }
+    return first;
+  }
+
+  /**
+   * Threads of the runtime's pools come and go, so the blocks cached by threads that have already finished are moved back to
+   * the shared free lists before allocating more direct memory.
+   */
+  private void reclaimDeadThreadCaches() {
+    for (Map.Entry<Thread, ThreadCache> entry : threadCaches.entrySet()) {
+      // only the caller that actually removes the cache drains it, so no block is made available twice
+      if (!entry.getKey().isAlive() && threadCaches.remove(entry.getKey(), entry.getValue())) {
+        entry.getValue().drainTo(freeBlocks);
+      }
+    }
+  }
+
+  private ThreadCache newThreadCache() {
+    ThreadCache cache = new ThreadCache();
+    threadCaches.put(currentThread(), cache);
+    return cache;
+  }
+
+  @Override
+  public void dispose() {
+    disposed = true;
+    threadCaches.clear();
+    for (Queue<ByteBuffer> free : freeBlocks) {
+      free.clear();
+    }
+  }
+
+  /**
+   * Released blocks kept by a single thread. Only accessed by its owner thread while it is alive.
+   */
+  private static class ThreadCache {
+
+    private final ArrayDeque<ByteBuffer>[] blocks = new ArrayDeque[MAX_BLOCK_SHIFT - MIN_BLOCK_SHIFT + 1];
+
+    private ByteBuffer poll(int sizeClass) {
+      ArrayDeque<ByteBuffer> cached = blocks[sizeClass];
+      return cached == null ? null : cached.pollLast();
+    }
+
+    private boolean offer(int sizeClass, ByteBuffer block) {
+      ArrayDeque<ByteBuffer> cached = blocks[sizeClass];
+      if (cached == null) {
+        cached = blocks[sizeClass] = new ArrayDeque<>();
+      }
+      if (cached.size() * block.capacity() >= THREAD_CACHE_BYTES_PER_SIZE) {
+        return false;
+      }
+      cached.addLast(block);
+      return true;
+    }
+
+    private void drainTo(Queue<ByteBuffer>[] freeBlocks) {
+      for (int i = 0; i < blocks.length; i++) {
+        if (blocks[i] != null) {
+          freeBlocks[i].addAll(blocks[i]);
+          blocks[i].clear();
+        }
+      }
+    }
+  }
+}
@@ -0,0 +1,223 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.lang.Long.numberOfLeadingZeros;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+import static org.mule.runtime.api.util.DataUnit.BYTE;
+
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Histogram of the sizes of the payloads buffered by the cursor stream providers of a single component, used to pick the
+ * in memory buffer sizes for the next providers of that component.
+ * <p>
+ * Sizes are counted in power of two buckets. Once {@link #DECAY_SAMPLES} samples are recorded, all the buckets are halved so
+ * that the histogram follows changes in the payloads instead of being dominated by old samples.
+ * <p>
+ * Also keeps track of how many buffer expansions were actually done, and how many would have been done with the configured
+ * sizes, so the effect of the adaptation can be observed.
+ *
+ * @since 4.4.0
+ */
+public class PayloadSizeStatistics {
+
+  /**
+   * The amount of samples needed before the configured sizes are adapted
+   */
+  static final int MIN_SAMPLES = 32;
+
+  private static final int DECAY_SAMPLES = 1024;
+  private static final int RECOMPUTE_EVERY = 32;
+  private static final int MIN_INITIAL_BUFFER_SIZE = 1024;
+
+  /**
+   * Percentile of the payloads which should fit in the initial buffer without expanding it
+   */
+  private static final double INITIAL_SIZE_PERCENTILE = 0.75;
+
+  /**
+   * Percentile of the payloads which should fit in the buffer after expanding it once
+   */
+  private static final double EXPANDED_SIZE_PERCENTILE = 0.99;
+
+  private final AtomicLongArray buckets = new AtomicLongArray(Long.SIZE + 1);
+  private final AtomicLong samples = new AtomicLong();
+  private final AtomicLong totalSamples = new AtomicLong();
+  private final AtomicLong expansions = new AtomicLong();
+  private final AtomicLong expansionsWithConfiguredSizes = new AtomicLong();
+
+  private volatile int recommendedInitialSize = -1;
+  private volatile int recommendedIncrement = -1;
+
+  /**
+   * Records the size of a payload that was buffered by a provider which used the given {@code usedConfig}, while the component
+   * is configured with {@code configuredConfig}.
+   *
+   * @param payloadSize      the amount of bytes buffered
+   * @param usedConfig       the config of the buffer which held the payload
+   * @param configuredConfig the config the component has, to compare with
+   */
+  public void record(long payloadSize, InMemoryCursorStreamConfig usedConfig, InMemoryCursorStreamConfig configuredConfig) {
+    buckets.incrementAndGet(bucketOf(payloadSize));
+    expansions.addAndGet(expansionsFor(payloadSize, usedConfig));
+    expansionsWithConfiguredSizes.addAndGet(expansionsFor(payloadSize, configuredConfig));
+    totalSamples.incrementAndGet();
+
+    long count = samples.incrementAndGet();
+    if (count >= DECAY_SAMPLES) {
+      decay();
+    } else if (count >= MIN_SAMPLES && count % RECOMPUTE_EVERY == 0) {
+      recompute();
+    }
+  }
+
+  /**
+   * Returns the config to use for the next buffer of the component. Until {@link #MIN_SAMPLES} payloads were recorded this is
+   * the {@code configuredConfig} itself.
+   * <p>
+   * The initial size is picked so that most payloads fit without expanding the buffer, and the increment so that almost all
+   * the rest fit after a single expansion. The max buffer size is never changed, and neither is a buffer which is not allowed
+   * to expand.
+   *
+   * @param configuredConfig the config the component has
+   * @return the config to use for the next buffer
+   */
+  public InMemoryCursorStreamConfig recommend(InMemoryCursorStreamConfig configuredConfig) {
+    final int initial = recommendedInitialSize;
+    final int configuredIncrement = configuredConfig.getBufferSizeIncrement().toBytes();
+    if (initial < 0 || configuredIncrement == 0) {
+      return configuredConfig;
+    }
+
+    final int max = configuredConfig.getMaxBufferSize().toBytes();
+    int adaptedInitial = initial;
+    int adaptedIncrement = max(configuredIncrement, recommendedIncrement);
+    if (max > 0) {
+      adaptedInitial = min(adaptedInitial, max - configuredIncrement);
+      adaptedIncrement = min(adaptedIncrement, max - adaptedInitial);
+    }
+
+    if (adaptedInitial == configuredConfig.getInitialBufferSize().toBytes() && adaptedIncrement == configuredIncrement) {
+      return configuredConfig;
+    }
+    return new InMemoryCursorStreamConfig(new DataSize(adaptedInitial, BYTE), new DataSize(adaptedIncrement, BYTE),
+                                          configuredConfig.getMaxBufferSize());
+  }
+
+  /**
+   * @param percentile a value between 0 and 1
+   * @return the upper bound of the bucket holding the given percentile of the recorded sizes, or {@code -1} if there are no
+   *         samples
+   */
+  public long getPercentile(double percentile) {
+    long[] counts = new long[buckets.length()];
+    long total = 0;
+    for (int i = 0; i < counts.length; i++) {
+      counts[i] = buckets.get(i);
+      total += counts[i];
+    }
+    if (total == 0) {
+      return -1;
+    }
+
+    long threshold = (long) Math.ceil(total * percentile);
+    long accumulated = 0;
+    for (int i = 0; i < counts.length; i++) {
+      accumulated += counts[i];
+      if (accumulated >= threshold) {
+        return upperBoundOf(i);
+      }
+    }
+    return upperBoundOf(counts.length - 1);
+  }
+
+  /**
+   * @return the amount of payloads recorded
+   */
+  public long getSamplesCount() {
+    return totalSamples.get();
+  }
+
+  /**
+   * @return the amount of times the buffers of the recorded payloads were expanded
+   */
+  public long getExpansionsCount() {
+    return expansions.get();
+  }
+
+  /**
+   * @return the amount of times the buffers of the recorded payloads would have been expanded using the configured sizes
+   */
+  public long getExpansionsWithConfiguredSizesCount() {
+    return expansionsWithConfiguredSizes.get();
+  }
+
+  /**
+   * @return the initial buffer size currently recommended, or {@code -1} if there are not enough samples yet
+   */
+  public int getRecommendedInitialBufferSize() {
+    return recommendedInitialSize;
+  }
+
+  /**
+   * @return the buffer size increment currently recommended, or {@code -1} if there are not enough samples yet
+   */
+  public int getRecommendedBufferSizeIncrement() {
+    return recommendedIncrement;
+  }
+
+  private void recompute() {
+    long initial = max(MIN_INITIAL_BUFFER_SIZE, getPercentile(INITIAL_SIZE_PERCENTILE));
+    long expanded = getPercentile(EXPANDED_SIZE_PERCENTILE);
+
+    recommendedInitialSize = (int) min(initial, Integer.MAX_VALUE);
+    recommendedIncrement = (int) min(max(0, expanded - initial), Integer.MAX_VALUE);
+  }
+
+  private synchronized void decay() {
+    if (samples.get() < DECAY_SAMPLES) {
+      // another thread already did it
+      return;
+    }
+
+    long remaining = 0;
+    for (int i = 0; i < buckets.length(); i++) {
+      long halved = buckets.get(i) / 2;
+      buckets.set(i, halved);
+      remaining += halved;
+    }
+    samples.set(remaining);
+    recompute();
+  }
+
+  private static int bucketOf(long size) {
+    return size <= 0 ? 0 : Long.SIZE - numberOfLeadingZeros(size - 1);
+  }
+
+  private static long upperBoundOf(int bucket) {
+    return bucket >= Long.SIZE - 1 ? Long.MAX_VALUE : 1L << bucket;
+  }
+
+  /**
+   * @return how many times an {@link InMemoryStreamBuffer} with the given {@code config} is expanded to hold
+   *         {@code payloadSize} bytes
+   */
+  static long expansionsFor(long payloadSize, InMemoryCursorStreamConfig config) {
+    long initial = config.getInitialBufferSize().toBytes();
+    long increment = config.getBufferSizeIncrement().toBytes();
+    if (payloadSize <= initial || increment == 0) {
+      return 0;
+    }
+    return (payloadSize - initial + increment - 1) / increment;
+  }
+}
@@ -0,0 +1,143 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.ManagedByteBufferWrapper;
+import org.mule.runtime.core.internal.streaming.FlowStreamingStatistics;
+import org.mule.runtime.core.internal.streaming.StreamingQuota;
+import org.mule.runtime.core.internal.streaming.StreamingQuotaManager;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link ByteBufferManager} decorator which accounts the allocated buffers against the {@link StreamingQuota quotas} of the
+ * component (and flow) that creates each stream, as given by a {@link StreamingQuotaManager}.
+ * <p>
+ * This instance itself doesn't know the location of the streams, so it just delegates. Stream providers obtain the manager for
+ * their location through {@link #forLocation(ComponentLocation)}.
+ *
+ * @since 4.4.0
+ */
+public class QuotaByteBufferManager implements ByteBufferManager {
+
+  private final ByteBufferManager delegate;
+  private final StreamingQuotaManager quotaManager;
+
+  /**
+   * Creates a new instance
+   *
+   * @param delegate     the {@link ByteBufferManager} which actually allocates the buffers and enforces the application cap
+   * @param quotaManager the {@link StreamingQuotaManager} providing the quotas and statistics of each location
+   */
+  public QuotaByteBufferManager(ByteBufferManager delegate, StreamingQuotaManager quotaManager) {
+    this.delegate = delegate;
+    this.quotaManager = quotaManager;
+  }
+
+  /**
+   * Notifies the manager through which a stream is buffered that the stream didn't fit in memory and is being spilled to disk.
+   *
+   * @param bufferManager the {@link ByteBufferManager} of the spilled stream
+   */
+  public static void onSpill(ByteBufferManager bufferManager) {
+    if (bufferManager instanceof LocationQuotaByteBufferManager) {
+      ((LocationQuotaByteBufferManager) bufferManager).statistics.incrementSpills();
+    }
+  }
+
+  /**
+   * @param location the location of the component creating the stream. May be {@code null}
+   * @return a {@link ByteBufferManager} which accounts the buffers against the quotas of the given {@code location}
+   */
+  public ByteBufferManager forLocation(ComponentLocation location) {
+    return new LocationQuotaByteBufferManager(quotaManager.quotaFor(location), quotaManager.statisticsFor(location));
+  }
+
+  @Override
+  public ByteBuffer allocate(int capacity) {
+    return delegate.allocate(capacity);
+  }
+
+  @Override
+  public ManagedByteBufferWrapper allocateManaged(int capacity) {
+    return delegate.allocateManaged(capacity);
+  }
+
+  @Override
+  public void deallocate(ByteBuffer byteBuffer) {
+    delegate.deallocate(byteBuffer);
+  }
+
+  private class LocationQuotaByteBufferManager implements ByteBufferManager {
+
+    private final StreamingQuota quota;
+    private final FlowStreamingStatistics statistics;
+
+    private LocationQuotaByteBufferManager(StreamingQuota quota, FlowStreamingStatistics statistics) {
+      this.quota = quota;
+      this.statistics = statistics;
+    }
+
+    @Override
+    public ByteBuffer allocate(int capacity) {
+      reserve(capacity);
+      try {
+        return delegate.allocate(capacity);
+      } catch (RuntimeException e) {
+        unreserve(capacity);
+        throw e;
+      }
+    }
+
+    @Override
+    public ManagedByteBufferWrapper allocateManaged(int capacity) {
+      reserve(capacity);
+      final ManagedByteBufferWrapper wrapper;
+      try {
+        wrapper = delegate.allocateManaged(capacity);
+      } catch (RuntimeException e) {
+        unreserve(capacity);
+        throw e;
+      }
+
+      return new ManagedByteBufferWrapper(wrapper.getDelegate(), w -> {
+        try {
+          wrapper.release();
+        } finally {
+          unreserve(capacity);
+        }
+      });
+    }
+
+    @Override
+    public void deallocate(ByteBuffer byteBuffer) {
+      final int capacity = byteBuffer.capacity();
+      try {
+        delegate.deallocate(byteBuffer);
+      } finally {
+        unreserve(capacity);
+      }
+    }
+
+    private void reserve(int capacity) {
+      try {
+        quota.reserve(capacity);
+      } catch (MaxStreamingMemoryExceededException e) {
+        statistics.incrementThrottledAllocations();
+        throw e;
+      }
+      statistics.addBufferedBytes(capacity);
+    }
+
+    private void unreserve(int capacity) {
+      quota.release(capacity);
+      statistics.addBufferedBytes(-capacity);
+    }
+  }
+}
@@ -0,0 +1,99 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes.factory;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.event.EventContext;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.streaming.StreamingManager;
+import org.mule.runtime.core.api.streaming.bytes.ByteBufferManager;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamProvider;
+import org.mule.runtime.core.api.streaming.bytes.factory.AbstractCursorStreamProviderFactory;
+import org.mule.runtime.core.internal.streaming.bytes.PayloadSizeStatistics;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.function.Function;
+
+import org.apache.commons.io.input.CountingInputStream;
+
+/**
+ * An implementation of {@link AbstractCursorStreamProviderFactory} which generates instances of
+ * {@link InMemoryCursorStreamProvider} whose buffer sizes are adapted to the payloads that the originating component has
+ * produced so far, as tracked by its {@link PayloadSizeStatistics}.
+ * <p>
+ * The size of each payload is recorded once its provider is closed, which is when the buffer closes the wrapped stream.
+ *
+ * @since 4.4.0
+ */
+public class AdaptiveInMemoryCursorStreamProviderFactory extends AbstractCursorStreamProviderFactory {
+
+  private final InMemoryCursorStreamConfig config;
+  private final Function<ComponentLocation, PayloadSizeStatistics> statisticsResolver;
+
+  /**
+   * Creates a new instance
+   *
+   * @param bufferManager      the {@link ByteBufferManager} that will be used to allocate all buffers
+   * @param config             the configured sizes, used as a starting point and to bound the adapted ones
+   * @param streamingManager   the {@link StreamingManager} which manages the generated providers
+   * @param statisticsResolver provides the {@link PayloadSizeStatistics} for the component at a given location
+   */
+  public AdaptiveInMemoryCursorStreamProviderFactory(ByteBufferManager bufferManager,
+                                                     InMemoryCursorStreamConfig config,
+                                                     StreamingManager streamingManager,
+                                                     Function<ComponentLocation, PayloadSizeStatistics> statisticsResolver) {
+    super(bufferManager, streamingManager);
+    this.config = config;
+    this.statisticsResolver = statisticsResolver;
+  }
+
+  @Override
+  protected Object resolve(InputStream inputStream, EventContext eventContext, ComponentLocation originatingLocation) {
+    return doResolve(inputStream, originatingLocation);
+  }
+
+  @Override
+  protected Object resolve(InputStream inputStream, CoreEvent event, ComponentLocation originatingLocation) {
+    return doResolve(inputStream, originatingLocation);
+  }
+
+  private Object doResolve(InputStream inputStream, ComponentLocation originatingLocation) {
+    final PayloadSizeStatistics statistics = statisticsResolver.apply(originatingLocation);
+    final InMemoryCursorStreamConfig adaptedConfig = statistics.recommend(config);
+
+    return new InMemoryCursorStreamProvider(new SizeRecordingInputStream(inputStream, statistics, adaptedConfig),
+                                            adaptedConfig, getBufferManager(originatingLocation), originatingLocation,
+                                            trackCursorProviderClose);
+  }
+
+  private class SizeRecordingInputStream extends CountingInputStream {
+
+    private final PayloadSizeStatistics statistics;
+    private final InMemoryCursorStreamConfig usedConfig;
+    private boolean recorded = false;
+
+    private SizeRecordingInputStream(InputStream in, PayloadSizeStatistics statistics, InMemoryCursorStreamConfig usedConfig) {
+      super(in);
+      this.statistics = statistics;
+      this.usedConfig = usedConfig;
+    }
+
+    @Override
+    public void close() throws IOException {
+      try {
+        super.close();
+      } finally {
+        if (!recorded) {
+          recorded = true;
+          statistics.record(getByteCount(), usedConfig, config);
+        }
+      }
+    }
+  }
+}
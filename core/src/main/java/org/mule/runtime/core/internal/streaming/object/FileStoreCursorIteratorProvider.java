@@ -0,0 +1,59 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import org.mule.runtime.api.component.location.ComponentLocation;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.streaming.object.CursorIterator;
+
+import java.util.Iterator;
+
+/**
+ * An implementation of {@link AbstractCursorIteratorProvider} which yields cursors that buffer in memory up to a threshold and
+ * in a temporary file after that.
+ *
+ * @see FileStoreObjectStreamBuffer
+ * @since 4.4.0
+ */
+public class FileStoreCursorIteratorProvider extends AbstractCursorIteratorProvider {
+
+  private final ObjectStreamBuffer buffer;
+
+  /**
+   * Creates a new instance
+   *
+   * @param stream                   the stream to buffer from
+   * @param config                   the config of the generated buffer
+   * @param serializer               the serializer used to write the items which don't fit in memory
+   * @param originatingLocation      indicates where the cursor was created
+   * @param trackCursorProviderClose if the provider should save the stack trace from where it was closed
+   */
+  public FileStoreCursorIteratorProvider(Iterator stream, FileStoreCursorIteratorConfig config, ObjectSerializer serializer,
+                                         ComponentLocation originatingLocation, boolean trackCursorProviderClose) {
+    super(stream, originatingLocation, trackCursorProviderClose);
+    buffer = new FileStoreObjectStreamBuffer(stream, config, serializer);
+    buffer.initialise();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected CursorIterator doOpenCursor() {
+    return new BufferedCursorIterator(buffer, this);
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public void releaseResources() {
+    if (buffer != null) {
+      buffer.close();
+    }
+  }
+}
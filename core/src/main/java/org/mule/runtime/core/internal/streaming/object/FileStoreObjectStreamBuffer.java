@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.object;
+
+import static java.lang.Math.max;
+import static java.lang.Thread.currentThread;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.internal.streaming.TempBufferFileUtils.createBufferFile;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+import org.mule.runtime.api.serialization.ObjectSerializer;
+import org.mule.runtime.api.serialization.SerializationException;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+
+import org.slf4j.Logger;
+
+/**
+ * An {@link AbstractObjectStreamBuffer} implementation which keeps a bounded window of {@link Bucket buckets} in memory and
+ * spills the rest into a temporary file.
+ * <p>
+ * All buckets have the same size, so that any position can be located without consulting the file. Once a bucket is full it
+ * never changes again, so it is serialized at most once, when it is first evicted from the window. Evicted buckets are read
+ * back from the file on demand and take a place in the window again, which is kept in least recently used order.
+ * <p>
+ * Buckets are written into the file using the given {@link ObjectSerializer}, so the items in the stream need to be supported
+ * by it. Items which can't be serialized cause the stream to fail once their bucket is evicted from the window.
+ *
+ * @param <T> The generic type of the items in the stream
+ * @since 4.4.0
+ */
+public class FileStoreObjectStreamBuffer<T> extends AbstractObjectStreamBuffer<T> {
+
+  private static final Logger LOGGER = getLogger(FileStoreObjectStreamBuffer.class);
+
+  private final FileStoreCursorIteratorConfig config;
+  private final ObjectSerializer serializer;
+  private final int windowSize;
+  private final ClassLoader classLoader;
+
+  private final LinkedHashMap<Integer, Bucket<T>> window = new LinkedHashMap<>(16, 0.75f, true);
+  private final Map<Integer, Segment> segments = new HashMap<>();
+
+  private File bufferFile;
+  private FileChannel fileChannel;
+  private long fileTip = 0;
+
+  public FileStoreObjectStreamBuffer(Iterator<T> stream, FileStoreCursorIteratorConfig config, ObjectSerializer serializer) {
+    super(stream);
+    this.config = config;
+    this.serializer = serializer;
+    // the bucket being filled is held apart from the window
+    windowSize = max(1, config.getBucketsCount() - 1);
+    classLoader = currentThread().getContextClassLoader();
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  public Position toPosition(long position) {
+    int bucketSize = config.getBucketSize();
+    return new Position((int) (position / bucketSize), (int) (position % bucketSize));
+  }
+
+  @Override
+  protected void initialize(Optional<Position> maxPosition, Bucket<T> initialBucket) {
+    setCurrentBucket(new Bucket<>(0, config.getBucketSize()));
+  }
+
+  @Override
+  protected Bucket<T> getPresentBucket(Position position) {
+    final int bucketIndex = position.getBucketIndex();
+    Bucket<T> currentBucket = getCurrentBucket();
+    if (currentBucket != null && currentBucket.getIndex() == bucketIndex) {
+      return currentBucket;
+    }
+
+    Segment segment;
+    synchronized (window) {
+      Bucket<T> bucket = window.get(bucketIndex);
+      if (bucket != null) {
+        return bucket;
+      }
+      segment = segments.get(bucketIndex);
+    }
+
+    if (segment == null) {
+      return null;
+    }
+
+    // reading and deserializing are done out of the window lock, so that other cursors are not held back
+    Bucket<T> bucket = readBucket(segment);
+    synchronized (window) {
+      Bucket<T> present = window.get(bucketIndex);
+      if (present != null) {
+        return present;
+      }
+      window.put(bucketIndex, bucket);
+      evict();
+    }
+    return bucket;
+  }
+
+  @Override
+  protected Bucket<T> onBucketOverflow(Bucket<T> overflownBucket) {
+    synchronized (window) {
+      window.put(overflownBucket.getIndex(), overflownBucket);
+      evict();
+    }
+    return new Bucket<>(overflownBucket.getIndex() + 1, config.getBucketSize());
+  }
+
+  @Override
+  protected void validateMaxBufferSizeNotExceeded(int instancesCount) {
+    // the file has no size limit, only the memory window is bounded
+  }
+
+  /**
+   * {@inheritDoc}
+   */
+  @Override
+  protected void doClose() {
+    synchronized (window) {
+      window.clear();
+      segments.clear();
+    }
+
+    if (fileChannel != null) {
+      try {
+        fileChannel.close();
+      } catch (IOException e) {
+        LOGGER.debug("Found exception trying to close buffer file channel", e);
+      }
+    }
+    if (bufferFile != null) {
+      deleteQuietly(bufferFile);
+    }
+  }
+
+  private void evict() {
+    Iterator<Map.Entry<Integer, Bucket<T>>> eldest = window.entrySet().iterator();
+    while (window.size() > windowSize) {
+      Map.Entry<Integer, Bucket<T>> entry = eldest.next();
+      if (!segments.containsKey(entry.getKey())) {
+        segments.put(entry.getKey(), writeBucket(entry.getValue()));
+      }
+      eldest.remove();
+    }
+  }
+
+  private Segment writeBucket(Bucket<T> bucket) {
+    byte[] bytes;
+    try {
+      bytes = serializer.getInternalProtocol().serialize(bucket);
+    } catch (SerializationException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write streamed items into buffer file. "
+          + "Items which don't fit in memory need to be serializable by the runtime's ObjectSerializer"), e);
+    }
+
+    try {
+      if (fileChannel == null) {
+        bufferFile = createBufferFile("iterable");
+        fileChannel = new RandomAccessFile(bufferFile, "rw").getChannel();
+      }
+
+      ByteBuffer buffer = ByteBuffer.wrap(bytes);
+      Segment segment = new Segment(fileTip, buffer.remaining());
+      while (buffer.hasRemaining()) {
+        fileTip += fileChannel.write(buffer, fileTip);
+      }
+
+      return segment;
+    } catch (IOException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not write streamed items into buffer file"), e);
+    }
+  }
+
+  private Bucket<T> readBucket(Segment segment) {
+    try {
+      ByteBuffer buffer = ByteBuffer.allocate(segment.length);
+      while (buffer.hasRemaining()) {
+        if (fileChannel.read(buffer, segment.offset + buffer.position()) == -1) {
+          throw new IOException("Unexpected end of buffer file");
+        }
+      }
+
+      return serializer.getInternalProtocol().deserialize(buffer.array(), classLoader);
+    } catch (IOException | SerializationException e) {
+      throw new MuleRuntimeException(createStaticMessage("Could not read streamed items from buffer file"), e);
+    }
+  }
+
+  private static class Segment {
+
+    private final long offset;
+    private final int length;
+
+    private Segment(long offset, int length) {
+      this.offset = offset;
+      this.length = length;
+    }
+  }
+}
@@ -0,0 +1,87 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util;
+
+import static org.slf4j.LoggerFactory.getLogger;
+
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+
+import org.slf4j.Logger;
+
+/**
+ * Utilities for {@link MappedByteBuffer}s.
+ *
+ * @since 4.4
+ */
+public final class MappedByteBufferUtils {
+
+  private static final Logger LOGGER = getLogger(MappedByteBufferUtils.class);
+
+  private static final Unmapper UNMAPPER = createUnmapper();
+
+  private MappedByteBufferUtils() {}
+
+  /**
+   * Releases the memory mapping of the given buffer right away, instead of waiting for it to be garbage collected. Until then,
+   * the mapped file can't be deleted on some platforms and the mapped region keeps counting against the limits of the process.
+   * <p>
+   * The buffer, and any view of it, must not be used after calling this method. If the mapping can't be released on the current
+   * JVM, this does nothing and the mapping is released when the buffer is garbage collected.
+   *
+   * @param buffer the buffer to unmap. May be {@code null}.
+   */
+  public static void unmap(MappedByteBuffer buffer) {
+    if (buffer == null || UNMAPPER == null) {
+      return;
+    }
+
+    try {
+      UNMAPPER.unmap(buffer);
+    } catch (Exception e) {
+      LOGGER.debug("Could not unmap buffer", e);
+    }
+  }
+
+  private static Unmapper createUnmapper() {
+    try {
+      // Java 9+
+      final Class<?> unsafeClass = Class.forName("sun.misc.Unsafe");
+      final Method invokeCleaner = unsafeClass.getMethod("invokeCleaner", ByteBuffer.class);
+      final Field theUnsafe = unsafeClass.getDeclaredField("theUnsafe");
+      theUnsafe.setAccessible(true);
+      final Object unsafe = theUnsafe.get(null);
+      return buffer -> invokeCleaner.invoke(unsafe, buffer);
+    } catch (NoSuchMethodException e) {
+      // Java 8
+      try {
+        final Method cleaner = Class.forName("sun.nio.ch.DirectBuffer").getMethod("cleaner");
+        final Method clean = Class.forName("sun.misc.Cleaner").getMethod("clean");
+        return buffer -> {
+          final Object bufferCleaner = cleaner.invoke(buffer);
+          if (bufferCleaner != null) {
+            clean.invoke(bufferCleaner);
+          }
+        };
+      } catch (Exception e1) {
+        LOGGER.debug("Mapped buffers will be released when garbage collected", e1);
+        return null;
+      }
+    } catch (Exception e) {
+      LOGGER.debug("Mapped buffers will be released when garbage collected", e);
+      return null;
+    }
+  }
+
+  @FunctionalInterface
+  private interface Unmapper {
+
+    void unmap(ByteBuffer buffer) throws Exception;
+  }
+}
@@ -6,6 +6,9 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.lang.Long.getLong;
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
+
 import org.mule.runtime.api.util.Preconditions;
 
 import com.google.common.collect.LinkedHashMultimap;
@@ -25,12 +28,21 @@ import org.slf4j.LoggerFactory;
  *
  * Keeps a memory cache of the log entries for performance reasons. Once a transaction finishes the client of this class must
  * manually remove the entries related to such transaction to clear the cache.
+ * <p/>
+ * When {@link #GROUP_COMMIT_WINDOW_PROPERTY_KEY} is set, entries logged concurrently are written and forced to disk together
+ * within the configured window, instead of one write per entry. Logging methods still return only once the entry is durable.
  */
 public class TransactionJournal<T, K extends JournalEntry<T>> {
 
   public static final String TX1_LOG_FILE_NAME = "tx1.log";
   public static final String TX2_LOG_FILE_NAME = "tx2.log";
 
+  /**
+   * Time in microseconds that concurrent entries are waited for before forcing a group commit batch to disk. Group commit is
+   * disabled unless this property is set. A value of 0 only batches entries logged while a previous batch was being forced.
+   */
+  public static final String GROUP_COMMIT_WINDOW_PROPERTY_KEY = "mule.journal.groupCommitWindowMicros";
+
   private static final int MAXIMUM_LOG_FILE_ENTRIES = 50000;
   private static final int ONE_MEGABYTE_IN_BYTES = 1024 * 1024;
 
@@ -72,10 +84,12 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
     File logFile2 = new File(logFileDirectory, TX2_LOG_FILE_NAME);
     logger.info(String.format("Using files for tx logs %s and %s", logFile1.getAbsolutePath(), logFile2.getAbsolutePath()));
 
-    this.currentLogFile =
-        new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
-    this.notCurrentLogFile =
-        new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes);
+    Long groupCommitWindowMicros = getLong(GROUP_COMMIT_WINDOW_PROPERTY_KEY);
+    Long groupCommitWindowNanos = groupCommitWindowMicros == null ? null : MICROSECONDS.toNanos(groupCommitWindowMicros);
+    this.currentLogFile = new TransactionJournalFile(logFile1, journalEntrySerializer, transactionCompletePredicate,
+                                                     clearFileMinimumSizeInBytes, groupCommitWindowNanos);
+    this.notCurrentLogFile = new TransactionJournalFile(logFile2, journalEntrySerializer, transactionCompletePredicate,
+                                                        clearFileMinimumSizeInBytes, groupCommitWindowNanos);
     this.transactionCompletePredicate = transactionCompletePredicate;
 
   }
@@ -92,9 +106,14 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the update operation details
    */
-  public synchronized void logUpdateOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
+  public void logUpdateOperation(JournalEntry<T> journalEntry) {
+    final TransactionJournalFile logFile;
+    final long operationSequence;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      operationSequence = logFile.logOperation(journalEntry);
+    }
+    logFile.sync(operationSequence);
   }
 
   /**
@@ -104,12 +123,18 @@ public class TransactionJournal<T, K extends JournalEntry<T>> {
    *
    * @param journalEntry journal entry with the checkpoint operation details
    */
-  public synchronized void logCheckpointOperation(JournalEntry<T> journalEntry) {
-    TransactionJournalFile logFile = determineLogFile(journalEntry.getTxId());
-    logFile.logOperation(journalEntry);
-    if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
-      logFile.clearEntriesForTransaction(journalEntry.getTxId());
+  public void logCheckpointOperation(JournalEntry<T> journalEntry) {
+    final TransactionJournalFile logFile;
+    final long operationSequence;
+    synchronized (this) {
+      logFile = determineLogFile(journalEntry.getTxId());
+      operationSequence = logFile.logOperation(journalEntry);
+      if (transactionCompletePredicate.isTransactionComplete(journalEntry)) {
+        logFile.clearEntriesForTransaction(journalEntry.getTxId());
+      }
     }
+    // done outside the lock so checkpoints of other transactions can join the same batch
+    logFile.sync(operationSequence);
   }
 
   /**
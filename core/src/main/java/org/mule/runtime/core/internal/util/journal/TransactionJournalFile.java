@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.core.internal.util.journal;
 
+import static java.util.concurrent.locks.LockSupport.parkNanos;
 import static org.slf4j.LoggerFactory.getLogger;
 import org.mule.runtime.api.exception.MuleRuntimeException;
 
@@ -13,6 +14,7 @@ import com.google.common.collect.LinkedHashMultimap;
 import com.google.common.collect.Multimap;
 
 import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.EOFException;
@@ -21,15 +23,23 @@ import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.FileOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
+import java.util.concurrent.locks.ReentrantLock;
 
 import org.apache.commons.io.FileUtils;
 import org.slf4j.Logger;
 
 /**
  * Manages a transaction journal file.
+ * <p/>
+ * By default each entry is written to the file as soon as it is logged. When created with a group commit window, entries are
+ * appended to an in-memory batch instead and made durable by {@link #sync(long)}: the first thread to sync becomes the leader,
+ * waits for the window to let concurrent transactions join the batch, and then writes and forces the whole batch at once while
+ * the other threads wait for it.
  *
  * @param <T> type of the transaction identifier
  * @param <K> type of the journal entry
@@ -53,6 +63,20 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
   private DataOutputStream logFileOutputStream;
   private int journalOperations = 0;
 
+  /**
+   * Time in nanoseconds a group commit leader waits for other entries before writing the batch, or {@code null} if each entry is
+   * written as soon as it is logged.
+   */
+  private final Long groupCommitWindowNanos;
+  private final ReentrantLock groupCommitLock = new ReentrantLock();
+  private ByteArrayOutputStream pendingBatch;
+  private FileChannel logFileChannel;
+  private boolean truncatePending = false;
+  private int clearCount = 0;
+  private long loggedOperations = 0;
+  private volatile long syncedOperations = 0;
+  private volatile long logicalFileLength;
+
   /**
    * @param journalFile journal file to use. Will be created if it doesn't exists. If exists then transaction entries will get
    *        loaded from it.
@@ -61,9 +85,24 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    */
   public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
                                 TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes) {
+    this(journalFile, journalEntrySerializer, transactionCompletePredicate, clearFileMinimumSizeInBytes, null);
+  }
+
+  /**
+   * @param journalFile journal file to use. Will be created if it doesn't exists. If exists then transaction entries will get
+   *        loaded from it.
+   * @param journalEntrySerializer serializer for {@link JournalEntry}
+   * @param transactionCompletePredicate a callback to determine if a transaction is complete.
+   * @param groupCommitWindowNanos time a group commit leader waits for other entries to join its batch, or {@code null} to write
+   *        each entry as soon as it is logged.
+   */
+  public TransactionJournalFile(File journalFile, JournalEntrySerializer journalEntrySerializer,
+                                TransactionCompletePredicate transactionCompletePredicate, Long clearFileMinimumSizeInBytes,
+                                Long groupCommitWindowNanos) {
     this.journalFile = journalFile;
     this.journalEntrySerializer = journalEntrySerializer;
     this.clearFileMinimumSizeInBytes = clearFileMinimumSizeInBytes;
+    this.groupCommitWindowNanos = groupCommitWindowNanos;
     if (journalFile.exists()) {
       loadAllEntries(transactionCompletePredicate);
     }
@@ -72,13 +111,107 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
 
   /**
    * Adds a journal entry for an operation done over a transactional resource
-   * 
+   * <p/>
+   * In group commit mode the entry is only added to the pending batch. {@link #sync(long)} must be called with the returned value
+   * for the entry to be made durable.
+   *
    * @param journalEntry operation details
+   * @return the sequence number of the logged operation, to be used with {@link #sync(long)}
    */
-  public synchronized void logOperation(K journalEntry) {
+  public synchronized long logOperation(K journalEntry) {
     entries.put(journalEntry.getTxId(), journalEntry);
-    journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
+    if (isGroupCommit()) {
+      int sizeBefore = pendingBatch.size();
+      journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
+      logicalFileLength += pendingBatch.size() - sizeBefore;
+    } else {
+      journalEntrySerializer.serialize(journalEntry, logFileOutputStream);
+    }
     journalOperations++;
+    return ++loggedOperations;
+  }
+
+  /**
+   * Blocks until the operation with the given sequence number, and all the ones logged before it, are forced to the journal
+   * file. Must not be called while holding the monitor of this journal file, so other operations can join the batch.
+   * <p/>
+   * Does nothing if this journal file does not use group commit, since operations are written as soon as they are logged.
+   *
+   * @param operationSequence value returned by {@link #logOperation(JournalEntry)}
+   */
+  public void sync(long operationSequence) {
+    if (!isGroupCommit() || syncedOperations >= operationSequence) {
+      return;
+    }
+
+    groupCommitLock.lock();
+    try {
+      // a previous leader may have already written the batch this operation belongs to
+      if (syncedOperations >= operationSequence) {
+        return;
+      }
+      if (groupCommitWindowNanos > 0) {
+        parkNanos(groupCommitWindowNanos);
+      }
+      writePendingBatch();
+    } finally {
+      groupCommitLock.unlock();
+    }
+  }
+
+  /**
+   * Writes and forces the pending batch. Must be called holding the {@link #groupCommitLock} and NOT holding this object
+   * monitor.
+   */
+  private void writePendingBatch() {
+    final byte[] batch;
+    final long batchOperations;
+    final boolean truncate;
+    final FileChannel channel;
+    final int batchClearCount;
+    synchronized (this) {
+      batch = pendingBatch.toByteArray();
+      pendingBatch.reset();
+      batchOperations = loggedOperations;
+      truncate = truncatePending;
+      truncatePending = false;
+      channel = logFileChannel;
+      batchClearCount = clearCount;
+    }
+
+    try {
+      if (truncate) {
+        channel.truncate(0);
+      }
+      if (batch.length > 0) {
+        ByteBuffer buffer = ByteBuffer.wrap(batch);
+        while (buffer.hasRemaining()) {
+          channel.write(buffer);
+        }
+      }
+      if (truncate || batch.length > 0) {
+        channel.force(false);
+      }
+    } catch (IOException e) {
+      synchronized (this) {
+        if (batchClearCount != clearCount) {
+          // the journal was cleared meanwhile, so the batch is no longer needed
+          throw new MuleRuntimeException(e);
+        }
+        // keep the batch so it is retried by the next leader instead of reporting its operations as durable
+        byte[] laterOperations = pendingBatch.toByteArray();
+        pendingBatch.reset();
+        pendingBatch.write(batch, 0, batch.length);
+        pendingBatch.write(laterOperations, 0, laterOperations.length);
+        truncatePending |= truncate;
+      }
+      throw new MuleRuntimeException(e);
+    }
+    syncedOperations = batchOperations;
+  }
+
+  private boolean isGroupCommit() {
+    return groupCommitWindowNanos != null;
   }
 
   /**
@@ -119,9 +252,28 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    *
    * Will not remove the transaction context.
    */
-  public synchronized void close() {
+  public void close() {
+    if (isGroupCommit()) {
+      groupCommitLock.lock();
+      try {
+        writePendingBatch();
+        closeLogOutputStream();
+      } finally {
+        groupCommitLock.unlock();
+      }
+    } else {
+      closeLogOutputStream();
+    }
+  }
+
+  private synchronized void closeLogOutputStream() {
     try {
-      logFileOutputStream.close();
+      if (logFileOutputStream != null) {
+        logFileOutputStream.close();
+      }
+      if (logFileChannel != null) {
+        logFileChannel.close();
+      }
     } catch (IOException e) {
       LOGGER.warn(e.getMessage());
       if (LOGGER.isDebugEnabled()) {
@@ -156,8 +308,16 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * Remove all the entries from the transaction journal and cleans the transaction journal fle.
    */
   public synchronized void clear() {
-    close();
     entries.clear();
+    if (isGroupCommit() && logFileChannel != null) {
+      // the file is truncated by the next batch write, so the journal monitor is not held while doing IO
+      pendingBatch.reset();
+      truncatePending = true;
+      clearCount++;
+      logicalFileLength = 0;
+      return;
+    }
+    closeLogOutputStream();
     FileUtils.deleteQuietly(journalFile);
     createLogOutputStream();
   }
@@ -171,7 +331,14 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
       }
     }
     try {
-      this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
+      if (isGroupCommit()) {
+        this.logFileChannel = new FileOutputStream(journalFile, true).getChannel();
+        this.logicalFileLength = journalFile.length();
+        this.pendingBatch = new ByteArrayOutputStream();
+        this.logFileOutputStream = new DataOutputStream(pendingBatch);
+      } else {
+        this.logFileOutputStream = new DataOutputStream(new FileOutputStream(journalFile, true));
+      }
     } catch (FileNotFoundException e) {
       throw new MuleRuntimeException(e);
     }
@@ -249,6 +416,10 @@ class TransactionJournalFile<T, K extends JournalEntry<T>> {
    * @return the file length in bytes
    */
   public long fileLength() {
+    if (isGroupCommit()) {
+      // includes the pending batch and discards a pending truncation, as if entries were written as soon as they are logged
+      return logicalFileLength;
+    }
     return journalFile.length();
   }
 }
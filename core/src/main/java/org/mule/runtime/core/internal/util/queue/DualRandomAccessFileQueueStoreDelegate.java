@@ -29,11 +29,21 @@ import java.util.concurrent.locks.ReentrantReadWriteLock;
  * Entries are stored in the queue file until a certain size in the file. After that size is reached a new file is created and
  * used to store new entries until the previous file queue entries are consumed, in which case the file is cleaned and reused for
  * new entries once the second files gets full.
+ * <p/>
+ * When {@link #SEGMENTED_QUEUE_FILES_PROPERTY_KEY} is set, each of the files is a {@link SegmentedMappedFileQueueStore}, which
+ * reclaims the space of the consumed entries without waiting for the whole file to be consumed.
  */
 public class DualRandomAccessFileQueueStoreDelegate extends AbstractQueueStoreDelegate
     implements TransactionalQueueStoreDelegate {
 
   public static final String MAX_LENGTH_PER_FILE_PROPERTY_KEY = "mule.queue.maxlength";
+  /**
+   * System property to store the queue data in {@link SegmentedMappedFileQueueStore}s instead of
+   * {@link RandomAccessFileQueueStore}s. Both force each write to the storage device, unless
+   * {@link SegmentedMappedFileQueueStore#SYNC_WRITES_PROPERTY_KEY} is set to {@code false}, in which case entries written by the
+   * segmented stores may be lost if the operating system crashes.
+   */
+  public static final String SEGMENTED_QUEUE_FILES_PROPERTY_KEY = "mule.queue.segmented";
   private static final int ONE_MEGABYTE = 1024 * 1024;
   private static final String QUEUE_STORE_DIRECTORY = "queuestore";
   private static final Integer MAXIMUM_QUEUE_FILE_SIZE_IN_BYTES =
@@ -41,15 +51,16 @@ public class DualRandomAccessFileQueueStoreDelegate extends AbstractQueueStoreDe
   private static final String QUEUE_STORE_1_SUFFIX = "-1";
   private static final String QUEUE_STORE_2_SUFFIX = "-2";
   private static final Object QUEUE_DATA_CONTROL_SUFFIX = "-crl";
+  private static final boolean SEGMENTED_QUEUE_FILES = Boolean.getBoolean(SEGMENTED_QUEUE_FILES_PROPERTY_KEY);
 
   protected final Logger logger = LoggerFactory.getLogger(this.getClass());
   private final ObjectSerializer serializer;
   private final ReadWriteLock filesLock;
   private final QueueControlDataFile queueControlDataFile;
-  private RandomAccessFileQueueStore writeFile;
-  private RandomAccessFileQueueStore readFile;
-  private RandomAccessFileQueueStore randomAccessFileQueueStore1;
-  private RandomAccessFileQueueStore randomAccessFileQueueStore2;
+  private FileQueueStore writeFile;
+  private FileQueueStore readFile;
+  private FileQueueStore randomAccessFileQueueStore1;
+  private FileQueueStore randomAccessFileQueueStore2;
 
   public DualRandomAccessFileQueueStoreDelegate(String queueName, String workingDirectory, MuleContext muleContext,
                                                 int capacity) {
@@ -60,10 +71,8 @@ public class DualRandomAccessFileQueueStoreDelegate extends AbstractQueueStoreDe
       Preconditions.checkState(queuesDirectory.mkdirs(),
                                "Could not create queue store directory " + queuesDirectory.getAbsolutePath());
     }
-    randomAccessFileQueueStore1 =
-        new RandomAccessFileQueueStore(new QueueFileProvider(queuesDirectory, queueName + QUEUE_STORE_1_SUFFIX));
-    randomAccessFileQueueStore2 =
-        new RandomAccessFileQueueStore(new QueueFileProvider(queuesDirectory, queueName + QUEUE_STORE_2_SUFFIX));
+    randomAccessFileQueueStore1 = createFileQueueStore(new QueueFileProvider(queuesDirectory, queueName + QUEUE_STORE_1_SUFFIX));
+    randomAccessFileQueueStore2 = createFileQueueStore(new QueueFileProvider(queuesDirectory, queueName + QUEUE_STORE_2_SUFFIX));
     queueControlDataFile = new QueueControlDataFile(new QueueFileProvider(queuesDirectory, queueName + QUEUE_DATA_CONTROL_SUFFIX),
                                                     randomAccessFileQueueStore1.getFile(), randomAccessFileQueueStore2.getFile());
     writeFile = queueControlDataFile.getCurrentWriteFile().getAbsolutePath()
@@ -84,6 +93,11 @@ public class DualRandomAccessFileQueueStoreDelegate extends AbstractQueueStoreDe
     return queueControlDataFile;
   }
 
+  private static FileQueueStore createFileQueueStore(QueueFileProvider queueFileProvider) {
+    return SEGMENTED_QUEUE_FILES ? new SegmentedMappedFileQueueStore(queueFileProvider)
+        : new RandomAccessFileQueueStore(queueFileProvider);
+  }
+
   private static File getQueuesDirectory(String workingDirectory) {
     return new File(workingDirectory + File.separator + QUEUE_STORE_DIRECTORY);
   }
@@ -280,7 +294,7 @@ public class DualRandomAccessFileQueueStoreDelegate extends AbstractQueueStoreDe
     }
   }
 
-  private RandomAccessFileQueueStore nextReadFile() {
+  private FileQueueStore nextReadFile() {
     return readFile == randomAccessFileQueueStore1 ? randomAccessFileQueueStore2 : randomAccessFileQueueStore1;
   }
 
@@ -0,0 +1,120 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import java.io.File;
+import java.util.Collection;
+
+/**
+ * Basic queueing functionality over raw data stored in files, as used by {@link DualRandomAccessFileQueueStoreDelegate}.
+ *
+ * @since 4.4.0
+ */
+interface FileQueueStore {
+
+  /**
+   * @return the File that identifies where the content is stored.
+   */
+  File getFile();
+
+  /**
+   * Adds element at the end of the queue.
+   *
+   * @param element element to add
+   */
+  void addLast(byte[] element);
+
+  /**
+   * Remove and returns data from the queue.
+   *
+   * @return data from the beginning of the queue.
+   * @throws InterruptedException
+   */
+  byte[] removeFirst() throws InterruptedException;
+
+  /**
+   * Retrieves the first element from the queue without removing it.
+   *
+   * @return first element from the queue.
+   * @throws InterruptedException
+   */
+  byte[] getFirst() throws InterruptedException;
+
+  /**
+   * Adds an element in the beginning of the queue.
+   *
+   * @param item element to add.
+   * @throws InterruptedException
+   */
+  void addFirst(byte[] item) throws InterruptedException;
+
+  /**
+   * @return the size of the queue.
+   */
+  int getSize();
+
+  /**
+   * removes all the elements from the queue.
+   */
+  void clear();
+
+  /**
+   * Adds a collection of elements at the end of the queue.
+   *
+   * @param items collection of elements to add.
+   * @return true if it were able to add them all, false otherwise.
+   */
+  boolean addAll(Collection<? extends byte[]> items);
+
+  /**
+   * Use this method carefully since it required bit amount of IO.
+   *
+   * @return all the elements from the queue.
+   * @throws InterruptedException
+   */
+  Collection<byte[]> allElements() throws InterruptedException;
+
+  /**
+   * @return true if there's no elements in the queue, false otherwise
+   */
+  boolean isEmpty();
+
+  /**
+   * Removes data from the queue according to a {@link RawDataSelector} instance that determines if a certain element must be
+   * removed.
+   *
+   * @param rawDataSelector to determine if the element must be removed.
+   * @return true if an element was removed
+   */
+  boolean remove(RawDataSelector rawDataSelector);
+
+  /**
+   * Searches for data within the queue store using a {@link RawDataSelector}
+   *
+   * @param rawDataSelector to determine if the element is the one we are looking for
+   * @return true if an element exists within the queue, false otherwise
+   */
+  boolean contains(RawDataSelector rawDataSelector);
+
+  /**
+   * Free all resources held for the queue.
+   * <p/>
+   * Do not removes elements from the queue.
+   */
+  void close();
+
+  /**
+   * Deletes the files backing this queue. This method must only be invoked after {@link #close()} has been executed on
+   * {@code this} instance
+   */
+  void delete();
+
+  /**
+   * @return the length in bytes of the data held in the files.
+   */
+  long getLength();
+}
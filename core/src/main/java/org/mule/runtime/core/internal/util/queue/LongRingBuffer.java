@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.util.Arrays.copyOf;
+
+import java.util.NoSuchElementException;
+
+/**
+ * Growable double ended queue of primitive {@code long}s, backed by a circular array.
+ * <p/>
+ * Avoids boxing each value and allocating a node per element, as a {@code LinkedList<Long>} would. Not thread safe.
+ */
+class LongRingBuffer {
+
+  private static final int DEFAULT_CAPACITY = 16;
+
+  private long[] elements;
+  private int head = 0;
+  private int size = 0;
+
+  LongRingBuffer() {
+    this(DEFAULT_CAPACITY);
+  }
+
+  LongRingBuffer(int initialCapacity) {
+    int capacity = Integer.highestOneBit(Math.max(initialCapacity, 2) - 1) << 1;
+    elements = new long[capacity];
+  }
+
+  void addLast(long value) {
+    ensureCapacity();
+    elements[(head + size) & (elements.length - 1)] = value;
+    size++;
+  }
+
+  void addFirst(long value) {
+    ensureCapacity();
+    head = (head - 1) & (elements.length - 1);
+    elements[head] = value;
+    size++;
+  }
+
+  long getFirst() {
+    if (size == 0) {
+      throw new NoSuchElementException();
+    }
+    return elements[head];
+  }
+
+  long removeFirst() {
+    long value = getFirst();
+    head = (head + 1) & (elements.length - 1);
+    size--;
+    return value;
+  }
+
+  /**
+   * @param index the position of the element, starting from the head
+   * @return the element at the given position
+   */
+  long get(int index) {
+    if (index < 0 || index >= size) {
+      throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+    }
+    return elements[(head + index) & (elements.length - 1)];
+  }
+
+  /**
+   * Removes the first occurrence of the given value, shifting the following elements.
+   *
+   * @param value the value to remove
+   * @return whether the value was found
+   */
+  boolean remove(long value) {
+    final int mask = elements.length - 1;
+    for (int i = 0; i < size; i++) {
+      if (elements[(head + i) & mask] == value) {
+        for (int j = i; j < size - 1; j++) {
+          elements[(head + j) & mask] = elements[(head + j + 1) & mask];
+        }
+        size--;
+        return true;
+      }
+    }
+    return false;
+  }
+
+  int size() {
+    return size;
+  }
+
+  boolean isEmpty() {
+    return size == 0;
+  }
+
+  void clear() {
+    head = 0;
+    size = 0;
+  }
+
+  private void ensureCapacity() {
+    if (size < elements.length) {
+      return;
+    }
+
+    long[] grown = copyOf(elements, elements.length << 1);
+    // move the wrapped part after the previous end so the elements are contiguous again
+    System.arraycopy(elements, 0, grown, elements.length, head);
+    elements = grown;
+  }
+}
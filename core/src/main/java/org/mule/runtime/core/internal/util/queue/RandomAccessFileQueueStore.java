@@ -24,7 +24,7 @@ import java.util.List;
 /**
  * Basic queueing functionality with file storage.
  */
-class RandomAccessFileQueueStore {
+class RandomAccessFileQueueStore implements FileQueueStore {
 
   private final Logger logger = LoggerFactory.getLogger(this.getClass());
   static final int CONTROL_DATA_SIZE = 5;
@@ -44,6 +44,7 @@ class RandomAccessFileQueueStore {
   /**
    * @return the File where the content is stored.
    */
+  @Override
   public File getFile() {
     return this.queueFileProvider.getFile();
   }
@@ -53,6 +54,7 @@ class RandomAccessFileQueueStore {
    *
    * @param element element to add
    */
+  @Override
   public synchronized void addLast(byte[] element) {
     long filePointer = writeData(element);
     orderedKeys.addLast(filePointer);
@@ -64,6 +66,7 @@ class RandomAccessFileQueueStore {
    * @return data from the beginning of the queue.
    * @throws InterruptedException
    */
+  @Override
   public synchronized byte[] removeFirst() throws InterruptedException {
     try {
       if (orderedKeys.isEmpty()) {
@@ -86,6 +89,7 @@ class RandomAccessFileQueueStore {
    * @return first element from the queue.
    * @throws InterruptedException
    */
+  @Override
   public synchronized byte[] getFirst() throws InterruptedException {
     return readFirstValue();
   }
@@ -96,6 +100,7 @@ class RandomAccessFileQueueStore {
    * @param item element to add.
    * @throws InterruptedException
    */
+  @Override
   public synchronized void addFirst(byte[] item) throws InterruptedException {
     orderedKeys.addFirst(writeData(item));
   }
@@ -103,6 +108,7 @@ class RandomAccessFileQueueStore {
   /**
    * @return the size of the queue.
    */
+  @Override
   public int getSize() {
     return orderedKeys.size();
   }
@@ -110,6 +116,7 @@ class RandomAccessFileQueueStore {
   /**
    * removes all the elements from the queue.
    */
+  @Override
   public synchronized void clear() {
     try {
       queueFileProvider.getRandomAccessFile().close();
@@ -127,6 +134,7 @@ class RandomAccessFileQueueStore {
    * @param items collection of elements to add.
    * @return true if it were able to add them all, false otherwise.
    */
+  @Override
   public synchronized boolean addAll(Collection<? extends byte[]> items) {
     for (byte[] item : items) {
       addLast(item);
@@ -140,6 +148,7 @@ class RandomAccessFileQueueStore {
    * @return all the elements from the queue.
    * @throws InterruptedException
    */
+  @Override
   public synchronized Collection<byte[]> allElements() throws InterruptedException {
     List<byte[]> elements = new LinkedList<>();
     try {
@@ -167,6 +176,7 @@ class RandomAccessFileQueueStore {
   /**
    * @return true if there's no elements in the queue, false otherwise
    */
+  @Override
   public boolean isEmpty() {
     return orderedKeys.isEmpty();
   }
@@ -178,6 +188,7 @@ class RandomAccessFileQueueStore {
    * @param rawDataSelector to determine if the element must be removed.
    * @return true if an element was removed
    */
+  @Override
   public synchronized boolean remove(RawDataSelector rawDataSelector) {
     try {
       queueFileProvider.getRandomAccessFile().seek(0);
@@ -209,6 +220,7 @@ class RandomAccessFileQueueStore {
    * <p/>
    * Do not removes elements from the queue.
    */
+  @Override
   public synchronized void close() {
     try {
       this.queueFileProvider.close();
@@ -228,6 +240,7 @@ class RandomAccessFileQueueStore {
    * Deletes the files backing this queue. This method must only be invoked after {@link #close()} has been executed on
    * {@code this} instance
    */
+  @Override
   public synchronized void delete() {
     queueFileProvider.delete();
   }
@@ -311,6 +324,7 @@ class RandomAccessFileQueueStore {
   /**
    * @return the length of the file in bytes.
    */
+  @Override
   public long getLength() {
     return fileTotalSpace;
   }
@@ -321,6 +335,7 @@ class RandomAccessFileQueueStore {
    * @param rawDataSelector to determine if the element is the one we are looking for
    * @return true if an element exists within the queue, false otherwise
    */
+  @Override
   public synchronized boolean contains(RawDataSelector rawDataSelector) {
     try {
       queueFileProvider.getRandomAccessFile().seek(0);
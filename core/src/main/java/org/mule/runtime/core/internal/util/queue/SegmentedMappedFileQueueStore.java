@@ -0,0 +1,525 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.queue;
+
+import static java.lang.Boolean.parseBoolean;
+import static java.lang.Integer.getInteger;
+import static java.lang.System.getProperty;
+import static java.lang.Math.max;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.util.Arrays.sort;
+import static java.util.Comparator.comparingInt;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.core.internal.util.MappedByteBufferUtils.unmap;
+
+import org.mule.runtime.api.exception.MuleRuntimeException;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Queueing functionality with file storage split in memory-mapped segments.
+ * <p/>
+ * Entries are appended to the last segment, and a new segment is created once it is full. A segment file is deleted as soon as
+ * all of its entries are consumed, so space is reclaimed continuously instead of only when the whole queue is drained.
+ * <p/>
+ * Producers and consumers synchronize on separate locks, and only share a short critical section to update the index of entry
+ * positions.
+ * <p/>
+ * Entries added to the head of the queue are written with a distinct status, so that replaying the segments in order rebuilds
+ * the order of the queue on recovery.
+ * <p/>
+ * Each write is forced to the storage device before the operation returns, so that no acknowledged entry is lost even if the
+ * operating system crashes, as with the {@link RandomAccessFileQueueStore}. This may be disabled with
+ * {@link #SYNC_WRITES_PROPERTY_KEY}, in which case writes are only forced when the store is closed. Being memory-mapped, the
+ * written entries still survive a crash of the process, but may be lost if the operating system crashes.
+ *
+ * @since 4.4.0
+ */
+class SegmentedMappedFileQueueStore implements FileQueueStore {
+
+  public static final String SEGMENT_SIZE_PROPERTY_KEY = "mule.queue.segmentSize";
+  private static final int DEFAULT_SEGMENT_SIZE = 4 * 1024 * 1024;
+  public static final String SYNC_WRITES_PROPERTY_KEY = "mule.queue.segmentSyncWrites";
+
+  static final int CONTROL_DATA_SIZE = 5;
+
+  private static final byte END = 0;
+  private static final byte LIVE = 1;
+  private static final byte REMOVED = 2;
+  // live entry that was added to the head of the queue
+  private static final byte LIVE_HEAD = 3;
+
+  // Status of the entries in the files written by RandomAccessFileQueueStore
+  private static final byte LEGACY_NOT_REMOVED = 0;
+
+  private final Logger logger = LoggerFactory.getLogger(this.getClass());
+
+  private final QueueFileProvider queueFileProvider;
+  private final int segmentSize;
+  private final boolean syncWrites;
+
+  private final NavigableMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+  private final AtomicLong length = new AtomicLong();
+
+  // The index of entry positions. Guarded by itself.
+  private final LongRingBuffer positions = new LongRingBuffer();
+  private volatile int size = 0;
+
+  private final Object headLock = new Object();
+  private final Object tailLock = new Object();
+  private volatile Segment tailSegment;
+
+  public SegmentedMappedFileQueueStore(QueueFileProvider queueFileProvider) {
+    this(queueFileProvider, getInteger(SEGMENT_SIZE_PROPERTY_KEY, DEFAULT_SEGMENT_SIZE),
+         parseBoolean(getProperty(SYNC_WRITES_PROPERTY_KEY, "true")));
+  }
+
+  SegmentedMappedFileQueueStore(QueueFileProvider queueFileProvider, int segmentSize, boolean syncWrites) {
+    this.queueFileProvider = queueFileProvider;
+    this.segmentSize = segmentSize;
+    this.syncWrites = syncWrites;
+    initialise();
+  }
+
+  @Override
+  public File getFile() {
+    return queueFileProvider.getFile();
+  }
+
+  @Override
+  public void addLast(byte[] element) {
+    synchronized (tailLock) {
+      long position = write(element, LIVE);
+      synchronized (positions) {
+        positions.addLast(position);
+        size = positions.size();
+      }
+    }
+  }
+
+  @Override
+  public byte[] removeFirst() throws InterruptedException {
+    synchronized (headLock) {
+      long position;
+      synchronized (positions) {
+        if (positions.isEmpty()) {
+          return null;
+        }
+        position = positions.getFirst();
+      }
+
+      byte[] data = read(position);
+      synchronized (positions) {
+        positions.removeFirst();
+        size = positions.size();
+      }
+      markRemoved(position);
+      return data;
+    }
+  }
+
+  @Override
+  public byte[] getFirst() throws InterruptedException {
+    synchronized (headLock) {
+      long position;
+      synchronized (positions) {
+        if (positions.isEmpty()) {
+          return null;
+        }
+        position = positions.getFirst();
+      }
+      return read(position);
+    }
+  }
+
+  @Override
+  public void addFirst(byte[] item) throws InterruptedException {
+    synchronized (headLock) {
+      synchronized (tailLock) {
+        long position = write(item, LIVE_HEAD);
+        synchronized (positions) {
+          positions.addFirst(position);
+          size = positions.size();
+        }
+      }
+    }
+  }
+
+  @Override
+  public int getSize() {
+    return size;
+  }
+
+  @Override
+  public void clear() {
+    synchronized (headLock) {
+      synchronized (tailLock) {
+        synchronized (positions) {
+          positions.clear();
+          size = 0;
+        }
+        for (Segment segment : segments.values()) {
+          unmap(segment.buffer);
+          deleteQuietly(segment.file);
+        }
+        segments.clear();
+        length.set(0);
+        tailSegment = createSegment(1, segmentSize);
+      }
+    }
+  }
+
+  @Override
+  public boolean addAll(Collection<? extends byte[]> items) {
+    synchronized (tailLock) {
+      for (byte[] item : items) {
+        addLast(item);
+      }
+    }
+    return true;
+  }
+
+  @Override
+  public Collection<byte[]> allElements() throws InterruptedException {
+    synchronized (headLock) {
+      synchronized (tailLock) {
+        synchronized (positions) {
+          List<byte[]> elements = new ArrayList<>(positions.size());
+          for (int i = 0; i < positions.size(); i++) {
+            if (Thread.currentThread().isInterrupted()) {
+              throw new InterruptedException();
+            }
+            elements.add(read(positions.get(i)));
+          }
+          return elements;
+        }
+      }
+    }
+  }
+
+  @Override
+  public boolean isEmpty() {
+    return size == 0;
+  }
+
+  @Override
+  public boolean remove(RawDataSelector rawDataSelector) {
+    synchronized (headLock) {
+      synchronized (tailLock) {
+        long selected = -1;
+        synchronized (positions) {
+          for (int i = 0; i < positions.size(); i++) {
+            long position = positions.get(i);
+            if (rawDataSelector.isSelectedData(read(position))) {
+              positions.remove(position);
+              size = positions.size();
+              selected = position;
+              break;
+            }
+          }
+        }
+
+        if (selected < 0) {
+          return false;
+        }
+        markRemoved(selected);
+        return true;
+      }
+    }
+  }
+
+  @Override
+  public boolean contains(RawDataSelector rawDataSelector) {
+    synchronized (headLock) {
+      synchronized (tailLock) {
+        synchronized (positions) {
+          for (int i = 0; i < positions.size(); i++) {
+            if (rawDataSelector.isSelectedData(read(positions.get(i)))) {
+              return true;
+            }
+          }
+          return false;
+        }
+      }
+    }
+  }
+
+  @Override
+  public void close() {
+    synchronized (headLock) {
+      synchronized (tailLock) {
+        for (Segment segment : segments.values()) {
+          segment.buffer.force();
+          unmap(segment.buffer);
+        }
+        segments.clear();
+        try {
+          queueFileProvider.close();
+        } catch (IOException e) {
+          logger.warn(e.getMessage());
+          if (logger.isDebugEnabled()) {
+            logger.debug("Error closing queue store", e);
+          }
+        }
+      }
+    }
+  }
+
+  @Override
+  public void delete() {
+    synchronized (headLock) {
+      synchronized (tailLock) {
+        for (Segment segment : segments.values()) {
+          unmap(segment.buffer);
+        }
+        segments.clear();
+        File[] segmentFiles = listSegmentFiles();
+        for (File segmentFile : segmentFiles) {
+          deleteQuietly(segmentFile);
+        }
+        queueFileProvider.delete();
+      }
+    }
+  }
+
+  @Override
+  public long getLength() {
+    return length.get();
+  }
+
+  /**
+   * Writes the given data into the tail segment, rolling it if there is no room left. Must be called holding the
+   * {@code tailLock}.
+   *
+   * @return the position of the written entry
+   */
+  private long write(byte[] data, byte status) {
+    int entrySize = CONTROL_DATA_SIZE + data.length;
+    Segment segment = tailSegment;
+    if (segment.writePosition + entrySize > segment.capacity) {
+      segment = roll(entrySize);
+    }
+
+    int offset = segment.writePosition;
+    ByteBuffer view = segment.buffer.duplicate();
+    view.position(offset + 1);
+    view.putInt(data.length);
+    view.put(data);
+    // The status goes last so a partially written entry is not recovered
+    segment.buffer.put(offset, status);
+    if (syncWrites) {
+      segment.buffer.force();
+    }
+
+    segment.writePosition = offset + entrySize;
+    segment.liveEntries.incrementAndGet();
+    length.addAndGet(entrySize);
+    return toPosition(segment.sequence, offset);
+  }
+
+  private Segment roll(int entrySize) {
+    Segment previous = tailSegment;
+    Segment next = createSegment(previous.sequence + 1, max(segmentSize, entrySize));
+    tailSegment = next;
+    if (previous.liveEntries.get() == 0) {
+      reclaim(previous);
+    }
+    return next;
+  }
+
+  private byte[] read(long position) {
+    Segment segment = segments.get(toSequence(position));
+    int offset = toOffset(position);
+    byte[] data = new byte[segment.buffer.getInt(offset + 1)];
+    ByteBuffer view = segment.buffer.duplicate();
+    view.position(offset + CONTROL_DATA_SIZE);
+    view.get(data);
+    return data;
+  }
+
+  private void markRemoved(long position) {
+    Segment segment = segments.get(toSequence(position));
+    segment.buffer.put(toOffset(position), REMOVED);
+    if (syncWrites) {
+      segment.buffer.force();
+    }
+
+    // The tail segment is reclaimed when rolled, if it was consumed by then
+    if (segment.liveEntries.decrementAndGet() == 0 && segment != tailSegment) {
+      reclaim(segment);
+    }
+  }
+
+  private void reclaim(Segment segment) {
+    if (segment.reclaimed.compareAndSet(false, true)) {
+      segments.remove(segment.sequence);
+      length.addAndGet(-segment.writePosition);
+      unmap(segment.buffer);
+      deleteQuietly(segment.file);
+    }
+  }
+
+  private Segment createSegment(int sequence, int capacity) {
+    Segment segment = mapSegment(sequence, getSegmentFile(sequence), capacity);
+    segments.put(sequence, segment);
+    return segment;
+  }
+
+  private Segment mapSegment(int sequence, File file, int capacity) {
+    // The mapping remains valid once the channel is closed
+    try (RandomAccessFile randomAccessFile = new RandomAccessFile(file, "rw");
+        FileChannel channel = randomAccessFile.getChannel()) {
+      return new Segment(sequence, file, channel.map(READ_WRITE, 0, capacity));
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private File getSegmentFile(int sequence) {
+    return new File(getFile().getParentFile(), getFile().getName() + "." + sequence);
+  }
+
+  private File[] listSegmentFiles() {
+    final String prefix = getFile().getName() + ".";
+    File[] segmentFiles = getFile().getParentFile()
+        .listFiles((dir, name) -> name.startsWith(prefix) && name.length() > prefix.length()
+            && name.substring(prefix.length()).chars().allMatch(Character::isDigit));
+    if (segmentFiles == null) {
+      return new File[0];
+    }
+    sort(segmentFiles, comparingInt(this::getSegmentSequence));
+    return segmentFiles;
+  }
+
+  private int getSegmentSequence(File segmentFile) {
+    return Integer.parseInt(segmentFile.getName().substring(getFile().getName().length() + 1));
+  }
+
+  private void initialise() {
+    for (File segmentFile : listSegmentFiles()) {
+      int sequence = getSegmentSequence(segmentFile);
+      Segment segment = mapSegment(sequence, segmentFile, (int) segmentFile.length());
+      segments.put(sequence, segment);
+      recoverEntries(segment);
+    }
+
+    if (segments.isEmpty()) {
+      tailSegment = createSegment(1, segmentSize);
+    } else {
+      tailSegment = segments.lastEntry().getValue();
+      for (Segment segment : new ArrayList<>(segments.values())) {
+        if (segment != tailSegment && segment.liveEntries.get() == 0) {
+          reclaim(segment);
+        }
+      }
+    }
+
+    importLegacyEntries();
+  }
+
+  private void recoverEntries(Segment segment) {
+    int offset = 0;
+    while (offset + CONTROL_DATA_SIZE <= segment.capacity) {
+      byte status = segment.buffer.get(offset);
+      int dataLength = segment.buffer.getInt(offset + 1);
+      if (status == END || dataLength < 0 || offset + CONTROL_DATA_SIZE + dataLength > segment.capacity) {
+        break;
+      }
+      // Replaying the additions in the order they were written, skipping the removed ones, rebuilds the order of the queue
+      if (status == LIVE) {
+        positions.addLast(toPosition(segment.sequence, offset));
+        segment.liveEntries.incrementAndGet();
+      } else if (status == LIVE_HEAD) {
+        positions.addFirst(toPosition(segment.sequence, offset));
+        segment.liveEntries.incrementAndGet();
+      }
+      offset += CONTROL_DATA_SIZE + dataLength;
+    }
+
+    segment.writePosition = offset;
+    length.addAndGet(offset);
+    size = positions.size();
+  }
+
+  /**
+   * Moves the entries left in the file by a {@link RandomAccessFileQueueStore} into the segments, so switching the store
+   * implementation doesn't lose the pending entries.
+   */
+  private void importLegacyEntries() {
+    RandomAccessFile legacyFile = queueFileProvider.getRandomAccessFile();
+    try {
+      if (legacyFile.length() == 0) {
+        return;
+      }
+
+      legacyFile.seek(0);
+      try {
+        while (true) {
+          byte status = legacyFile.readByte();
+          byte[] data = new byte[legacyFile.readInt()];
+          legacyFile.readFully(data);
+          if (status == LEGACY_NOT_REMOVED) {
+            addLast(data);
+          }
+        }
+      } catch (EOFException e) {
+        // all the entries were read
+      }
+      legacyFile.setLength(0);
+    } catch (IOException e) {
+      throw new MuleRuntimeException(e);
+    }
+  }
+
+  private static long toPosition(int sequence, int offset) {
+    return ((long) sequence << 32) | offset;
+  }
+
+  private static int toSequence(long position) {
+    return (int) (position >>> 32);
+  }
+
+  private static int toOffset(long position) {
+    return (int) position;
+  }
+
+  private static final class Segment {
+
+    private final int sequence;
+    private final File file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final AtomicInteger liveEntries = new AtomicInteger();
+    private final AtomicBoolean reclaimed = new AtomicBoolean();
+
+    private volatile int writePosition;
+
+    private Segment(int sequence, File file, MappedByteBuffer buffer) {
+      this.sequence = sequence;
+      this.file = file;
+      this.buffer = buffer;
+      this.capacity = buffer.capacity();
+    }
+  }
+}
@@ -0,0 +1,288 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.rx;
+
+import static java.lang.Integer.MAX_VALUE;
+import static java.lang.System.nanoTime;
+import static java.util.Optional.empty;
+import static java.util.Optional.of;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.TimeZone;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+import org.slf4j.Logger;
+
+/**
+ * Wrapper for a {@code Scheduler} that runs each submitted task on its own virtual thread, instead of on a thread of the
+ * wrapped scheduler. Delayed and periodic tasks are still handled by the wrapped scheduler.
+ * <p>
+ * A task blocked on IO parks its virtual thread without holding a platform thread, so the amount of blocking tasks in flight
+ * is not limited by the size of a thread pool. In order to still honour a configured {@code maxConcurrency}, each task has to
+ * acquire a permit when submitted, which is released once the task finishes. If no permit is available the task is rejected
+ * with a {@link RejectedExecutionException}, just like a busy thread pool would, so that callers can apply back-pressure. This
+ * applies to the tasks of {@code invokeAll} and {@code invokeAny} as well.
+ * <p>
+ * Virtual threads are only available starting with Java 21. Use {@link #isVirtualThreadsSupported()} to check whether this
+ * wrapper may be used in the running JVM.
+ *
+ * @since 4.4
+ */
+public class VirtualThreadSchedulerWrapper implements Scheduler {
+
+  private static final Logger LOGGER = getLogger(VirtualThreadSchedulerWrapper.class);
+
+  private static final Optional<Method> VIRTUAL_EXECUTOR_FACTORY = resolveVirtualExecutorFactory();
+
+  private final Scheduler delegate;
+  private final ExecutorService virtualThreadsExecutor;
+  private final Semaphore permits;
+  private final ExecutorService boundedExecutor = new BoundedExecutor();
+
+  /**
+   * @return whether the running JVM is able to create virtual threads.
+   */
+  public static boolean isVirtualThreadsSupported() {
+    return VIRTUAL_EXECUTOR_FACTORY.isPresent();
+  }
+
+  /**
+   * Creates a new wrapper
+   *
+   * @param delegate       the scheduler to use for delayed and periodic tasks, and whose lifecycle is bound to this wrapper.
+   * @param maxConcurrency the maximum amount of tasks that may run at the same time. {@link Integer#MAX_VALUE} means no limit.
+   * @throws IllegalStateException if virtual threads are not supported by the running JVM.
+   */
+  public VirtualThreadSchedulerWrapper(Scheduler delegate, int maxConcurrency) {
+    this(delegate, createVirtualThreadsExecutor(), maxConcurrency);
+  }
+
+  VirtualThreadSchedulerWrapper(Scheduler delegate, ExecutorService virtualThreadsExecutor, int maxConcurrency) {
+    this.delegate = delegate;
+    this.virtualThreadsExecutor = virtualThreadsExecutor;
+    this.permits = maxConcurrency == MAX_VALUE ? null : new Semaphore(maxConcurrency);
+  }
+
+  private static Optional<Method> resolveVirtualExecutorFactory() {
+    try {
+      return of(Executors.class.getMethod("newVirtualThreadPerTaskExecutor"));
+    } catch (NoSuchMethodException e) {
+      LOGGER.debug("Virtual threads are not supported by the running JVM");
+      return empty();
+    }
+  }
+
+  private static ExecutorService createVirtualThreadsExecutor() {
+    if (!isVirtualThreadsSupported()) {
+      throw new IllegalStateException("Virtual threads are not supported by the running JVM");
+    }
+
+    try {
+      return (ExecutorService) VIRTUAL_EXECUTOR_FACTORY.get().invoke(null);
+    } catch (ReflectiveOperationException e) {
+      throw new IllegalStateException("Could not create virtual threads executor", e);
+    }
+  }
+
+  @Override
+  public void execute(Runnable command) {
+    if (permits == null) {
+      virtualThreadsExecutor.execute(command);
+      return;
+    }
+
+    if (!permits.tryAcquire()) {
+      throw new RejectedExecutionException("Max concurrency reached in scheduler '" + getName() + "'");
+    }
+
+    try {
+      virtualThreadsExecutor.execute(() -> {
+        try {
+          command.run();
+        } finally {
+          permits.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public <T> Future<T> submit(Callable<T> task) {
+    FutureTask<T> future = new FutureTask<>(task);
+    execute(future);
+    return future;
+  }
+
+  @Override
+  public <T> Future<T> submit(Runnable task, T result) {
+    FutureTask<T> future = new FutureTask<>(task, result);
+    execute(future);
+    return future;
+  }
+
+  @Override
+  public Future<?> submit(Runnable task) {
+    return submit(task, null);
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks) throws InterruptedException {
+    return boundedExecutor.invokeAll(tasks);
+  }
+
+  @Override
+  public <T> List<Future<T>> invokeAll(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException {
+    return boundedExecutor.invokeAll(tasks, timeout, unit);
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks) throws InterruptedException, ExecutionException {
+    return boundedExecutor.invokeAny(tasks);
+  }
+
+  @Override
+  public <T> T invokeAny(Collection<? extends Callable<T>> tasks, long timeout, TimeUnit unit)
+      throws InterruptedException, ExecutionException, TimeoutException {
+    return boundedExecutor.invokeAny(tasks, timeout, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression) {
+    return delegate.scheduleWithCronExpression(command, cronExpression);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithCronExpression(Runnable command, String cronExpression, TimeZone timeZone) {
+    return delegate.scheduleWithCronExpression(command, cronExpression, timeZone);
+  }
+
+  @Override
+  public ScheduledFuture<?> schedule(Runnable command, long delay, TimeUnit unit) {
+    return delegate.schedule(command, delay, unit);
+  }
+
+  @Override
+  public <V> ScheduledFuture<V> schedule(Callable<V> callable, long delay, TimeUnit unit) {
+    return delegate.schedule(callable, delay, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleAtFixedRate(Runnable command, long initialDelay, long period, TimeUnit unit) {
+    return delegate.scheduleAtFixedRate(command, initialDelay, period, unit);
+  }
+
+  @Override
+  public ScheduledFuture<?> scheduleWithFixedDelay(Runnable command, long initialDelay, long delay, TimeUnit unit) {
+    return delegate.scheduleWithFixedDelay(command, initialDelay, delay, unit);
+  }
+
+  @Override
+  public void stop() {
+    virtualThreadsExecutor.shutdownNow();
+    delegate.stop();
+  }
+
+  @Override
+  public void shutdown() {
+    virtualThreadsExecutor.shutdown();
+    delegate.shutdown();
+  }
+
+  @Override
+  public List<Runnable> shutdownNow() {
+    List<Runnable> pending = new ArrayList<>(virtualThreadsExecutor.shutdownNow());
+    pending.addAll(delegate.shutdownNow());
+    return pending;
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return virtualThreadsExecutor.isShutdown() || delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return virtualThreadsExecutor.isTerminated() && delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+    final long deadline = nanoTime() + unit.toNanos(timeout);
+    return virtualThreadsExecutor.awaitTermination(timeout, unit)
+        && delegate.awaitTermination(deadline - nanoTime(), NANOSECONDS);
+  }
+
+  @Override
+  public String getName() {
+    return delegate.getName();
+  }
+
+  @Override
+  public String toString() {
+    return "VirtualThreadSchedulerWrapper{" + delegate.toString() + "}";
+  }
+
+  /**
+   * Runs the tasks of {@code invokeAll} and {@code invokeAny} through {@link #execute(Runnable)}, so that each one of them takes
+   * a permit as well.
+   */
+  private class BoundedExecutor extends AbstractExecutorService {
+
+    @Override
+    public void execute(Runnable command) {
+      VirtualThreadSchedulerWrapper.this.execute(command);
+    }
+
+    @Override
+    public void shutdown() {
+      VirtualThreadSchedulerWrapper.this.shutdown();
+    }
+
+    @Override
+    public List<Runnable> shutdownNow() {
+      return VirtualThreadSchedulerWrapper.this.shutdownNow();
+    }
+
+    @Override
+    public boolean isShutdown() {
+      return VirtualThreadSchedulerWrapper.this.isShutdown();
+    }
+
+    @Override
+    public boolean isTerminated() {
+      return VirtualThreadSchedulerWrapper.this.isTerminated();
+    }
+
+    @Override
+    public boolean awaitTermination(long timeout, TimeUnit unit) throws InterruptedException {
+      return VirtualThreadSchedulerWrapper.this.awaitTermination(timeout, unit);
+    }
+  }
+}
@@ -0,0 +1,794 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+
+package org.mule.runtime.core.internal.util.store;
+
+import static java.lang.Boolean.getBoolean;
+import static java.lang.Long.getLong;
+import static java.lang.String.format;
+import static java.lang.System.currentTimeMillis;
+import static java.nio.charset.StandardCharsets.UTF_8;
+import static java.nio.file.StandardCopyOption.ATOMIC_MOVE;
+import static java.nio.file.StandardCopyOption.REPLACE_EXISTING;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
+import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
+import static org.mule.runtime.core.api.util.FileUtils.cleanDirectory;
+import static org.mule.runtime.core.internal.util.store.MuleObjectStoreManager.UNBOUNDED;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.store.ObjectAlreadyExistsException;
+import org.mule.runtime.api.store.ObjectDoesNotExistException;
+import org.mule.runtime.api.store.ObjectStoreException;
+import org.mule.runtime.api.store.ObjectStoreNotAvailableException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.privileged.store.DeserializationPostInitialisable;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.Serializable;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.zip.CRC32;
+
+import com.google.common.util.concurrent.Striped;
+import org.slf4j.Logger;
+
+/**
+ * A {@link PersistentObjectStorePartition} which, instead of writing each entry to its own file, appends every operation to a
+ * sequence of segment files.
+ * <p>
+ * An in-memory index maps each live key to the segment and offset of its latest record, so a lookup needs a single positioned
+ * read. The index is periodically written to a snapshot file, so opening the partition only needs to load that snapshot and
+ * replay the records appended after it. Sealed segments whose live data falls under {@link #COMPACTION_THRESHOLD} are compacted
+ * when the partition is expired and after a segment is rolled.
+ * <p>
+ * Appended records are written to the segment files but, unless {@link #SYNC_WRITES_PROPERTY} is set, they are not forced to
+ * the storage device, so entries stored right before an operating system crash or a power loss may be lost. A crash of the
+ * runtime alone doesn't lose any entry.
+ *
+ * @param <T> the serializable entity to be persisted by this partition
+ *
+ * @since 4.4.0
+ */
+public class LogStructuredObjectStorePartition<T extends Serializable> extends PersistentObjectStorePartition<T> {
+
+  private static final Logger LOGGER = getLogger(LogStructuredObjectStorePartition.class);
+
+  public static final String MAX_SEGMENT_SIZE_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectstore.logStructured.maxSegmentSize";
+
+  /**
+   * System property to force every appended record to the storage device before the operation returns. Disabled by default.
+   */
+  public static final String SYNC_WRITES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectstore.logStructured.syncWrites";
+
+  static final String SEGMENT_FILE_EXTENSION = ".seg";
+  static final String INDEX_SNAPSHOT_FILE = "index.snapshot";
+
+  private static final long DEFAULT_MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+  private static final double COMPACTION_THRESHOLD = 0.5;
+  private static final int SNAPSHOT_VERSION = 1;
+  private static final int KEY_LOCK_STRIPES = 64;
+
+  private static final byte PUT = 1;
+  private static final byte REMOVE = 2;
+  // payload length + crc
+  private static final int RECORD_HEADER_SIZE = 8;
+  // type + timestamp + key length
+  private static final int PAYLOAD_HEADER_SIZE = 13;
+
+  private final long maxSegmentSize;
+  private final boolean syncWrites = getBoolean(SYNC_WRITES_PROPERTY);
+
+  private final Map<String, Entry> index = new ConcurrentHashMap<>();
+  private final NavigableMap<Integer, Segment> segments = new ConcurrentSkipListMap<>();
+
+  /*
+   * Lookups and mutations share the read lock, while compaction, snapshotting, clearing and closing take the write lock since
+   * they need the segments to be quiescent. Mutations of the same key are serialized on its stripe, and only reserving space in
+   * the active segment is serialized on appendLock, so the actual writes of unrelated keys happen concurrently.
+   */
+  private final ReadWriteLock segmentsLock = new ReentrantReadWriteLock();
+  private final Striped<Lock> keyLocks = Striped.lock(KEY_LOCK_STRIPES);
+  private final Object appendLock = new Object();
+
+  private volatile Segment activeSegment;
+  private volatile boolean snapshotPending = false;
+  // the first segment that may have been written after the last snapshot
+  private int unsnapshottedSegmentId;
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
+    this(muleContext, partitionName, partitionDirectory, getLong(MAX_SEGMENT_SIZE_PROPERTY, DEFAULT_MAX_SEGMENT_SIZE));
+  }
+
+  LogStructuredObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory,
+                                    long maxSegmentSize) {
+    super(muleContext, partitionName, partitionDirectory);
+    this.maxSegmentSize = maxSegmentSize;
+  }
+
+  public LogStructuredObjectStorePartition(MuleContext muleContext, File partitionDirectory)
+      throws ObjectStoreNotAvailableException {
+    super(muleContext, partitionDirectory);
+    this.maxSegmentSize = getLong(MAX_SEGMENT_SIZE_PROPERTY, DEFAULT_MAX_SEGMENT_SIZE);
+  }
+
+  /**
+   * @param partitionDirectory the directory of an existing partition
+   * @return whether the given directory contains the segment files of a {@link LogStructuredObjectStorePartition}
+   */
+  public static boolean isLogStructuredPartition(File partitionDirectory) {
+    File[] segmentFiles = partitionDirectory.listFiles(file -> file.getName().endsWith(SEGMENT_FILE_EXTENSION));
+    return segmentFiles != null && segmentFiles.length > 0;
+  }
+
+  @Override
+  public synchronized void open() throws ObjectStoreException {
+    super.open();
+
+    segmentsLock.writeLock().lock();
+    try {
+      if (activeSegment != null) {
+        return;
+      }
+      openSegments();
+      if (!loadSnapshot()) {
+        replay(segments.values(), null);
+      }
+      if (segments.isEmpty()) {
+        activeSegment = createSegment(1);
+      } else {
+        activeSegment = segments.lastEntry().getValue();
+      }
+      unsnapshottedSegmentId = segments.firstKey();
+    } catch (IOException e) {
+      closeSegments();
+      index.clear();
+      throw new ObjectStoreException(createStaticMessage(format("Could not restore object store data from %s",
+                                                                getPartitionDirectory().getAbsolutePath())),
+                                     e);
+    } finally {
+      segmentsLock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void close() throws ObjectStoreException {
+    segmentsLock.writeLock().lock();
+    try {
+      closeSegments();
+      index.clear();
+      cleanDirectory(getPartitionDirectory());
+      getPartitionDirectory().delete();
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not close object store partition"), e);
+    } finally {
+      segmentsLock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public void clear() throws ObjectStoreException {
+    segmentsLock.writeLock().lock();
+    try {
+      closeSegments();
+      index.clear();
+      cleanDirectory(getPartitionDirectory());
+      createOrRetrievePartitionDescriptorFile();
+      activeSegment = createSegment(1);
+      unsnapshottedSegmentId = activeSegment.id;
+      snapshotPending = false;
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage("Could not clear ObjectStore"), e);
+    } finally {
+      segmentsLock.writeLock().unlock();
+    }
+  }
+
+  @Override
+  public List<String> allKeys() throws ObjectStoreException {
+    return unmodifiableList(new ArrayList<>(index.keySet()));
+  }
+
+  @Override
+  protected boolean doContains(String key) throws ObjectStoreException {
+    return index.containsKey(key);
+  }
+
+  @Override
+  protected void doStore(String key, T value) throws ObjectStoreException {
+    final byte[] serializedValue = serializer.getInternalProtocol().serialize(value);
+
+    segmentsLock.readLock().lock();
+    try {
+      Lock keyLock = keyLocks.get(key);
+      keyLock.lock();
+      try {
+        if (index.containsKey(key)) {
+          throw new ObjectAlreadyExistsException();
+        }
+        Entry entry = append(PUT, key, serializedValue, currentTimeMillis());
+        segments.get(entry.segmentId).addLive(entry.length);
+        index.put(key, entry);
+      } finally {
+        keyLock.unlock();
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+
+    compactIfRolled();
+  }
+
+  @Override
+  protected T doRetrieve(String key) throws ObjectStoreException {
+    segmentsLock.readLock().lock();
+    try {
+      Entry entry = index.get(key);
+      if (entry == null) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      return load(entry);
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  public Map<String, T> retrieveAll() throws ObjectStoreException {
+    segmentsLock.readLock().lock();
+    try {
+      Map<String, T> values = new LinkedHashMap<>(index.size());
+      for (Map.Entry<String, Entry> indexEntry : index.entrySet()) {
+        values.put(indexEntry.getKey(), load(indexEntry.getValue()));
+      }
+      return values;
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+  }
+
+  @Override
+  protected T doRemove(String key) throws ObjectStoreException {
+    T value;
+
+    segmentsLock.readLock().lock();
+    try {
+      Lock keyLock = keyLocks.get(key);
+      keyLock.lock();
+      try {
+        Entry entry = index.get(key);
+        if (entry == null) {
+          throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+        }
+        value = load(entry);
+        removeEntry(key, entry);
+      } finally {
+        keyLock.unlock();
+      }
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+
+    compactIfRolled();
+    return value;
+  }
+
+  @Override
+  public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
+    segmentsLock.readLock().lock();
+    try {
+      List<Map.Entry<String, Entry>> entries = new ArrayList<>(index.entrySet());
+      entries.sort(comparingLong((Map.Entry<String, Entry> e) -> e.getValue().timestamp)
+          .thenComparingInt(e -> e.getValue().segmentId)
+          .thenComparingLong(e -> e.getValue().offset));
+
+      int startIndex = 0;
+      if (maxEntries != UNBOUNDED) {
+        int excess = entries.size() - maxEntries;
+        for (; startIndex < excess; startIndex++) {
+          expireEntry(entries.get(startIndex));
+        }
+      }
+
+      if (entryTTL != UNBOUNDED) {
+        final long now = currentTimeMillis();
+        for (int i = startIndex; i < entries.size(); i++) {
+          Map.Entry<String, Entry> candidate = entries.get(i);
+          if ((now - candidate.getValue().timestamp) >= entryTTL) {
+            expireEntry(candidate);
+          } else {
+            break;
+          }
+        }
+      }
+    } finally {
+      segmentsLock.readLock().unlock();
+    }
+
+    compactIfNeeded();
+  }
+
+  private void expireEntry(Map.Entry<String, Entry> candidate) throws ObjectStoreException {
+    Lock keyLock = keyLocks.get(candidate.getKey());
+    keyLock.lock();
+    try {
+      // skip the entry if it was removed or replaced since the expiration started
+      if (index.get(candidate.getKey()) == candidate.getValue()) {
+        removeEntry(candidate.getKey(), candidate.getValue());
+      }
+    } finally {
+      keyLock.unlock();
+    }
+  }
+
+  private void compactIfRolled() throws ObjectStoreException {
+    if (snapshotPending) {
+      compact();
+    }
+  }
+
+  /**
+   * Only takes the write lock for compacting if there is a snapshot pending or a sealed segment to compact, so an expiration that
+   * removed nothing doesn't block the other operations on the partition.
+   */
+  private void compactIfNeeded() throws ObjectStoreException {
+    if (snapshotPending) {
+      compact();
+      return;
+    }
+    for (Segment segment : segments.values()) {
+      if (segment != activeSegment && segment.needsCompaction()) {
+        compact();
+        return;
+      }
+    }
+  }
+
+  /**
+   * Rewrites the live records of every sealed segment whose live data is under the {@link #COMPACTION_THRESHOLD} into the active
+   * segment, and deletes those sealed segments afterwards.
+   *
+   * @throws ObjectStoreException if the compaction could not be completed
+   */
+  public void compact() throws ObjectStoreException {
+    segmentsLock.writeLock().lock();
+    try {
+      List<Segment> candidates = new ArrayList<>();
+      for (Segment segment : segments.values()) {
+        if (segment != activeSegment && segment.needsCompaction()) {
+          candidates.add(segment);
+        }
+      }
+      if (candidates.isEmpty()) {
+        if (snapshotPending) {
+          writeSnapshot();
+        }
+        return;
+      }
+
+      int oldestRetainedId = Integer.MAX_VALUE;
+      for (Segment segment : segments.values()) {
+        if (!candidates.contains(segment)) {
+          oldestRetainedId = segment.id;
+          break;
+        }
+      }
+
+      for (Segment candidate : candidates) {
+        copyLiveRecords(candidate, candidate.id < oldestRetainedId);
+      }
+      // The snapshot has to stop referencing the compacted segments before deleting them
+      writeSnapshot();
+
+      for (Segment candidate : candidates) {
+        segments.remove(candidate.id);
+        candidate.channel.close();
+        if (!candidate.file.delete()) {
+          LOGGER.warn("Could not delete compacted object store segment {}", candidate.file.getAbsolutePath());
+        }
+      }
+    } catch (IOException e) {
+      throw new ObjectStoreException(createStaticMessage(format("Could not compact object store partition %s",
+                                                                getPartitionName())),
+                                     e);
+    } finally {
+      segmentsLock.writeLock().unlock();
+    }
+  }
+
+  /*
+   * Must be called holding the lock of the key
+   */
+  private void removeEntry(String key, Entry entry) throws ObjectStoreException {
+    try {
+      append(REMOVE, key, new byte[0], currentTimeMillis());
+    } catch (IOException e) {
+      throw new ObjectStoreException(e);
+    }
+    index.remove(key);
+    segments.get(entry.segmentId).addLive(-entry.length);
+  }
+
+  private T load(Entry entry) throws ObjectStoreException {
+    try {
+      ByteBuffer record = readRecord(segments.get(entry.segmentId).channel, entry.offset, entry.length);
+      record.position(RECORD_HEADER_SIZE + PAYLOAD_HEADER_SIZE - 4);
+      int keyLength = record.getInt();
+      record.position(record.position() + keyLength);
+      byte[] serializedValue = new byte[record.remaining()];
+      record.get(serializedValue);
+
+      T value = serializer.getInternalProtocol().deserialize(serializedValue);
+      if (value instanceof DeserializationPostInitialisable) {
+        DeserializationPostInitialisable.Implementation.init(value, muleContext);
+      }
+      return value;
+    } catch (Exception e) {
+      throw new ObjectStoreException(e);
+    }
+  }
+
+  private Entry append(byte type, String key, byte[] serializedValue, long timestamp) throws IOException {
+    byte[] keyBytes = key.getBytes(UTF_8);
+    int payloadLength = PAYLOAD_HEADER_SIZE + keyBytes.length + serializedValue.length;
+
+    ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + payloadLength);
+    record.putInt(payloadLength);
+    record.putInt(0);
+    record.put(type);
+    record.putLong(timestamp);
+    record.putInt(keyBytes.length);
+    record.put(keyBytes);
+    record.put(serializedValue);
+
+    CRC32 crc = new CRC32();
+    crc.update(record.array(), RECORD_HEADER_SIZE, payloadLength);
+    record.putInt(4, (int) crc.getValue());
+    record.flip();
+
+    return appendRecord(record, timestamp);
+  }
+
+  /**
+   * Reserves space for the record in the active segment, rolling it if full, and writes the record outside of the
+   * {@code appendLock}.
+   */
+  private Entry appendRecord(ByteBuffer record, long timestamp) throws IOException {
+    int length = record.remaining();
+    Segment segment;
+    long offset;
+
+    synchronized (appendLock) {
+      if (activeSegment.size > 0 && activeSegment.size + length > maxSegmentSize) {
+        activeSegment = createSegment(activeSegment.id + 1);
+        // The snapshot is taken once the in-flight writes to the sealed segment are done
+        snapshotPending = true;
+      }
+      segment = activeSegment;
+      offset = segment.size;
+      segment.size += length;
+    }
+
+    writeFully(segment.channel, record, offset);
+    if (syncWrites) {
+      segment.channel.force(false);
+    }
+    return new Entry(segment.id, offset, length, timestamp);
+  }
+
+  private void copyLiveRecords(Segment segment, boolean dropTombstones) throws IOException {
+    long position = 0;
+    while (position < segment.size) {
+      ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+      readFully(segment.channel, header, position);
+      header.flip();
+      int length = RECORD_HEADER_SIZE + header.getInt();
+
+      ByteBuffer record = readRecord(segment.channel, position, length);
+      byte type = record.get(RECORD_HEADER_SIZE);
+      long timestamp = record.getLong(RECORD_HEADER_SIZE + 1);
+      String key = readKey(record);
+
+      Entry current = index.get(key);
+      if (type == PUT) {
+        if (current != null && current.segmentId == segment.id && current.offset == position) {
+          record.rewind();
+          Entry moved = appendRecord(record, timestamp);
+          segments.get(moved.segmentId).addLive(length);
+          index.put(key, moved);
+        }
+      } else if (!dropTombstones && current == null) {
+        // An older segment may still hold a record for this key, so the tombstone is carried forward. It is accounted as
+        // live so it doesn't trigger the compaction of its new segment by itself.
+        record.rewind();
+        Entry carried = appendRecord(record, timestamp);
+        segments.get(carried.segmentId).addLive(length);
+      }
+
+      position += length;
+    }
+  }
+
+  private void openSegments() throws IOException {
+    File[] segmentFiles = getPartitionDirectory().listFiles(file -> file.getName().endsWith(SEGMENT_FILE_EXTENSION));
+    if (segmentFiles == null) {
+      return;
+    }
+
+    for (File segmentFile : segmentFiles) {
+      String name = segmentFile.getName();
+      int id;
+      try {
+        id = Integer.parseInt(name.substring(0, name.length() - SEGMENT_FILE_EXTENSION.length()));
+      } catch (NumberFormatException e) {
+        LOGGER.warn("Skipping unrecognized object store segment file {}", segmentFile.getAbsolutePath());
+        continue;
+      }
+      Segment segment = new Segment(id, segmentFile);
+      segment.size = segment.channel.size();
+      segments.put(id, segment);
+    }
+  }
+
+  private Segment createSegment(int id) throws IOException {
+    Segment segment = new Segment(id, new File(getPartitionDirectory(), format("%010d%s", id, SEGMENT_FILE_EXTENSION)));
+    segments.put(id, segment);
+    return segment;
+  }
+
+  private void closeSegments() {
+    for (Segment segment : segments.values()) {
+      try {
+        segment.channel.close();
+      } catch (IOException e) {
+        LOGGER.warn("Could not close object store segment " + segment.file.getAbsolutePath(), e);
+      }
+    }
+    segments.clear();
+    activeSegment = null;
+  }
+
+  /**
+   * Replays the records of the given segments into the index, in order. The first segment is replayed from {@code fromOffset}
+   * when given, or from its start otherwise. A torn record at the end of a segment is truncated.
+   */
+  private void replay(Iterable<Segment> toReplay, Long fromOffset) throws IOException {
+    Long startOffset = fromOffset;
+    for (Segment segment : toReplay) {
+      long position = startOffset != null ? startOffset : 0;
+      startOffset = null;
+
+      while (position + RECORD_HEADER_SIZE <= segment.size) {
+        ByteBuffer header = ByteBuffer.allocate(RECORD_HEADER_SIZE);
+        readFully(segment.channel, header, position);
+        header.flip();
+        int payloadLength = header.getInt();
+        int crc = header.getInt();
+        if (payloadLength < PAYLOAD_HEADER_SIZE || position + RECORD_HEADER_SIZE + payloadLength > segment.size) {
+          break;
+        }
+
+        int length = RECORD_HEADER_SIZE + payloadLength;
+        ByteBuffer record = readRecord(segment.channel, position, length);
+        CRC32 actualCrc = new CRC32();
+        actualCrc.update(record.array(), RECORD_HEADER_SIZE, payloadLength);
+        if ((int) actualCrc.getValue() != crc) {
+          break;
+        }
+
+        byte type = record.get(RECORD_HEADER_SIZE);
+        long timestamp = record.getLong(RECORD_HEADER_SIZE + 1);
+        String key = readKey(record);
+
+        Entry previous;
+        if (type == PUT) {
+          previous = index.put(key, new Entry(segment.id, position, length, timestamp));
+          segment.addLive(length);
+        } else {
+          previous = index.remove(key);
+        }
+        if (previous != null) {
+          segments.get(previous.segmentId).addLive(-previous.length);
+        }
+
+        position += length;
+      }
+
+      if (position < segment.size) {
+        LOGGER.warn("Found a corrupted record at offset {} of object store segment {}. The segment will be truncated.",
+                    position, segment.file.getAbsolutePath());
+        segment.channel.truncate(position);
+        segment.size = position;
+      }
+    }
+  }
+
+  /*
+   * Must be called holding the write lock
+   */
+  private void writeSnapshot() throws IOException {
+    for (Segment segment : segments.tailMap(unsnapshottedSegmentId, true).values()) {
+      segment.channel.force(false);
+    }
+
+    File snapshotFile = new File(getPartitionDirectory(), INDEX_SNAPSHOT_FILE);
+    File tempFile = new File(getPartitionDirectory(), INDEX_SNAPSHOT_FILE + ".tmp");
+
+    try (FileOutputStream fileOutputStream = new FileOutputStream(tempFile);
+        DataOutputStream out = new DataOutputStream(new BufferedOutputStream(fileOutputStream))) {
+      out.writeInt(SNAPSHOT_VERSION);
+      out.writeInt(activeSegment.id);
+      out.writeLong(activeSegment.size);
+      out.writeInt(index.size());
+      for (Map.Entry<String, Entry> indexEntry : index.entrySet()) {
+        byte[] keyBytes = indexEntry.getKey().getBytes(UTF_8);
+        Entry entry = indexEntry.getValue();
+        out.writeInt(keyBytes.length);
+        out.write(keyBytes);
+        out.writeInt(entry.segmentId);
+        out.writeLong(entry.offset);
+        out.writeInt(entry.length);
+        out.writeLong(entry.timestamp);
+      }
+      out.flush();
+      fileOutputStream.getFD().sync();
+    }
+
+    Files.move(tempFile.toPath(), snapshotFile.toPath(), ATOMIC_MOVE, REPLACE_EXISTING);
+    unsnapshottedSegmentId = activeSegment.id;
+    snapshotPending = false;
+  }
+
+  /**
+   * Loads the index from the last snapshot, if there is a valid one, and replays the records appended after it was taken.
+   *
+   * @return whether the index could be loaded from the snapshot
+   */
+  private boolean loadSnapshot() throws IOException {
+    File snapshotFile = new File(getPartitionDirectory(), INDEX_SNAPSHOT_FILE);
+    if (!snapshotFile.exists()) {
+      return false;
+    }
+
+    int snapshotSegmentId;
+    long snapshotSegmentSize;
+    Map<String, Entry> snapshotIndex;
+    try (DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(snapshotFile)))) {
+      if (in.readInt() != SNAPSHOT_VERSION) {
+        return false;
+      }
+      snapshotSegmentId = in.readInt();
+      snapshotSegmentSize = in.readLong();
+      int entries = in.readInt();
+      snapshotIndex = new HashMap<>(entries * 4 / 3 + 1);
+      for (int i = 0; i < entries; i++) {
+        byte[] keyBytes = new byte[in.readInt()];
+        in.readFully(keyBytes);
+        Entry entry = new Entry(in.readInt(), in.readLong(), in.readInt(), in.readLong());
+        Segment segment = segments.get(entry.segmentId);
+        if (segment == null || entry.offset + entry.length > segment.size) {
+          LOGGER.warn("Object store index snapshot for partition {} is stale, rebuilding it from the segments",
+                      getPartitionName());
+          return false;
+        }
+        snapshotIndex.put(new String(keyBytes, UTF_8), entry);
+      }
+    } catch (EOFException e) {
+      LOGGER.warn("Object store index snapshot for partition {} is truncated, rebuilding it from the segments",
+                  getPartitionName());
+      return false;
+    }
+
+    Segment snapshotSegment = segments.get(snapshotSegmentId);
+    if (snapshotSegment == null || snapshotSegment.size < snapshotSegmentSize) {
+      return false;
+    }
+
+    for (Map.Entry<String, Entry> indexEntry : snapshotIndex.entrySet()) {
+      Entry entry = indexEntry.getValue();
+      segments.get(entry.segmentId).addLive(entry.length);
+      index.put(indexEntry.getKey(), entry);
+    }
+    replay(segments.tailMap(snapshotSegmentId, true).values(), snapshotSegmentSize);
+    return true;
+  }
+
+  private static String readKey(ByteBuffer record) {
+    int keyLength = record.getInt(RECORD_HEADER_SIZE + 9);
+    return new String(record.array(), RECORD_HEADER_SIZE + PAYLOAD_HEADER_SIZE, keyLength, UTF_8);
+  }
+
+  private static ByteBuffer readRecord(FileChannel channel, long offset, int length) throws IOException {
+    ByteBuffer record = ByteBuffer.allocate(length);
+    readFully(channel, record, offset);
+    record.flip();
+    return record;
+  }
+
+  private static void readFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+    while (buffer.hasRemaining()) {
+      if (channel.read(buffer, offset + buffer.position()) < 0) {
+        throw new EOFException();
+      }
+    }
+  }
+
+  private static void writeFully(FileChannel channel, ByteBuffer buffer, long offset) throws IOException {
+    long position = offset;
+    while (buffer.hasRemaining()) {
+      position += channel.write(buffer, position);
+    }
+  }
+
+  /**
+   * The location of the latest record of a key.
+   */
+  private static final class Entry {
+
+    private final int segmentId;
+    private final long offset;
+    private final int length;
+    private final long timestamp;
+
+    private Entry(int segmentId, long offset, int length, long timestamp) {
+      this.segmentId = segmentId;
+      this.offset = offset;
+      this.length = length;
+      this.timestamp = timestamp;
+    }
+  }
+
+  private static final class Segment {
+
+    private final int id;
+    private final File file;
+    private final FileChannel channel;
+
+    private volatile long size;
+    private long liveBytes;
+
+    private Segment(int id, File file) throws IOException {
+      this.id = id;
+      this.file = file;
+      this.channel = FileChannel.open(file.toPath(), CREATE, READ, WRITE);
+    }
+
+    private synchronized void addLive(long bytes) {
+      liveBytes += bytes;
+    }
+
+    private synchronized boolean needsCompaction() {
+      return size > 0 && liveBytes < size * COMPACTION_THRESHOLD;
+    }
+  }
+}
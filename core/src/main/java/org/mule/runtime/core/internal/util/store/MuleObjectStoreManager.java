@@ -8,8 +8,11 @@
 package org.mule.runtime.core.internal.util.store;
 
 import static java.lang.String.format;
+import static java.lang.System.getProperty;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.stream.Collectors.toSet;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
+import static org.mule.runtime.core.api.config.MuleProperties.SYSTEM_PROPERTY_PREFIX;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.slf4j.LoggerFactory.getLogger;
 
@@ -30,12 +33,15 @@ import org.mule.runtime.core.api.MuleContext;
 
 import java.io.Serializable;
 import java.util.NoSuchElementException;
+import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.stream.Stream;
 
 import javax.inject.Inject;
 
 import org.mule.runtime.core.internal.store.AbstractPartitionableObjectStore;
+import org.mule.runtime.core.internal.store.PartitionedPersistentObjectStore;
 import org.slf4j.Logger;
 
 public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable, Disposable {
@@ -43,6 +49,13 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
   private static Logger LOGGER = getLogger(MuleObjectStoreManager.class);
   public static final int UNBOUNDED = 0;
 
+  /**
+   * Comma separated names of the persistent stores to be backed by a {@link LogStructuredObjectStorePartition}, or {@code *} for
+   * all of them.
+   */
+  public static final String LOG_STRUCTURED_STORES_PROPERTY = SYSTEM_PROPERTY_PREFIX + "objectstore.logStructured.stores";
+  private static final String ALL_STORES = "*";
+
   private SchedulerService schedulerService;
   private Registry registry;
   private MuleContext muleContext;
@@ -52,6 +65,8 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
 
   private String baseTransientStoreKey = BASE_IN_MEMORY_OBJECT_STORE_KEY;
   private String basePersistentStoreKey = BASE_PERSISTENT_OBJECT_STORE_KEY;
+  private Set<String> logStructuredStores =
+      Stream.of(getProperty(LOG_STRUCTURED_STORES_PROPERTY, "").split(",")).map(String::trim).collect(toSet());
 
   private ObjectStore<?> baseTransientStore;
   private ObjectStore<?> basePersistentStore;
@@ -153,6 +168,10 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
 
   private <T extends ObjectStore<?>> T doCreateObjectStore(String name, ObjectStoreSettings settings) {
     final ObjectStore<? extends Serializable> baseStore = getBaseStore(settings);
+    if (settings.isPersistent() && isLogStructured(name) && baseStore instanceof PartitionedPersistentObjectStore) {
+      ((PartitionedPersistentObjectStore) baseStore).useLogStructuredPartition(name);
+    }
+
     T store;
     try {
       store = getPartitionFromBaseObjectStore(baseStore, name);
@@ -167,6 +186,10 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
     return store;
   }
 
+  private boolean isLogStructured(String name) {
+    return logStructuredStores.contains(ALL_STORES) || logStructuredStores.contains(name);
+  }
+
   private <T extends ObjectStore<? extends Serializable>> T getBaseStore(ObjectStoreSettings settings) {
     return settings.isPersistent() ? (T) basePersistentStore : (T) baseTransientStore;
   }
@@ -313,6 +336,14 @@ public class MuleObjectStoreManager implements ObjectStoreManager, Initialisable
     this.baseTransientStoreKey = baseTransientStoreKey;
   }
 
+  /**
+   * @param logStructuredStores the names of the persistent stores to be backed by a {@link LogStructuredObjectStorePartition}, or
+   *                            {@code *} for all of them. Overrides the value of {@link #LOG_STRUCTURED_STORES_PROPERTY}.
+   */
+  public void setLogStructuredStores(Set<String> logStructuredStores) {
+    this.logStructuredStores = logStructuredStores;
+  }
+
   @Inject
   public void setSchedulerService(SchedulerService schedulerService) {
     this.schedulerService = schedulerService;
@@ -47,9 +47,10 @@ import java.util.Arrays;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
 
-import org.apache.commons.collections.BidiMap;
-import org.apache.commons.collections.bidimap.TreeBidiMap;
+import com.google.common.util.concurrent.Striped;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -59,17 +60,26 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
   private static final String OBJECT_FILE_EXTENSION = ".obj";
   private static final String PARTITION_DESCRIPTOR_FILE = "partition-descriptor";
   public static final String CORRUPTED_FOLDER = "corrupted-files";
+  private static final int KEY_LOCK_STRIPES = 64;
 
   private static final Logger LOGGER = LoggerFactory.getLogger(PersistentObjectStorePartition.class);
 
-  private final MuleContext muleContext;
-  private final ObjectSerializer serializer;
+  protected final MuleContext muleContext;
+  protected final ObjectSerializer serializer;
 
-  private boolean loaded = false;
+  private volatile boolean loaded = false;
+  private final Object loadLock = new Object();
 
   private File partitionDirectory;
   private String partitionName;
-  private final BidiMap realKeyToUUIDIndex = new TreeBidiMap();
+  private final Map<String, String> realKeyToUUIDIndex = new ConcurrentHashMap<>();
+  private final Map<String, String> uuidToRealKeyIndex = new ConcurrentHashMap<>();
+
+  /*
+   * Operations on the same key are serialized on its stripe, so that the disk I/O of a key doesn't block operations on unrelated
+   * keys. Lookups read the concurrent indexes without locking. Operations that affect the whole partition acquire every stripe.
+   */
+  private final Striped<Lock> keyLocks = Striped.lock(KEY_LOCK_STRIPES);
 
   public PersistentObjectStorePartition(MuleContext muleContext, String partitionName, File partitionDirectory) {
     this.muleContext = muleContext;
@@ -108,7 +118,8 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
 
   @Override
   public void close() throws ObjectStoreException {
-    synchronized (realKeyToUUIDIndex) {
+    lockAllKeys();
+    try {
       try {
         cleanDirectory(this.partitionDirectory);
         partitionDirectory.delete();
@@ -116,7 +127,9 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
         throw new ObjectStoreException(createStaticMessage("Could not close object store partition"), e);
       }
 
-      realKeyToUUIDIndex.clear();
+      clearIndex();
+    } finally {
+      unlockAllKeys();
     }
   }
 
@@ -124,37 +137,43 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
   public List<String> allKeys() throws ObjectStoreException {
     assureLoaded();
 
-    synchronized (realKeyToUUIDIndex) {
-      return unmodifiableList(new ArrayList<String>(realKeyToUUIDIndex.keySet()));
-    }
+    return unmodifiableList(new ArrayList<>(realKeyToUUIDIndex.keySet()));
   }
 
   @Override
   protected boolean doContains(String key) throws ObjectStoreException {
     assureLoaded();
 
-    synchronized (realKeyToUUIDIndex) {
-      return realKeyToUUIDIndex.containsKey(key);
-    }
+    return realKeyToUUIDIndex.containsKey(key);
   }
 
   @Override
   protected void doStore(String key, T value) throws ObjectStoreException {
     assureLoaded();
 
-    synchronized (realKeyToUUIDIndex) {
+    Lock keyLock = keyLocks.get(key);
+    keyLock.lock();
+    try {
       if (realKeyToUUIDIndex.containsKey(key)) {
         throw new ObjectAlreadyExistsException();
       }
       File newFile = createFileToStoreObject();
-      realKeyToUUIDIndex.put(key, newFile.getName());
-      serialize(newFile, new StoreValue<T>(key, value));
+      try {
+        serialize(newFile, new StoreValue<T>(key, value));
+      } catch (ObjectStoreException e) {
+        newFile.delete();
+        throw e;
+      }
+      index(key, newFile.getName());
+    } finally {
+      keyLock.unlock();
     }
   }
 
   @Override
   public void clear() throws ObjectStoreException {
-    synchronized (realKeyToUUIDIndex) {
+    lockAllKeys();
+    try {
       try {
         cleanDirectory(this.partitionDirectory);
         createOrRetrievePartitionDescriptorFile();
@@ -162,7 +181,9 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
         throw new ObjectStoreException(createStaticMessage("Could not clear ObjectStore"), e);
       }
 
-      realKeyToUUIDIndex.clear();
+      clearIndex();
+    } finally {
+      unlockAllKeys();
     }
   }
 
@@ -170,43 +191,54 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
   protected T doRetrieve(String key) throws ObjectStoreException {
     assureLoaded();
 
-    synchronized (realKeyToUUIDIndex) {
-      if (!realKeyToUUIDIndex.containsKey(key)) {
-        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
-      }
-      return load(key);
+    String filename = realKeyToUUIDIndex.get(key);
+    if (filename == null) {
+      throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
     }
+    return load(key, filename);
   }
 
   @Override
   public Map<String, T> retrieveAll() throws ObjectStoreException {
     assureLoaded();
 
-    synchronized (realKeyToUUIDIndex) {
-      Map<String, T> values = new LinkedHashMap<>(realKeyToUUIDIndex.size());
-      for (Object k : realKeyToUUIDIndex.keySet()) {
-        String key = (String) k;
-        values.put(key, load(key));
+    Map<String, T> values = new LinkedHashMap<>(realKeyToUUIDIndex.size());
+    for (Map.Entry<String, String> entry : realKeyToUUIDIndex.entrySet()) {
+      try {
+        values.put(entry.getKey(), load(entry.getKey(), entry.getValue()));
+      } catch (ObjectDoesNotExistException e) {
+        // removed while iterating
       }
-
-      return values;
     }
+
+    return values;
   }
 
-  private T load(String key) throws ObjectStoreException {
-    String filename = (String) realKeyToUUIDIndex.get(key);
+  private T load(String key, String filename) throws ObjectStoreException {
     File file = getValueFile(filename);
-    return deserialize(file).getValue();
+    try {
+      return deserialize(file).getValue();
+    } catch (ObjectStoreException e) {
+      // Lookups are not locked, so the file may have been removed concurrently
+      if (!filename.equals(realKeyToUUIDIndex.get(key))) {
+        throw new ObjectDoesNotExistException(createStaticMessage("Key does not exist: " + key));
+      }
+      throw e;
+    }
   }
 
   @Override
   protected T doRemove(String key) throws ObjectStoreException {
     assureLoaded();
 
-    synchronized (realKeyToUUIDIndex) {
+    Lock keyLock = keyLocks.get(key);
+    keyLock.lock();
+    try {
       T value = retrieve(key);
-      deleteStoreFile(getValueFile((String) realKeyToUUIDIndex.get(key)));
+      deleteStoreFile(getValueFile(realKeyToUUIDIndex.get(key)));
       return value;
+    } finally {
+      keyLock.unlock();
     }
   }
 
@@ -219,30 +251,75 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
   public void expire(long entryTTL, int maxEntries) throws ObjectStoreException {
     assureLoaded();
 
-    synchronized (realKeyToUUIDIndex) {
-      File[] files = listValuesFiles();
-      Arrays.sort(files, (f1, f2) -> {
-        int result = Long.valueOf(f1.lastModified()).compareTo(f2.lastModified());
-        if (result == 0) {
-          result = f1.getName().compareTo(f2.getName());
-        }
-        return result;
-      });
-      int startIndex = trimToMaxSize(files, maxEntries);
+    File[] files = listValuesFiles();
+    Arrays.sort(files, (f1, f2) -> {
+      int result = Long.valueOf(f1.lastModified()).compareTo(f2.lastModified());
+      if (result == 0) {
+        result = f1.getName().compareTo(f2.getName());
+      }
+      return result;
+    });
+    int startIndex = trimToMaxSize(files, maxEntries);
 
-      if (entryTTL == UNBOUNDED) {
-        return;
+    if (entryTTL == UNBOUNDED) {
+      return;
+    }
+
+    final long now = System.currentTimeMillis();
+    for (int i = startIndex; i < files.length; i++) {
+      Long lastModified = files[i].lastModified();
+      if ((now - lastModified) >= entryTTL) {
+        expireStoreFile(files[i]);
+      } else {
+        break;
       }
+    }
+  }
 
-      final long now = System.currentTimeMillis();
-      for (int i = startIndex; i < files.length; i++) {
-        Long lastModified = files[i].lastModified();
-        if ((now - lastModified) >= entryTTL) {
-          deleteStoreFile(files[i]);
-        } else {
-          break;
-        }
+  /**
+   * Deletes the given value file while holding the lock of its key. Files that are not indexed are skipped, since those are
+   * still being written by a concurrent {@link #store(String, Serializable)}.
+   *
+   * @return whether the file was deleted
+   */
+  private boolean expireStoreFile(File file) throws ObjectStoreException {
+    String key = uuidToRealKeyIndex.get(file.getName());
+    if (key == null) {
+      return false;
+    }
+
+    Lock keyLock = keyLocks.get(key);
+    keyLock.lock();
+    try {
+      if (file.getName().equals(realKeyToUUIDIndex.get(key))) {
+        deleteStoreFile(file);
+        return true;
       }
+      return false;
+    } finally {
+      keyLock.unlock();
+    }
+  }
+
+  private void index(String key, String filename) {
+    realKeyToUUIDIndex.put(key, filename);
+    uuidToRealKeyIndex.put(filename, key);
+  }
+
+  private void clearIndex() {
+    realKeyToUUIDIndex.clear();
+    uuidToRealKeyIndex.clear();
+  }
+
+  private void lockAllKeys() {
+    for (int i = 0; i < keyLocks.size(); i++) {
+      keyLocks.getAt(i).lock();
+    }
+  }
+
+  private void unlockAllKeys() {
+    for (int i = keyLocks.size() - 1; i >= 0; i--) {
+      keyLocks.getAt(i).unlock();
     }
   }
 
@@ -276,7 +353,7 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
   }
 
   private void loadStoredKeysAndFileNames() throws ObjectStoreException {
-    synchronized (realKeyToUUIDIndex) {
+    synchronized (loadLock) {
       /*
        * by re-checking this condition here we can avoid contention in {@link #assureLoaded}. The amount of times that this
        * condition should evaluate to {@code true} is really limited, which provides better performance in the long run
@@ -290,7 +367,7 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
         for (File file : files) {
           try {
             StoreValue<T> storeValue = deserialize(file);
-            realKeyToUUIDIndex.put(storeValue.getKey(), file.getName());
+            index((String) storeValue.getKey(), file.getName());
           } catch (ObjectStoreException e) {
             if (LOGGER.isWarnEnabled()) {
               LOGGER
@@ -393,30 +470,46 @@ public class PersistentObjectStorePartition<T extends Serializable> extends Temp
     }
   }
 
+  /**
+   * Deletes the given value file and removes it from the index. Must be called holding the lock of the key stored in the file.
+   */
   protected void deleteStoreFile(File file) throws ObjectStoreException {
     if (file.exists()) {
+      // Unindexed first, so that a concurrent lookup failing to read the file finds out it was removed
+      String key = uuidToRealKeyIndex.remove(file.getName());
+      if (key != null) {
+        realKeyToUUIDIndex.remove(key);
+      }
       if (!file.delete()) {
+        // The file is still there, so the key has to be kept to be consistent with what is restored after a restart
+        if (key != null) {
+          index(key, file.getName());
+        }
         throw new ObjectStoreException(createStaticMessage("Deleting " + file.getAbsolutePath() + " failed"));
       }
-      realKeyToUUIDIndex.removeValue(file.getName());
     } else {
       throw new ObjectDoesNotExistException();
     }
   }
 
+  /**
+   * Expires the oldest files until only {@code maxEntries} are left, not counting the files that were skipped.
+   *
+   * @return the index of the first file that was not considered
+   */
   private int trimToMaxSize(File[] files, int maxEntries) throws ObjectStoreException {
     if (maxEntries == UNBOUNDED) {
       return 0;
     }
-    int expired = 0;
     int excess = (files.length - maxEntries);
-    if (excess > 0) {
-      for (int i = 0; i < excess; i++) {
-        deleteStoreFile(files[i]);
+    int expired = 0;
+    int i = 0;
+    for (; i < files.length && expired < excess; i++) {
+      if (expireStoreFile(files[i])) {
         expired++;
       }
     }
-    return expired;
+    return i;
   }
 
   public String getPartitionName() {
@@ -0,0 +1,282 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.timer;
+
+import static java.lang.Math.max;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+import static org.slf4j.LoggerFactory.getLogger;
+
+import org.mule.runtime.api.scheduler.Scheduler;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+
+/**
+ * Runs tasks after a delay, using a hashed timing wheel instead of a task for each delay in the heap of a
+ * {@link java.util.concurrent.ScheduledExecutorService}.
+ * <p>
+ * Adding and cancelling a task is O(1) and does not contend with other tasks for a lock, so this is suitable for cases where
+ * many delays are active at the same time, such as retries. The price is that the delays are rounded up to the tick duration.
+ * <p>
+ * A single periodic task is scheduled on the given {@link Scheduler} for advancing the wheel when a task is added, and it is
+ * cancelled once there are no more tasks waiting, so an idle timer doesn't keep ticking. Expired tasks are dispatched to that
+ * same {@link Scheduler}.
+ *
+ * @since 4.4
+ */
+public class HashedWheelTimer {
+
+  private static final Logger LOGGER = getLogger(HashedWheelTimer.class);
+
+  private final Scheduler scheduler;
+  private final long tickNanos;
+  private final Deque<Timeout>[] wheel;
+  private final int mask;
+
+  private final Queue<Timeout> pendingTimeouts = new ConcurrentLinkedQueue<>();
+  private final AtomicInteger activeTimeouts = new AtomicInteger();
+  private final AtomicBoolean ticking = new AtomicBoolean();
+
+  private volatile boolean stopped;
+
+  // guarded by this
+  private ScheduledFuture<?> tickTask;
+  private long startTime;
+  private long tick;
+
+  /**
+   * Creates a new timer
+   *
+   * @param scheduler     the scheduler where the wheel is advanced and the expired tasks are run
+   * @param tickDuration  the precision of the timer
+   * @param unit          the unit of {@code tickDuration}
+   * @param ticksPerWheel the amount of buckets in the wheel. Will be rounded up to a power of two
+   */
+  public HashedWheelTimer(Scheduler scheduler, long tickDuration, TimeUnit unit, int ticksPerWheel) {
+    checkArgument(tickDuration > 0, "tickDuration must be greater than zero");
+    checkArgument(ticksPerWheel > 0, "ticksPerWheel must be greater than zero");
+
+    this.scheduler = scheduler;
+    this.tickNanos = unit.toNanos(tickDuration);
+
+    int wheelSize = Integer.highestOneBit(ticksPerWheel);
+    if (wheelSize < ticksPerWheel) {
+      wheelSize <<= 1;
+    }
+    this.wheel = new Deque[wheelSize];
+    for (int i = 0; i < wheelSize; ++i) {
+      wheel[i] = new ArrayDeque<>();
+    }
+    this.mask = wheelSize - 1;
+  }
+
+  /**
+   * Schedules the given task to run after the given delay.
+   *
+   * @param task  the task to run
+   * @param delay the time to wait before running {@code task}
+   * @param unit  the unit of {@code delay}
+   * @return a handle for cancelling the task
+   * @throws RejectedExecutionException if this timer was stopped
+   */
+  public Timeout newTimeout(Runnable task, long delay, TimeUnit unit) {
+    if (stopped) {
+      throw new RejectedExecutionException("Timer has been stopped");
+    }
+
+    final Timeout timeout = new Timeout(task, System.nanoTime() + unit.toNanos(delay));
+    activeTimeouts.incrementAndGet();
+    pendingTimeouts.add(timeout);
+    startTickingIfNeeded();
+    return timeout;
+  }
+
+  private void startTickingIfNeeded() {
+    if (ticking.compareAndSet(false, true)) {
+      synchronized (this) {
+        if (stopped) {
+          return;
+        }
+        startTime = System.nanoTime();
+        tick = 0;
+        tickTask = scheduler.scheduleAtFixedRate(this::tick, tickNanos, tickNanos, NANOSECONDS);
+      }
+    }
+  }
+
+  private void stopTickingIfIdle() {
+    if (activeTimeouts.get() > 0 || !pendingTimeouts.isEmpty()) {
+      return;
+    }
+
+    // Only cancelled tasks may be left in the wheel at this point
+    tickTask.cancel(false);
+    tickTask = null;
+    for (Deque<Timeout> bucket : wheel) {
+      bucket.clear();
+    }
+    ticking.set(false);
+
+    // A task may have been added after checking for active ones, but before it could start the ticking again
+    if (activeTimeouts.get() > 0) {
+      startTickingIfNeeded();
+    }
+  }
+
+  /**
+   * Stops advancing the wheel. The tasks not yet run are discarded.
+   */
+  public void stop() {
+    stopped = true;
+    synchronized (this) {
+      if (tickTask != null) {
+        tickTask.cancel(false);
+      }
+    }
+    pendingTimeouts.clear();
+  }
+
+  /**
+   * @return whether the wheel is being advanced, that is, if there are tasks waiting for their delay to elapse.
+   */
+  boolean isTicking() {
+    return ticking.get();
+  }
+
+  /**
+   * @return the amount of tasks waiting for their delay to elapse.
+   */
+  public int getActiveTimeouts() {
+    return activeTimeouts.get();
+  }
+
+  private synchronized void tick() {
+    if (stopped) {
+      return;
+    }
+
+    try {
+      // Catch up with the ticks missed if the scheduler was busy
+      final long currentTick = (System.nanoTime() - startTime) / tickNanos;
+      transferPendingTimeouts();
+
+      while (tick <= currentTick) {
+        expireTimeouts(wheel[(int) (tick & mask)]);
+        ++tick;
+      }
+
+      stopTickingIfIdle();
+    } catch (Throwable t) {
+      // Anything thrown from here would cancel the periodic tick task, leaving the remaining tasks never run
+      LOGGER.error("Exception advancing the timer wheel", t);
+    }
+  }
+
+  private void transferPendingTimeouts() {
+    Timeout timeout;
+    while ((timeout = pendingTimeouts.poll()) != null) {
+      if (timeout.isCancelled()) {
+        continue;
+      }
+
+      final long deadlineTick = max(tick, (timeout.deadline - startTime + tickNanos - 1) / tickNanos);
+      timeout.remainingRounds = (deadlineTick - tick) / wheel.length;
+      wheel[(int) (deadlineTick & mask)].add(timeout);
+    }
+  }
+
+  private void expireTimeouts(Deque<Timeout> bucket) {
+    final Iterator<Timeout> iterator = bucket.iterator();
+    while (iterator.hasNext()) {
+      final Timeout timeout = iterator.next();
+      if (timeout.isCancelled()) {
+        iterator.remove();
+      } else if (timeout.remainingRounds <= 0) {
+        iterator.remove();
+        if (timeout.expire()) {
+          activeTimeouts.decrementAndGet();
+          dispatch(timeout.task);
+        }
+      } else {
+        --timeout.remainingRounds;
+      }
+    }
+  }
+
+  private void dispatch(Runnable task) {
+    try {
+      scheduler.execute(task);
+    } catch (RejectedExecutionException e) {
+      LOGGER.debug("Scheduler is busy, running expired timer task in the timer thread", e);
+      try {
+        task.run();
+      } catch (Throwable t) {
+        LOGGER.error("Exception running expired timer task", t);
+      }
+    } catch (Throwable t) {
+      LOGGER.error("Exception dispatching expired timer task", t);
+    }
+  }
+
+  /**
+   * Handle of a task scheduled with {@link HashedWheelTimer#newTimeout(Runnable, long, TimeUnit)}.
+   */
+  public final class Timeout {
+
+    private static final int ST_INIT = 0;
+    private static final int ST_CANCELLED = 1;
+    private static final int ST_EXPIRED = 2;
+
+    private final Runnable task;
+    private final long deadline;
+    private final AtomicInteger state = new AtomicInteger(ST_INIT);
+
+    // only accessed from the tick task
+    private long remainingRounds;
+
+    private Timeout(Runnable task, long deadline) {
+      this.task = task;
+      this.deadline = deadline;
+    }
+
+    /**
+     * Cancels the task, if it was not run yet. The cancelled task is removed from the wheel when its bucket is reached.
+     *
+     * @return {@code true} if the task was cancelled, {@code false} if it was already run or cancelled.
+     */
+    public boolean cancel() {
+      if (state.compareAndSet(ST_INIT, ST_CANCELLED)) {
+        activeTimeouts.decrementAndGet();
+        return true;
+      }
+      return false;
+    }
+
+    public boolean isCancelled() {
+      return state.get() == ST_CANCELLED;
+    }
+
+    public boolean isExpired() {
+      return state.get() == ST_EXPIRED;
+    }
+
+    private boolean expire() {
+      return state.compareAndSet(ST_INIT, ST_EXPIRED);
+    }
+  }
+}
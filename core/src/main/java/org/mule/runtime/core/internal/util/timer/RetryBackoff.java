@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.timer;
+
+import static java.lang.Math.min;
+import static java.lang.Math.pow;
+import static org.mule.runtime.api.util.Preconditions.checkArgument;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Computes the delay before a retry, growing it exponentially with the number of attempts and optionally applying a random
+ * jitter, so that many retries failing at the same time are not all attempted again at the same time.
+ *
+ * @since 4.4
+ */
+public final class RetryBackoff {
+
+  private final double multiplier;
+  private final long maxDelay;
+  private final double jitter;
+
+  /**
+   * Creates a new instance
+   *
+   * @param multiplier the factor to multiply the delay by on each attempt. Must be at least 1
+   * @param maxDelay   the maximum delay, regardless of the attempt
+   * @param jitter     the fraction of the delay to randomly subtract from it, between 0 and 1
+   */
+  public RetryBackoff(double multiplier, long maxDelay, double jitter) {
+    checkArgument(multiplier >= 1, "multiplier must be at least 1");
+    checkArgument(maxDelay >= 0, "maxDelay must not be negative");
+    checkArgument(jitter >= 0 && jitter <= 1, "jitter must be between 0 and 1");
+    this.multiplier = multiplier;
+    this.maxDelay = maxDelay;
+    this.jitter = jitter;
+  }
+
+  /**
+   * @param baseDelay the delay before the first retry
+   * @param attempt   the number of the retry about to be done, starting at 1
+   * @return the delay before the given retry, in the same unit as {@code baseDelay}.
+   */
+  public long getDelay(long baseDelay, int attempt) {
+    double delay = min(maxDelay, baseDelay * pow(multiplier, attempt - 1));
+    if (jitter > 0) {
+      delay -= delay * jitter * ThreadLocalRandom.current().nextDouble();
+    }
+    return (long) delay;
+  }
+}
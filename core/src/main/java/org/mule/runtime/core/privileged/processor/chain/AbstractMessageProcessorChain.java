@@ -20,6 +20,7 @@ import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.setMuleContextIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.CPU_LITE;
 import static org.mule.runtime.core.api.rx.Exceptions.propagateWrappingFatal;
 import static org.mule.runtime.core.api.rx.Exceptions.unwrap;
 import static org.mule.runtime.core.api.util.StreamingUtils.updateEventForStreaming;
@@ -60,6 +61,7 @@ import org.mule.runtime.core.internal.exception.MessagingException;
 import org.mule.runtime.core.internal.interception.InterceptorManager;
 import org.mule.runtime.core.internal.interception.ReactiveInterceptor;
 import org.mule.runtime.core.internal.processor.chain.InterceptedReactiveProcessor;
+import org.mule.runtime.core.internal.processor.chain.ProcessorLatencyRecorder;
 import org.mule.runtime.core.internal.processor.interceptor.ProcessorInterceptorFactoryAdapter;
 import org.mule.runtime.core.internal.processor.interceptor.ReactiveInterceptorAdapter;
 import org.mule.runtime.core.internal.rx.FluxSinkRecorder;
@@ -74,7 +76,9 @@ import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 import java.util.function.BiConsumer;
 import java.util.function.Consumer;
@@ -115,6 +119,22 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
       context -> context.getOrEmpty(TCCL_ORIGINAL_REACTOR_CTX_KEY)
           .ifPresent(cl -> currentThread().setContextClassLoader((ClassLoader) cl));
 
+  /**
+   * Whether a {@link Processor} class relies on the default {@link Processor#apply(Publisher)}, that just maps each event with
+   * {@link Processor#process(CoreEvent)}.
+   */
+  private static final ClassValue<Boolean> DEFAULT_APPLY = new ClassValue<Boolean>() {
+
+    @Override
+    protected Boolean computeValue(Class<?> type) {
+      try {
+        return type.getMethod("apply", Publisher.class).getDeclaringClass() == Processor.class;
+      } catch (NoSuchMethodException e) {
+        return false;
+      }
+    }
+  };
+
   static {
     try {
       appClClass = (Class<ClassLoader>) AbstractMessageProcessorChain.class.getClassLoader()
@@ -129,6 +149,7 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
   private final FlowExceptionHandler messagingExceptionHandler;
   private final ProcessingStrategy processingStrategy;
   private final List<ReactiveInterceptorAdapter> additionalInterceptors = new LinkedList<>();
+  private final Map<Processor, ProcessorLatencyRecorder> latencyRecorders = new ConcurrentHashMap<>();
 
   private boolean canProcessMessage = true;
 
@@ -221,7 +242,14 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
                                        List<ReactiveInterceptor> interceptors,
                                        BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
     Flux<CoreEvent> stream = from(publisher);
+    final List<Processor> fusedProcessors = new ArrayList<>();
     for (Processor processor : getProcessorsToExecute()) {
+      if (isFuseable(processor)) {
+        fusedProcessors.add(processor);
+        continue;
+      }
+      stream = applyFused(stream, fusedProcessors, errorBubbler);
+
       // Perform assembly for processor chain by transforming the existing publisher with a publisher function for each processor
       // along with the interceptors that decorate it.
       stream = stream.transform(applyInterceptors(interceptors, processor))
@@ -233,6 +261,7 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
           .onErrorContinue(exception -> !(exception instanceof LifecycleException),
                            getContinueStrategyErrorHandler(processor, errorBubbler));
     }
+    stream = applyFused(stream, fusedProcessors, errorBubbler);
 
     stream = stream.subscriberContext(ctx -> {
       ClassLoader tccl = currentThread().getContextClassLoader();
@@ -249,6 +278,118 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     return stream;
   }
 
+  /**
+   * A processor may be executed in a fused operator if it is a {@link ReactiveProcessor.ProcessingType#CPU_LITE} one that just
+   * maps each event with {@link Processor#process(CoreEvent)}, and there are no interceptors to apply around it.
+   * <p>
+   * Chains with a processing strategy are not fused, since the strategy has to be applied for each processor and the
+   * notifications of the processor must be fired before it, on the flow thread.
+   */
+  private boolean isFuseable(Processor processor) {
+    return processingStrategy == null
+        && additionalInterceptors.isEmpty()
+        && processor.getProcessingType() == CPU_LITE
+        && DEFAULT_APPLY.get(processor.getClass());
+  }
+
+  /**
+   * Executes a run of consecutive {@link #isFuseable(Processor) fuseable} processors in a single operator that calls
+   * {@link Processor#process(CoreEvent)} on each one of them in a loop, instead of assembling the operators for the
+   * interceptors, error hooks and notifications of each processor.
+   * <p>
+   * The same logic of those operators is applied for each processor, all of them on the thread the event is received in.
+   */
+  private Flux<CoreEvent> applyFused(Flux<CoreEvent> stream, List<Processor> fusedProcessors,
+                                     BiConsumer<BaseEventContext, ? super Exception> errorBubbler) {
+    if (fusedProcessors.isEmpty()) {
+      return stream;
+    }
+
+    final Processor[] processors = fusedProcessors.toArray(new Processor[fusedProcessors.size()]);
+    final String[] processorPaths = new String[processors.length];
+    final ProcessorLatencyRecorder[] processorLatencyRecorders = new ProcessorLatencyRecorder[processors.length];
+    final List<BiConsumer<Throwable, Object>> errorHandlers = new ArrayList<>(processors.length);
+    for (int i = 0; i < processors.length; ++i) {
+      processorPaths[i] = getProcessorPath(processors[i]);
+      processorLatencyRecorders[i] = getLatencyRecorder(processors[i]);
+      errorHandlers.add(getContinueStrategyErrorHandler(processors[i], errorBubbler));
+    }
+    fusedProcessors.clear();
+
+    final ReactiveProcessor fused = pub -> subscriberContext()
+        .flatMapMany(ctx -> from(pub).handle((event, sink) -> {
+          CoreEvent current = event;
+          for (int i = 0; i < processors.length && current != null; ++i) {
+            try {
+              current = processFused(processors[i], processorPaths[i], processorLatencyRecorders[i], current, ctx);
+            } catch (Throwable t) {
+              // The failed event is dropped, just as done by the continue strategy of the non fused processors.
+              errorHandlers.get(i).accept(t, current);
+              return;
+            }
+          }
+
+          if (current != null) {
+            sink.next(current);
+          }
+        }));
+
+    return stream.transform(fused);
+  }
+
+  private CoreEvent processFused(Processor processor, String processorPath, ProcessorLatencyRecorder latencyRecorder,
+                                 CoreEvent event, Context ctx)
+      throws MuleException {
+    if (!canProcessMessage) {
+      throw new MessagingException(event, new LifecycleException(isStopped(name), event.getMessage()));
+    }
+    if (processorPath != null) {
+      MDC.put("processorPath", processorPath);
+    }
+    final long startTime = latencyRecorder != null ? latencyRecorder.startTime() : 0;
+
+    try {
+      preNotification(event, processor);
+
+      final CoreEvent result;
+      TCCL_REACTOR_CTX_CONSUMER.accept(ctx);
+      try {
+        currentMuleContext.set(muleContext);
+        setCurrentEvent((PrivilegedEvent) event);
+        result = processor.process(event);
+      } finally {
+        TCCL_ORIGINAL_REACTOR_CTX_CONSUMER.accept(ctx);
+      }
+
+      if (result == null) {
+        return null;
+      }
+      postNotification(processor).accept(result);
+      setCurrentEvent((PrivilegedEvent) result);
+      // If the processor returns a CursorProvider, then have the StreamingManager manage it
+      return updateEventForStreaming(streamingManager).apply(result);
+    } finally {
+      if (latencyRecorder != null) {
+        latencyRecorder.record(startTime);
+      }
+      if (processorPath != null) {
+        MDC.remove("processorPath");
+      }
+    }
+  }
+
+  private ProcessorLatencyRecorder getLatencyRecorder(Processor processor) {
+    return latencyRecorders.computeIfAbsent(processor, p -> ProcessorLatencyRecorder.create(muleContext, p));
+  }
+
+  private static String getProcessorPath(Object processor) {
+    if (processor instanceof Component && ((Component) processor).getLocation() != null) {
+      return ((Component) processor).getLocation().getLocation();
+    } else {
+      return null;
+    }
+  }
+
   /*
    * Used to process failed events which are dropped from the reactor stream due to error. Errors are processed by invoking the
    * current EventContext error callback.
@@ -318,17 +459,23 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
     List<ReactiveInterceptor> interceptors = new ArrayList<>();
 
     // Set thread context
-    interceptors.add((processor, next) -> stream -> from(stream)
-        // #2 Wrap execution, after processing strategy, on processor execution thread.
-        .doOnNext(event -> {
-          currentMuleContext.set(muleContext);
-          setCurrentEvent((PrivilegedEvent) event);
-        })
-        // #1 Update TCCL with the one from the Region of the processor to execute once in execution thread.
-        .transform(doOnNextOrErrorWithContext(TCCL_REACTOR_CTX_CONSUMER)
-            .andThen(next)
-            // #1 Set back previous TCCL.
-            .andThen(doOnNextOrErrorWithContext(TCCL_ORIGINAL_REACTOR_CTX_CONSUMER))));
+    interceptors.add((processor, next) -> {
+      // Measured on the processor execution thread, so that the time spent waiting in the processing strategy is not included
+      final ProcessorLatencyRecorder latencyRecorder = getLatencyRecorder((Processor) processor);
+      final ReactiveProcessor measuredNext = latencyRecorder != null ? latencyRecorder.measure(next) : next;
+
+      return stream -> from(stream)
+          // #2 Wrap execution, after processing strategy, on processor execution thread.
+          .doOnNext(event -> {
+            currentMuleContext.set(muleContext);
+            setCurrentEvent((PrivilegedEvent) event);
+          })
+          // #1 Update TCCL with the one from the Region of the processor to execute once in execution thread.
+          .transform(doOnNextOrErrorWithContext(TCCL_REACTOR_CTX_CONSUMER)
+              .andThen(measuredNext)
+              // #1 Set back previous TCCL.
+              .andThen(doOnNextOrErrorWithContext(TCCL_ORIGINAL_REACTOR_CTX_CONSUMER)));
+    });
 
     // Apply processing strategy. This is done here to ensure notifications and interceptors do not execute on async processor
     // threads which may be limited to avoid deadlocks.
@@ -342,12 +489,7 @@ abstract class AbstractMessageProcessorChain extends AbstractExecutableComponent
 
     // #4 Wrap execution, before processing strategy, on flow thread.
     interceptors.add((processor, next) -> {
-      String processorPath;
-      if (processor instanceof Component && ((Component) processor).getLocation() != null) {
-        processorPath = ((Component) processor).getLocation().getLocation();
-      } else {
-        processorPath = null;
-      }
+      final String processorPath = getProcessorPath(processor);
 
       return stream -> from(stream)
           .doOnNext(event -> {
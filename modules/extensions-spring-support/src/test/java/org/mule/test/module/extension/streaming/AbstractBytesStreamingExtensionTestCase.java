@@ -185,6 +185,18 @@ public abstract class AbstractBytesStreamingExtensionTestCase extends AbstractSt
     assertThat(secondRead.getPayload().getValue(), equalTo(data));
   }
 
+  @Test
+  @Description("Rewind a stream buffered to a file and consume it twice")
+  public void rewindFileBuffered() throws Exception {
+    data = randomAlphabetic(KB.toBytes(60));
+    CoreEvent result = flowRunner("fileBufferedRewind").withPayload(data).run();
+    Message firstRead = (Message) result.getVariables().get("firstRead").getValue();
+    Message secondRead = (Message) result.getVariables().get("secondRead").getValue();
+
+    assertThat(firstRead.getPayload().getValue(), equalTo(data));
+    assertThat(secondRead.getPayload().getValue(), equalTo(data));
+  }
+
   @Test
   @Description("Read from a random position inside a transaction")
   public void seekInTx() throws Exception {
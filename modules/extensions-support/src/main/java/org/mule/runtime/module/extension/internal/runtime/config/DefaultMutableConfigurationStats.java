@@ -21,7 +21,7 @@ final class DefaultMutableConfigurationStats implements MutableConfigurationStat
   private final AtomicInteger runningSources = new AtomicInteger(0);
   private final AtomicInteger activeComponents = new AtomicInteger(0);
   private final TimeSupplier timeSupplier;
-  private long lastUsedMillis;
+  private volatile long lastUsedMillis;
 
   /**
    * Creates a new instance using the given {@code timeSupplier} to obtain the current time and update the
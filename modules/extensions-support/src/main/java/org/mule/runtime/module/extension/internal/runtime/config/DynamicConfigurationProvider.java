@@ -6,10 +6,11 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.config;
 
+import static java.util.Collections.unmodifiableList;
+import static java.util.Comparator.comparingLong;
 import static java.util.Optional.ofNullable;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static org.mule.runtime.api.i18n.I18nMessageFactory.createStaticMessage;
-import static org.mule.runtime.api.util.collection.Collectors.toImmutableList;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.assertNotStopping;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.disposeIfNeeded;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
@@ -50,14 +51,15 @@ import org.mule.runtime.module.extension.internal.runtime.resolver.ValueResolvin
 import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 import org.mule.runtime.module.extension.internal.value.ValueProviderMediator;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.ConcurrentHashMap;
-import java.util.concurrent.locks.Lock;
-import java.util.concurrent.locks.ReadWriteLock;
-import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.slf4j.Logger;
 
@@ -69,6 +71,11 @@ import org.slf4j.Logger;
  * {@link #resolverSet#resolve(Object)}, the resulting {@link ResolverSetResult} might not end up generating a new instance. This
  * is so because {@link ResolverSetResult} instances are put in a cache to guarantee that equivalent evaluations of the
  * {@code resolverSet} return the same instance.
+ * <p>
+ * Expired instances are found by looking only at the instances that were last used longest ago, in the order they were last
+ * used, instead of scanning all of them. Checking and removing an expired instance is done atomically for its key only, so
+ * getting a configuration is never blocked by the expiration of other instances. Getting an existing instance doesn't hold its
+ * key at all, unless that instance is being checked for expiration at the same time.
  *
  * @since 4.0.0
  */
@@ -82,10 +89,11 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   private final ConnectionProviderValueResolver connectionProviderResolver;
   private final ExpirationPolicy expirationPolicy;
 
-  private final Map<Pair<ResolverSetResult, ResolverSetResult>, ConfigurationInstance> cache = new ConcurrentHashMap<>();
-  private final ReadWriteLock cacheLock = new ReentrantReadWriteLock();
-  private final Lock cacheReadLock = cacheLock.readLock();
-  private final Lock cacheWriteLock = cacheLock.writeLock();
+  private final Map<Pair<ResolverSetResult, ResolverSetResult>, CachedConfiguration> cache = new ConcurrentHashMap<>();
+  private final Queue<ExpirationCandidate> expirationQueue =
+      new PriorityBlockingQueue<>(11, comparingLong(candidate -> candidate.lastUsedMillis));
+  private final AtomicLong createdInstances = new AtomicLong();
+  private final AtomicLong expiredInstances = new AtomicLong();
   private final ReflectionCache reflectionCache;
   private final ExpressionManager expressionManager;
 
@@ -146,16 +154,32 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
   private ConfigurationInstance getConfiguration(Pair<ResolverSetResult, ResolverSetResult> resolverSetResult, CoreEvent event)
       throws Exception {
 
-    ConfigurationInstance configuration;
-    cacheReadLock.lock();
+    // Most of the times the instance already exists, so its usage is updated without holding its key. An instance is flagged as
+    // expiring before checking its usage, so either this usage prevents its expiration or the flag is seen here.
+    final CachedConfiguration cached = cache.get(resolverSetResult);
+    if (cached != null) {
+      updateUsageStatistic(cached.configuration);
+      if (!cached.expiring) {
+        return cached.configuration;
+      }
+    }
+
     try {
-      configuration = cache.computeIfAbsent(resolverSetResult, (r) -> createConfiguration(r, event));
-      updateUsageStatistic(configuration);
-      return configuration;
+      // The usage is updated while holding the key, so that the instance can't be expired before it is returned.
+      return cache.compute(resolverSetResult, (key, current) -> {
+        if (current == null) {
+          ConfigurationInstance configuration = createConfiguration(key, event);
+          updateUsageStatistic(configuration);
+          createdInstances.incrementAndGet();
+          expirationQueue.add(new ExpirationCandidate(key, configuration));
+          return new CachedConfiguration(configuration);
+        }
+
+        updateUsageStatistic(current.configuration);
+        return current;
+      }).configuration;
     } catch (WrappingRuntimeException e) {
       throw e.getWrappedException();
-    } finally {
-      cacheReadLock.unlock();
     }
   }
 
@@ -228,16 +252,81 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
 
   @Override
   public List<ConfigurationInstance> getExpired() {
-    cacheWriteLock.lock();
-    try {
-      return cache.entrySet().stream().filter(entry -> isExpired(entry.getValue())).map(entry -> {
-        cache.remove(entry.getKey());
-        unRegisterConfiguration(entry.getValue());
-        return entry.getValue();
-      }).collect(toImmutableList());
-    } finally {
-      cacheWriteLock.unlock();
+    final List<ConfigurationInstance> expired = new ArrayList<>();
+    final List<ExpirationCandidate> notExpired = new ArrayList<>();
+
+    // Instances last used after the first candidate that is not expired can't be expired either.
+    for (ExpirationCandidate candidate = expirationQueue.poll(); candidate != null; candidate = expirationQueue.poll()) {
+      if (!expirationPolicy.isExpired(candidate.lastUsedMillis, MILLISECONDS)) {
+        notExpired.add(candidate);
+        break;
+      }
+
+      if (removeIfExpired(candidate)) {
+        unRegisterConfiguration(candidate.configuration);
+        expired.add(candidate.configuration);
+      } else if (isCached(candidate)) {
+        // Used since it was queued, or still in use. Checked again once its last usage expires.
+        notExpired.add(new ExpirationCandidate(candidate.key, candidate.configuration));
+      }
+    }
+    expirationQueue.addAll(notExpired);
+
+    expiredInstances.addAndGet(expired.size());
+    if (LOGGER.isDebugEnabled() && !expired.isEmpty()) {
+      LOGGER.debug("Expired {} dynamic configuration instances of '{}', {} remaining", expired.size(), getName(),
+                   getLiveInstancesCount());
     }
+
+    return unmodifiableList(expired);
+  }
+
+  private boolean removeIfExpired(ExpirationCandidate candidate) {
+    cache.computeIfPresent(candidate.key, (key, current) -> {
+      if (current.configuration == candidate.configuration && isExpired(current.configuration)) {
+        // Checked again once flagged, in case it was used concurrently without holding its key.
+        current.expiring = true;
+        if (isExpired(current.configuration)) {
+          candidate.expired = true;
+          return null;
+        }
+        current.expiring = false;
+      }
+      return current;
+    });
+    return candidate.expired;
+  }
+
+  private boolean isCached(ExpirationCandidate candidate) {
+    final CachedConfiguration cached = cache.get(candidate.key);
+    return cached != null && cached.configuration == candidate.configuration;
+  }
+
+  /**
+   * @return the amount of configuration instances currently held by this provider.
+   *
+   * @since 4.4
+   */
+  public long getLiveInstancesCount() {
+    return cache.size();
+  }
+
+  /**
+   * @return the amount of configuration instances created by this provider.
+   *
+   * @since 4.4
+   */
+  public long getCreatedInstancesCount() {
+    return createdInstances.get();
+  }
+
+  /**
+   * @return the amount of configuration instances of this provider that expired.
+   *
+   * @since 4.4
+   */
+  public long getExpiredInstancesCount() {
+    return expiredInstances.get();
   }
 
   private boolean isExpired(ConfigurationInstance configuration) {
@@ -318,9 +407,39 @@ public final class DynamicConfigurationProvider extends LifecycleAwareConfigurat
         .map(ob -> ((ConnectionProviderObjectBuilder) ob).providerModel);
   }
 
+  /**
+   * A configuration instance held by this provider. Once flagged as expiring, it can't be returned without holding its key.
+   */
+  private static final class CachedConfiguration {
+
+    private final ConfigurationInstance configuration;
+    private volatile boolean expiring = false;
+
+    private CachedConfiguration(ConfigurationInstance configuration) {
+      this.configuration = configuration;
+    }
+  }
+
+  /**
+   * A configuration instance to check for expiration once the given time of last usage is expired.
+   */
+  private static final class ExpirationCandidate {
+
+    private final Pair<ResolverSetResult, ResolverSetResult> key;
+    private final ConfigurationInstance configuration;
+    private final long lastUsedMillis;
+    private boolean expired = false;
+
+    private ExpirationCandidate(Pair<ResolverSetResult, ResolverSetResult> key, ConfigurationInstance configuration) {
+      this.key = key;
+      this.configuration = configuration;
+      this.lastUsedMillis = configuration.getStatistics().getLastUsedMillis();
+    }
+  }
+
   /**
    * Used to preserve exception throwing behaviour in {@link #getConfiguration} as the method {@link #createConfiguration} can no longer throw
-   * checked exception as it is used inside {@link Map#computeIfAbsent}.
+   * checked exception as it is used inside {@link Map#compute}.
    */
   private static class WrappingRuntimeException extends RuntimeException {
 
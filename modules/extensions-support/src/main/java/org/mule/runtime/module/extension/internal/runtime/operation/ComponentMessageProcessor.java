@@ -1183,7 +1183,9 @@ public abstract class ComponentMessageProcessor<T extends ComponentModel> extend
 
   private Map<String, Object> getResolutionResult(CoreEvent event, Optional<ConfigurationInstance> configuration)
       throws MuleException {
-    try (ValueResolvingContext context = ValueResolvingContext.builder(event, expressionManager)
+    // no expression is evaluated when the parameters aren't dynamic, so there is no need to open an expression session
+    try (ValueResolvingContext context = ValueResolvingContext.builder(event)
+        .withExpressionManager(resolverSet.isDynamic() ? expressionManager : null)
         .withProperty(COMPONENT_DECORATOR_FACTORY_KEY, componentDecoratorFactory)
         .withConfig(configuration).build()) {
       return resolverSet.resolve(context).asMap();
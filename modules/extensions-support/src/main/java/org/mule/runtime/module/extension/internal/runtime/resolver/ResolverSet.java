@@ -6,6 +6,7 @@
  */
 package org.mule.runtime.module.extension.internal.runtime.resolver;
 
+import static java.util.Arrays.copyOf;
 import static org.mule.runtime.api.util.Preconditions.checkArgument;
 import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.initialiseIfNeeded;
 import static org.mule.runtime.core.api.util.StringUtils.isBlank;
@@ -17,7 +18,9 @@ import org.mule.runtime.api.lifecycle.InitialisationException;
 import org.mule.runtime.core.api.MuleContext;
 import org.mule.runtime.module.extension.internal.runtime.objectbuilder.ObjectBuilder;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import com.google.common.collect.ImmutableMap;
@@ -31,6 +34,9 @@ import com.google.common.collect.ImmutableMap;
  * {@link ValueResolver}s but evaluated many times. With this goal in mind is that the return value of this resolver will always
  * be a {@link ResolverSetResult} which then can be used by a {@link ObjectBuilder} to generate an actual object.
  * <p>
+ * The values of the {@link StaticValueResolver}s and {@link StaticLiteralValueResolver}s in the set are resolved only once, on
+ * the first evaluation, so that each further evaluation only runs the remaining resolvers.
+ * <p>
  * Instances of this class are to be considered thread safe and reusable
  *
  * @since 3.7.0
@@ -41,6 +47,8 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
   private boolean dynamic = false;
   private final MuleContext muleContext;
 
+  private volatile ResolutionPlan resolutionPlan;
+
   public ResolverSet(MuleContext muleContext) {
     this.muleContext = muleContext;
   }
@@ -65,6 +73,7 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
     if (!dynamic && resolver.isDynamic()) {
       dynamic = true;
     }
+    resolutionPlan = null;
     return this;
   }
 
@@ -108,10 +117,20 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
    */
   @Override
   public ResolverSetResult resolve(ValueResolvingContext context) throws MuleException {
-    ResolverSetResult.Builder builder = getResolverSetBuilder();
+    ResolutionPlan plan = resolutionPlan;
+    if (plan == null) {
+      plan = new ResolutionPlan(resolvers, context);
+      resolutionPlan = plan;
+    }
 
-    for (Map.Entry<String, ValueResolver<?>> entry : resolvers.entrySet()) {
-      builder.add(entry.getKey(), resolveRecursively(entry.getValue(), context));
+    final Object[] values = plan.staticValues.clone();
+    for (int i = 0; i < plan.resolverIndexes.length; ++i) {
+      values[plan.resolverIndexes[i]] = resolveRecursively(plan.resolvers[i], context);
+    }
+
+    ResolverSetResult.Builder builder = getResolverSetBuilder(values.length);
+    for (int i = 0; i < values.length; ++i) {
+      builder.add(plan.keys[i], values[i]);
     }
 
     return builder.build();
@@ -142,7 +161,52 @@ public class ResolverSet implements ValueResolver<ResolverSetResult>, Initialisa
     initialiseIfNeeded(resolvers.values(), muleContext);
   }
 
-  ResolverSetResult.Builder getResolverSetBuilder() {
-    return ResolverSetResult.newBuilder();
+  ResolverSetResult.Builder getResolverSetBuilder(int expectedSize) {
+    return ResolverSetResult.newBuilder(expectedSize);
+  }
+
+  /**
+   * The keys of a {@link ResolverSet} in order, along with the values already resolved for its static resolvers and the
+   * resolvers that have to be run on each evaluation.
+   */
+  private static final class ResolutionPlan {
+
+    private final String[] keys;
+    private final Object[] staticValues;
+    private final ValueResolver<?>[] resolvers;
+    private final int[] resolverIndexes;
+
+    private ResolutionPlan(Map<String, ValueResolver<?>> resolvers, ValueResolvingContext context) throws MuleException {
+      keys = new String[resolvers.size()];
+      staticValues = new Object[resolvers.size()];
+
+      final List<ValueResolver<?>> toResolve = new ArrayList<>(resolvers.size());
+      final int[] toResolveIndexes = new int[resolvers.size()];
+
+      int i = 0;
+      for (Map.Entry<String, ValueResolver<?>> entry : resolvers.entrySet()) {
+        keys[i] = entry.getKey();
+        final ValueResolver<?> resolver = entry.getValue();
+        final Object staticValue = isStatic(resolver) ? resolver.resolve(context) : null;
+        if (staticValue != null && !(staticValue instanceof ValueResolver)) {
+          staticValues[i] = staticValue;
+        } else {
+          toResolveIndexes[toResolve.size()] = i;
+          toResolve.add(resolver);
+        }
+        ++i;
+      }
+
+      this.resolvers = toResolve.toArray(new ValueResolver<?>[toResolve.size()]);
+      this.resolverIndexes = copyOf(toResolveIndexes, toResolve.size());
+    }
+
+    /**
+     * Only the resolvers that always return the same value regardless of the context are static. Other resolvers that are not
+     * dynamic may still depend on the config of the context or build a new instance on each resolution.
+     */
+    private static boolean isStatic(ValueResolver<?> resolver) {
+      return resolver instanceof StaticValueResolver || resolver instanceof StaticLiteralValueResolver;
+    }
   }
 }
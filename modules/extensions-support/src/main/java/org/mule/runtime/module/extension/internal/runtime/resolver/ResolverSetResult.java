@@ -35,9 +35,15 @@ public class ResolverSetResult {
    */
   public static class Builder {
 
-    LinkedHashMap<String, Object> values = new LinkedHashMap<>();
+    LinkedHashMap<String, Object> values;
 
-    Builder() {}
+    Builder() {
+      values = new LinkedHashMap<>();
+    }
+
+    Builder(int expectedSize) {
+      values = new LinkedHashMap<>(expectedSize * 4 / 3 + 1);
+    }
 
     /**
      * Adds a new result {@code value} for the given {@code key}
@@ -72,6 +78,17 @@ public class ResolverSetResult {
     return new Builder();
   }
 
+  /**
+   * Creates a new {@link Builder} instance sized for the given amount of values, so that adding them doesn't rehash its
+   * underlying map.
+   *
+   * @param expectedSize the amount of values to be added to the builder
+   * @return a {@link Builder}
+   */
+  static Builder newBuilder(int expectedSize) {
+    return new Builder(expectedSize);
+  }
+
   private final Map<String, Object> evaluationResult;
   private final LazyValue<Integer> hashCode = new LazyValue<>(this::calculateHashCode);
 
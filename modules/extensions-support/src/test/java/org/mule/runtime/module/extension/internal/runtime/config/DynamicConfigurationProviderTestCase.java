@@ -9,17 +9,21 @@ package org.mule.runtime.module.extension.internal.runtime.config;
 import static java.util.Arrays.asList;
 import static java.util.Optional.empty;
 import static java.util.Optional.of;
+import static java.util.concurrent.Executors.newSingleThreadExecutor;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.MINUTES;
 import static org.hamcrest.CoreMatchers.instanceOf;
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.not;
 import static org.hamcrest.CoreMatchers.sameInstance;
+import static org.hamcrest.Matchers.contains;
 import static org.hamcrest.Matchers.containsInAnyOrder;
 import static org.junit.Assert.assertThat;
 import static org.junit.internal.matchers.ThrowableMessageMatcher.hasMessage;
 import static org.junit.rules.ExpectedException.none;
 import static org.mockito.Answers.RETURNS_DEEP_STUBS;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
 import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.never;
@@ -56,8 +60,11 @@ import org.mule.runtime.module.extension.internal.util.ReflectionCache;
 import org.mule.tck.size.SmallTest;
 import org.mule.test.heisenberg.extension.HeisenbergExtension;
 
+import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.After;
 import org.junit.Before;
@@ -278,6 +285,78 @@ public class DynamicConfigurationProviderTestCase extends AbstractConfigurationP
     assertThat(instance.getDispose(), is(1));
   }
 
+  @Test
+  public void usedAfterCreationNotExpired() throws Exception {
+    HeisenbergExtension instance = (HeisenbergExtension) provider.get(event).getValue();
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+
+    timeSupplier.move(4, MINUTES);
+    assertThat(provider.get(event).getValue(), is(sameInstance(instance)));
+    timeSupplier.move(2, MINUTES);
+
+    List<ConfigurationInstance> expired = provider.getExpired();
+    assertThat(expired.isEmpty(), is(true));
+
+    timeSupplier.move(4, MINUTES);
+
+    expired = provider.getExpired();
+    assertThat(expired.stream().map(ConfigurationInstance::getValue).collect(toImmutableList()), contains(instance));
+  }
+
+  @Test
+  public void usedWhileCheckingExpirationNotExpired() throws Exception {
+    final ExpirationPolicy usedWhileChecked = mock(ExpirationPolicy.class);
+    final DynamicConfigurationProvider provider =
+        new DynamicConfigurationProvider(CONFIG_NAME, extensionModel, configurationModel, resolverSet,
+                                         connectionProviderResolver, usedWhileChecked, new ReflectionCache(),
+                                         expressionManager, muleContext);
+    provider.initialise();
+    provider.start();
+
+    final ExecutorService executor = newSingleThreadExecutor();
+    try {
+      final AtomicInteger expirationChecks = new AtomicInteger();
+      final List<ConfigurationInstance> used = new ArrayList<>();
+      when(usedWhileChecked.isExpired(anyLong(), any())).thenAnswer(inv -> {
+        // The candidate is checked by getExpired first, then the instance is checked while holding its key
+        if (expirationChecks.incrementAndGet() == 2) {
+          used.add(executor.submit(() -> provider.get(event)).get(RECEIVE_TIMEOUT, MILLISECONDS));
+        }
+        return expirationPolicy.isExpired(inv.getArgument(0), inv.getArgument(1));
+      });
+
+      final ConfigurationInstance instance = provider.get(event);
+      timeSupplier.move(10, MINUTES);
+
+      assertThat(provider.getExpired().isEmpty(), is(true));
+      assertThat(used, contains(sameInstance(instance)));
+    } finally {
+      executor.shutdownNow();
+      provider.stop();
+      provider.dispose();
+    }
+  }
+
+  @Test
+  public void instancesCount() throws Exception {
+    provider.get(event);
+    makeAlternateInstance();
+    provider.get(event);
+
+    DynamicConfigurationProvider provider = (DynamicConfigurationProvider) this.provider;
+    assertThat(provider.getCreatedInstancesCount(), is(2L));
+    assertThat(provider.getLiveInstancesCount(), is(2L));
+    assertThat(provider.getExpiredInstancesCount(), is(0L));
+
+    timeSupplier.move(10, MINUTES);
+    provider.getExpired();
+
+    assertThat(provider.getCreatedInstancesCount(), is(2L));
+    assertThat(provider.getLiveInstancesCount(), is(0L));
+    assertThat(provider.getExpiredInstancesCount(), is(2L));
+  }
+
   private HeisenbergExtension makeAlternateInstance() throws Exception {
     ResolverSetResult alternateResult = mock(ResolverSetResult.class, Mockito.RETURNS_DEEP_STUBS);
     when(alternateResult.asMap()).thenReturn(new HashMap<>());
@@ -8,7 +8,12 @@ package org.mule.runtime.module.extension.internal.runtime.resolver;
 
 import static org.hamcrest.CoreMatchers.is;
 import static org.hamcrest.CoreMatchers.notNullValue;
+import static org.hamcrest.Matchers.contains;
 import static org.junit.Assert.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.mule.test.module.extension.internal.util.ExtensionsTestUtils.getParameter;
 import org.mule.runtime.api.lifecycle.Lifecycle;
@@ -100,6 +105,43 @@ public class ResolverSetTestCase extends AbstractMuleTestCase {
     assertThat(set.isDynamic(), is(true));
   }
 
+  @Test
+  public void staticValuesResolvedOnce() throws Exception {
+    ValueResolver<String> staticResolver = spy(new StaticValueResolver<>("static"));
+    ValueResolver dynamicResolver = getResolver("dynamic");
+    when(dynamicResolver.isDynamic()).thenReturn(true);
+
+    set.add("static", staticResolver);
+    set.add("dynamic", dynamicResolver);
+
+    set.resolve(resolvingContext);
+    ResolverSetResult result = set.resolve(resolvingContext);
+
+    assertThat(result.get("static"), is("static"));
+    assertThat(result.get("dynamic"), is("dynamic"));
+    assertResult(result, mapping);
+    verify(staticResolver, times(1)).resolve(any(ValueResolvingContext.class));
+    verify(dynamicResolver, times(2)).resolve(resolvingContext);
+  }
+
+  @Test
+  public void resolvedInOrder() throws Exception {
+    set.add("static", new StaticValueResolver<>("static"));
+    set.add("last", getResolver(NAME));
+
+    assertThat(set.resolve(resolvingContext).asMap().keySet(), contains("myName", "age", "static", "last"));
+  }
+
+  @Test
+  public void resolverAddedAfterResolve() throws Exception {
+    set.resolve(resolvingContext);
+    set.add("static", new StaticValueResolver<>("static"));
+
+    ResolverSetResult result = set.resolve(resolvingContext);
+    assertThat(result.get("static"), is("static"));
+    assertResult(result, mapping);
+  }
+
   private void assertResult(ResolverSetResult result, Map<ParameterModel, ValueResolver> mapping) throws Exception {
     assertThat(result, is(notNullValue()));
     for (Map.Entry<ParameterModel, ValueResolver> entry : mapping.entrySet()) {
@@ -79,6 +79,8 @@ import org.mule.runtime.config.internal.factories.ProcessorRouteFactoryBean;
 import org.mule.runtime.config.internal.factories.SchedulingMessageSourceFactoryBean;
 import org.mule.runtime.config.internal.factories.SubflowMessageProcessorChainFactoryBean;
 import org.mule.runtime.config.internal.factories.TryProcessorFactoryBean;
+import org.mule.runtime.config.internal.factories.streaming.FileStoreCursorIteratorProviderObjectFactory;
+import org.mule.runtime.config.internal.factories.streaming.FileStoreCursorStreamProviderObjectFactory;
 import org.mule.runtime.config.internal.factories.streaming.InMemoryCursorIteratorProviderObjectFactory;
 import org.mule.runtime.config.internal.factories.streaming.InMemoryCursorStreamProviderObjectFactory;
 import org.mule.runtime.config.internal.factories.streaming.NullCursorIteratorProviderObjectFactory;
@@ -138,6 +140,8 @@ import org.mule.runtime.core.internal.routing.RoundRobin;
 import org.mule.runtime.core.internal.routing.ScatterGatherRouter;
 import org.mule.runtime.core.internal.routing.UntilSuccessful;
 import org.mule.runtime.core.internal.routing.forkjoin.CollectListForkJoinStrategyFactory;
+import org.mule.runtime.core.internal.routing.forkjoin.FirstSuccessfulForkJoinStrategyFactory;
+import org.mule.runtime.core.internal.routing.forkjoin.QuorumForkJoinStrategyFactory;
 import org.mule.runtime.core.internal.security.PasswordBasedEncryptionStrategy;
 import org.mule.runtime.core.internal.security.SecretKeyEncryptionStrategy;
 import org.mule.runtime.core.internal.security.UsernamePasswordAuthenticationFilter;
@@ -190,6 +194,8 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
   private static final String PARALLEL_FOREACH = "parallel-foreach";
   private static final String FORK_JOIN_STRATEGY = "forkJoinStrategyFactory";
   private static final String COLLECT_LIST = "collect-list";
+  private static final String COLLECT_FIRST_SUCCESSFUL = "collect-first-successful";
+  private static final String COLLECT_QUORUM = "collect-quorum";
   private static final String ASYNC = "async";
   private static final String TRY = "try";
   private static final String UNTIL_SUCCESSFUL = "until-successful";
@@ -206,6 +212,8 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
   private static final String LOG_EXCEPTION = "logException";
   private static final String RAISE_ERROR = "raise-error";
   private static final String INHERIT_ITERABLE_REPEATABILITY = "inheritIterableRepeatability";
+  private static final String REPEATABLE_FILE_BUFFERED_STREAM = "repeatable-file-buffered-stream";
+  private static final String REPEATABLE_FILE_BUFFERED_ITERABLE = "repeatable-file-buffered-iterable";
 
   @SuppressWarnings("rawtypes")
   private static ComponentBuildingDefinition.Builder baseDefinition =
@@ -326,6 +334,15 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
     componentBuildingDefinitions.add(baseDefinition.withIdentifier(COLLECT_LIST)
         .withTypeDefinition(fromType(CollectListForkJoinStrategyFactory.class))
         .build());
+    componentBuildingDefinitions.add(baseDefinition.withIdentifier(COLLECT_FIRST_SUCCESSFUL)
+        .withTypeDefinition(fromType(FirstSuccessfulForkJoinStrategyFactory.class))
+        .withConstructorParameterDefinition(fromSimpleParameter("count").withDefaultValue(1).build())
+        .build());
+    componentBuildingDefinitions.add(baseDefinition.withIdentifier(COLLECT_QUORUM)
+        .withTypeDefinition(fromType(QuorumForkJoinStrategyFactory.class))
+        .withConstructorParameterDefinition(fromSimpleParameter("quorum").build())
+        .withConstructorParameterDefinition(fromSimpleParameter("deadline").build())
+        .build());
     componentBuildingDefinitions.add(baseDefinition.withIdentifier(SCATTER_GATHER)
         .withTypeDefinition(fromType(ScatterGatherRouter.class))
         .withSetterParameterDefinition("timeout", fromSimpleParameter("timeout").build())
@@ -342,6 +359,8 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
         .withSetterParameterDefinition("collectionExpression", fromSimpleParameter("collection").build())
         .withSetterParameterDefinition("timeout", fromSimpleParameter("timeout").build())
         .withSetterParameterDefinition("maxConcurrency", fromSimpleParameter("maxConcurrency").build())
+        .withSetterParameterDefinition("batchSize", fromSimpleParameter("batchSize").build())
+        .withSetterParameterDefinition("streamResults", fromSimpleParameter("streamResults").build())
         .withSetterParameterDefinition("target", fromSimpleParameter("target").build())
         .withSetterParameterDefinition("targetValue", fromSimpleParameter("targetValue")
             .withDefaultValue("#[payload]")
@@ -374,6 +393,9 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
             .withSetterParameterDefinition("maxRetries", fromSimpleParameter("maxRetries").withDefaultValue("5").build())
             .withSetterParameterDefinition("millisBetweenRetries",
                                            fromSimpleParameter("millisBetweenRetries").withDefaultValue("60000").build())
+            .withSetterParameterDefinition("backoffMultiplier", fromSimpleParameter("backoffMultiplier").build())
+            .withSetterParameterDefinition("maxMillisBetweenRetries", fromSimpleParameter("maxMillisBetweenRetries").build())
+            .withSetterParameterDefinition("jitter", fromSimpleParameter("jitter").build())
             .withSetterParameterDefinition(MESSAGE_PROCESSORS, fromChildCollectionConfiguration(Processor.class).build())
             .build());
     componentBuildingDefinitions.add(baseDefinition.withIdentifier(FOREACH).withTypeDefinition(fromType(Foreach.class))
@@ -770,6 +792,19 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
                                                 .withDefaultValue(DEFAULT_BYTE_STREAMING_BUFFER_DATA_UNIT.name()).build())
         .build());
 
+    buildingDefinitions.add(baseDefinition
+        .withIdentifier(REPEATABLE_FILE_BUFFERED_STREAM)
+        .withTypeDefinition(fromType(CursorStreamProviderFactory.class))
+        .withObjectFactoryType(FileStoreCursorStreamProviderObjectFactory.class)
+        .withConstructorParameterDefinition(
+                                            fromSimpleParameter("inMemorySize")
+                                                .withDefaultValue(DEFAULT_BYTES_STREAMING_MAX_BUFFER_SIZE)
+                                                .build())
+        .withConstructorParameterDefinition(
+                                            fromSimpleParameter("bufferUnit", value -> DataUnit.valueOf((String) value))
+                                                .withDefaultValue(DEFAULT_BYTE_STREAMING_BUFFER_DATA_UNIT.name()).build())
+        .build());
+
     buildingDefinitions.add(baseDefinition
         .withIdentifier(NON_REPEATABLE_BYTE_STREAM_ALIAS)
         .withTypeDefinition(fromType(CursorStreamProviderFactory.class))
@@ -801,6 +836,16 @@ public class CoreComponentBuildingDefinitionProvider implements ComponentBuildin
                                                 .build())
         .build());
 
+    buildingDefinitions.add(baseDefinition
+        .withIdentifier(REPEATABLE_FILE_BUFFERED_ITERABLE)
+        .withTypeDefinition(fromType(CursorIteratorProviderFactory.class))
+        .withObjectFactoryType(FileStoreCursorIteratorProviderObjectFactory.class)
+        .withConstructorParameterDefinition(
+                                            fromSimpleParameter("inMemoryObjects")
+                                                .withDefaultValue(DEFAULT_OBJECT_STREAMING_MAX_BUFFER_SIZE)
+                                                .build())
+        .build());
+
     buildingDefinitions.add(baseDefinition
         .withIdentifier(NON_REPEATABLE_OBJECTS_STREAM_ALIAS)
         .withTypeDefinition(fromType(CursorIteratorProviderFactory.class))
@@ -0,0 +1,35 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal.factories.streaming;
+
+import org.mule.runtime.config.api.factories.streaming.AbstractCursorProviderObjectFactory;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.streaming.object.CursorIteratorProviderFactory;
+import org.mule.runtime.core.internal.streaming.object.FileStoreCursorIteratorConfig;
+import org.mule.runtime.core.internal.streaming.object.factory.FileStoreCursorIteratorProviderFactory;
+
+import javax.inject.Inject;
+
+public class FileStoreCursorIteratorProviderObjectFactory
+    extends AbstractCursorProviderObjectFactory<CursorIteratorProviderFactory> {
+
+  @Inject
+  private MuleContext muleContext;
+
+  private final int maxInMemoryInstances;
+
+  public FileStoreCursorIteratorProviderObjectFactory(int maxInMemoryInstances) {
+    this.maxInMemoryInstances = maxInMemoryInstances;
+  }
+
+  @Override
+  public CursorIteratorProviderFactory doGetObject() throws Exception {
+    FileStoreCursorIteratorConfig config = new FileStoreCursorIteratorConfig(maxInMemoryInstances);
+
+    return new FileStoreCursorIteratorProviderFactory(config, muleContext.getObjectSerializer(), streamingManager);
+  }
+}
@@ -0,0 +1,29 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.config.internal.factories.streaming;
+
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.api.util.DataUnit;
+import org.mule.runtime.config.api.factories.streaming.AbstractCursorProviderObjectFactory;
+import org.mule.runtime.core.api.streaming.bytes.CursorStreamProviderFactory;
+
+public class FileStoreCursorStreamProviderObjectFactory
+    extends AbstractCursorProviderObjectFactory<CursorStreamProviderFactory> {
+
+  private final int inMemorySize;
+  private final DataUnit dataUnit;
+
+  public FileStoreCursorStreamProviderObjectFactory(int inMemorySize, DataUnit dataUnit) {
+    this.inMemorySize = inMemorySize;
+    this.dataUnit = dataUnit;
+  }
+
+  @Override
+  public CursorStreamProviderFactory doGetObject() throws Exception {
+    return streamingManager.forBytes().getFileStoreCursorProviderFactory(new DataSize(inMemorySize, dataUnit));
+  }
+}
@@ -571,6 +571,27 @@ class MuleExtensionModelDeclarer {
         .describedAs("Specifies the minimum time interval between two process retries in milliseconds.\n" +
             " The actual time interval depends on the previous execution but should not exceed twice this number.\n" +
             " Default value is 60000 (one minute)");
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("backoffMultiplier")
+        .ofType(typeLoader.load(Double.class))
+        .defaultingTo(1)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Factor to multiply the time interval between retries by after each retry. Must be at least 1.");
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("maxMillisBetweenRetries")
+        .ofType(typeLoader.load(Long.class))
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Specifies the maximum time interval between two process retries in milliseconds, "
+            + "regardless of the backoffMultiplier.");
+
+    untilSuccessful.onDefaultParameterGroup()
+        .withOptionalParameter("jitter")
+        .ofType(typeLoader.load(Double.class))
+        .defaultingTo(0)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Fraction of the time interval between retries, between 0 and 1, to randomly subtract from it.");
   }
 
   private void declareChoice(ExtensionDeclarer extensionDeclarer, ClassTypeLoader typeLoader) {
@@ -719,6 +740,18 @@ class MuleExtensionModelDeclarer {
         .defaultingTo(Integer.MAX_VALUE)
         .withExpressionSupport(NOT_SUPPORTED)
         .describedAs("This value determines the maximum level of parallelism that will be used by this router.");
+    parallelForeach.onDefaultParameterGroup()
+        .withOptionalParameter("batchSize")
+        .ofType(typeLoader.load(Integer.class))
+        .defaultingTo(1)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Partitions the collection in sub-collections of the specified size, each one processed by a single route.");
+    parallelForeach.onDefaultParameterGroup()
+        .withOptionalParameter("streamResults")
+        .ofType(typeLoader.load(Boolean.class))
+        .defaultingTo(false)
+        .withExpressionSupport(NOT_SUPPORTED)
+        .describedAs("Whether the results are streamed into a repeatable iterator instead of being collected into a list.");
     parallelForeach.onDefaultParameterGroup()
         .withOptionalParameter(TARGET_PARAMETER_NAME)
         .ofType(typeLoader.load(String.class))
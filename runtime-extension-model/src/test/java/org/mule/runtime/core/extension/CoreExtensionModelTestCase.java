@@ -484,7 +484,7 @@ public class CoreExtensionModelTestCase {
     assertThat(processorsChain, instanceOf(NestedChainModel.class));
     assertThat(processorsChain.isRequired(), is(true));
 
-    assertThat(parallelForeach.getAllParameterModels(), hasSize(5));
+    assertThat(parallelForeach.getAllParameterModels(), hasSize(7));
 
     final ParameterModel collection = parallelForeach.getAllParameterModels().get(0);
     assertThat(collection.getName(), is("collection"));
@@ -507,13 +507,27 @@ public class CoreExtensionModelTestCase {
     assertThat(maxConcurrency.getType(), instanceOf(DefaultNumberType.class));
     assertThat(maxConcurrency.isRequired(), is(false));
 
-    final ParameterModel target = parallelForeach.getAllParameterModels().get(3);
+    final ParameterModel batchSize = parallelForeach.getAllParameterModels().get(3);
+    assertThat(batchSize.getName(), is("batchSize"));
+    assertThat(batchSize.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(batchSize.getType(), instanceOf(DefaultNumberType.class));
+    assertThat(batchSize.getDefaultValue(), is(1));
+    assertThat(batchSize.isRequired(), is(false));
+
+    final ParameterModel streamResults = parallelForeach.getAllParameterModels().get(4);
+    assertThat(streamResults.getName(), is("streamResults"));
+    assertThat(streamResults.getExpressionSupport(), is(NOT_SUPPORTED));
+    assertThat(streamResults.getType(), instanceOf(DefaultBooleanType.class));
+    assertThat(streamResults.getDefaultValue(), is(false));
+    assertThat(streamResults.isRequired(), is(false));
+
+    final ParameterModel target = parallelForeach.getAllParameterModels().get(5);
     assertThat(target.getName(), is(TARGET_PARAMETER_NAME));
     assertThat(target.getExpressionSupport(), is(NOT_SUPPORTED));
     assertThat(target.getType(), instanceOf(DefaultStringType.class));
     assertThat(target.isRequired(), is(false));
 
-    final ParameterModel targetValue = parallelForeach.getAllParameterModels().get(4);
+    final ParameterModel targetValue = parallelForeach.getAllParameterModels().get(6);
     assertThat(targetValue.getName(), is(TARGET_VALUE_PARAMETER_NAME));
     assertThat(targetValue.getExpressionSupport(), is(REQUIRED));
     assertThat(targetValue.getType(), instanceOf(StringType.class));
@@ -0,0 +1,116 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.lock;
+
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+import org.mule.AbstractBenchmark;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the throughput of locking and unlocking through an {@link InstanceLockGroup} when accessed concurrently by
+ * {@link #threads} threads, each one picking random lock ids among {@link #lockIds} distinct ones.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class InstanceLockGroupBenchmark extends AbstractBenchmark {
+
+  private static final int OPERATIONS = 64000;
+
+  @Param({"1", "4", "16", "64"})
+  public int threads;
+
+  @Param({"10", "1000", "100000"})
+  public int lockIds;
+
+  private ExecutorService executorService;
+  private InstanceLockGroup lockGroup;
+  private String[] ids;
+
+  @Setup(Level.Trial)
+  public void setUpTrial() {
+    executorService = newFixedThreadPool(threads);
+    lockGroup = new InstanceLockGroup(new SingleServerLockProvider());
+    ids = new String[lockIds];
+    for (int i = 0; i < lockIds; i++) {
+      ids[i] = "lock-" + i;
+    }
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownTrial() {
+    executorService.shutdownNow();
+    lockGroup.dispose();
+  }
+
+  @Benchmark
+  public void lockUnlock() throws Throwable {
+    run(id -> {
+      lockGroup.lock(id);
+      lockGroup.unlock(id);
+    });
+  }
+
+  @Benchmark
+  public void tryLockUnlock() throws Throwable {
+    run(id -> {
+      if (lockGroup.tryLock(id)) {
+        lockGroup.unlock(id);
+      }
+    });
+  }
+
+  private void run(LockOperation operation) throws Throwable {
+    final int operationsPerThread = OPERATIONS / threads;
+    final CountDownLatch latch = new CountDownLatch(threads);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    for (int t = 0; t < threads; t++) {
+      executorService.submit(() -> {
+        try {
+          final ThreadLocalRandom random = ThreadLocalRandom.current();
+          for (int i = 0; i < operationsPerThread; i++) {
+            operation.run(ids[random.nextInt(ids.length)]);
+          }
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          latch.countDown();
+        }
+      });
+    }
+
+    latch.await();
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+  }
+
+  @FunctionalInterface
+  private interface LockOperation {
+
+    void run(String id) throws Exception;
+  }
+}
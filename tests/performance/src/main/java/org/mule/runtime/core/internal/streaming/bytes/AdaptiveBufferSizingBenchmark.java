@@ -0,0 +1,85 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.streaming.bytes;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.api.util.DataUnit.KB;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.streaming.bytes.CursorStream;
+import org.mule.runtime.api.util.DataSize;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamConfig;
+import org.mule.runtime.core.api.streaming.bytes.InMemoryCursorStreamProvider;
+
+import java.io.ByteArrayInputStream;
+import java.util.Random;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Buffers a mix of small and big payloads through {@link InMemoryCursorStreamProvider}s, either with the default sizes or with
+ * the ones recommended by {@link PayloadSizeStatistics}. Run with {@code -prof gc} to compare the allocation rates.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class AdaptiveBufferSizingBenchmark extends AbstractBenchmark {
+
+  private static final int PAYLOADS = 256;
+
+  @Param({"false", "true"})
+  public boolean adaptive;
+
+  // small increments, so the big payloads need many expansions before adapting
+  private final InMemoryCursorStreamConfig configured =
+      new InMemoryCursorStreamConfig(new DataSize(256, KB), new DataSize(32, KB), new DataSize(8192, KB));
+  private final byte[][] payloads = new byte[PAYLOADS][];
+  private final byte[] readBuffer = new byte[KB.toBytes(8)];
+  private PayloadSizeStatistics statistics;
+  private SimpleByteBufferManager bufferManager;
+
+  @Setup
+  public void setUp() {
+    Random random = new Random(42);
+    for (int i = 0; i < PAYLOADS; i++) {
+      // mostly small payloads, with an occasional big one
+      payloads[i] = new byte[i % 16 == 0 ? KB.toBytes(2048 + random.nextInt(1024)) : 512 + random.nextInt(KB.toBytes(4))];
+    }
+    statistics = new PayloadSizeStatistics();
+    bufferManager = new SimpleByteBufferManager();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(PAYLOADS)
+  public long bufferMixedPayloads() throws Exception {
+    long read = 0;
+    for (byte[] payload : payloads) {
+      InMemoryCursorStreamConfig config = adaptive ? statistics.recommend(configured) : configured;
+      InMemoryCursorStreamProvider provider =
+          new InMemoryCursorStreamProvider(new ByteArrayInputStream(payload), config, bufferManager, null, false);
+      try (CursorStream cursor = provider.openCursor()) {
+        int n;
+        while ((n = cursor.read(readBuffer)) != -1) {
+          read += n;
+        }
+      } finally {
+        provider.close();
+      }
+      statistics.record(payload.length, config, configured);
+    }
+    return read;
+  }
+}
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.journal.queue;
+
+import static java.lang.Integer.parseInt;
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.mule.runtime.core.internal.util.journal.TransactionJournal.GROUP_COMMIT_WINDOW_PROPERTY_KEY;
+import static org.mule.runtime.core.internal.util.journal.queue.AbstractQueueTxJournalEntry.Operation.ADD;
+import static org.mule.runtime.core.internal.util.journal.queue.AbstractQueueTxJournalEntry.Operation.COMMIT;
+import static org.mule.runtime.core.internal.util.journal.queue.LocalTxQueueTransactionJournal.createLocalTxQueueJournalEntrySerializer;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.internal.util.journal.TransactionJournal;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures the commits per second of a {@link TransactionJournal} when {@link #threads} threads log transactions of one update
+ * and one commit concurrently, with and without group commit.
+ * <p/>
+ * A {@link #groupCommitWindowMicros} of {@code off} writes each entry as soon as it is logged, without forcing it to disk.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(Throughput)
+@OutputTimeUnit(SECONDS)
+public class TransactionJournalBenchmark extends AbstractBenchmark {
+
+  private static final int TRANSACTIONS = 1024;
+
+  @Param({"1", "4", "16", "64"})
+  public int threads;
+
+  @Param({"off", "0", "100"})
+  public String groupCommitWindowMicros;
+
+  private MuleContext muleContext;
+  private ExecutorService executorService;
+  private File journalDirectory;
+  private TransactionJournal<Integer, LocalQueueTxJournalEntry> journal;
+  private final AtomicInteger txIds = new AtomicInteger();
+
+  @Setup(Level.Trial)
+  public void setUpTrial() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    executorService = newFixedThreadPool(threads);
+    if ("off".equals(groupCommitWindowMicros)) {
+      System.clearProperty(GROUP_COMMIT_WINDOW_PROPERTY_KEY);
+    } else {
+      System.setProperty(GROUP_COMMIT_WINDOW_PROPERTY_KEY, groupCommitWindowMicros);
+    }
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpIteration() throws Exception {
+    journalDirectory = createTempDirectory("journal-benchmark").toFile();
+    journal = new TransactionJournal<>(journalDirectory.getAbsolutePath(),
+                                       entry -> ((LocalQueueTxJournalEntry) entry).isCommit(),
+                                       createLocalTxQueueJournalEntrySerializer(muleContext), null);
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDownIteration() {
+    journal.close();
+    deleteQuietly(journalDirectory);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownTrial() {
+    System.clearProperty(GROUP_COMMIT_WINDOW_PROPERTY_KEY);
+    executorService.shutdownNow();
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  @OperationsPerInvocation(TRANSACTIONS)
+  public void commit() throws Throwable {
+    final int transactionsPerThread = TRANSACTIONS / threads;
+    final CountDownLatch latch = new CountDownLatch(threads);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    for (int t = 0; t < threads; t++) {
+      executorService.submit(() -> {
+        try {
+          for (int i = 0; i < transactionsPerThread; i++) {
+            int txId = txIds.incrementAndGet();
+            journal.logUpdateOperation(new LocalQueueTxJournalEntry(txId, ADD.getByteRepresentation(), "queue", VALUE));
+            journal.logCheckpointOperation(new LocalQueueTxJournalEntry(txId, COMMIT.getByteRepresentation()));
+          }
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          latch.countDown();
+        }
+      });
+    }
+
+    latch.await();
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+  }
+}
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.internal.util.store;
+
+import static java.nio.file.Files.createTempDirectory;
+import static java.util.concurrent.Executors.newFixedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.apache.commons.io.FileUtils.deleteQuietly;
+import static org.openjdk.jmh.annotations.Mode.AverageTime;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.core.api.MuleContext;
+
+import java.io.File;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+/**
+ * Measures how the persistent object store partitions scale when accessed concurrently by {@link #threads} threads, each one
+ * storing, looking up and removing its own keys.
+ */
+@Warmup(iterations = 3)
+@Measurement(iterations = 10)
+@BenchmarkMode(AverageTime)
+@OutputTimeUnit(MILLISECONDS)
+public class PersistentObjectStorePartitionBenchmark extends AbstractBenchmark {
+
+  private static final int OPERATIONS = 6400;
+
+  @Param({"1", "4", "16", "64"})
+  public int threads;
+
+  @Param({"file", "log"})
+  public String backend;
+
+  private MuleContext muleContext;
+  private ExecutorService executorService;
+  private File partitionDirectory;
+  private PersistentObjectStorePartition<String> partition;
+  private final AtomicInteger iteration = new AtomicInteger();
+
+  @Setup(Level.Trial)
+  public void setUpTrial() throws Exception {
+    muleContext = createMuleContextWithServices();
+    muleContext.start();
+    executorService = newFixedThreadPool(threads);
+  }
+
+  @Setup(Level.Iteration)
+  public void setUpIteration() throws Exception {
+    partitionDirectory = createTempDirectory("os-benchmark").toFile();
+    partition = "log".equals(backend)
+        ? new LogStructuredObjectStorePartition<>(muleContext, "benchmark", partitionDirectory)
+        : new PersistentObjectStorePartition<>(muleContext, "benchmark", partitionDirectory);
+    partition.open();
+  }
+
+  @TearDown(Level.Iteration)
+  public void tearDownIteration() throws Exception {
+    partition.close();
+    deleteQuietly(partitionDirectory);
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDownTrial() {
+    executorService.shutdownNow();
+    muleContext.dispose();
+  }
+
+  @Benchmark
+  public void storeRetrieveRemove() throws Throwable {
+    final int operationsPerThread = OPERATIONS / threads;
+    final String keyPrefix = iteration.incrementAndGet() + "-";
+    final CountDownLatch latch = new CountDownLatch(threads);
+    final AtomicReference<Throwable> failure = new AtomicReference<>();
+
+    for (int t = 0; t < threads; t++) {
+      final String threadKeyPrefix = keyPrefix + t + "-";
+      executorService.submit(() -> {
+        try {
+          for (int i = 0; i < operationsPerThread; i++) {
+            String key = threadKeyPrefix + i;
+            partition.store(key, VALUE);
+            partition.contains(key);
+            partition.retrieve(key);
+            if (i % 2 == 0) {
+              partition.remove(key);
+            }
+          }
+        } catch (Throwable e) {
+          failure.compareAndSet(null, e);
+        } finally {
+          latch.countDown();
+        }
+      });
+    }
+
+    latch.await();
+    if (failure.get() != null) {
+      throw failure.get();
+    }
+  }
+}
@@ -0,0 +1,112 @@
+/*
+ * Copyright (c) MuleSoft, Inc.  All rights reserved.  http://www.mulesoft.com
+ * The software in this package is published under the terms of the CPAL v1.0
+ * license, a copy of which has been included with this distribution in the
+ * LICENSE.txt file.
+ */
+package org.mule.runtime.core.processor.strategy;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.startIfNeeded;
+import static org.mule.runtime.core.api.lifecycle.LifecycleUtils.stopIfNeeded;
+import static org.mule.runtime.core.api.processor.ReactiveProcessor.ProcessingType.BLOCKING;
+import static org.openjdk.jmh.annotations.Mode.SampleTime;
+import static org.openjdk.jmh.annotations.Mode.Throughput;
+
+import org.mule.AbstractBenchmark;
+import org.mule.runtime.api.exception.MuleException;
+import org.mule.runtime.core.api.MuleContext;
+import org.mule.runtime.core.api.construct.Flow;
+import org.mule.runtime.core.api.event.CoreEvent;
+import org.mule.runtime.core.api.processor.ReactiveProcessor;
+import org.mule.runtime.core.api.processor.Sink;
+import org.mule.runtime.core.api.processor.strategy.ProcessingStrategy;
+import org.mule.runtime.core.internal.processor.strategy.TransactionAwareProactorStreamEmitterProcessingStrategyFactory;
+import org.mule.runtime.core.internal.processor.strategy.VirtualThreadProcessingStrategyFactory;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+
+/**
+ * Sends events through a processor which blocks for {@link #BLOCKING_TIME_MILLIS}, comparing the throughput and the latency
+ * percentiles (p99 included) of the proactor processing strategy with the one which runs blocking processors on virtual
+ * threads.
+ * <p>
+ * Virtual threads require Java 21 or newer. On older JVMs both strategies are expected to yield the same results.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Throughput, SampleTime})
+@OutputTimeUnit(MILLISECONDS)
+public class BlockingProcessingStrategyBenchmark extends AbstractBenchmark {
+
+  private static final long BLOCKING_TIME_MILLIS = 50;
+
+  @Param({"proactor", "virtualThreads"})
+  public String strategy;
+
+  private MuleContext muleContext;
+  private ProcessingStrategy processingStrategy;
+  private Flow flow;
+  private Sink sink;
+
+  @Setup(Level.Trial)
+  public void setUp() throws MuleException {
+    muleContext = createMuleContextWithServices();
+
+    processingStrategy = "proactor".equals(strategy)
+        ? new TransactionAwareProactorStreamEmitterProcessingStrategyFactory().create(muleContext, "proactor_bb")
+        : new VirtualThreadProcessingStrategyFactory().create(muleContext, "virtual_bb");
+    startIfNeeded(processingStrategy);
+
+    flow = createFlow(muleContext);
+
+    final ReactiveProcessor blockingProcessor = new ReactiveProcessor() {
+
+      @Override
+      public Publisher<CoreEvent> apply(Publisher<CoreEvent> publisher) {
+        return Flux.from(publisher).doOnNext(e -> {
+          try {
+            Thread.sleep(BLOCKING_TIME_MILLIS);
+          } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+          }
+        });
+      }
+
+      @Override
+      public ProcessingType getProcessingType() {
+        return BLOCKING;
+      }
+    };
+
+    sink = processingStrategy.createSink(flow, publisher -> Flux.from(publisher)
+        .transform(processingStrategy.onPipeline(processingStrategy.onProcessor(blockingProcessor)))
+        .doOnNext(event -> ((MonoSink<CoreEvent>) (event.getMessage().getPayload().getValue())).success(event))
+        .onErrorContinue((t, event) -> {
+          ((MonoSink<CoreEvent>) (((CoreEvent) event).getMessage().getPayload().getValue())).error(t);
+        }));
+  }
+
+  @TearDown(Level.Trial)
+  public void tearDown() throws MuleException {
+    stopIfNeeded(processingStrategy);
+  }
+
+  @Benchmark
+  @Threads(256)
+  public CoreEvent blockingProcessor() {
+    return Mono.<CoreEvent>create(resultSink -> sink.accept(createEvent(flow, resultSink))).block();
+  }
+}